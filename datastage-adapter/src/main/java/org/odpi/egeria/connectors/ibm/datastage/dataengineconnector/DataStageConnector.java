@@ -6,17 +6,20 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.auditlog.DataStageErrorCode;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping.ProcessMapping;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics.JsonSyncMetricsReporter;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics.LogSyncMetricsReporter;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics.SyncMetrics;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics.SyncMetricsReporter;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping.SchemaTypeMapping;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model.*;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.FileFingerprintStore;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.FileSyncStateStore;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.FingerprintStore;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.Fingerprints;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.SyncStateStore;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCVersionEnum;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.*;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCCreate;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCUpdate;
 import org.odpi.openmetadata.accessservices.dataengine.model.SoftwareServerCapability;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.*;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
@@ -26,18 +29,20 @@ import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.dataengin
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class DataStageConnector extends DataEngineConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(DataStageConnector.class);
 
-    private static final String SYNC_RULE_NAME = "Job metadata will be periodically synced through ODPi Egeria's Data Engine OMAS";
-    private static final String SYNC_RULE_DESC = "GENERATED -- DO NOT UPDATE: last synced at ";
-
-    private final SimpleDateFormat SYNC_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final String JOB_FINGERPRINT_PREFIX = "job:";
 
     private IGCRestClient igcRestClient;
     private ObjectMapper objectMapper;
@@ -46,6 +51,18 @@ public class DataStageConnector extends DataEngineConnectorBase {
     private String defaultUserId;
 
     private DataStageCache dataStageCache;
+    private int hydrationWorkers;
+    private FingerprintStore fingerprintStore;
+    private int syncBatchSize;
+    private int translationWorkers;
+    private SyncStateStore syncStateStore;
+    private List<SyncMetricsReporter> metricsReporters;
+
+    private Map<String, Long> completedJobs;
+    private boolean windowComplete;
+
+    private Map<String, DataEngineSchemaType> changedSchemaTypes;
+    private List<DataEngineProcess> changedProcesses;
 
     /**
      * Default constructor used by the OCF Connector Provider.
@@ -63,6 +80,7 @@ public class DataStageConnector extends DataEngineConnectorBase {
         super.initialize(connectorInstanceId, connectionProperties);
         this.objectMapper = new ObjectMapper();
         this.dataStageCache = null;
+        this.metricsReporters = new ArrayList<>();
     }
 
     /**
@@ -90,15 +108,57 @@ public class DataStageConnector extends DataEngineConnectorBase {
 
                 Map<String, Object> proxyProperties = this.connectionBean.getConfigurationProperties();
                 Integer igcPage = null;
+                Integer workers = null;
+                String fingerprintFile = null;
+                Integer batchSize = null;
+                Integer translators = null;
+                String stateFile = null;
+                String reporter = null;
+                String metricsFile = null;
                 if (proxyProperties != null) {
-                    igcPage = (Integer) proxyProperties.get("pageSize");
+                    igcPage = (Integer) proxyProperties.get(DataStageConnectorProvider.PAGE_SIZE);
+                    workers = (Integer) proxyProperties.get(DataStageConnectorProvider.HYDRATION_WORKERS);
+                    fingerprintFile = (String) proxyProperties.get(DataStageConnectorProvider.FINGERPRINT_STORE);
+                    batchSize = (Integer) proxyProperties.get(DataStageConnectorProvider.SYNC_BATCH_SIZE);
+                    translators = (Integer) proxyProperties.get(DataStageConnectorProvider.TRANSLATION_WORKERS);
+                    stateFile = (String) proxyProperties.get(DataStageConnectorProvider.SYNC_STATE_STORE);
+                    reporter = (String) proxyProperties.get(DataStageConnectorProvider.METRICS_REPORTER);
+                    metricsFile = (String) proxyProperties.get(DataStageConnectorProvider.METRICS_FILE);
+                }
+                // Set the number of jobs whose details are retrieved in parallel (default to 4)
+                this.hydrationWorkers = workers == null ? DataStageCache.DEFAULT_HYDRATION_WORKERS : workers;
+                // Set the number of jobs translated in parallel (default to the number of processors)
+                this.translationWorkers = translators == null ? Runtime.getRuntime().availableProcessors() : Math.max(translators, 1);
+                // Stream changed jobs through translation in batches of this size (default to holding all at once)
+                this.syncBatchSize = batchSize == null ? 0 : batchSize;
+                // Only send metadata that has changed since the last sync if there is somewhere to remember it
+                if (fingerprintFile != null) {
+                    try {
+                        this.fingerprintStore = new FileFingerprintStore(Paths.get(fingerprintFile));
+                    } catch (IOException | InvalidPathException e) {
+                        raiseConnectorCheckedException(DataStageErrorCode.FINGERPRINT_STORE_FAILURE, methodName, e, fingerprintFile);
+                    }
+                }
+
+                // Remember the state of syncs locally if configured, rather than in IGC
+                if (stateFile != null) {
+                    try {
+                        this.syncStateStore = new FileSyncStateStore(Paths.get(stateFile));
+                    } catch (IOException | InvalidPathException e) {
+                        raiseConnectorCheckedException(DataStageErrorCode.SYNC_STATE_STORE_FAILURE, methodName, e, stateFile);
+                    }
+                }
+
+                // Report metrics about each sync only if a reporter is configured
+                if (reporter != null) {
+                    addMetricsReporter(reporter, metricsFile);
                 }
 
                 this.defaultUserId = igcUser;
 
                 IGCVersionEnum igcVersion;
                 // Create new REST API client (opens a new session)
-                this.igcRestClient = new IGCRestClient("https://" + address, igcUser, igcPass);
+                this.igcRestClient = createRestClient("https://" + address, igcUser, igcPass);
                 if (this.igcRestClient.start()) {
 
                     // Set the version based on the IGC client's auto-determination of the IGC environment's version
@@ -118,6 +178,10 @@ public class DataStageConnector extends DataEngineConnectorBase {
                     sscDataEngine.setDisplayName(address);
                     dataEngine = new DataEngineSoftwareServerCapability(sscDataEngine, defaultUserId);
 
+                    if (syncStateStore == null) {
+                        syncStateStore = new GovernanceRuleSyncStateStore(igcRestClient);
+                    }
+
                 } else {
                     raiseConnectorCheckedException(DataStageErrorCode.CONNECTION_FAILURE, methodName, null, address);
                 }
@@ -127,6 +191,18 @@ public class DataStageConnector extends DataEngineConnectorBase {
 
     }
 
+    /**
+     * Create the REST API client through which to retrieve details from IGC.
+     *
+     * @param baseURL the base URL of the IGC environment
+     * @param user the user through which to connect
+     * @param password the password of the user
+     * @return IGCRestClient
+     */
+    protected IGCRestClient createRestClient(String baseURL, String user, String password) {
+        return new IGCRestClient(baseURL, user, password);
+    }
+
     /**
      * Free up any resources held since the connector is no longer needed.
      */
@@ -151,18 +227,7 @@ public class DataStageConnector extends DataEngineConnectorBase {
      */
     @Override
     public Date getChangesLastSynced() {
-        InformationGovernanceRule jobSyncRule = getJobSyncRule();
-        Date lastSync = null;
-        if (jobSyncRule != null) {
-            String description = jobSyncRule.getShortDescription();
-            String dateString = description.substring(SYNC_RULE_DESC.length());
-            try {
-                lastSync = SYNC_DATE_FORMAT.parse(dateString);
-            } catch (ParseException e) {
-                log.error("Unable to parse date and time of last sync from rule: {} ({})", description, dateString);
-            }
-        }
-        return lastSync;
+        return syncStateStore.getLastSynced();
     }
 
     /**
@@ -173,20 +238,28 @@ public class DataStageConnector extends DataEngineConnectorBase {
     @Override
     public void setChangesLastSynced(Date time) {
         final String methodName = "setChangesLastSynced";
-        InformationGovernanceRule exists = getJobSyncRule();
-        String newDescription = SYNC_RULE_DESC + SYNC_DATE_FORMAT.format(time);
         boolean success;
-        if (exists == null) {
-            // Create the entry
-            IGCCreate igcCreate = new IGCCreate("information_governance_rule");
-            igcCreate.addProperty(DataStageConstants.NAME, SYNC_RULE_NAME);
-            igcCreate.addProperty(DataStageConstants.SHORT_DESCRIPTION, newDescription);
-            success = igcRestClient.create(igcCreate) != null;
-        } else {
-            // Update the entry
-            IGCUpdate igcUpdate = new IGCUpdate(exists.getId());
-            igcUpdate.addProperty(DataStageConstants.SHORT_DESCRIPTION, newDescription);
-            success = igcRestClient.update(igcUpdate);
+        try {
+            if (dataStageCache == null || windowComplete) {
+                syncStateStore.setLastSynced(time);
+            } else {
+                // Only part of the window was synced, so leave the watermark where it is and instead remember which
+                // jobs were synced, so that the next sync can resume from there
+                if (log.isInfoEnabled()) { log.info("Recording progress of partially completed sync: {} jobs", completedJobs.size()); }
+                syncStateStore.setProgress(dataStageCache.getFrom(), completedJobs);
+            }
+            success = true;
+        } catch (IOException e) {
+            log.error("Unable to persist the state of the sync.", e);
+            success = false;
+        }
+        if (success && fingerprintStore != null) {
+            try {
+                fingerprintStore.commit();
+            } catch (IOException e) {
+                // Not fatal: anything whose fingerprint could not be persisted will simply be sent again next time
+                log.error("Unable to persist fingerprints of synced metadata.", e);
+            }
         }
         if (!success) {
             DataStageErrorCode errorCode = DataStageErrorCode.SYNC_TIME_UPDATE_FAILURE;
@@ -212,30 +285,14 @@ public class DataStageConnector extends DataEngineConnectorBase {
     @Override
     public List<DataEngineSchemaType> getChangedSchemaTypes(Date from, Date to) {
 
-        if (log.isDebugEnabled()) { log.debug("Looking for changed SchemaTypes..."); }
-        Map<String, DataEngineSchemaType> schemaTypeMap = new HashMap<>();
-
         initializeCache(from, to);
-
-        // Iterate through each job looking for any virtual assets -- these must be created first
-        for (DataStageJob job : dataStageCache.getAllJobs()) {
-            for (String storeRid : job.getStoreRids()) {
-                if (log.isDebugEnabled()) { log.debug(" ... considering store: {}", storeRid); }
-                if (DataStageDataAsset.isVirtualAsset(storeRid) && !schemaTypeMap.containsKey(storeRid)) {
-                    if (log.isDebugEnabled()) { log.debug(" ... VIRTUAL! Creating a SchemaType ..."); }
-                    SchemaTypeMapping schemaTypeMapping = new SchemaTypeMapping(job, job.getStoreIdentityFromRid(storeRid), job.getFieldsForStore(storeRid));
-                    DataEngineSchemaType deSchemaType = new DataEngineSchemaType(schemaTypeMapping.getSchemaType(), defaultUserId);
-                    try {
-                        if (log.isDebugEnabled()) { log.debug(" ... created: {}", objectMapper.writeValueAsString(deSchemaType.getSchemaType())); }
-                    } catch (JsonProcessingException e) {
-                        log.error("Unable to serialise to JSON: {}", deSchemaType.getSchemaType(), e);
-                    }
-                    schemaTypeMap.put(storeRid, deSchemaType);
-                }
+        List<DataEngineSchemaType> schemaTypes = new ArrayList<>();
+        for (DataEngineSchemaType schemaType : changedSchemaTypes.values()) {
+            if (schemaType != null) {
+                schemaTypes.add(schemaType);
             }
         }
-
-        return new ArrayList<>(schemaTypeMap.values());
+        return schemaTypes;
 
     }
 
@@ -276,31 +333,7 @@ public class DataStageConnector extends DataEngineConnectorBase {
     public List<DataEngineProcess> getChangedProcesses(Date from, Date to) {
 
         initializeCache(from, to);
-
-        List<DataEngineProcess> processes = new ArrayList<>();
-
-        List<DataStageJob> seqList = new ArrayList<>();
-        Map<String, DataEngineProcess> jobProcessByRid = new HashMap<>();
-        // Translate changed jobs first, to build up appropriate PortAliases list
-        for (DataStageJob detailedJob : dataStageCache.getAllJobs()) {
-            if (detailedJob.getType().equals(DataStageJob.JobType.SEQUENCE)) {
-                seqList.add(detailedJob);
-            } else {
-                processes.addAll(getProcessesForEachStage(detailedJob));
-                DataEngineProcess jobProcess = getProcessForJob(detailedJob);
-                if (jobProcess != null) {
-                    jobProcessByRid.put(detailedJob.getJobObject().getId(), jobProcess);
-                    processes.add(jobProcess);
-                }
-            }
-        }
-        // Then load sequences, re-using the PortAliases constructed for the jobs
-        // TODO: this probably will NOT work for nested sequences?
-        for (DataStageJob detailedSeq: seqList) {
-            processes.add(getProcessForSequence(detailedSeq, jobProcessByRid));
-        }
-
-        return processes;
+        return new ArrayList<>(changedProcesses);
 
     }
 
@@ -318,7 +351,9 @@ public class DataStageConnector extends DataEngineConnectorBase {
     }
 
     /**
-     * Initialize the cache of changed job details based on the provided dates and times.
+     * Initialize the cache of changed job details based on the provided dates and times, and translate the changed
+     * jobs into the schema types and processes to send. When a sync batch size is configured, the changed jobs are
+     * streamed through the translation in batches of that size rather than all being held in memory at once.
      *
      * @param from the date and time from which to cache changes (exclusive)
      * @param to the date and time up to which to cache changes (inclusive)
@@ -327,8 +362,357 @@ public class DataStageConnector extends DataEngineConnectorBase {
         DataStageCache forComparison = new DataStageCache(from, to);
         if (dataStageCache == null || !dataStageCache.equals(forComparison)) {
             // Initialize the cache, if it is empty, or reset it if it differs from the dates and times we've been given
+            // (in which case any fingerprints from a previous attempt that was never committed are no longer relevant)
+            if (fingerprintStore != null) {
+                fingerprintStore.rollback();
+            }
+            changedSchemaTypes = new LinkedHashMap<>();
+            changedProcesses = new ArrayList<>();
+            List<DataStageJob> seqList = new ArrayList<>();
+            Map<String, DataEngineProcess> jobProcessByRid = new HashMap<>();
             dataStageCache = forComparison;
-            dataStageCache.initialize(igcRestClient);
+            SyncMetrics metrics = dataStageCache.getMetrics();
+            for (SyncMetricsReporter metricsReporter : metricsReporters) {
+                metrics.addReporter(metricsReporter);
+            }
+            // Resume from the last completed batch of any earlier, partially completed sync of the same window
+            completedJobs = new HashMap<>(syncStateStore.getProgress(from));
+            windowComplete = true;
+            if (!completedJobs.isEmpty()) {
+                if (log.isInfoEnabled()) { log.info("Resuming partially completed sync, skipping {} already synced jobs.", completedJobs.size()); }
+                dataStageCache.skipJobs(completedJobs);
+            }
+            ForkJoinPool translators = new ForkJoinPool(translationWorkers);
+            int alreadyCompleted = completedJobs.size();
+            try {
+                if (syncBatchSize > 0) {
+                    dataStageCache.initialize(igcRestClient, hydrationWorkers, syncBatchSize, batch -> {
+                        translateJobs(batch, seqList, jobProcessByRid, translators);
+                        recordCompleted(batch);
+                    });
+                } else {
+                    dataStageCache.initialize(igcRestClient, hydrationWorkers);
+                    translateJobs(dataStageCache.getAllJobs(), seqList, jobProcessByRid, translators);
+                    recordCompleted(dataStageCache.getAllJobs());
+                }
+            } catch (RuntimeException e) {
+                if (completedJobs.size() == alreadyCompleted) {
+                    throw e;
+                }
+                // Send what has been completed so far, and resume from there next time
+                log.error("Unable to sync all changed jobs, the next sync will resume from the last completed batch.", e);
+                windowComplete = false;
+            } finally {
+                translators.shutdownNow();
+            }
+            // Then load sequences, re-using the PortAliases constructed for the jobs
+            long start = System.nanoTime();
+            long calls = igcRestClient.getRequestCountForCurrentThread();
+            translateSequences(seqList, jobProcessByRid);
+            metrics.recordPhase(SyncMetrics.Phase.SEQUENCE_TRANSLATION, System.nanoTime() - start, igcRestClient.getRequestCountForCurrentThread() - calls);
+            metrics.report();
+        }
+    }
+
+    /**
+     * Record that the provided jobs have been translated, for the progress of the sync.
+     *
+     * @param jobs the jobs that have been translated
+     */
+    private void recordCompleted(Collection<DataStageJob> jobs) {
+        for (DataStageJob job : jobs) {
+            Date modifiedOn = job.getJobObject().getModifiedOn();
+            completedJobs.put(job.getJobObject().getId(), modifiedOn == null ? null : modifiedOn.getTime());
+        }
+    }
+
+    /**
+     * Translate the provided (changed) sequences into processes, re-using the PortAliases of the jobs they run. Any
+     * jobs run by the sequences that are not already translated (because they did not change within the window) are
+     * retrieved together, and the sequences are then translated in dependency order so that a sequence that runs
+     * other sequences can re-use their PortAliases as well. Every process built is memoized by its RID, so each is
+     * built only once however many sequences run it.
+     *
+     * @param seqList the changed sequences to translate
+     * @param processByRid the map from job RID to its process, to which to add the process of each sequence (and of
+     *                     any job retrieved only because a sequence runs it)
+     */
+    private void translateSequences(List<DataStageJob> seqList, Map<String, DataEngineProcess> processByRid) {
+
+        SequenceDependencyGraph dependencies = new SequenceDependencyGraph();
+        Set<String> changedSeqRids = new HashSet<>();
+        for (DataStageJob detailedSeq : seqList) {
+            dependencies.addSequence(detailedSeq);
+            changedSeqRids.add(detailedSeq.getJobObject().getId());
+        }
+
+        // Retrieve any members that are not yet known -- repeatedly, as these may themselves be sequences that run
+        // further jobs -- only ever trying to retrieve each member once
+        Set<String> attempted = new HashSet<>();
+        Set<String> missing = dependencies.getMissingMembers(processByRid.keySet());
+        while (!missing.isEmpty()) {
+            if (log.isInfoEnabled()) { log.info(" ... retrieving {} jobs run by sequences outside the changed window", missing.size()); }
+            attempted.addAll(missing);
+            for (DataStageJob memberJob : dataStageCache.retrieveJobs(missing)) {
+                if (memberJob.getType().equals(DataStageJob.JobType.SEQUENCE)) {
+                    dependencies.addSequence(memberJob);
+                } else {
+                    // Unchanged, so only needed for its PortAliases (not to be sent itself)
+                    DataEngineProcess jobProcess = getProcessForJob(memberJob);
+                    if (jobProcess != null) {
+                        processByRid.put(memberJob.getJobObject().getId(), jobProcess);
+                    }
+                }
+            }
+            missing = dependencies.getMissingMembers(processByRid.keySet());
+            missing.removeAll(attempted);
+        }
+
+        for (DataStageJob detailedSeq : dependencies.getBuildOrder()) {
+            String seqRid = detailedSeq.getJobObject().getId();
+            DataEngineProcess seqProcess = getProcessForSequence(detailedSeq, processByRid);
+            if (seqProcess != null) {
+                processByRid.put(seqRid, seqProcess);
+                if (changedSeqRids.contains(seqRid)) {
+                    addIfChanged(seqProcess, changedProcesses);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Translate the provided jobs into schema types (for any virtual assets they use) and processes, setting aside
+     * any sequences to be translated once all jobs have been (so they can re-use the jobs' PortAliases). Translation
+     * needs nothing more from IGC once the jobs' details are retrieved, so each job is translated as a separate task
+     * on the provided pool; the results are then merged in order of job RID, so that the same changes are always sent
+     * in the same order however the tasks happen to be scheduled. The fingerprints of the jobs (and of what they were
+     * translated into) are only staged once every job has been translated and merged, so that a batch that fails
+     * part-way never records any of its jobs as synced.
+     *
+     * @param jobs the jobs to translate
+     * @param seqList the list of sequences to which to add any sequences
+     * @param jobProcessByRid the map from job RID to its process, to which to add each job's process
+     * @param translators the pool on which to translate the jobs
+     */
+    private void translateJobs(Collection<DataStageJob> jobs,
+                               List<DataStageJob> seqList,
+                               Map<String, DataEngineProcess> jobProcessByRid,
+                               ForkJoinPool translators) {
+
+        List<DataStageJob> ordered = new ArrayList<>(jobs);
+        ordered.sort(Comparator.comparing(job -> job.getJobObject().getId()));
+        List<Callable<JobTranslation>> tasks = new ArrayList<>();
+        for (DataStageJob detailedJob : ordered) {
+            if (detailedJob.getType().equals(DataStageJob.JobType.SEQUENCE)) {
+                seqList.add(detailedJob);
+                tasks.add(() -> translateJob(detailedJob, false));
+            } else {
+                // The stages' processes can only have changed if the job's details have changed
+                String jobKey = JOB_FINGERPRINT_PREFIX + detailedJob.getJobObject().getId();
+                boolean stagesChanged = fingerprintStore == null || fingerprintStore.isChanged(jobKey, detailedJob.getFingerprint());
+                tasks.add(() -> translateJob(detailedJob, stagesChanged));
+            }
+        }
+
+        Map<String, String> toStage = new LinkedHashMap<>();
+        for (JobTranslation translation : awaitTranslations(translators.invokeAll(tasks))) {
+            for (Map.Entry<String, DataEngineSchemaType> entry : translation.schemaTypes.entrySet()) {
+                String storeRid = entry.getKey();
+                if (!changedSchemaTypes.containsKey(storeRid)) {
+                    // Record unchanged schema types as null, so that they are only considered once
+                    DataEngineSchemaType deSchemaType = entry.getValue();
+                    boolean changed = isChanged(deSchemaType.getSchemaType().getQualifiedName(), translation.fingerprints, toStage);
+                    changedSchemaTypes.put(storeRid, changed ? deSchemaType : null);
+                }
+            }
+            for (DataEngineProcess stageProcess : translation.stageProcesses) {
+                addIfChanged(stageProcess, translation.fingerprints, toStage, changedProcesses);
+            }
+            // ... but the job's own process is always needed, for the PortAliases of any sequences
+            if (translation.jobProcess != null) {
+                jobProcessByRid.put(translation.jobRid, translation.jobProcess);
+                addIfChanged(translation.jobProcess, translation.fingerprints, toStage, changedProcesses);
+            }
+            String jobKey = JOB_FINGERPRINT_PREFIX + translation.jobRid;
+            if (translation.fingerprints.containsKey(jobKey)) {
+                toStage.put(jobKey, translation.fingerprints.get(jobKey));
+            }
+        }
+        stageAll(toStage);
+
+    }
+
+    /**
+     * Translate a single job into schema types (for any virtual assets it uses) and processes (unless it is a
+     * sequence), along with the fingerprint of each. This must not modify any state shared between jobs, as many jobs
+     * are translated at the same time.
+     *
+     * @param job the job to translate
+     * @param stagesChanged whether to translate the processes for each of the job's stages (true) or not (false)
+     * @return JobTranslation
+     */
+    private JobTranslation translateJob(DataStageJob job, boolean stagesChanged) {
+        long start = System.nanoTime();
+        long calls = igcRestClient.getRequestCountForCurrentThread();
+        JobTranslation translation = new JobTranslation(job.getJobObject().getId());
+        translateSchemaTypes(job, translation);
+        if (!job.getType().equals(DataStageJob.JobType.SEQUENCE)) {
+            if (stagesChanged) {
+                List<DataEngineProcess> stageProcesses = getProcessesForEachStage(job);
+                stageProcesses.sort(Comparator.comparing(process -> process.getProcess().getQualifiedName(), Comparator.nullsFirst(Comparator.naturalOrder())));
+                for (DataEngineProcess stageProcess : stageProcesses) {
+                    translation.stageProcesses.add(stageProcess);
+                    addFingerprint(stageProcess.getProcess().getQualifiedName(), stageProcess.getProcess(), translation.fingerprints);
+                }
+            }
+            translation.jobProcess = getProcessForJob(job);
+            if (translation.jobProcess != null) {
+                addFingerprint(translation.jobProcess.getProcess().getQualifiedName(), translation.jobProcess.getProcess(), translation.fingerprints);
+            }
+            if (fingerprintStore != null) {
+                translation.fingerprints.put(JOB_FINGERPRINT_PREFIX + translation.jobRid, job.getFingerprint());
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long jobCalls = igcRestClient.getRequestCountForCurrentThread() - calls;
+        SyncMetrics metrics = dataStageCache.getMetrics();
+        metrics.recordPhase(SyncMetrics.Phase.TRANSLATION, nanos, jobCalls);
+        metrics.recordJob(translation.jobRid, job.getJobObject().getName(), SyncMetrics.Phase.TRANSLATION, nanos, jobCalls);
+        return translation;
+    }
+
+    /**
+     * Translate any virtual assets used by the provided job into schema types -- these must be created first.
+     *
+     * @param job the job whose virtual assets to translate
+     * @param translation the translation of the job, to which to add the schema types
+     */
+    private void translateSchemaTypes(DataStageJob job, JobTranslation translation) {
+        List<String> storeRids = new ArrayList<>(job.getStoreRids());
+        Collections.sort(storeRids);
+        for (String storeRid : storeRids) {
+            if (log.isDebugEnabled()) { log.debug(" ... considering store: {}", storeRid); }
+            if (DataStageDataAsset.isVirtualAsset(storeRid) && !changedSchemaTypes.containsKey(storeRid)) {
+                if (log.isDebugEnabled()) { log.debug(" ... VIRTUAL! Creating a SchemaType ..."); }
+                SchemaTypeMapping schemaTypeMapping = new SchemaTypeMapping(job, job.getStoreIdentityFromRid(storeRid), job.getFieldsForStore(storeRid));
+                DataEngineSchemaType deSchemaType = new DataEngineSchemaType(schemaTypeMapping.getSchemaType(), defaultUserId);
+                try {
+                    if (log.isDebugEnabled()) { log.debug(" ... created: {}", objectMapper.writeValueAsString(deSchemaType.getSchemaType())); }
+                } catch (JsonProcessingException e) {
+                    log.error("Unable to serialise to JSON: {}", deSchemaType.getSchemaType(), e);
+                }
+                translation.schemaTypes.put(storeRid, deSchemaType);
+                addFingerprint(deSchemaType.getSchemaType().getQualifiedName(), deSchemaType.getSchemaType(), translation.fingerprints);
+            }
+        }
+    }
+
+    /**
+     * Wait for all of the provided translations to complete, re-throwing the first failure (if any).
+     *
+     * @param pending the translations to wait for
+     * @return {@code List<JobTranslation>} the completed translations, in the same order
+     */
+    private List<JobTranslation> awaitTranslations(List<Future<JobTranslation>> pending) {
+        List<JobTranslation> translations = new ArrayList<>(pending.size());
+        for (Future<JobTranslation> future : pending) {
+            try {
+                translations.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while translating jobs.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Unable to translate jobs.", cause);
+            }
+        }
+        return translations;
+    }
+
+    /**
+     * Compute the fingerprint of the provided metadata, if there is a fingerprint store in which to compare it.
+     *
+     * @param qualifiedName the qualifiedName of the metadata
+     * @param metadata the metadata to fingerprint
+     * @param fingerprints the fingerprints, keyed by qualifiedName, to which to add it
+     */
+    private void addFingerprint(String qualifiedName, Object metadata, Map<String, String> fingerprints) {
+        if (fingerprintStore != null && qualifiedName != null) {
+            fingerprints.put(qualifiedName, Fingerprints.of(objectMapper, metadata));
+        }
+    }
+
+    /**
+     * Add the provided process to the provided list, unless it is unchanged since the last successful sync.
+     *
+     * @param process the process to add (if any)
+     * @param processes the list of processes to which to add it
+     */
+    private void addIfChanged(DataEngineProcess process, List<DataEngineProcess> processes) {
+        if (process != null) {
+            Map<String, String> fingerprints = new HashMap<>();
+            Map<String, String> toStage = new HashMap<>();
+            addFingerprint(process.getProcess().getQualifiedName(), process.getProcess(), fingerprints);
+            addIfChanged(process, fingerprints, toStage, processes);
+            stageAll(toStage);
+        }
+    }
+
+    /**
+     * Add the provided process to the provided list, unless it is unchanged since the last successful sync.
+     *
+     * @param process the process to add (if any)
+     * @param fingerprints the (already computed) fingerprints of metadata, keyed by qualifiedName
+     * @param toStage the fingerprints to stage once the process is sure to be sent, to which to add its fingerprint
+     * @param processes the list of processes to which to add it
+     */
+    private void addIfChanged(DataEngineProcess process,
+                              Map<String, String> fingerprints,
+                              Map<String, String> toStage,
+                              List<DataEngineProcess> processes) {
+        if (process != null) {
+            if (isChanged(process.getProcess().getQualifiedName(), fingerprints, toStage)) {
+                processes.add(process);
+            } else if (log.isDebugEnabled()) {
+                log.debug(" ... skipping unchanged process: {}", process.getProcess().getQualifiedName());
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the metadata with the provided qualifiedName has changed since the last successful sync (true)
+     * or not (false). When there is no fingerprint store (or no fingerprint), everything is considered to have changed.
+     *
+     * @param qualifiedName the qualifiedName of the metadata
+     * @param fingerprints the (already computed) fingerprints of metadata, keyed by qualifiedName
+     * @param toStage the fingerprints to stage once the metadata is sure to be sent, to which to add its fingerprint
+     * @return boolean
+     */
+    private boolean isChanged(String qualifiedName, Map<String, String> fingerprints, Map<String, String> toStage) {
+        String fingerprint = fingerprints.get(qualifiedName);
+        if (fingerprintStore == null || fingerprint == null) {
+            return true;
+        }
+        toStage.put(qualifiedName, fingerprint);
+        return fingerprintStore.isChanged(qualifiedName, fingerprint);
+    }
+
+    /**
+     * Stage the provided fingerprints, now that the metadata they describe has been translated and is to be sent.
+     *
+     * @param toStage the fingerprints to stage, keyed by qualifiedName (or job key)
+     */
+    private void stageAll(Map<String, String> toStage) {
+        if (fingerprintStore != null) {
+            for (Map.Entry<String, String> entry : toStage.entrySet()) {
+                fingerprintStore.stage(entry.getKey(), entry.getValue());
+            }
         }
     }
 
@@ -404,18 +788,33 @@ public class DataStageConnector extends DataEngineConnectorBase {
     }
 
     /**
-     * Retrieve the rule that represents the job sync with Data Engine OMAS.
+     * Register the metrics reporter with the provided name: either 'log', 'json' (which appends to the provided file),
+     * or the fully-qualified name of a class implementing SyncMetricsReporter.
      *
-     * @return InformationGovernanceRule
+     * @param reporterName the name of the reporter to register
+     * @param metricsFile the file to which the 'json' reporter should append
      */
-    private InformationGovernanceRule getJobSyncRule() {
-        IGCSearch igcSearch = new IGCSearch("information_governance_rule");
-        igcSearch.addProperty(DataStageConstants.SHORT_DESCRIPTION);
-        IGCSearchCondition condition = new IGCSearchCondition(DataStageConstants.NAME, "=", SYNC_RULE_NAME);
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        igcSearch.addConditions(conditionSet);
-        ItemList<InformationGovernanceRule> results = igcRestClient.search(igcSearch);
-        return (results == null || results.getPaging().getNumTotal() == 0) ? null : results.getItems().get(0);
+    private void addMetricsReporter(String reporterName, String metricsFile) {
+        if (reporterName.equalsIgnoreCase("log")) {
+            metricsReporters.add(new LogSyncMetricsReporter());
+        } else if (reporterName.equalsIgnoreCase("json")) {
+            if (metricsFile == null) {
+                if (log.isWarnEnabled()) { log.warn("No metricsFile configured for the 'json' metrics reporter -- metrics will not be reported."); }
+            } else {
+                try {
+                    metricsReporters.add(new JsonSyncMetricsReporter(Paths.get(metricsFile)));
+                } catch (InvalidPathException e) {
+                    if (log.isWarnEnabled()) { log.warn("Invalid metricsFile '{}' -- metrics will not be reported.", metricsFile, e); }
+                }
+            }
+        } else if (!reporterName.equals("") && !reporterName.equalsIgnoreCase("none")) {
+            try {
+                Class<?> reporterClass = Class.forName(reporterName);
+                metricsReporters.add((SyncMetricsReporter) reporterClass.newInstance());
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to setup metrics reporter '{}' -- metrics will not be reported.", reporterName, e); }
+            }
+        }
     }
 
     /**
@@ -439,4 +838,26 @@ public class DataStageConnector extends DataEngineConnectorBase {
         );
     }
 
+
+    /**
+     * The results of translating a single job, to be merged with those of all other jobs.
+     */
+    private static class JobTranslation {
+
+        private final String jobRid;
+        private final Map<String, DataEngineSchemaType> schemaTypes;
+        private final List<DataEngineProcess> stageProcesses;
+        private final Map<String, String> fingerprints;
+        private DataEngineProcess jobProcess;
+
+        JobTranslation(String jobRid) {
+            this.jobRid = jobRid;
+            this.schemaTypes = new LinkedHashMap<>();
+            this.stageProcesses = new ArrayList<>();
+            this.fingerprints = new HashMap<>();
+            this.jobProcess = null;
+        }
+
+    }
+
 }
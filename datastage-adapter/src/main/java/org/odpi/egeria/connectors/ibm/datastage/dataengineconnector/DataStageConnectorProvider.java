@@ -24,7 +24,14 @@ public class DataStageConnectorProvider extends DataEngineConnectorProviderBase
     private static final String CONNECTOR_TYPE_NAME = "DataStage Data Engine Connector";
     private static final String CONNECTOR_TYPE_DESC = "DataStage Data Engine Connector that processes job information from the IBM DataStage ETL engine.";
 
-    private static final String PAGE_SIZE = "pageSize";
+    static final String PAGE_SIZE = "pageSize";
+    static final String HYDRATION_WORKERS = "jobHydrationWorkers";
+    static final String FINGERPRINT_STORE = "fingerprintStore";
+    static final String SYNC_BATCH_SIZE = "syncBatchSize";
+    static final String TRANSLATION_WORKERS = "jobTranslationWorkers";
+    static final String SYNC_STATE_STORE = "syncStateStore";
+    static final String METRICS_REPORTER = "metricsReporter";
+    static final String METRICS_FILE = "metricsFile";
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -45,6 +52,13 @@ public class DataStageConnectorProvider extends DataEngineConnectorProviderBase
 
         List<String> recognizedConfigurationProperties = new ArrayList<>();
         recognizedConfigurationProperties.add(PAGE_SIZE);
+        recognizedConfigurationProperties.add(HYDRATION_WORKERS);
+        recognizedConfigurationProperties.add(FINGERPRINT_STORE);
+        recognizedConfigurationProperties.add(SYNC_BATCH_SIZE);
+        recognizedConfigurationProperties.add(TRANSLATION_WORKERS);
+        recognizedConfigurationProperties.add(SYNC_STATE_STORE);
+        recognizedConfigurationProperties.add(METRICS_REPORTER);
+        recognizedConfigurationProperties.add(METRICS_FILE);
         connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
         super.connectorTypeBean = connectorType;
@@ -0,0 +1,133 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector;
+
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.SyncStateStore;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.InformationGovernanceRule;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCCreate;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * A sync state store that keeps the watermark in the short description of an IGC information_governance_rule, for
+ * use when no local sync state store is configured. The progress of partially completed syncs is only held in memory,
+ * so it is lost whenever the connector is restarted.
+ */
+class GovernanceRuleSyncStateStore implements SyncStateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceRuleSyncStateStore.class);
+
+    private static final String SYNC_RULE_NAME = "Job metadata will be periodically synced through ODPi Egeria's Data Engine OMAS";
+    private static final String SYNC_RULE_DESC = "GENERATED -- DO NOT UPDATE: last synced at ";
+
+    private final SimpleDateFormat SYNC_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    private final IGCRestClient igcRestClient;
+
+    private Date progressFrom;
+    private Map<String, Long> progress;
+
+    /**
+     * Create a new sync state store against the provided IGC environment.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     */
+    GovernanceRuleSyncStateStore(IGCRestClient igcRestClient) {
+        this.igcRestClient = igcRestClient;
+        this.progressFrom = null;
+        this.progress = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Date getLastSynced() {
+        InformationGovernanceRule jobSyncRule = getJobSyncRule();
+        Date lastSync = null;
+        if (jobSyncRule != null) {
+            String description = jobSyncRule.getShortDescription();
+            String dateString = description.substring(SYNC_RULE_DESC.length());
+            try {
+                lastSync = SYNC_DATE_FORMAT.parse(dateString);
+            } catch (ParseException e) {
+                log.error("Unable to parse date and time of last sync from rule: {} ({})", description, dateString);
+            }
+        }
+        return lastSync;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setLastSynced(Date time) throws IOException {
+        InformationGovernanceRule exists = getJobSyncRule();
+        String newDescription = SYNC_RULE_DESC + SYNC_DATE_FORMAT.format(time);
+        boolean success;
+        if (exists == null) {
+            // Create the entry
+            IGCCreate igcCreate = new IGCCreate("information_governance_rule");
+            igcCreate.addProperty(DataStageConstants.NAME, SYNC_RULE_NAME);
+            igcCreate.addProperty(DataStageConstants.SHORT_DESCRIPTION, newDescription);
+            success = igcRestClient.create(igcCreate) != null;
+        } else {
+            // Update the entry
+            IGCUpdate igcUpdate = new IGCUpdate(exists.getId());
+            igcUpdate.addProperty(DataStageConstants.SHORT_DESCRIPTION, newDescription);
+            success = igcRestClient.update(igcUpdate);
+        }
+        if (!success) {
+            throw new IOException("Unable to record the date and time of the last sync in IGC.");
+        }
+        progressFrom = null;
+        progress = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<String, Long> getProgress(Date from) {
+        if (progress == null || !Objects.equals(progressFrom, from)) {
+            return Collections.emptyMap();
+        }
+        return new HashMap<>(progress);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setProgress(Date from, Map<String, Long> completedJobs) {
+        progressFrom = from;
+        progress = new HashMap<>(completedJobs);
+    }
+
+    /**
+     * Retrieve the rule that represents the job sync with Data Engine OMAS.
+     *
+     * @return InformationGovernanceRule
+     */
+    private InformationGovernanceRule getJobSyncRule() {
+        IGCSearch igcSearch = new IGCSearch("information_governance_rule");
+        igcSearch.addProperty(DataStageConstants.SHORT_DESCRIPTION);
+        IGCSearchCondition condition = new IGCSearchCondition(DataStageConstants.NAME, "=", SYNC_RULE_NAME);
+        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
+        igcSearch.addConditions(conditionSet);
+        ItemList<InformationGovernanceRule> results = igcRestClient.search(igcSearch);
+        return (results == null || results.getPaging().getNumTotal() == 0) ? null : results.getItems().get(0);
+    }
+
+}
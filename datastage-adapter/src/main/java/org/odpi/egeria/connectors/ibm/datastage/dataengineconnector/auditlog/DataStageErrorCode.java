@@ -32,6 +32,14 @@ public enum DataStageErrorCode {
             "Unable to initialize DataStage connectivity to: {0}",
             "The system was unable to initialize connectivity to IBM DataStage on the provided address.",
             "Check the inter-host network resolution, credentials and system logs to diagnose or report the problem."),
+    FINGERPRINT_STORE_FAILURE(500, "DATA-ENGINE-IBM-DATASTAGE-500-003 ",
+            "Unable to open the fingerprint store: {0}",
+            "The system was unable to read the fingerprints of previously synchronized metadata from the provided location.",
+            "Check that the location is readable and writable by the connector, or remove the fingerprintStore configuration property."),
+    SYNC_STATE_STORE_FAILURE(500, "DATA-ENGINE-IBM-DATASTAGE-500-004 ",
+            "Unable to open the sync state store: {0}",
+            "The system was unable to read the state of previous synchronizations from the provided location.",
+            "Check that the location is readable and writable by the connector, or remove the syncStateStore configuration property."),
     ;
 
     private int    httpErrorCode;
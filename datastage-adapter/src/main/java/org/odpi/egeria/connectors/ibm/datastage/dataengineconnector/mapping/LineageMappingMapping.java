@@ -3,12 +3,10 @@
 package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping;
 
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model.DataStageJob;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model.LineageGraph;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.*;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
 import org.odpi.openmetadata.accessservices.dataengine.model.LineageMapping;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.dataengineproxy.model.DataEngineLineageMappings;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
 import java.util.List;
@@ -19,8 +17,6 @@ import java.util.Set;
  */
 class LineageMappingMapping extends BaseMapping {
 
-    private static final Logger log = LoggerFactory.getLogger(LineageMappingMapping.class);
-
     private DataEngineLineageMappings lineageMappings;
 
     /**
@@ -37,29 +33,20 @@ class LineageMappingMapping extends BaseMapping {
         super(job.getIgcRestClient());
         Set<LineageMapping> lineageMappingsSet = new HashSet<>();
         String userId = link.getModifiedBy();
-        ItemList<DataItem> stageColumns = link.getStageColumns();
-        stageColumns.getAllPages(igcRestClient);
+        LineageGraph graph = job.getLineageGraph();
         // For each stage column defined on the link...
-        for (DataItem stageColumnRef : stageColumns.getItems()) {
-            String colId = stageColumnRef.getId();
-            StageColumn stageColumnFull = job.getStageColumnByRid(colId);
-            String thisColumnName = getFullyQualifiedName(stageColumnFull) + stageNameSuffix;
+        for (int column : graph.getRelated(graph.getNode(link.getId()), LineageGraph.Relation.LINK_COLUMNS)) {
+            String thisColumnName = graph.getQualifiedName(column) + stageNameSuffix;
             if (!bSource) {
                 // Create a LineageMapping from each previous stage column to this stage column
-                ItemList<DataItem> previousColumns = stageColumnFull.getPreviousStageColumns();
-                previousColumns.getAllPages(igcRestClient);
-                for (DataItem previousColumnRef : previousColumns.getItems()) {
-                    StageColumn previousColumnFull = job.getStageColumnByRid(previousColumnRef.getId());
-                    LineageMapping lineageMapping = getLineageMapping(getFullyQualifiedName(previousColumnFull) + stageNameSuffix, thisColumnName);
+                for (int previousColumn : graph.getRelated(column, LineageGraph.Relation.PREVIOUS_COLUMNS)) {
+                    LineageMapping lineageMapping = getLineageMapping(graph.getQualifiedName(previousColumn) + stageNameSuffix, thisColumnName);
                     lineageMappingsSet.add(lineageMapping);
                 }
             } else {
                 // Create a LineageMapping from this stage column to each next stage column
-                ItemList<DataItem> nextColumns = stageColumnFull.getNextStageColumns();
-                nextColumns.getAllPages(igcRestClient);
-                for (DataItem nextColumnRef : nextColumns.getItems()) {
-                    StageColumn nextColumnFull = job.getStageColumnByRid(nextColumnRef.getId());
-                    LineageMapping lineageMapping = getLineageMapping(thisColumnName, getFullyQualifiedName(nextColumnFull) + stageNameSuffix);
+                for (int nextColumn : graph.getRelated(column, LineageGraph.Relation.NEXT_COLUMNS)) {
+                    LineageMapping lineageMapping = getLineageMapping(thisColumnName, graph.getQualifiedName(nextColumn) + stageNameSuffix);
                     lineageMappingsSet.add(lineageMapping);
                 }
             }
@@ -83,13 +70,11 @@ class LineageMappingMapping extends BaseMapping {
         // Despite the plural name, a link can only have one input and one output stage so these are singular
         Stage inputStage = link.getInputStages();
         Stage outputStage = link.getOutputStages();
-        ItemList<DataItem> stageColumns = link.getStageColumns();
-        stageColumns.getAllPages(igcRestClient);
         String userId = link.getModifiedBy();
+        LineageGraph graph = job.getLineageGraph();
         // For each stage column defined on the link...
-        for (DataItem stageColRef : stageColumns.getItems()) {
-            StageColumn stageColFull = job.getStageColumnByRid(stageColRef.getId());
-            String stageColName = getFullyQualifiedName(stageColFull);
+        for (int column : graph.getRelated(graph.getNode(link.getId()), LineageGraph.Relation.LINK_COLUMNS)) {
+            String stageColName = graph.getQualifiedName(column);
             // Create a single mapping between the input stage and the output stage that use this link
             LineageMapping lineageMapping = getLineageMapping(stageColName + "_" + inputStage.getName(), stageColName + "_" + outputStage.getName());
             lineageMappingsSet.add(lineageMapping);
@@ -116,38 +101,29 @@ class LineageMappingMapping extends BaseMapping {
         super(job.getIgcRestClient());
         Set<LineageMapping> lineageMappingsSet = new HashSet<>();
         String userId = job.getJobObject().getModifiedBy();
+        LineageGraph graph = job.getLineageGraph();
+        LineageGraph.Relation relatedBy = bSource ? LineageGraph.Relation.READ_BY_COLUMNS : LineageGraph.Relation.WRITTEN_BY_COLUMNS;
         // For each field in the data store...
         for (Classificationenabledgroup fieldObj : fields) {
-            String field1QN = getFullyQualifiedName(fieldObj);
-            ItemList<InformationAsset> relatedStageCols;
-            if (bSource) {
-                relatedStageCols = fieldObj.getReadByDesign();
-            } else {
-                relatedStageCols = fieldObj.getWrittenByDesign();
-            }
-            relatedStageCols.getAllPages(igcRestClient);
-            // For each object that reads / writes to that field...
-            for (InformationAsset stageColRef : relatedStageCols.getItems()) {
-                StageColumn stageColFull = job.getStageColumnByRid(stageColRef.getId());
-                if (stageColFull != null) {
-                    String field2QN = getFullyQualifiedName(stageColFull);
-                    if (bSource) {
-                        // StoreX to StoreX_STAGEA (reads_from_(design) to INPUT_PORT)
-                        LineageMapping oneToOne = getLineageMapping(field1QN, field1QN + fullyQualifiedStageName);
-                        lineageMappingsSet.add(oneToOne);
-                        // StoreX_STAGEA to DSLink1_STAGEA (INPUT_PORT to OUTPUT_PORT)
-                        LineageMapping portToPort = getLineageMapping(field1QN + fullyQualifiedStageName, field2QN + stageNameSuffix);
-                        lineageMappingsSet.add(portToPort);
-                    } else {
-                        // DSLink2_STAGEC to StoreY_STAGEC (INPUT_PORT to OUTPUT_PORT)
-                        LineageMapping portToPort = getLineageMapping(field1QN + fullyQualifiedStageName, field1QN);
-                        lineageMappingsSet.add(portToPort);
-                        // StoreY_STAGEC to StoreY (OUTPUT_PORT to written_by_(design))
-                        LineageMapping oneToOne = getLineageMapping(field2QN + stageNameSuffix, field1QN + fullyQualifiedStageName);
-                        lineageMappingsSet.add(oneToOne);
-                    }
+            int field = graph.getNode(fieldObj.getId());
+            String field1QN = field < 0 ? getFullyQualifiedName(fieldObj) : graph.getQualifiedName(field);
+            // For each stage column (within the job) that reads / writes to that field...
+            for (int stageCol : graph.getRelated(field, relatedBy)) {
+                String field2QN = graph.getQualifiedName(stageCol);
+                if (bSource) {
+                    // StoreX to StoreX_STAGEA (reads_from_(design) to INPUT_PORT)
+                    LineageMapping oneToOne = getLineageMapping(field1QN, field1QN + fullyQualifiedStageName);
+                    lineageMappingsSet.add(oneToOne);
+                    // StoreX_STAGEA to DSLink1_STAGEA (INPUT_PORT to OUTPUT_PORT)
+                    LineageMapping portToPort = getLineageMapping(field1QN + fullyQualifiedStageName, field2QN + stageNameSuffix);
+                    lineageMappingsSet.add(portToPort);
                 } else {
-                    log.error("Unable to find referenced stage column: {}", stageColRef);
+                    // DSLink2_STAGEC to StoreY_STAGEC (INPUT_PORT to OUTPUT_PORT)
+                    LineageMapping portToPort = getLineageMapping(field1QN + fullyQualifiedStageName, field1QN);
+                    lineageMappingsSet.add(portToPort);
+                    // StoreY_STAGEC to StoreY (OUTPUT_PORT to written_by_(design))
+                    LineageMapping oneToOne = getLineageMapping(field2QN + stageNameSuffix, field1QN + fullyQualifiedStageName);
+                    lineageMappingsSet.add(oneToOne);
                 }
             }
         }
@@ -3,12 +3,13 @@
 package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping;
 
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model.DataStageJob;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model.LineageGraph;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.InformationAsset;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Stage;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
 import org.odpi.openmetadata.accessservices.dataengine.model.PortAlias;
 import org.odpi.openmetadata.accessservices.dataengine.model.PortType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +19,8 @@ import java.util.List;
  */
 class PortAliasMapping extends BaseMapping {
 
+    private static final Logger log = LoggerFactory.getLogger(PortAliasMapping.class);
+
     private List<PortAlias> portAliases;
 
     private PortAliasMapping(IGCRestClient igcRestClient) {
@@ -54,18 +57,24 @@ class PortAliasMapping extends BaseMapping {
     List<PortAlias> getPortAliases() { return portAliases; }
 
     private void addInputPortAliases(DataStageJob job, Stage stage) {
-        addPortAliases(job, stage, stage.getReadsFromDesign(), PortType.INPUT_PORT);
+        addPortAliases(job, stage, LineageGraph.Relation.STAGE_READS, PortType.INPUT_PORT);
     }
 
     private void addOutputPortAliases(DataStageJob job, Stage stage) {
-        addPortAliases(job, stage, stage.getWritesToDesign(), PortType.OUTPUT_PORT);
+        addPortAliases(job, stage, LineageGraph.Relation.STAGE_WRITES, PortType.OUTPUT_PORT);
     }
 
-    private void addPortAliases(DataStageJob job, Stage stage, ItemList<InformationAsset> relations, PortType portType) {
-        relations.getAllPages(igcRestClient);
-        for (InformationAsset relation : relations.getItems()) {
-            String fullyQualifiedStoreName = job.getQualifiedNameFromStoreRid(relation.getId());
-            String fullyQualifiedStageName = getFullyQualifiedName(stage);
+    private void addPortAliases(DataStageJob job, Stage stage, LineageGraph.Relation relation, PortType portType) {
+        LineageGraph graph = job.getLineageGraph();
+        int stageNode = graph.getNode(stage.getId());
+        String fullyQualifiedStageName = graph.getQualifiedName(stageNode);
+        for (int store : graph.getRelated(stageNode, relation)) {
+            String fullyQualifiedStoreName = graph.getQualifiedName(store);
+            if (fullyQualifiedStoreName == null) {
+                // Without any known fields there is no PortImplementation for the store, so nothing to delegate to
+                if (log.isWarnEnabled()) { log.warn("Unable to identify a data store used by stage {} -- skipping its PortAlias.", fullyQualifiedStageName); }
+                continue;
+            }
             PortAlias portAlias = new PortAlias();
             portAlias.setQualifiedName(fullyQualifiedStageName);
             portAlias.setDisplayName(stage.getName());
@@ -0,0 +1,59 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reports a summary of the metrics captured during each sync as a single line of JSON, appended to a local file (so
+ * that the file holds the history of syncs, one per line).
+ */
+public class JsonSyncMetricsReporter implements SyncMetricsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonSyncMetricsReporter.class);
+
+    private static final int SLOWEST_JOBS = 25;
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Create a new reporter that appends to the provided file.
+     *
+     * @param file the file to which to append the summary of each sync
+     */
+    public JsonSyncMetricsReporter(Path file) {
+        this.file = file;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void report(SyncMetrics metrics) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            String json = objectMapper.writeValueAsString(metrics.getSummary(SLOWEST_JOBS));
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(json);
+                writer.write(System.lineSeparator());
+            }
+        } catch (IOException e) {
+            if (log.isWarnEnabled()) { log.warn("Unable to write sync metrics to: {}", file, e); }
+        }
+    }
+
+}
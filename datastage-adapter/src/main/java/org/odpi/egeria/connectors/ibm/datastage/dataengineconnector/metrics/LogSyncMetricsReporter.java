@@ -0,0 +1,43 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Reports a summary of the metrics captured during a sync to the log (at INFO level).
+ */
+public class LogSyncMetricsReporter implements SyncMetricsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSyncMetricsReporter.class);
+
+    private static final int SLOWEST_JOBS = 10;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void report(SyncMetrics metrics) {
+        if (log.isInfoEnabled()) {
+            log.info("Synced {} jobs (> {} and <= {}) in {}ms, {} REST calls/job",
+                    metrics.getJobCount(),
+                    metrics.getFrom(),
+                    metrics.getTo(),
+                    metrics.getElapsedMillis(),
+                    String.format("%.1f", metrics.getRestCallsPerJob()));
+            for (Map.Entry<SyncMetrics.Phase, PhaseStatistics> entry : metrics.getPhases().entrySet()) {
+                log.info("Phase {}: {}", entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<String, Double> entry : metrics.getCacheHitRates().entrySet()) {
+                log.info("Cache {}: {}% hits", entry.getKey(), String.format("%.1f", entry.getValue() * 100));
+            }
+            for (SyncMetrics.JobStatistics job : metrics.getSlowestJobs(SLOWEST_JOBS)) {
+                log.info("Slow job: {}", job);
+            }
+        }
+    }
+
+}
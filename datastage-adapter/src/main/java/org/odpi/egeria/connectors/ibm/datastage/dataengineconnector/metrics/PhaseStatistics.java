@@ -0,0 +1,93 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free statistics about the repeated execution of a single phase of a sync: how many times it ran, how long it
+ * took in total (and at most), and how many REST calls it made.
+ */
+public class PhaseStatistics {
+
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+    private final LongAdder restCalls;
+
+    /**
+     * Create new, empty statistics.
+     */
+    public PhaseStatistics() {
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new AtomicLong(0);
+        this.restCalls = new LongAdder();
+    }
+
+    /**
+     * Record a single execution of the phase.
+     *
+     * @param nanos the time the execution took, in nanoseconds
+     * @param calls the number of REST calls the execution made
+     */
+    public void record(long nanos, long calls) {
+        long value = Math.max(nanos, 0);
+        count.increment();
+        totalNanos.add(value);
+        restCalls.add(calls);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Retrieve the number of executions recorded.
+     *
+     * @return long
+     */
+    public long getCount() { return count.sum(); }
+
+    /**
+     * Retrieve the total time taken by all executions, in milliseconds.
+     *
+     * @return double
+     */
+    public double getTotalMillis() { return totalNanos.sum() / 1000000.0; }
+
+    /**
+     * Retrieve the mean time taken by an execution, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMeanMillis() {
+        long n = getCount();
+        return n == 0 ? 0.0 : getTotalMillis() / n;
+    }
+
+    /**
+     * Retrieve the longest time taken by a single execution, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMaxMillis() { return maxNanos.get() / 1000000.0; }
+
+    /**
+     * Retrieve the total number of REST calls made by all executions.
+     *
+     * @return long
+     */
+    public long getRestCalls() { return restCalls.sum(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d, total=%.1fms, mean=%.2fms, max=%.2fms, restCalls=%d",
+                getCount(), getTotalMillis(), getMeanMillis(), getMaxMillis(), getRestCalls());
+    }
+
+}
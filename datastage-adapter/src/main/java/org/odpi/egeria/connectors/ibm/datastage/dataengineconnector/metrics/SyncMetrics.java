@@ -0,0 +1,316 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of the metrics captured during a single sync of DataStage jobs: how long each phase of the sync took and
+ * how many REST calls it made, the same for each job, and how often the caches used during the sync were hit.
+ * <br><br>
+ * Recording is thread-safe and cheap; once the sync has finished the metrics are handed to any
+ * {@link SyncMetricsReporter}s that have been registered, each of which decides how (and where) to surface them.
+ */
+public class SyncMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncMetrics.class);
+
+    /**
+     * The phases of a sync for which metrics are captured.
+     */
+    public enum Phase {
+        JOB_SEARCH,
+        FIELD_RETRIEVAL,
+        COMPONENT_RETRIEVAL,
+        JOB_DETAILS,
+        TRANSLATION,
+        SEQUENCE_TRANSLATION
+    }
+
+    private final Date from;
+    private final Date to;
+    private final long startTime;
+    private final EnumMap<Phase, PhaseStatistics> phases;
+    private final Map<String, JobStatistics> jobs;
+    private final Map<String, long[]> cacheCounts;
+    private final List<SyncMetricsReporter> reporters;
+
+    private long endTime;
+
+    /**
+     * Create a new, empty registry of metrics for the sync of the provided window.
+     *
+     * @param from the date and time from which changes are synced (exclusive)
+     * @param to the date and time up to which changes are synced (inclusive)
+     */
+    public SyncMetrics(Date from, Date to) {
+        this.from = from;
+        this.to = to;
+        this.startTime = System.currentTimeMillis();
+        this.phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseStatistics());
+        }
+        this.jobs = new ConcurrentHashMap<>();
+        this.cacheCounts = new ConcurrentHashMap<>();
+        this.reporters = new CopyOnWriteArrayList<>();
+        this.endTime = -1;
+    }
+
+    /**
+     * Register a reporter through which to surface these metrics.
+     *
+     * @param reporter the reporter to register
+     */
+    public void addReporter(SyncMetricsReporter reporter) {
+        reporters.add(reporter);
+    }
+
+    /**
+     * Record a single execution of a phase of the sync.
+     *
+     * @param phase the phase that was executed
+     * @param nanos the time the execution took, in nanoseconds
+     * @param restCalls the number of REST calls the execution made
+     */
+    public void recordPhase(Phase phase, long nanos, long restCalls) {
+        phases.get(phase).record(nanos, restCalls);
+    }
+
+    /**
+     * Record the time taken (and REST calls made) by a phase of the sync for a single job. Where a phase is executed
+     * for a batch of jobs at once, each job's share of the batch should be recorded.
+     *
+     * @param rid the Repository ID (RID) of the job
+     * @param name the name of the job
+     * @param phase the phase that was executed for the job
+     * @param nanos the time the phase took for the job, in nanoseconds
+     * @param restCalls the number of REST calls the phase made for the job
+     */
+    public void recordJob(String rid, String name, Phase phase, long nanos, double restCalls) {
+        jobs.computeIfAbsent(rid, k -> new JobStatistics(rid, name)).record(phase, nanos, restCalls);
+    }
+
+    /**
+     * Record the use of a cache during the sync (replacing anything previously recorded for the same cache).
+     *
+     * @param cache the name of the cache
+     * @param hits the number of lookups that found what they needed in the cache
+     * @param misses the number of lookups that did not
+     */
+    public void recordCache(String cache, long hits, long misses) {
+        cacheCounts.put(cache, new long[]{ hits, misses });
+    }
+
+    /**
+     * Retrieve the date and time from which changes are synced.
+     *
+     * @return Date
+     */
+    public Date getFrom() { return from; }
+
+    /**
+     * Retrieve the date and time up to which changes are synced.
+     *
+     * @return Date
+     */
+    public Date getTo() { return to; }
+
+    /**
+     * Retrieve the time the sync has taken so far (or took, once it has been reported), in milliseconds.
+     *
+     * @return long
+     */
+    public long getElapsedMillis() {
+        return (endTime < 0 ? System.currentTimeMillis() : endTime) - startTime;
+    }
+
+    /**
+     * Retrieve the statistics of each phase of the sync.
+     *
+     * @return {@code Map<Phase, PhaseStatistics>}
+     */
+    public Map<Phase, PhaseStatistics> getPhases() { return Collections.unmodifiableMap(phases); }
+
+    /**
+     * Retrieve the number of jobs for which metrics were recorded.
+     *
+     * @return int
+     */
+    public int getJobCount() { return jobs.size(); }
+
+    /**
+     * Retrieve the average number of REST calls made for each job, across all phases.
+     *
+     * @return double
+     */
+    public double getRestCallsPerJob() {
+        long calls = 0;
+        for (PhaseStatistics statistics : phases.values()) {
+            calls += statistics.getRestCalls();
+        }
+        return jobs.isEmpty() ? 0.0 : calls / (double) jobs.size();
+    }
+
+    /**
+     * Retrieve the proportion of lookups that hit each cache (between 0 and 1), by cache name.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    public Map<String, Double> getCacheHitRates() {
+        Map<String, Double> rates = new TreeMap<>();
+        for (Map.Entry<String, long[]> entry : cacheCounts.entrySet()) {
+            long hits = entry.getValue()[0];
+            long lookups = hits + entry.getValue()[1];
+            rates.put(entry.getKey(), lookups == 0 ? 0.0 : hits / (double) lookups);
+        }
+        return rates;
+    }
+
+    /**
+     * Retrieve the statistics of the jobs that took the longest, slowest first.
+     *
+     * @param limit the maximum number of jobs to retrieve
+     * @return {@code List<JobStatistics>}
+     */
+    public List<JobStatistics> getSlowestJobs(int limit) {
+        List<JobStatistics> slowest = new ArrayList<>(jobs.values());
+        slowest.sort(Comparator.comparingLong(JobStatistics::getTotalNanos).reversed().thenComparing(JobStatistics::getRid));
+        return slowest.subList(0, Math.min(limit, slowest.size()));
+    }
+
+    /**
+     * Retrieve a summary of the metrics, as a tree of simple values suitable for serializing (eg. to JSON).
+     *
+     * @param slowestJobs the maximum number of the slowest jobs to include
+     * @return {@code Map<String, Object>}
+     */
+    public Map<String, Object> getSummary(int slowestJobs) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("from", from == null ? null : from.getTime());
+        summary.put("to", to == null ? null : to.getTime());
+        summary.put("elapsedMillis", getElapsedMillis());
+        summary.put("jobs", getJobCount());
+        summary.put("restCallsPerJob", getRestCallsPerJob());
+        Map<String, Object> byPhase = new LinkedHashMap<>();
+        for (Map.Entry<Phase, PhaseStatistics> entry : phases.entrySet()) {
+            PhaseStatistics statistics = entry.getValue();
+            Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("count", statistics.getCount());
+            phase.put("totalMillis", statistics.getTotalMillis());
+            phase.put("meanMillis", statistics.getMeanMillis());
+            phase.put("maxMillis", statistics.getMaxMillis());
+            phase.put("restCalls", statistics.getRestCalls());
+            byPhase.put(entry.getKey().name(), phase);
+        }
+        summary.put("phases", byPhase);
+        summary.put("cacheHitRates", getCacheHitRates());
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        for (JobStatistics job : getSlowestJobs(slowestJobs)) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("rid", job.getRid());
+            details.put("name", job.getName());
+            details.put("totalMillis", job.getTotalNanos() / 1000000.0);
+            details.put("restCalls", job.getRestCalls());
+            Map<String, Double> byJobPhase = new LinkedHashMap<>();
+            for (Map.Entry<Phase, Long> entry : job.getNanosByPhase().entrySet()) {
+                byJobPhase.put(entry.getKey().name(), entry.getValue() / 1000000.0);
+            }
+            details.put("phaseMillis", byJobPhase);
+            slowest.add(details);
+        }
+        summary.put("slowestJobs", slowest);
+        return summary;
+    }
+
+    /**
+     * Mark the sync as finished, and hand the metrics to every registered reporter.
+     */
+    public synchronized void report() {
+        endTime = System.currentTimeMillis();
+        for (SyncMetricsReporter reporter : reporters) {
+            try {
+                reporter.report(this);
+            } catch (Exception e) {
+                // Never let a failure to report metrics interfere with the sync itself
+                if (log.isWarnEnabled()) { log.warn("Unable to report sync metrics via: {}", reporter.getClass().getName(), e); }
+            }
+        }
+    }
+
+    /**
+     * The time taken by (and REST calls made for) a single job, across the phases of the sync.
+     */
+    public static class JobStatistics {
+
+        private final String rid;
+        private final String name;
+        private final EnumMap<Phase, Long> nanosByPhase;
+        private long totalNanos;
+        private double restCalls;
+
+        JobStatistics(String rid, String name) {
+            this.rid = rid;
+            this.name = name;
+            this.nanosByPhase = new EnumMap<>(Phase.class);
+            this.totalNanos = 0;
+            this.restCalls = 0.0;
+        }
+
+        synchronized void record(Phase phase, long nanos, double calls) {
+            nanosByPhase.merge(phase, nanos, Long::sum);
+            totalNanos += nanos;
+            restCalls += calls;
+        }
+
+        /**
+         * Retrieve the Repository ID (RID) of the job.
+         *
+         * @return String
+         */
+        public String getRid() { return rid; }
+
+        /**
+         * Retrieve the name of the job.
+         *
+         * @return String
+         */
+        public String getName() { return name; }
+
+        /**
+         * Retrieve the total time taken by the job across all phases, in nanoseconds.
+         *
+         * @return long
+         */
+        public synchronized long getTotalNanos() { return totalNanos; }
+
+        /**
+         * Retrieve the number of REST calls made for the job across all phases.
+         *
+         * @return double
+         */
+        public synchronized double getRestCalls() { return restCalls; }
+
+        /**
+         * Retrieve the time taken by the job in each phase, in nanoseconds.
+         *
+         * @return {@code Map<Phase, Long>}
+         */
+        public synchronized Map<Phase, Long> getNanosByPhase() { return new EnumMap<>(nanosByPhase); }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized String toString() {
+            return String.format("%s (%s): total=%.1fms, restCalls=%.1f, %s", name, rid, totalNanos / 1000000.0, restCalls, nanosByPhase);
+        }
+
+    }
+
+}
@@ -0,0 +1,21 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics;
+
+/**
+ * Surfaces the metrics captured during a sync somewhere they can be observed, once the sync has finished.
+ * <br><br>
+ * Implementations other than those provided ({@link LogSyncMetricsReporter}, {@link JsonSyncMetricsReporter}) can be
+ * plugged in by configuring the fully-qualified name of the implementing class, which must have a public no-argument
+ * constructor.
+ */
+public interface SyncMetricsReporter {
+
+    /**
+     * Report the provided metrics.
+     *
+     * @param metrics the metrics captured during the sync
+     */
+    void report(SyncMetrics metrics);
+
+}
@@ -3,8 +3,10 @@
 package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
 
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConstants;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics.SyncMetrics;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Dsjob;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.InformationAsset;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
@@ -13,6 +15,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Utility class to cache DataStage information for use by multiple steps in the Data Engine processing.
@@ -21,11 +26,21 @@ public class DataStageCache {
 
     private static final Logger log = LoggerFactory.getLogger(DataStageCache.class);
 
-    private Map<String, DataStageJob> ridToJob;
+    public static final int DEFAULT_HYDRATION_WORKERS = 4;
+    private static final int JOB_BATCH_SIZE = 25;
+
+    private final Map<String, DataStageJob> ridToJob;
+    private final Set<String> seenRids;
+    private final Map<String, Long> skippedJobs;
+    private final SyncMetrics metrics;
 
     private IGCRestClient igcRestClient;
+    private DataStoreFieldCache fieldCache;
     private Date from;
     private Date to;
+    private int hydrationWorkers;
+    private int batchSize;
+    private Consumer<List<DataStageJob>> batchHandler;
 
     /**
      * Create a new cache for changes between the times provided.
@@ -34,21 +49,76 @@ public class DataStageCache {
      * @param to the date and time until which to cache changes
      */
     public DataStageCache(Date from, Date to) {
-        this.ridToJob = new HashMap<>();
+        this.ridToJob = new ConcurrentHashMap<>();
+        this.seenRids = new HashSet<>();
+        this.skippedJobs = new HashMap<>();
         this.from = from;
         this.to = to;
+        this.metrics = new SyncMetrics(from, to);
     }
 
     /**
-     * Populate the cache.
+     * Populate the cache, using the default number of workers to retrieve job details.
      *
      * @param igcRestClient connectivity to the IGC environment
      */
     public void initialize(IGCRestClient igcRestClient) {
+        initialize(igcRestClient, DEFAULT_HYDRATION_WORKERS);
+    }
+
+    /**
+     * Populate the cache.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param hydrationWorkers the maximum number of jobs for which to retrieve details in parallel
+     */
+    public void initialize(IGCRestClient igcRestClient, int hydrationWorkers) {
+        initialize(igcRestClient, hydrationWorkers, 0, null);
+    }
+
+    /**
+     * Stream the changed jobs through the provided handler in batches, rather than caching them: the details of at
+     * most one batch of jobs are held in memory at a time, and each batch is released once the handler returns (so
+     * that afterwards the cache holds no jobs). The handler is always called from the thread that initializes the
+     * cache.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param hydrationWorkers the maximum number of jobs for which to retrieve details in parallel
+     * @param batchSize the maximum number of jobs to hand to the handler at a time (or 0 to cache all jobs instead)
+     * @param batchHandler the handler to which to hand each batch of jobs
+     */
+    public void initialize(IGCRestClient igcRestClient,
+                           int hydrationWorkers,
+                           int batchSize,
+                           Consumer<List<DataStageJob>> batchHandler) {
         this.igcRestClient = igcRestClient;
+        this.hydrationWorkers = Math.max(hydrationWorkers, 1);
+        this.batchSize = batchHandler == null ? 0 : Math.max(batchSize, 0);
+        this.batchHandler = batchHandler;
+        this.fieldCache = new DataStoreFieldCache(igcRestClient);
         getChangedJobs();
     }
 
+    /**
+     * Skip any of the provided jobs that have not been modified since the provided dates and times (eg. because they
+     * were already synced by a partially completed sync of the same window). Must be called before initializing the
+     * cache.
+     *
+     * @param jobs the date and time (in milliseconds) at which each job to skip was last modified, keyed by the job's
+     *             Repository ID (RID)
+     */
+    public void skipJobs(Map<String, Long> jobs) {
+        skippedJobs.putAll(jobs);
+    }
+
+    /**
+     * Retrieve the metrics captured while populating this cache (to which further metrics about the sync of the same
+     * window can be added).
+     *
+     * @return SyncMetrics
+     */
+    public SyncMetrics getMetrics() { return metrics; }
+
     /**
      * Retrieve the date and time from which this cache contains change information.
      * @return Date
@@ -100,6 +170,41 @@ public class DataStageCache {
         return ridToJob.values();
     }
 
+    /**
+     * Retrieve the details of the provided jobs, regardless of whether they changed within the window of this cache
+     * (eg. the jobs run by a changed sequence). The jobs are retrieved in batches, with a single search per batch, and
+     * are not added to the cache. The cache must already have been initialized.
+     *
+     * @param jobRids the Repository IDs (RIDs) of the jobs to retrieve
+     * @return {@code List<DataStageJob>} the details of those jobs that could be found
+     */
+    public List<DataStageJob> retrieveJobs(Collection<String> jobRids) {
+        List<DataStageJob> detailed = new ArrayList<>();
+        List<String> rids = new ArrayList<>(new TreeSet<>(jobRids));
+        for (int i = 0; i < rids.size(); i += JOB_BATCH_SIZE) {
+            List<String> batch = rids.subList(i, Math.min(i + JOB_BATCH_SIZE, rids.size()));
+            if (log.isDebugEnabled()) { log.debug(" ... retrieving details for jobs outside the changed window: {}", batch); }
+            IGCSearch igcSearch = new IGCSearch("dsjob");
+            igcSearch.addProperties(DataStageConstants.getJobSearchProperties());
+            IGCSearchCondition condition = batch.size() == 1
+                    ? new IGCSearchCondition("_id", "=", batch.get(0))
+                    : new IGCSearchCondition("_id", batch);
+            igcSearch.addConditions(new IGCSearchConditionSet(condition));
+            long start = System.nanoTime();
+            long calls = igcRestClient.getRequestCountForCurrentThread();
+            ItemList<Dsjob> jobs = igcRestClient.search(igcSearch);
+            if (jobs != null && jobs.getItems() != null) {
+                jobs.getAllPages(igcRestClient);
+                metrics.recordPhase(SyncMetrics.Phase.JOB_SEARCH, System.nanoTime() - start, igcRestClient.getRequestCountForCurrentThread() - calls);
+                List<Dsjob> found = jobs.getItems();
+                prefetchDataStoreFields(found);
+                detailed.addAll(retrieveDetails(found));
+            }
+        }
+        recordCacheUse();
+        return detailed;
+    }
+
     /**
      * Build up the cache with changed job information.
      */
@@ -121,28 +226,235 @@ public class DataStageCache {
         }
         if (log.isInfoEnabled()) { log.info(" ... searching for changed jobs > {} and <= {}", fromTime, toTime); }
         igcSearch.addConditions(conditionSet);
-        cacheChangedJobs(igcRestClient.search(igcSearch));
+        long start = System.nanoTime();
+        long calls = igcRestClient.getRequestCountForCurrentThread();
+        ItemList<Dsjob> changed = igcRestClient.search(igcSearch);
+        metrics.recordPhase(SyncMetrics.Phase.JOB_SEARCH, System.nanoTime() - start, igcRestClient.getRequestCountForCurrentThread() - calls);
+        cacheChangedJobs(changed);
 
     }
 
     /**
-     * Build up the cache of changed job details for use by the other methods (minimizing re-retrieval of details)
+     * Build up the cache of changed job details for use by the other methods (minimizing re-retrieval of details).
+     * Each page of changed jobs is walked in turn, and the details of the jobs on it are retrieved in parallel by a
+     * bounded pool of workers. Each worker takes a batch of jobs, and retrieves the stages, links and stage columns
+     * of the whole batch with a single search per type. When streaming, each page is further split into slices of
+     * at most the streaming batch size, each of which is handed on and released before the next is retrieved.
      *
      * @param jobs the changed job details to cache
      */
     private void cacheChangedJobs(ItemList<Dsjob> jobs) {
 
-        // TODO: need to keep an eye on how fast this may consume memory, and may need to determine some other way
-        //  to batch up
-        for (Dsjob job : jobs.getItems()) {
-            String jobRid = job.getId();
-            if (!ridToJob.containsKey(jobRid)) {
-                ridToJob.put(jobRid, new DataStageJob(igcRestClient, job));
+        Integer numTotal = jobs.getPaging() == null ? null : jobs.getPaging().getNumTotal();
+        int total = numTotal == null ? 0 : numTotal;
+        AtomicInteger hydrated = new AtomicInteger(0);
+        ExecutorService workers = Executors.newFixedThreadPool(hydrationWorkers, new HydrationThreadFactory());
+        try {
+            boolean morePages = true;
+            while (morePages) {
+                List<Dsjob> uncached = new ArrayList<>();
+                for (Dsjob job : jobs.getItems()) {
+                    if (!isSkipped(job) && seenRids.add(job.getId())) {
+                        uncached.add(job);
+                    }
+                }
+                int sliceSize = batchSize > 0 ? batchSize : Math.max(uncached.size(), 1);
+                for (int s = 0; s < uncached.size(); s += sliceSize) {
+                    List<Dsjob> slice = uncached.subList(s, Math.min(s + sliceSize, uncached.size()));
+                    prefetchDataStoreFields(slice);
+                    List<Future<?>> pending = new ArrayList<>();
+                    for (int i = 0; i < slice.size(); i += JOB_BATCH_SIZE) {
+                        List<Dsjob> batch = slice.subList(i, Math.min(i + JOB_BATCH_SIZE, slice.size()));
+                        pending.add(workers.submit(() -> cacheJobBatch(batch, hydrated, total)));
+                    }
+                    // Wait for this slice to complete before retrieving the next, so only a slice's worth of jobs is
+                    // ever outstanding
+                    awaitCompletion(pending);
+                    if (batchSize > 0) {
+                        releaseSlice(slice);
+                    }
+                }
+                morePages = jobs.hasMorePages();
+                if (morePages) {
+                    long start = System.nanoTime();
+                    long calls = igcRestClient.getRequestCountForCurrentThread();
+                    jobs.getNextPage(igcRestClient);
+                    metrics.recordPhase(SyncMetrics.Phase.JOB_SEARCH, System.nanoTime() - start, igcRestClient.getRequestCountForCurrentThread() - calls);
+                }
             }
+        } finally {
+            workers.shutdownNow();
         }
-        if (jobs.hasMorePages()) {
-            jobs.getNextPage(igcRestClient);
-            cacheChangedJobs(jobs);
+        recordCacheUse();
+        if (log.isInfoEnabled()) { log.info(" ... retrieved details for {} changed jobs, using {} data stores.", seenRids.size(), fieldCache.size()); }
+
+    }
+
+    /**
+     * Indicates whether the provided job should be skipped, because it has not been modified since it was last synced.
+     *
+     * @param job the job to check
+     * @return boolean
+     */
+    private boolean isSkipped(Dsjob job) {
+        Long synced = skippedJobs.get(job.getId());
+        Date modifiedOn = job.getModifiedOn();
+        return synced != null && modifiedOn != null && synced == modifiedOn.getTime();
+    }
+
+    /**
+     * Retrieve the details of a batch of jobs, and cache them.
+     *
+     * @param batch the jobs for which to retrieve details
+     * @param hydrated the running count of jobs for which details have been retrieved
+     * @param total the total number of changed jobs
+     */
+    private void cacheJobBatch(List<Dsjob> batch, AtomicInteger hydrated, int total) {
+        for (DataStageJob detailedJob : retrieveDetails(batch)) {
+            ridToJob.putIfAbsent(detailedJob.getJobObject().getId(), detailedJob);
+            logProgress(hydrated.incrementAndGet(), total);
+        }
+    }
+
+    /**
+     * Retrieve the details of a batch of jobs: the stages, links and stage columns of the whole batch with a single
+     * search per type, and then the details of each job from those.
+     *
+     * @param batch the jobs for which to retrieve details
+     * @return {@code List<DataStageJob>}
+     */
+    private List<DataStageJob> retrieveDetails(List<Dsjob> batch) {
+        List<String> jobRids = new ArrayList<>();
+        for (Dsjob job : batch) {
+            jobRids.add(job.getId());
+        }
+        long start = System.nanoTime();
+        long calls = igcRestClient.getRequestCountForCurrentThread();
+        DataStageJobComponents components = DataStageJobComponents.retrieve(igcRestClient, jobRids);
+        long batchNanos = System.nanoTime() - start;
+        long batchCalls = igcRestClient.getRequestCountForCurrentThread() - calls;
+        metrics.recordPhase(SyncMetrics.Phase.COMPONENT_RETRIEVAL, batchNanos, batchCalls);
+        List<DataStageJob> detailed = new ArrayList<>();
+        for (Dsjob job : batch) {
+            // Each job is attributed an equal share of retrieving the components of its batch
+            metrics.recordJob(job.getId(), job.getName(), SyncMetrics.Phase.COMPONENT_RETRIEVAL, batchNanos / batch.size(), batchCalls / (double) batch.size());
+            start = System.nanoTime();
+            calls = igcRestClient.getRequestCountForCurrentThread();
+            detailed.add(new DataStageJob(igcRestClient, fieldCache, components, job));
+            long nanos = System.nanoTime() - start;
+            long jobCalls = igcRestClient.getRequestCountForCurrentThread() - calls;
+            metrics.recordPhase(SyncMetrics.Phase.JOB_DETAILS, nanos, jobCalls);
+            metrics.recordJob(job.getId(), job.getName(), SyncMetrics.Phase.JOB_DETAILS, nanos, jobCalls);
+        }
+        return detailed;
+    }
+
+    /**
+     * Record how well the cache of data store fields has been used so far.
+     */
+    private void recordCacheUse() {
+        metrics.recordCache("dataStoreFields", fieldCache.getStoreLookups() - fieldCache.getStoreMisses(), fieldCache.getStoreMisses());
+        metrics.recordCache("fieldIdentities", fieldCache.getIdentityLookups() - fieldCache.getIdentityMisses(), fieldCache.getIdentityMisses());
+    }
+
+    /**
+     * Hand the details of the provided slice of jobs to the streaming handler, and then release them from the cache.
+     *
+     * @param slice the jobs whose details to hand on
+     */
+    private void releaseSlice(List<Dsjob> slice) {
+        List<DataStageJob> detailed = new ArrayList<>();
+        for (Dsjob job : slice) {
+            DataStageJob detailedJob = ridToJob.remove(job.getId());
+            if (detailedJob != null) {
+                detailed.add(detailedJob);
+            }
+        }
+        batchHandler.accept(detailed);
+    }
+
+    /**
+     * Retrieve (in batches) the fields of all of the data stores read or written by the provided jobs, so that the
+     * fields of each store are only retrieved once no matter how many jobs use it.
+     *
+     * @param jobs the jobs whose data stores' fields should be retrieved
+     */
+    private void prefetchDataStoreFields(List<Dsjob> jobs) {
+        List<InformationAsset> stores = new ArrayList<>();
+        for (Dsjob job : jobs) {
+            if (!job.getType().equals("sequence_job")) {
+                addStores(job.getReadsFromDesign(), stores);
+                addStores(job.getWritesToDesign(), stores);
+            }
+        }
+        long start = System.nanoTime();
+        long calls = igcRestClient.getRequestCountForCurrentThread();
+        fieldCache.prefetch(stores);
+        metrics.recordPhase(SyncMetrics.Phase.FIELD_RETRIEVAL, System.nanoTime() - start, igcRestClient.getRequestCountForCurrentThread() - calls);
+    }
+
+    /**
+     * Add the data stores in the provided list to the provided collection of stores.
+     *
+     * @param candidates the list of data stores to add (if any)
+     * @param stores the collection of stores to which to add them
+     */
+    private void addStores(ItemList<InformationAsset> candidates, List<InformationAsset> stores) {
+        if (candidates != null && candidates.getItems() != null) {
+            stores.addAll(candidates.getItems());
+        }
+    }
+
+    /**
+     * Wait for all of the provided job retrievals to complete, re-throwing the first failure (if any).
+     *
+     * @param pending the job retrievals to wait for
+     */
+    private void awaitCompletion(List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while retrieving job details.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Unable to retrieve job details.", cause);
+            }
+        }
+    }
+
+    /**
+     * Report progress of retrieving job details: every 10% (or on every job, when debugging).
+     *
+     * @param done the number of jobs for which details have been retrieved
+     * @param total the total number of changed jobs
+     */
+    private void logProgress(int done, int total) {
+        if (log.isDebugEnabled()) {
+            log.debug(" ... retrieved details for {} of {} changed jobs", done, total);
+        } else if (log.isInfoEnabled() && total > 0 && (done == total || done % Math.max(total / 10, 1) == 0)) {
+            log.info(" ... retrieved details for {} of {} changed jobs ({}%)", done, total, (done * 100) / total);
+        }
+    }
+
+    /**
+     * Names the threads that retrieve job details, and ensures they never prevent shutdown.
+     */
+    private static class HydrationThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "DataStageJobHydration-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
         }
 
     }
@@ -5,7 +5,6 @@ package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConstants;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Classificationenabledgroup;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.InformationAsset;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
@@ -23,41 +22,43 @@ public class DataStageDataAsset {
     private static final Logger log = LoggerFactory.getLogger(DataStageDataAsset.class);
 
     /**
-     * Retrieve a listing of all of the fields contained within the provided data store.
+     * Retrieve the type of the fields contained within the provided type of data store.
      *
-     * @param igcRestClient connectivity to the IGC environment
-     * @param store the IGC object for the data store (database_table, view, or data_file_record)
-     * @return {@code List<Classificationenabledgroup>}
+     * @param storeType the type of data store (database_table, view, or data_file_record)
+     * @return String the type of its fields (database_column or data_file_field), or null if the store type is unknown
      */
-    static List<Classificationenabledgroup> getDataFieldsForStore(IGCRestClient igcRestClient, InformationAsset store) {
-
-        String storeRid = store.getId();
-        String storeType = store.getType();
-        if (log.isDebugEnabled()) { log.debug("Retrieving data field details for {}: {}", storeType, storeRid); }
-
-        IGCSearch igcSearch = new IGCSearch();
-        IGCSearchCondition byParentId = null;
+    static String getFieldTypeForStoreType(String storeType) {
         if (storeType.equals("database_table") || storeType.equals("view")) {
-            igcSearch.addType("database_column");
-            igcSearch.addProperties(DataStageConstants.getDataFieldSearchProperties());
-            byParentId = new IGCSearchCondition("database_table_or_view", "=", storeRid);
+            return "database_column";
         } else if (storeType.equals("data_file_record")) {
-            igcSearch.addType("data_file_field");
-            igcSearch.addProperties(DataStageConstants.getDataFieldSearchProperties());
-            byParentId = new IGCSearchCondition("data_file_record", "=", storeRid);
-        } else {
-            if (log.isWarnEnabled()) { log.warn("Unknown source / target type -- skipping: {}", store); }
+            return "data_file_field";
         }
+        return null;
+    }
 
-        List<Classificationenabledgroup> fields = null;
-        if (byParentId != null) {
-            IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(byParentId);
-            igcSearch.addConditions(conditionSet);
-            ItemList<Classificationenabledgroup> ilFields = igcRestClient.search(igcSearch);
-            ilFields.getAllPages(igcRestClient);
-            fields = ilFields.getItems();
-        }
-        return fields;
+    /**
+     * Retrieve a listing of all of the fields contained within any of the provided data stores, in a single search.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param fieldType the type of fields to retrieve (database_column or data_file_field)
+     * @param storeRids the Repository IDs (RIDs) of the data stores for which to retrieve fields
+     * @return {@code List<Classificationenabledgroup>}
+     */
+    static List<Classificationenabledgroup> getDataFieldsForStores(IGCRestClient igcRestClient, String fieldType, List<String> storeRids) {
+
+        if (log.isDebugEnabled()) { log.debug("Retrieving {} details for: {}", fieldType, storeRids); }
+
+        IGCSearch igcSearch = new IGCSearch(fieldType);
+        igcSearch.addProperties(DataStageConstants.getDataFieldSearchProperties());
+        String parentProperty = fieldType.equals("database_column") ? "database_table_or_view" : "data_file_record";
+        IGCSearchCondition byParentIds = storeRids.size() == 1
+                ? new IGCSearchCondition(parentProperty, "=", storeRids.get(0))
+                : new IGCSearchCondition(parentProperty, storeRids);
+        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(byParentIds);
+        igcSearch.addConditions(conditionSet);
+        ItemList<Classificationenabledgroup> ilFields = igcRestClient.search(igcSearch);
+        ilFields.getAllPages(igcRestClient);
+        return ilFields.getItems();
 
     }
 
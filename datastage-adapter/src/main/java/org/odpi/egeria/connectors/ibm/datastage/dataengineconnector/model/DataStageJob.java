@@ -2,15 +2,12 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
 
-import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConstants;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.Fingerprints;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.*;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +22,7 @@ public class DataStageJob {
     private static final Logger log = LoggerFactory.getLogger(DataStageJob.class);
 
     private IGCRestClient igcRestClient;
+    private DataStoreFieldCache fieldCache;
     private Dsjob job;
     private JobType type;
     private Map<String, Stage> stageMap;
@@ -35,6 +33,7 @@ public class DataStageJob {
     private Map<String, Identity> storeToIdentityMap;
     private List<String> inputStageRIDs;
     private List<String> outputStageRIDs;
+    private LineageGraph lineageGraph;
 
     public enum JobType {
         JOB, SEQUENCE
@@ -44,11 +43,14 @@ public class DataStageJob {
      * Create a new detailed DataStage job object.
      *
      * @param igcRestClient connectivity to the IGC environment
+     * @param fieldCache the cache of data store fields shared by all jobs
+     * @param components the stages, links and stage columns retrieved for the batch of jobs that includes this job
      * @param job the job for which to retrieve details
      */
-    DataStageJob(IGCRestClient igcRestClient, Dsjob job) {
+    DataStageJob(IGCRestClient igcRestClient, DataStoreFieldCache fieldCache, DataStageJobComponents components, Dsjob job) {
 
         this.igcRestClient = igcRestClient;
+        this.fieldCache = fieldCache;
         this.job = job;
         this.type = job.getType().equals("sequence_job") ? JobType.SEQUENCE : JobType.JOB;
         this.stageMap = new HashMap<>();
@@ -62,11 +64,18 @@ public class DataStageJob {
 
         if (log.isDebugEnabled()) { log.debug("Retrieving job details for: {}", job.getId()); }
 
-        getStageDetailsForJob();
-        getLinkDetailsForJob();
+        String jobRid = job.getId();
+        buildMap(stageMap, components.getStagesForJob(jobRid));
+        buildMap(linkMap, components.getLinksForJob(jobRid));
         classifyStages(stageMap.values());
-        getStageColumnDetailsForLinks();
+        List<StageColumn> stageCols = components.getStageColumnsForJob(jobRid);
+        if (stageCols != null) {
+            buildMap(columnMap, stageCols);
+        } else {
+            log.error("Unable to identify any stage columns for job: {}", jobRid);
+        }
         classifyFields();
+        this.lineageGraph = new LineageGraph(igcRestClient, fieldCache, stageMap.values(), linkMap.values(), columnMap.values(), fieldMap.values(), storeToIdentityMap);
 
     }
 
@@ -128,6 +137,32 @@ public class DataStageJob {
         return linkMap.values();
     }
 
+    /**
+     * Retrieve the Repository IDs (RIDs) of the jobs (or sequences) run by the stages of this sequence, or an empty
+     * list if this is not a sequence.
+     *
+     * @return {@code List<String>}
+     */
+    public List<String> getMemberJobRids() {
+        List<String> members = new ArrayList<>();
+        if (getType().equals(JobType.SEQUENCE)) {
+            for (Stage stage : stageMap.values()) {
+                Dsjob runsJob = stage.getRunsSequencesJobs();
+                if (runsJob != null && runsJob.getId() != null && !members.contains(runsJob.getId())) {
+                    members.add(runsJob.getId());
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Retrieve the index of lineage-relevant relationships within the job.
+     *
+     * @return LineageGraph
+     */
+    public LineageGraph getLineageGraph() { return lineageGraph; }
+
     /**
      * Retrieve the job object itself.
      *
@@ -213,74 +248,33 @@ public class DataStageJob {
     }
 
     /**
-     * Retrieve a listing of the stages within this particular DataStage job.
-     */
-    private void getStageDetailsForJob() {
-        String jobRid = job.getId();
-        if (log.isDebugEnabled()) { log.debug("Retrieving stage details for job: {}", jobRid); }
-        IGCSearch igcSearch = new IGCSearch("stage");
-        igcSearch.addProperties(DataStageConstants.getStageSearchProperties());
-        IGCSearchCondition condition = new IGCSearchCondition("job_or_container", "=", jobRid);
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        igcSearch.addConditions(conditionSet);
-        ItemList<Stage> stages = igcRestClient.search(igcSearch);
-        stages.getAllPages(igcRestClient);
-        buildMap(stageMap, stages);
-    }
-
-    /**
-     * Retrieve a listing of the links within this particular DataStage job.
-     */
-    private void getLinkDetailsForJob() {
-        String jobRid = job.getId();
-        if (log.isDebugEnabled()) { log.debug("Retrieving link details for job: {}", jobRid); }
-        IGCSearch igcSearch = new IGCSearch("link");
-        igcSearch.addProperties(DataStageConstants.getLinkSearchProperties());
-        IGCSearchCondition condition = new IGCSearchCondition("job_or_container", "=", jobRid);
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        igcSearch.addConditions(conditionSet);
-        ItemList<Link> links = igcRestClient.search(igcSearch);
-        links.getAllPages(igcRestClient);
-        buildMap(linkMap, links);
-    }
-
-    /**
-     * Retrieve a listing of the stage columns within this particular DataStage job.
+     * Retrieve a fingerprint of the details of this job: its stages, links and stage columns, and the fields of the
+     * data stores it reads from or writes to (each by its RID and when it was last modified). The job's own
+     * modification date is deliberately excluded, so that a job saved without any change to its details keeps the
+     * same fingerprint.
+     *
+     * @return String
      */
-    private void getStageColumnDetailsForLinks() {
-        String jobRid = job.getId();
-        if (log.isDebugEnabled()) { log.debug("Retrieving stage column details for job: {}", jobRid); }
-        ItemList<StageColumn> stageCols = getStageColumnDetailsForLinks("stage_column", jobRid);
-        if (stageCols == null) {
-            if (log.isInfoEnabled()) { log.info("Unable to identify stage columns for job by 'stage_column', reverting to 'ds_stage_column'."); }
-            stageCols = getStageColumnDetailsForLinks("ds_stage_column", jobRid);
-        }
-        if (stageCols != null) {
-            buildMap(columnMap, stageCols);
-        } else {
-            log.error("Unable to identify any stage columns for job: {}", jobRid);
-        }
+    public String getFingerprint() {
+        SortedMap<String, Long> modified = new TreeMap<>();
+        addModificationTimes(stageMap, modified);
+        addModificationTimes(linkMap, modified);
+        addModificationTimes(columnMap, modified);
+        addModificationTimes(fieldMap, modified);
+        return Fingerprints.of(modified.toString());
     }
 
     /**
-     * Retrieve the details of stage columns within this particular DataStage job using the type provided: some IGC
-     * versions need to retrieve 'stage_column' and others must retrieve 'ds_stage_column'.
+     * Add the date and time at which each of the provided objects was last modified to the provided map.
      *
-     * @param usingType the type by which to search for the stage columns
-     * @param jobRid the RID of the job
+     * @param objects the objects whose modification times to add, keyed by RID
+     * @param modified the map of RID to modification time to which to add them
      */
-    private ItemList<StageColumn> getStageColumnDetailsForLinks(String usingType, String jobRid) {
-        IGCSearch igcSearch = new IGCSearch(usingType);
-        igcSearch.addProperties(DataStageConstants.getStageColumnSearchProperties());
-        IGCSearchCondition condition = new IGCSearchCondition("link.job_or_container", "=", jobRid);
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        igcSearch.addConditions(conditionSet);
-        ItemList<StageColumn> stageCols = igcRestClient.search(igcSearch);
-        if (stageCols.getPaging().getNumTotal() > 0) {
-            stageCols.getAllPages(igcRestClient);
-            return stageCols;
+    private void addModificationTimes(Map<String, ? extends Reference> objects, Map<String, Long> modified) {
+        for (Map.Entry<String, ? extends Reference> entry : objects.entrySet()) {
+            Date modifiedOn = entry.getValue().getModifiedOn();
+            modified.put(entry.getKey(), modifiedOn == null ? null : modifiedOn.getTime());
         }
-        return null;
     }
 
     /**
@@ -304,7 +298,7 @@ public class DataStageJob {
         for (Classificationenabledgroup candidateField : dataStoreDetails) {
             String rid = candidateField.getId();
             fieldMap.put(rid, candidateField);
-            Identity storeIdentity = candidateField.getIdentity(igcRestClient).getParentIdentity();
+            Identity storeIdentity = fieldCache.getFieldIdentity(candidateField).getParentIdentity();
             String storeId = storeIdentity.getRid();
             storeToIdentityMap.put(storeId, storeIdentity);
             if (!storeToFieldsMap.containsKey(storeId)) {
@@ -327,7 +321,7 @@ public class DataStageJob {
             for (InformationAsset candidate : candidates.getItems()) {
                 String candidateId = candidate.getId();
                 if (!dataStoreDetailsMap.containsKey(candidateId)) {
-                    List<Classificationenabledgroup> fields = DataStageDataAsset.getDataFieldsForStore(igcRestClient, candidate);
+                    List<Classificationenabledgroup> fields = fieldCache.getFieldsForStore(candidate);
                     if (fields != null) {
                         dataStoreDetailsMap.put(candidateId, fields);
                     }
@@ -337,15 +331,14 @@ public class DataStageJob {
     }
 
     /**
-     * Cache the provided ItemList of objects into the provided map, keyed by the RID of the object.
+     * Cache the provided list of objects into the provided map, keyed by the RID of the object.
      *
      * @param map the map into which to store the cache
      * @param objects the list of objects to cache
      * @param <T> the type of object to cache
      */
-    private <T extends Reference> void buildMap(Map<String, T> map, ItemList<T> objects) {
-        List<T> listOfObjects = objects.getItems();
-        for (T candidateObject : listOfObjects) {
+    private <T extends Reference> void buildMap(Map<String, T> map, List<T> objects) {
+        for (T candidateObject : objects) {
             String rid = candidateObject.getId();
             if (log.isDebugEnabled()) { log.debug("...... caching RID: {}", rid); }
             map.put(rid, candidateObject);
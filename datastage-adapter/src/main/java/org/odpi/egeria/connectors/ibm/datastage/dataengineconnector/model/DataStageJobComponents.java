@@ -0,0 +1,189 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConstants;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Link;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Stage;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.StageColumn;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * The stages, links and stage columns of a batch of DataStage jobs, retrieved with a single search chain per type
+ * for the whole batch (rather than per job) and then partitioned by the job to which each belongs.
+ */
+class DataStageJobComponents {
+
+    private static final Logger log = LoggerFactory.getLogger(DataStageJobComponents.class);
+
+    private final Map<String, List<Stage>> stagesByJob;
+    private final Map<String, List<Link>> linksByJob;
+    private final Map<String, List<StageColumn>> stageColumnsByJob;
+
+    private DataStageJobComponents() {
+        this.stagesByJob = new HashMap<>();
+        this.linksByJob = new HashMap<>();
+        this.stageColumnsByJob = new HashMap<>();
+    }
+
+    /**
+     * Retrieve the stages, links and stage columns of all of the provided jobs.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param jobRids the Repository IDs (RIDs) of the jobs for which to retrieve components
+     * @return DataStageJobComponents
+     */
+    static DataStageJobComponents retrieve(IGCRestClient igcRestClient, Collection<String> jobRids) {
+
+        if (jobRids.isEmpty()) {
+            return new DataStageJobComponents();
+        }
+        List<String> rids = new ArrayList<>(new TreeSet<>(jobRids));
+        if (log.isDebugEnabled()) { log.debug("Retrieving stage, link and stage column details for jobs: {}", rids); }
+
+        ItemList<Stage> stages = search(igcRestClient, "stage", DataStageConstants.getStageSearchProperties(), "job_or_container", rids);
+        ItemList<Link> links = search(igcRestClient, "link", DataStageConstants.getLinkSearchProperties(), "job_or_container", rids);
+
+        // Some IGC versions need to retrieve 'stage_column' and others must retrieve 'ds_stage_column': only try the
+        // latter (once for the whole batch) if the former finds nothing
+        ItemList<StageColumn> stageCols = search(igcRestClient, "stage_column", DataStageConstants.getStageColumnSearchProperties(), "link.job_or_container", rids);
+        if (stageCols.getPaging().getNumTotal() == 0) {
+            if (log.isInfoEnabled()) { log.info("Unable to identify stage columns for jobs by 'stage_column', reverting to 'ds_stage_column'."); }
+            stageCols = search(igcRestClient, "ds_stage_column", DataStageConstants.getStageColumnSearchProperties(), "link.job_or_container", rids);
+        }
+
+        return of(jobRids, stages.getItems(), links.getItems(), stageCols.getItems());
+
+    }
+
+    /**
+     * Partition the provided (already retrieved) stages, links and stage columns by the job to which each belongs.
+     *
+     * @param jobRids the Repository IDs (RIDs) of the jobs in the batch
+     * @param stages the stages of any of the jobs
+     * @param links the links of any of the jobs
+     * @param stageColumns the stage columns of any of the jobs
+     * @return DataStageJobComponents
+     */
+    static DataStageJobComponents of(Collection<String> jobRids,
+                                     List<Stage> stages,
+                                     List<Link> links,
+                                     List<StageColumn> stageColumns) {
+        DataStageJobComponents components = new DataStageJobComponents();
+        Set<String> batch = new HashSet<>(jobRids);
+        partition(stages, batch, components.stagesByJob);
+        partition(links, batch, components.linksByJob);
+        partition(stageColumns, batch, components.stageColumnsByJob);
+        return components;
+    }
+
+    /**
+     * Retrieve the stages of the provided job.
+     *
+     * @param jobRid the Repository ID (RID) of the job
+     * @return {@code List<Stage>}
+     */
+    List<Stage> getStagesForJob(String jobRid) {
+        return stagesByJob.getOrDefault(jobRid, Collections.emptyList());
+    }
+
+    /**
+     * Retrieve the links of the provided job.
+     *
+     * @param jobRid the Repository ID (RID) of the job
+     * @return {@code List<Link>}
+     */
+    List<Link> getLinksForJob(String jobRid) {
+        return linksByJob.getOrDefault(jobRid, Collections.emptyList());
+    }
+
+    /**
+     * Retrieve the stage columns of the provided job, or null if none could be identified.
+     *
+     * @param jobRid the Repository ID (RID) of the job
+     * @return {@code List<StageColumn>}
+     */
+    List<StageColumn> getStageColumnsForJob(String jobRid) {
+        return stageColumnsByJob.getOrDefault(jobRid, null);
+    }
+
+    /**
+     * Retrieve all pages of the components of the provided type that belong to any of the provided jobs.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param type the type of component to retrieve
+     * @param properties the properties of each component to retrieve
+     * @param byJobProperty the property that relates each component to its job
+     * @param jobRids the Repository IDs (RIDs) of the jobs for which to retrieve components
+     * @param <T> the type of component to retrieve
+     * @return {@code ItemList<T>}
+     */
+    private static <T extends Reference> ItemList<T> search(IGCRestClient igcRestClient,
+                                                            String type,
+                                                            List<String> properties,
+                                                            String byJobProperty,
+                                                            List<String> jobRids) {
+        IGCSearch igcSearch = new IGCSearch(type);
+        igcSearch.addProperties(properties);
+        IGCSearchCondition condition = jobRids.size() == 1
+                ? new IGCSearchCondition(byJobProperty, "=", jobRids.get(0))
+                : new IGCSearchCondition(byJobProperty, jobRids);
+        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
+        igcSearch.addConditions(conditionSet);
+        ItemList<T> results = igcRestClient.search(igcSearch);
+        results.getAllPages(igcRestClient);
+        return results;
+    }
+
+    /**
+     * Partition the provided components by the job to which each belongs, which is the (closest) job of the batch
+     * within its context.
+     *
+     * @param components the components to partition
+     * @param jobRids the Repository IDs (RIDs) of the jobs in the batch
+     * @param byJob the map into which to partition the components
+     * @param <T> the type of component to partition
+     */
+    private static <T extends Reference> void partition(List<T> components, Set<String> jobRids, Map<String, List<T>> byJob) {
+        if (components != null) {
+            for (T component : components) {
+                String jobRid = getJobRid(component, jobRids);
+                if (jobRid == null) {
+                    if (log.isWarnEnabled()) { log.warn("Unable to identify the job for {} -- skipping: {}", component.getType(), component.getId()); }
+                } else {
+                    byJob.computeIfAbsent(jobRid, k -> new ArrayList<>()).add(component);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve the Repository ID (RID) of the job (from the provided batch) to which the provided component belongs.
+     *
+     * @param component the component for which to find the job
+     * @param jobRids the Repository IDs (RIDs) of the jobs in the batch
+     * @return String, or null if the component does not belong to any of the jobs in the batch
+     */
+    private static String getJobRid(Reference component, Set<String> jobRids) {
+        List<Reference> context = component.getContext();
+        if (context != null) {
+            for (int i = context.size() - 1; i >= 0; i--) {
+                String candidate = context.get(i).getId();
+                if (jobRids.contains(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,192 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Classificationenabledgroup;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.InformationAsset;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the fields of the data stores ('database_table', 'view', or 'data_file_record') read or written by
+ * DataStage jobs, shared by all of the jobs of a single sync so that the fields of a store used by many jobs are only
+ * ever retrieved once. Stores that are not yet cached are retrieved in batches (a single search per batch), and the
+ * identity of each field is only ever computed once.
+ */
+public class DataStoreFieldCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DataStoreFieldCache.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final IGCRestClient igcRestClient;
+    private final int batchSize;
+    private final Map<String, List<Classificationenabledgroup>> storeToFields;
+    private final Map<String, Identity> fieldToIdentity;
+    private final LongAdder storeLookups;
+    private final LongAdder storeMisses;
+    private final LongAdder identityLookups;
+    private final LongAdder identityMisses;
+
+    /**
+     * Create a new, empty cache of data store fields.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     */
+    public DataStoreFieldCache(IGCRestClient igcRestClient) {
+        this(igcRestClient, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a new, empty cache of data store fields.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param batchSize the maximum number of data stores for which to retrieve fields in a single search
+     */
+    public DataStoreFieldCache(IGCRestClient igcRestClient, int batchSize) {
+        this.igcRestClient = igcRestClient;
+        this.batchSize = Math.max(batchSize, 1);
+        this.storeToFields = new ConcurrentHashMap<>();
+        this.fieldToIdentity = new ConcurrentHashMap<>();
+        this.storeLookups = new LongAdder();
+        this.storeMisses = new LongAdder();
+        this.identityLookups = new LongAdder();
+        this.identityMisses = new LongAdder();
+    }
+
+    /**
+     * Retrieve the fields of all of the provided data stores that are not already cached, in as few searches as
+     * possible.
+     *
+     * @param stores the data stores for which to retrieve fields
+     */
+    public void prefetch(Collection<InformationAsset> stores) {
+
+        // Group the stores that are not yet cached by the type of their fields, as each type needs its own search
+        Map<String, Set<String>> missingByFieldType = new HashMap<>();
+        for (InformationAsset store : stores) {
+            String storeRid = store.getId();
+            storeLookups.increment();
+            if (!storeToFields.containsKey(storeRid)) {
+                storeMisses.increment();
+                String fieldType = DataStageDataAsset.getFieldTypeForStoreType(store.getType());
+                if (fieldType == null) {
+                    if (log.isWarnEnabled()) { log.warn("Unknown source / target type -- skipping: {}", store); }
+                    storeToFields.putIfAbsent(storeRid, Collections.emptyList());
+                } else {
+                    missingByFieldType.computeIfAbsent(fieldType, k -> new TreeSet<>()).add(storeRid);
+                }
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> entry : missingByFieldType.entrySet()) {
+            String fieldType = entry.getKey();
+            List<String> storeRids = new ArrayList<>(entry.getValue());
+            for (int i = 0; i < storeRids.size(); i += batchSize) {
+                cacheFields(fieldType, storeRids.subList(i, Math.min(i + batchSize, storeRids.size())));
+            }
+        }
+
+    }
+
+    /**
+     * Retrieve the fields of the provided data store, retrieving them only if they are not already cached.
+     *
+     * @param store the data store for which to retrieve fields
+     * @return {@code List<Classificationenabledgroup>}
+     */
+    public List<Classificationenabledgroup> getFieldsForStore(InformationAsset store) {
+        List<Classificationenabledgroup> fields = storeToFields.get(store.getId());
+        if (fields == null) {
+            // The prefetch counts this lookup (as a miss)
+            prefetch(Collections.singletonList(store));
+            fields = storeToFields.get(store.getId());
+        } else {
+            storeLookups.increment();
+        }
+        return fields;
+    }
+
+    /**
+     * Retrieve the identity of the provided data store field, computing it only if it has not already been computed.
+     *
+     * @param field the data store field for which to retrieve the identity
+     * @return Identity
+     */
+    public Identity getFieldIdentity(Classificationenabledgroup field) {
+        identityLookups.increment();
+        return fieldToIdentity.computeIfAbsent(field.getId(), k -> {
+            identityMisses.increment();
+            return field.getIdentity(igcRestClient);
+        });
+    }
+
+    /**
+     * Retrieve the number of data stores whose fields are cached.
+     *
+     * @return int
+     */
+    public int size() {
+        return storeToFields.size();
+    }
+
+    /**
+     * Retrieve the number of times the fields of a data store were looked up (whether or not already cached).
+     *
+     * @return long
+     */
+    public long getStoreLookups() { return storeLookups.sum(); }
+
+    /**
+     * Retrieve the number of times the fields of a data store were looked up but were not already cached.
+     *
+     * @return long
+     */
+    public long getStoreMisses() { return storeMisses.sum(); }
+
+    /**
+     * Retrieve the number of times the identity of a field was looked up (whether or not already computed).
+     *
+     * @return long
+     */
+    public long getIdentityLookups() { return identityLookups.sum(); }
+
+    /**
+     * Retrieve the number of times the identity of a field was looked up but had not already been computed.
+     *
+     * @return long
+     */
+    public long getIdentityMisses() { return identityMisses.sum(); }
+
+    /**
+     * Retrieve the fields of a batch of data stores in a single search, and partition them by their data store.
+     *
+     * @param fieldType the type of fields to retrieve (database_column or data_file_field)
+     * @param storeRids the Repository IDs (RIDs) of the data stores for which to retrieve fields
+     */
+    private void cacheFields(String fieldType, List<String> storeRids) {
+        Map<String, List<Classificationenabledgroup>> byStore = new HashMap<>();
+        for (String storeRid : storeRids) {
+            byStore.put(storeRid, new ArrayList<>());
+        }
+        List<Classificationenabledgroup> fields = DataStageDataAsset.getDataFieldsForStores(igcRestClient, fieldType, storeRids);
+        if (fields != null) {
+            // Fill in any missing context in bulk, rather than through a search per field as each identity is computed
+            igcRestClient.populateContextAndModificationDetails(fields);
+            for (Classificationenabledgroup field : fields) {
+                String storeRid = getFieldIdentity(field).getParentIdentity().getRid();
+                byStore.computeIfAbsent(storeRid, k -> new ArrayList<>()).add(field);
+            }
+        }
+        for (Map.Entry<String, List<Classificationenabledgroup>> entry : byStore.entrySet()) {
+            storeToFields.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+    }
+
+}
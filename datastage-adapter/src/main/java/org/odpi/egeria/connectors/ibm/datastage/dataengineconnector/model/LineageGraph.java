@@ -0,0 +1,261 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.*;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * In-memory index of the lineage-relevant relationships within a single DataStage job: between its stage columns
+ * (previous and next), between data store fields and the stage columns that read or write them, between links and
+ * their stage columns, and between stages and the data stores they read or write.
+ * <br><br>
+ * Every stage, link, stage column, data store field and data store is given an int ID, and the qualifiedName of each
+ * is computed only once. Each relationship is held as a compact adjacency list (an array of offsets into an array of
+ * target IDs), built once when the job's details are retrieved so that translating lineage needs no further calls to
+ * IGC, however many edges there are.
+ */
+public class LineageGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(LineageGraph.class);
+
+    /**
+     * The relationships captured by the index.
+     */
+    public enum Relation {
+        NEXT_COLUMNS,
+        PREVIOUS_COLUMNS,
+        READ_BY_COLUMNS,
+        WRITTEN_BY_COLUMNS,
+        LINK_COLUMNS,
+        STAGE_READS,
+        STAGE_WRITES
+    }
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, Integer> ridToNode;
+    private final List<String> qualifiedNames;
+    private final EnumMap<Relation, Adjacency> relations;
+
+    /**
+     * Build the index for a job from its (already retrieved) details.
+     *
+     * @param igcRestClient connectivity to the IGC environment (only used to page through any relationships that
+     *                      were not retrieved in full)
+     * @param fieldCache the cache of data store fields, through which field identities are memoized
+     * @param stages the stages of the job
+     * @param links the links of the job
+     * @param columns the stage columns of the job
+     * @param fields the data store fields read or written by the job
+     * @param storeIdentities the identities of the data stores read or written by the job, keyed by RID
+     */
+    LineageGraph(IGCRestClient igcRestClient,
+                 DataStoreFieldCache fieldCache,
+                 Collection<Stage> stages,
+                 Collection<Link> links,
+                 Collection<StageColumn> columns,
+                 Collection<Classificationenabledgroup> fields,
+                 Map<String, Identity> storeIdentities) {
+
+        this.ridToNode = new HashMap<>();
+        this.qualifiedNames = new ArrayList<>();
+        this.relations = new EnumMap<>(Relation.class);
+
+        // Assign IDs to everything within the job first, so that edges can be restricted to it
+        for (Stage stage : stages) {
+            addNode(stage.getId(), stage.getIdentity(igcRestClient).toString());
+        }
+        for (Link link : links) {
+            addNode(link.getId(), null);
+        }
+        for (StageColumn column : columns) {
+            addNode(column.getId(), column.getIdentity(igcRestClient).toString());
+        }
+        for (Classificationenabledgroup field : fields) {
+            addNode(field.getId(), fieldCache.getFieldIdentity(field).toString());
+        }
+        for (Map.Entry<String, Identity> store : storeIdentities.entrySet()) {
+            addNode(store.getKey(), store.getValue().toString());
+        }
+
+        EnumMap<Relation, EdgeList> edges = new EnumMap<>(Relation.class);
+        for (Relation relation : Relation.values()) {
+            edges.put(relation, new EdgeList());
+        }
+        for (StageColumn column : columns) {
+            int node = ridToNode.get(column.getId());
+            addEdges(igcRestClient, edges, Relation.NEXT_COLUMNS, node, column.getNextStageColumns());
+            addEdges(igcRestClient, edges, Relation.PREVIOUS_COLUMNS, node, column.getPreviousStageColumns());
+        }
+        for (Classificationenabledgroup field : fields) {
+            int node = ridToNode.get(field.getId());
+            addEdges(igcRestClient, edges, Relation.READ_BY_COLUMNS, node, field.getReadByDesign());
+            addEdges(igcRestClient, edges, Relation.WRITTEN_BY_COLUMNS, node, field.getWrittenByDesign());
+        }
+        for (Link link : links) {
+            addEdges(igcRestClient, edges, Relation.LINK_COLUMNS, ridToNode.get(link.getId()), link.getStageColumns());
+        }
+        for (Stage stage : stages) {
+            int node = ridToNode.get(stage.getId());
+            addEdges(igcRestClient, edges, Relation.STAGE_READS, node, stage.getReadsFromDesign());
+            addEdges(igcRestClient, edges, Relation.STAGE_WRITES, node, stage.getWritesToDesign());
+        }
+        for (Map.Entry<Relation, EdgeList> entry : edges.entrySet()) {
+            relations.put(entry.getKey(), new Adjacency(entry.getValue(), qualifiedNames.size()));
+        }
+
+    }
+
+    /**
+     * Retrieve the ID of the node for the provided Repository ID (RID).
+     *
+     * @param rid the Repository ID (RID) of the stage, link, stage column, field or data store
+     * @return int the ID of its node, or -1 if it is not part of the job
+     */
+    public int getNode(String rid) {
+        Integer node = ridToNode.get(rid);
+        return node == null ? -1 : node;
+    }
+
+    /**
+     * Retrieve the qualifiedName of the provided node.
+     *
+     * @param node the ID of the node
+     * @return String, or null if the node has no known qualifiedName
+     */
+    public String getQualifiedName(int node) {
+        return qualifiedNames.get(node);
+    }
+
+    /**
+     * Retrieve the IDs of the nodes related to the provided node through the provided relationship.
+     *
+     * @param node the ID of the node (or -1, for which there are never any related nodes)
+     * @param relation the relationship to follow
+     * @return int[]
+     */
+    public int[] getRelated(int node, Relation relation) {
+        return node < 0 ? NONE : relations.get(relation).get(node);
+    }
+
+    /**
+     * Retrieve the number of nodes in the index.
+     *
+     * @return int
+     */
+    public int size() {
+        return qualifiedNames.size();
+    }
+
+    /**
+     * Assign an ID to the provided Repository ID (RID), if it does not already have one.
+     *
+     * @param rid the Repository ID (RID) for which to assign an ID
+     * @param qualifiedName the qualifiedName of the node (if known)
+     * @return int the ID of the node
+     */
+    private int addNode(String rid, String qualifiedName) {
+        Integer node = ridToNode.get(rid);
+        if (node == null) {
+            node = qualifiedNames.size();
+            ridToNode.put(rid, node);
+            qualifiedNames.add(qualifiedName);
+        }
+        return node;
+    }
+
+    /**
+     * Add an edge from the provided node to each of the provided targets that is part of the job. Stores read or
+     * written by a stage are retained even if their fields are unknown (as new nodes, without a qualifiedName), while
+     * any other target outside the job is skipped: stage columns that read or write a field of the job's data stores
+     * but are outside the job are warned about, as lineage through that field is then incomplete.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param edges the edges to which to add, by relationship
+     * @param relation the relationship between the node and the targets
+     * @param source the ID of the source node
+     * @param targets the targets of the edges
+     */
+    private void addEdges(IGCRestClient igcRestClient,
+                          EnumMap<Relation, EdgeList> edges,
+                          Relation relation,
+                          int source,
+                          ItemList<? extends Reference> targets) {
+        if (targets != null) {
+            targets.getAllPages(igcRestClient);
+            for (Reference target : targets.getItems()) {
+                Integer node = ridToNode.get(target.getId());
+                if (node == null && (relation == Relation.STAGE_READS || relation == Relation.STAGE_WRITES)) {
+                    node = addNode(target.getId(), null);
+                }
+                if (node != null) {
+                    edges.get(relation).add(source, node);
+                } else if (relation == Relation.READ_BY_COLUMNS || relation == Relation.WRITTEN_BY_COLUMNS) {
+                    if (log.isWarnEnabled()) { log.warn("Unable to find referenced stage column within the job -- skipping: {}", target.getId()); }
+                } else if (log.isDebugEnabled()) {
+                    log.debug("Skipping lineage to {} outside of the job: {}", target.getType(), target.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * A growable list of edges, used only while building the index.
+     */
+    private static class EdgeList {
+
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int size = 0;
+
+        void add(int source, int target) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            size++;
+        }
+
+    }
+
+    /**
+     * The edges of a single relationship, in compressed form: the targets of node n are held in
+     * {@code targets[offsets[n]]} up to (but excluding) {@code targets[offsets[n + 1]]}.
+     */
+    private static class Adjacency {
+
+        private final int[] offsets;
+        private final int[] targets;
+
+        Adjacency(EdgeList edges, int nodeCount) {
+            offsets = new int[nodeCount + 1];
+            targets = new int[edges.size];
+            for (int i = 0; i < edges.size; i++) {
+                offsets[edges.sources[i] + 1]++;
+            }
+            for (int n = 0; n < nodeCount; n++) {
+                offsets[n + 1] += offsets[n];
+            }
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            for (int i = 0; i < edges.size; i++) {
+                targets[next[edges.sources[i]]++] = edges.targets[i];
+            }
+        }
+
+        int[] get(int node) {
+            return node >= offsets.length - 1 ? NONE : Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+        }
+
+    }
+
+}
@@ -0,0 +1,263 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Dependencies between DataStage sequences and the jobs (or other sequences) that each of them runs, so that the
+ * processes for any number of (possibly nested) sequences can be built in a single pass: every sequence is ordered
+ * after all of the sequences it runs, and the member jobs that are not yet known (eg. because they were not changed
+ * within the window being synced) can be identified up-front and retrieved together.
+ */
+public class SequenceDependencyGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceDependencyGraph.class);
+
+    private final Map<String, DataStageJob> sequencesByRid;
+    private final Map<String, List<String>> membersByRid;
+
+    /**
+     * Create a new, empty dependency graph.
+     */
+    public SequenceDependencyGraph() {
+        this.sequencesByRid = new LinkedHashMap<>();
+        this.membersByRid = new HashMap<>();
+    }
+
+    /**
+     * Add the provided sequence (and its dependencies on the jobs it runs) to the graph. Anything that is not a
+     * sequence is ignored.
+     *
+     * @param sequence the sequence to add
+     */
+    public void addSequence(DataStageJob sequence) {
+        if (sequence.getType().equals(DataStageJob.JobType.SEQUENCE)) {
+            addSequence(sequence.getJobObject().getId(), sequence.getMemberJobRids(), sequence);
+        }
+    }
+
+    /**
+     * Add a sequence (and its dependencies on the jobs it runs) to the graph, unless it is already in the graph.
+     *
+     * @param rid the Repository ID (RID) of the sequence
+     * @param memberRids the Repository IDs (RIDs) of the jobs (or other sequences) that the sequence runs
+     * @param sequence the sequence itself
+     */
+    void addSequence(String rid, List<String> memberRids, DataStageJob sequence) {
+        if (!sequencesByRid.containsKey(rid)) {
+            sequencesByRid.put(rid, sequence);
+            membersByRid.put(rid, memberRids == null ? Collections.emptyList() : memberRids);
+        }
+    }
+
+    /**
+     * Retrieve the Repository IDs (RIDs) of the jobs run by any sequence in the graph that are neither sequences in the
+     * graph themselves nor amongst the provided known jobs.
+     *
+     * @param known the Repository IDs (RIDs) of the jobs that are already known
+     * @return {@code Set<String>}
+     */
+    public Set<String> getMissingMembers(Set<String> known) {
+        Set<String> missing = new TreeSet<>();
+        for (List<String> members : membersByRid.values()) {
+            for (String member : members) {
+                if (!sequencesByRid.containsKey(member) && !known.contains(member)) {
+                    missing.add(member);
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Retrieve the sequences in the graph, ordered such that every sequence comes after all of the sequences that it
+     * runs. Sequences that are independent of each other retain the order in which they were added. Should there be
+     * any cycle between sequences, those involved are kept together (in the order in which they were added): every
+     * sequence is always included exactly once, and those that run any sequence in the cycle come after all of it.
+     *
+     * @return {@code List<DataStageJob>}
+     */
+    public List<DataStageJob> getBuildOrder() {
+        List<DataStageJob> ordered = new ArrayList<>(sequencesByRid.size());
+        for (String rid : getBuildOrderRids()) {
+            ordered.add(sequencesByRid.get(rid));
+        }
+        return ordered;
+    }
+
+    /**
+     * Retrieve the Repository IDs (RIDs) of the sequences in the graph, in the order in which they should be built
+     * (see {@link #getBuildOrder()}).
+     *
+     * @return {@code List<String>}
+     */
+    List<String> getBuildOrderRids() {
+
+        // Each cycle of sequences (if any) is built as a single group, so first group the sequences that run each other
+        Map<String, Set<String>> nestedByRid = new LinkedHashMap<>();
+        for (String rid : sequencesByRid.keySet()) {
+            Set<String> nested = new LinkedHashSet<>();
+            for (String member : membersByRid.get(rid)) {
+                if (sequencesByRid.containsKey(member) && !member.equals(rid)) {
+                    nested.add(member);
+                }
+            }
+            nestedByRid.put(rid, nested);
+        }
+        Map<String, Integer> groupByRid = groupCycles(nestedByRid);
+        List<List<String>> groups = new ArrayList<>();
+        for (String rid : sequencesByRid.keySet()) {
+            int group = groupByRid.get(rid);
+            while (groups.size() <= group) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(group).add(rid);
+        }
+
+        // Count, for each group, the number of other groups it runs that must be built before it
+        int[] pending = new int[groups.size()];
+        Map<Integer, Set<Integer>> runBy = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : nestedByRid.entrySet()) {
+            int group = groupByRid.get(entry.getKey());
+            for (String member : entry.getValue()) {
+                int nestedGroup = groupByRid.get(member);
+                if (nestedGroup != group && runBy.computeIfAbsent(nestedGroup, k -> new LinkedHashSet<>()).add(group)) {
+                    pending[group]++;
+                }
+            }
+        }
+
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int group = 0; group < groups.size(); group++) {
+            if (pending[group] == 0) {
+                ready.add(group);
+            }
+        }
+        List<String> ordered = new ArrayList<>(sequencesByRid.size());
+        while (!ready.isEmpty()) {
+            int group = ready.poll();
+            List<String> members = groups.get(group);
+            if (members.size() > 1 && log.isWarnEnabled()) {
+                log.warn("Sequences are part of a cycle of sequences, their PortAliases may be incomplete: {}", members);
+            }
+            ordered.addAll(members);
+            for (int parent : runBy.getOrDefault(group, Collections.emptySet())) {
+                if (--pending[parent] == 0) {
+                    ready.add(parent);
+                }
+            }
+        }
+        return ordered;
+
+    }
+
+    /**
+     * Group the provided sequences such that sequences that (directly or indirectly) run each other, ie. that form a
+     * cycle, are in the same group. Groups are numbered in the order in which their earliest-added sequence was added.
+     * The groups are found iteratively (using Tarjan's algorithm), so that deeply nested sequences need no recursion.
+     *
+     * @param nestedByRid the Repository IDs (RIDs) of the sequences run by each sequence, in the order they were added
+     * @return {@code Map<String, Integer>} the group of each sequence, keyed by the sequence's Repository ID (RID)
+     */
+    private Map<String, Integer> groupCycles(Map<String, Set<String>> nestedByRid) {
+
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        List<Set<String>> found = new ArrayList<>();
+
+        for (String root : nestedByRid.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            Deque<String> path = new ArrayDeque<>();
+            Deque<Iterator<String>> remaining = new ArrayDeque<>();
+            visit(root, index, lowLink, stack, onStack);
+            path.push(root);
+            remaining.push(nestedByRid.get(root).iterator());
+            while (!path.isEmpty()) {
+                String rid = path.peek();
+                Iterator<String> nested = remaining.peek();
+                if (nested.hasNext()) {
+                    String member = nested.next();
+                    if (!index.containsKey(member)) {
+                        visit(member, index, lowLink, stack, onStack);
+                        path.push(member);
+                        remaining.push(nestedByRid.get(member).iterator());
+                    } else if (onStack.contains(member)) {
+                        lowLink.put(rid, Math.min(lowLink.get(rid), index.get(member)));
+                    }
+                } else {
+                    path.pop();
+                    remaining.pop();
+                    if (lowLink.get(rid).equals(index.get(rid))) {
+                        Set<String> group = new HashSet<>();
+                        String member;
+                        do {
+                            member = stack.pop();
+                            onStack.remove(member);
+                            group.add(member);
+                        } while (!member.equals(rid));
+                        found.add(group);
+                    }
+                    if (!path.isEmpty()) {
+                        String parent = path.peek();
+                        lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(rid)));
+                    }
+                }
+            }
+        }
+
+        // Number the groups by the earliest-added sequence in each
+        Map<String, Set<String>> groupOf = new HashMap<>();
+        for (Set<String> group : found) {
+            for (String rid : group) {
+                groupOf.put(rid, group);
+            }
+        }
+        Map<Set<String>, Integer> numbers = new IdentityHashMap<>();
+        Map<String, Integer> groupByRid = new HashMap<>();
+        for (String rid : nestedByRid.keySet()) {
+            Set<String> group = groupOf.get(rid);
+            Integer number = numbers.get(group);
+            if (number == null) {
+                number = numbers.size();
+                numbers.put(group, number);
+            }
+            groupByRid.put(rid, number);
+        }
+        return groupByRid;
+
+    }
+
+    /**
+     * Mark the provided sequence as visited while grouping cycles.
+     *
+     * @param rid the Repository ID (RID) of the sequence
+     * @param index the order in which each sequence was visited
+     * @param lowLink the earliest-visited sequence reachable from each sequence
+     * @param stack the sequences visited but not yet grouped
+     * @param onStack the sequences visited but not yet grouped
+     */
+    private void visit(String rid, Map<String, Integer> index, Map<String, Integer> lowLink, Deque<String> stack, Set<String> onStack) {
+        index.put(rid, index.size());
+        lowLink.put(rid, index.get(rid));
+        stack.push(rid);
+        onStack.add(rid);
+    }
+
+    /**
+     * Retrieve the number of sequences in the graph.
+     *
+     * @return int
+     */
+    public int size() {
+        return sequencesByRid.size();
+    }
+
+}
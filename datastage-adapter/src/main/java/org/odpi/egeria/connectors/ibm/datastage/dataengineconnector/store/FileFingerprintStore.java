@@ -0,0 +1,108 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A fingerprint store persisted to a local file (as Java properties). The file is replaced atomically on each commit,
+ * so that a failure part-way through writing it never loses the fingerprints of the last successful sync.
+ */
+public class FileFingerprintStore implements FingerprintStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileFingerprintStore.class);
+
+    private final Path file;
+    private final Properties committed;
+    private final Map<String, String> staged;
+
+    /**
+     * Open (or create) a fingerprint store in the provided file.
+     *
+     * @param file the file in which to persist fingerprints
+     * @throws IOException if the file exists but cannot be read
+     */
+    public FileFingerprintStore(Path file) throws IOException {
+        this.file = file;
+        this.committed = new Properties();
+        this.staged = new HashMap<>();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                committed.load(reader);
+            }
+            if (log.isInfoEnabled()) { log.info("Loaded {} fingerprints from: {}", committed.size(), file); }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isChanged(String key, String fingerprint) {
+        return !fingerprint.equals(committed.getProperty(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stage(String key, String fingerprint) {
+        staged.put(key, fingerprint);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void discard(String key) {
+        staged.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void commit() throws IOException {
+        if (!staged.isEmpty()) {
+            Properties updated = new Properties();
+            updated.putAll(committed);
+            updated.putAll(staged);
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    updated.store(writer, "DataStage connector fingerprints");
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            committed.putAll(staged);
+            staged.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void rollback() {
+        staged.clear();
+    }
+
+}
@@ -0,0 +1,160 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * A sync state store persisted to a local file (as Java properties). The file is replaced atomically on each update,
+ * so that a failure part-way through writing it never loses the state of the last sync.
+ */
+public class FileSyncStateStore implements SyncStateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSyncStateStore.class);
+
+    private static final String LAST_SYNCED = "lastSynced";
+    private static final String PROGRESS_FROM = "progress.from";
+    private static final String PROGRESS_JOB_PREFIX = "progress.job.";
+    private static final String NO_DATE = "-";
+
+    private final Path file;
+    private final Properties state;
+
+    /**
+     * Open (or create) a sync state store in the provided file.
+     *
+     * @param file the file in which to persist the sync state
+     * @throws IOException if the file exists but cannot be read
+     */
+    public FileSyncStateStore(Path file) throws IOException {
+        this.file = file;
+        this.state = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                state.load(reader);
+            }
+            if (log.isInfoEnabled()) { log.info("Loaded sync state from: {}", file); }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Date getLastSynced() {
+        Long time = toTime(state.getProperty(LAST_SYNCED));
+        return time == null ? null : new Date(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setLastSynced(Date time) throws IOException {
+        Properties updated = new Properties();
+        updated.setProperty(LAST_SYNCED, fromDate(time));
+        save(updated);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<String, Long> getProgress(Date from) {
+        Map<String, Long> completed = new HashMap<>();
+        String progressFrom = state.getProperty(PROGRESS_FROM);
+        if (progressFrom != null && progressFrom.equals(fromDate(from))) {
+            for (String key : state.stringPropertyNames()) {
+                if (key.startsWith(PROGRESS_JOB_PREFIX)) {
+                    Long modified = toTime(state.getProperty(key));
+                    if (modified != null) {
+                        completed.put(key.substring(PROGRESS_JOB_PREFIX.length()), modified);
+                    }
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setProgress(Date from, Map<String, Long> completedJobs) throws IOException {
+        Properties updated = new Properties();
+        String lastSynced = state.getProperty(LAST_SYNCED);
+        if (lastSynced != null) {
+            updated.setProperty(LAST_SYNCED, lastSynced);
+        }
+        updated.setProperty(PROGRESS_FROM, fromDate(from));
+        for (Map.Entry<String, Long> entry : completedJobs.entrySet()) {
+            if (entry.getValue() != null) {
+                updated.setProperty(PROGRESS_JOB_PREFIX + entry.getKey(), entry.getValue().toString());
+            }
+        }
+        save(updated);
+    }
+
+    /**
+     * Replace the persisted state with the provided state.
+     *
+     * @param updated the state to persist
+     * @throws IOException if the state cannot be persisted
+     */
+    private void save(Properties updated) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                updated.store(writer, "DataStage connector sync state");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        state.clear();
+        state.putAll(updated);
+    }
+
+    /**
+     * Convert the provided date and time into the form in which it is persisted.
+     *
+     * @param date the date and time to convert (or null)
+     * @return String
+     */
+    private static String fromDate(Date date) {
+        return date == null ? NO_DATE : Long.toString(date.getTime());
+    }
+
+    /**
+     * Convert the provided persisted date and time into milliseconds.
+     *
+     * @param value the persisted date and time
+     * @return Long, or null if there is no (valid) date and time
+     */
+    private static Long toTime(String value) {
+        if (value == null || value.equals(NO_DATE)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.error("Unable to parse persisted date and time: {}", value);
+            return null;
+        }
+    }
+
+}
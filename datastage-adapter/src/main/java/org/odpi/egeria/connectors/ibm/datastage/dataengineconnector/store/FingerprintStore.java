@@ -0,0 +1,56 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import java.io.IOException;
+
+/**
+ * Remembers a fingerprint (hash) of each piece of metadata that was last successfully synced, so that anything whose
+ * fingerprint has not changed since need not be sent again.
+ * <br><br>
+ * Fingerprints are compared against those of the last successful sync only. A new fingerprint is only staged once
+ * the metadata it describes has actually been processed, and staged fingerprints are only persisted when they are
+ * committed (once the sync has succeeded): they are discarded if the sync (or the processing of that metadata) is
+ * retried instead. Comparing a fingerprint never stages it, so metadata that is compared but never processed is
+ * always considered changed again by the next sync.
+ */
+public interface FingerprintStore {
+
+    /**
+     * Indicate whether the provided fingerprint differs from the fingerprint of the last successful sync for the
+     * provided key (true) or not (false).
+     *
+     * @param key the unique key of the metadata (eg. its qualifiedName)
+     * @param fingerprint the fingerprint of the metadata as it is now
+     * @return boolean
+     */
+    boolean isChanged(String key, String fingerprint);
+
+    /**
+     * Stage the provided fingerprint for the provided key, as the metadata it describes has been processed.
+     *
+     * @param key the unique key of the metadata (eg. its qualifiedName)
+     * @param fingerprint the fingerprint of the metadata as it is now
+     */
+    void stage(String key, String fingerprint);
+
+    /**
+     * Discard any staged fingerprint for the provided key, as the processing of the metadata it describes failed.
+     *
+     * @param key the unique key of the metadata (eg. its qualifiedName)
+     */
+    void discard(String key);
+
+    /**
+     * Persist all staged fingerprints, as the sync that staged them has succeeded.
+     *
+     * @throws IOException if the fingerprints cannot be persisted
+     */
+    void commit() throws IOException;
+
+    /**
+     * Discard all staged fingerprints, as the sync that staged them is being retried or was abandoned.
+     */
+    void rollback();
+
+}
@@ -0,0 +1,92 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Utilities for computing fingerprints.
+ */
+public class Fingerprints {
+
+    private Fingerprints() {
+        // Do nothing...
+    }
+
+    /**
+     * Compute a fingerprint of the provided text.
+     *
+     * @param text the text to fingerprint
+     * @return String the hex-encoded SHA-256 hash of the text
+     */
+    public static String of(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("Unable to compute SHA-256 hash.", e);
+        }
+    }
+
+    /**
+     * Compute a fingerprint of the provided object, based on its JSON representation. The representation is first
+     * made canonical (properties and the elements of arrays are sorted), so that the fingerprint does not depend on
+     * the order in which any collections within the object happen to have been built.
+     *
+     * @param mapper the mapper through which to represent the object as JSON
+     * @param value the object to fingerprint
+     * @return String
+     */
+    public static String of(ObjectMapper mapper, Object value) {
+        return of(canonical(mapper.valueToTree(value)));
+    }
+
+    /**
+     * Render the provided JSON in a canonical form.
+     *
+     * @param node the JSON to render
+     * @return String
+     */
+    private static String canonical(JsonNode node) {
+        if (node instanceof ObjectNode) {
+            SortedMap<String, String> fields = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> field = it.next();
+                fields.put(field.getKey(), canonical(field.getValue()));
+            }
+            StringBuilder sb = new StringBuilder("{");
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                if (sb.length() > 1) {
+                    sb.append(',');
+                }
+                sb.append('"').append(field.getKey()).append("\":").append(field.getValue());
+            }
+            return sb.append('}').toString();
+        } else if (node instanceof ArrayNode) {
+            List<String> elements = new ArrayList<>();
+            for (JsonNode element : node) {
+                elements.add(canonical(element));
+            }
+            Collections.sort(elements);
+            return "[" + String.join(",", elements) + "]";
+        }
+        return node.toString();
+    }
+
+}
@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Remembers the state of syncing DataStage jobs: the date and time up to which changes were last completely synced
+ * (the watermark), and the progress of any sync that was only partially completed, so that the next sync of the same
+ * window can resume from the last completed batch of jobs rather than starting the whole window again.
+ */
+public interface SyncStateStore {
+
+    /**
+     * Retrieve the date and time up to which changes were last completely synced.
+     *
+     * @return Date, or null if changes have never been completely synced
+     */
+    Date getLastSynced();
+
+    /**
+     * Persist the date and time up to which changes have now been completely synced, discarding any progress
+     * recorded for a partially completed sync.
+     *
+     * @param time the date and time up to which changes have been completely synced
+     * @throws IOException if the state cannot be persisted
+     */
+    void setLastSynced(Date time) throws IOException;
+
+    /**
+     * Retrieve the jobs that have already been synced by a partially completed sync of the window starting at the
+     * provided date and time.
+     *
+     * @param from the date and time from which the window starts (or null for a window with no start)
+     * @return {@code Map<String, Long>} the date and time (in milliseconds) at which each synced job was last modified,
+     * keyed by the job's Repository ID (RID), or an empty map if there is no progress for that window
+     */
+    Map<String, Long> getProgress(Date from);
+
+    /**
+     * Persist the jobs that have been synced so far by a partially completed sync of the window starting at the
+     * provided date and time, replacing any progress previously recorded. The watermark is left unchanged.
+     *
+     * @param from the date and time from which the window starts (or null for a window with no start)
+     * @param completedJobs the date and time (in milliseconds) at which each synced job was last modified, keyed by the
+     *                      job's Repository ID (RID)
+     * @throws IOException if the state cannot be persisted
+     */
+    void setProgress(Date from, Map<String, Long> completedJobs) throws IOException;
+
+}
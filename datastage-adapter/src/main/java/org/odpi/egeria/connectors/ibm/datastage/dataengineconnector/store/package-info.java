@@ -0,0 +1,7 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+/**
+ * Defines the local stores in which the DataStage connector persists what it needs to remember between syncs.
+ */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector;
+
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks.FailingBatchConnectorProvider;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks.MockConnection;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.FileSyncStateStore;
+import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectionCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.dataengineproxy.model.DataEngineProcess;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that a sync that fails part-way is resumed by the next sync of the same window, using the mocked server
+ * resources: the changed jobs are synced one per batch, and the retrieval of the second batch fails.
+ */
+public class SyncResumeTest {
+
+    private final Date now;
+
+    public SyncResumeTest() {
+        HttpHelper.noStrictSSL();
+        now = new Date();
+    }
+
+    @Test
+    void testCompletedBatchesSkippedOnResume() throws IOException, ConnectionCheckedException, ConnectorCheckedException {
+
+        // Without any fingerprints, only the progress of the partial sync can keep the first batch from being re-sent
+        assertResumed(Files.createTempDirectory("sync"), false);
+
+    }
+
+    @Test
+    void testFailedBatchResentOnResume() throws IOException, ConnectionCheckedException, ConnectorCheckedException {
+
+        // The fingerprints of the first batch are committed with the progress, but those of the failed batch must not be
+        assertResumed(Files.createTempDirectory("sync"), true);
+
+    }
+
+    /**
+     * Sync the same window twice (the first time failing on the second batch) and check that, between them, the two
+     * syncs send everything that a single uninterrupted sync would, and nothing twice.
+     *
+     * @param directory the directory in which to keep the state of the syncs
+     * @param withFingerprints whether to only send what has changed since the last sync
+     */
+    private void assertResumed(Path directory, boolean withFingerprints) throws IOException, ConnectionCheckedException, ConnectorCheckedException {
+
+        Path stateFile = directory.resolve("state.properties");
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(DataStageConnectorProvider.SYNC_BATCH_SIZE, 1);
+        configuration.put(DataStageConnectorProvider.SYNC_STATE_STORE, stateFile.toString());
+        if (withFingerprints) {
+            configuration.put(DataStageConnectorProvider.FINGERPRINT_STORE, directory.resolve("fingerprints.properties").toString());
+        }
+
+        DataStageConnector uninterrupted = start(DataStageConnectorProvider.class.getName(), null);
+        Set<String> expected = getQualifiedNames(uninterrupted.getChangedProcesses(null, now));
+        uninterrupted.disconnect();
+
+        // Only the first batch is sent, and the watermark is left where it was so that the window is synced again
+        DataStageConnector failing = start(FailingBatchConnectorProvider.class.getName(), configuration);
+        Set<String> first = getQualifiedNames(failing.getChangedProcesses(null, now));
+        failing.setChangesLastSynced(now);
+        failing.disconnect();
+        assertFalse(first.isEmpty());
+        assertTrue(first.size() < expected.size());
+        FileSyncStateStore state = new FileSyncStateStore(stateFile);
+        assertNull(state.getLastSynced());
+        assertEquals(state.getProgress(null).size(), 1);
+
+        // Resuming skips the job of the first batch, and sends everything from the failed batch onwards
+        DataStageConnector resumed = start(DataStageConnectorProvider.class.getName(), configuration);
+        assertNull(resumed.getChangesLastSynced());
+        Set<String> second = getQualifiedNames(resumed.getChangedProcesses(null, now));
+        resumed.setChangesLastSynced(now);
+        assertEquals(resumed.getChangesLastSynced(), now);
+        resumed.disconnect();
+
+        Set<String> resent = new TreeSet<>(first);
+        resent.retainAll(second);
+        assertTrue(resent.isEmpty(), "Re-sent: " + resent);
+        Set<String> all = new TreeSet<>(first);
+        all.addAll(second);
+        assertEquals(all, expected);
+
+        // ... after which the window is complete
+        assertTrue(new FileSyncStateStore(stateFile).getProgress(null).isEmpty());
+
+    }
+
+    private DataStageConnector start(String connectorProviderClassName, Map<String, Object> configuration) throws ConnectionCheckedException, ConnectorCheckedException {
+        Object connector = new ConnectorBroker().getConnector(new MockConnection(connectorProviderClassName, configuration));
+        assertTrue(connector instanceof DataStageConnector);
+        DataStageConnector dataStageConnector = (DataStageConnector) connector;
+        dataStageConnector.start();
+        return dataStageConnector;
+    }
+
+    private Set<String> getQualifiedNames(List<DataEngineProcess> processes) {
+        Set<String> qualifiedNames = new TreeSet<>();
+        for (DataEngineProcess process : processes) {
+            qualifiedNames.add(process.getProcess().getQualifiedName());
+        }
+        return qualifiedNames;
+    }
+
+}
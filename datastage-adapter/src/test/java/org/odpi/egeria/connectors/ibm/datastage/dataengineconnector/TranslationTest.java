@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks.FailingTranslationConnector;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks.FailingTranslationConnectorProvider;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks.MockConnection;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store.Fingerprints;
+import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectionCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.dataengineproxy.model.DataEngineProcess;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.dataengineproxy.model.DataEngineSchemaType;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the translation of changed jobs across many workers using the mocked server resources.
+ */
+public class TranslationTest {
+
+    private final Date now;
+    private final ObjectMapper mapper;
+
+    public TranslationTest() {
+        HttpHelper.noStrictSSL();
+        now = new Date();
+        mapper = new ObjectMapper();
+    }
+
+    @Test
+    void testParallelMatchesSequential() throws ConnectionCheckedException, ConnectorCheckedException {
+
+        DataStageConnector sequential = start(DataStageConnectorProvider.class.getName(), 1);
+        List<String> sequentialSchemaTypes = summarizeSchemaTypes(sequential.getChangedSchemaTypes(null, now));
+        List<String> sequentialProcesses = summarizeProcesses(sequential.getChangedProcesses(null, now));
+        sequential.disconnect();
+        assertFalse(sequentialProcesses.isEmpty());
+
+        // However the jobs' translations happen to be scheduled, the same changes are sent in the same order
+        for (int i = 0; i < 3; i++) {
+            DataStageConnector parallel = start(DataStageConnectorProvider.class.getName(), 4);
+            assertEquals(summarizeSchemaTypes(parallel.getChangedSchemaTypes(null, now)), sequentialSchemaTypes);
+            assertEquals(summarizeProcesses(parallel.getChangedProcesses(null, now)), sequentialProcesses);
+            parallel.disconnect();
+        }
+
+    }
+
+    @Test
+    void testFailedTranslation() throws ConnectionCheckedException, ConnectorCheckedException {
+
+        // The failure of a single job's translation fails the sync, rather than that job being silently left out
+        DataStageConnector failing = start(FailingTranslationConnectorProvider.class.getName(), 4);
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> failing.getChangedProcesses(null, now));
+        assertSame(e, FailingTranslationConnector.FAILURE);
+        failing.disconnect();
+
+    }
+
+    private DataStageConnector start(String connectorProviderClassName, int translationWorkers) throws ConnectionCheckedException, ConnectorCheckedException {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(DataStageConnectorProvider.TRANSLATION_WORKERS, translationWorkers);
+        Object connector = new ConnectorBroker().getConnector(new MockConnection(connectorProviderClassName, configuration));
+        assertTrue(connector instanceof DataStageConnector);
+        DataStageConnector dataStageConnector = (DataStageConnector) connector;
+        dataStageConnector.start();
+        return dataStageConnector;
+    }
+
+    /**
+     * Summarize the provided schema types by their qualifiedName and content, in the order they would be sent.
+     */
+    private List<String> summarizeSchemaTypes(List<DataEngineSchemaType> schemaTypes) {
+        List<String> summary = new ArrayList<>();
+        for (DataEngineSchemaType schemaType : schemaTypes) {
+            summary.add(schemaType.getSchemaType().getQualifiedName() + "=" + Fingerprints.of(mapper, schemaType.getSchemaType()));
+        }
+        return summary;
+    }
+
+    /**
+     * Summarize the provided processes by their qualifiedName and content, in the order they would be sent.
+     */
+    private List<String> summarizeProcesses(List<DataEngineProcess> processes) {
+        List<String> summary = new ArrayList<>();
+        for (DataEngineProcess process : processes) {
+            summary.add(process.getProcess().getQualifiedName() + "=" + Fingerprints.of(mapper, process.getProcess()));
+        }
+        return summary;
+    }
+
+}
@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.metrics;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the metrics captured about a sync.
+ */
+public class SyncMetricsTest {
+
+    @Test
+    void testSummary() {
+
+        SyncMetrics metrics = new SyncMetrics(null, new Date(1000L));
+        List<SyncMetrics> reported = new ArrayList<>();
+        metrics.addReporter(reported::add);
+
+        metrics.recordPhase(SyncMetrics.Phase.COMPONENT_RETRIEVAL, 4000000L, 3);
+        metrics.recordPhase(SyncMetrics.Phase.JOB_DETAILS, 1000000L, 1);
+        metrics.recordJob("rid1", "fast", SyncMetrics.Phase.JOB_DETAILS, 1000000L, 1.5);
+        metrics.recordJob("rid2", "slow", SyncMetrics.Phase.JOB_DETAILS, 1000000L, 1.5);
+        metrics.recordJob("rid2", "slow", SyncMetrics.Phase.TRANSLATION, 9000000L, 0);
+        metrics.recordCache("dataStoreFields", 3, 1);
+
+        assertEquals(metrics.getJobCount(), 2);
+        assertEquals(metrics.getRestCallsPerJob(), 2.0, 0.001);
+        assertEquals(metrics.getPhases().get(SyncMetrics.Phase.COMPONENT_RETRIEVAL).getMaxMillis(), 4.0, 0.001);
+        assertEquals(metrics.getCacheHitRates().get("dataStoreFields"), 0.75, 0.001);
+        assertEquals(metrics.getSlowestJobs(1).get(0).getName(), "slow");
+
+        metrics.report();
+        assertEquals(reported.size(), 1);
+        Map<String, Object> summary = metrics.getSummary(5);
+        assertEquals(summary.get("jobs"), 2);
+        assertEquals(((List<?>) summary.get("slowestJobs")).size(), 2);
+
+    }
+
+    @Test
+    void testJsonReporterAppendsEachSync() throws IOException {
+
+        Path file = Files.createTempDirectory("metrics").resolve("sync-metrics.json");
+        JsonSyncMetricsReporter reporter = new JsonSyncMetricsReporter(file);
+        reporter.report(new SyncMetrics(null, new Date(1000L)));
+        reporter.report(new SyncMetrics(new Date(1000L), new Date(2000L)));
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(lines.size(), 2);
+        assertTrue(lines.get(1).startsWith("{\"from\":1000,\"to\":2000,"));
+
+    }
+
+}
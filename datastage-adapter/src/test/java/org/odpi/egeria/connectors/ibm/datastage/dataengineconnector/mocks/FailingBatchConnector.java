@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConnector;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.errors.IGCConnectivityException;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mocked DataStageConnector whose retrieval of the stages of the second batch of changed jobs fails (as if IGC
+ * became unreachable part-way through a sync), while every other retrieval succeeds.
+ */
+public class FailingBatchConnector extends DataStageConnector {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IGCRestClient createRestClient(String baseURL, String user, String password) {
+        return new FailingBatchRestClient(baseURL, user, password);
+    }
+
+    /**
+     * A client whose second search for stages fails.
+     */
+    private static class FailingBatchRestClient extends IGCRestClient {
+
+        private final AtomicInteger stageSearches;
+
+        FailingBatchRestClient(String baseURL, String user, String password) {
+            super(baseURL, user, password);
+            this.stageSearches = new AtomicInteger(0);
+        }
+
+        @Override
+        public <T extends Reference> ItemList<T> search(IGCSearch igcSearch) {
+            for (JsonNode type : igcSearch.getQuery().path("types")) {
+                if (type.asText().equals("stage") && stageSearches.incrementAndGet() == 2) {
+                    throw new IGCConnectivityException("Unable to search for the stages of the second batch.", (Throwable) null);
+                }
+            }
+            return super.search(igcSearch);
+        }
+
+    }
+
+}
@@ -0,0 +1,17 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks;
+
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConnectorProvider;
+
+/**
+ * Mocked provider of a DataStageConnector whose retrieval of the second batch of changed jobs fails.
+ */
+public class FailingBatchConnectorProvider extends DataStageConnectorProvider {
+
+    public FailingBatchConnectorProvider() {
+        super();
+        super.setConnectorClassName(FailingBatchConnector.class.getName());
+    }
+
+}
@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks;
+
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConnector;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mocked DataStageConnector whose translation of the first job to be translated fails, while the retrieval of every
+ * job's details and the translation of every other job succeed.
+ */
+public class FailingTranslationConnector extends DataStageConnector {
+
+    /**
+     * The failure raised by the translation of the job.
+     */
+    public static final IllegalStateException FAILURE = new IllegalStateException("Unable to translate the job.");
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IGCRestClient createRestClient(String baseURL, String user, String password) {
+        return new FailingTranslationRestClient(baseURL, user, password);
+    }
+
+    /**
+     * A client that fails the first time it is used by a translation worker (each job's translation starts by
+     * counting the requests it makes), and only then.
+     */
+    private static class FailingTranslationRestClient extends IGCRestClient {
+
+        private final AtomicBoolean failed;
+
+        FailingTranslationRestClient(String baseURL, String user, String password) {
+            super(baseURL, user, password);
+            this.failed = new AtomicBoolean(false);
+        }
+
+        @Override
+        public long getRequestCountForCurrentThread() {
+            if (Thread.currentThread() instanceof ForkJoinWorkerThread && failed.compareAndSet(false, true)) {
+                throw FAILURE;
+            }
+            return super.getRequestCountForCurrentThread();
+        }
+
+    }
+
+}
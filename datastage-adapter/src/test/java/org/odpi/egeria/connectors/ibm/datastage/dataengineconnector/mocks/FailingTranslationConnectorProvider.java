@@ -0,0 +1,17 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mocks;
+
+import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConnectorProvider;
+
+/**
+ * Mocked provider of a DataStageConnector whose translation of one of the changed jobs fails.
+ */
+public class FailingTranslationConnectorProvider extends DataStageConnectorProvider {
+
+    public FailingTranslationConnectorProvider() {
+        super();
+        super.setConnectorClassName(FailingTranslationConnector.class.getName());
+    }
+
+}
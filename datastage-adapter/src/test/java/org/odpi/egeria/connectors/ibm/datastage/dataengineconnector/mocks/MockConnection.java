@@ -7,12 +7,24 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 
+import java.util.Map;
+
 /**
  * Mocked connection for the DataStageConnector.
  */
 public class MockConnection extends Connection {
 
     public MockConnection() {
+        this("org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConnectorProvider", null);
+    }
+
+    /**
+     * Mocked connection through the provided connector provider, configured with the provided properties.
+     *
+     * @param connectorProviderClassName the fully-qualified name of the connector provider to use
+     * @param configurationProperties the configuration properties of the connector (or null for none)
+     */
+    public MockConnection(String connectorProviderClassName, Map<String, Object> configurationProperties) {
 
         super();
 
@@ -20,7 +32,7 @@ public class MockConnection extends Connection {
         setDescription("A pretend DataStage connection.");
 
         ConnectorType connectorType = new ConnectorType();
-        connectorType.setConnectorProviderClassName("org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.DataStageConnectorProvider");
+        connectorType.setConnectorProviderClassName(connectorProviderClassName);
         setConnectorType(connectorType);
 
         Endpoint endpoint = new Endpoint();
@@ -30,6 +42,7 @@ public class MockConnection extends Connection {
 
         setUserId(MockConstants.IGC_USER);
         setClearPassword(MockConstants.IGC_PASS);
+        setConfigurationProperties(configurationProperties);
 
     }
 
@@ -0,0 +1,215 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.errors.IGCConnectivityException;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Link;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Stage;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Paging;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
+import org.odpi.egeria.connectors.ibm.information.server.mocks.MockConstants;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the retrieval of job details by the cache using the mocked server resources.
+ */
+public class DataStageCacheTest {
+
+    private final Date now;
+
+    public DataStageCacheTest() {
+        HttpHelper.noStrictSSL();
+        now = new Date();
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+
+        Map<String, String> sequential = summarize(initialize(new IGCRestClient(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS), 1).getAllJobs());
+        Map<String, String> parallel = summarize(initialize(new IGCRestClient(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS), 4).getAllJobs());
+        assertFalse(sequential.isEmpty());
+        assertEquals(parallel, sequential);
+
+        // Streaming the same jobs in small batches should also give exactly the same details
+        IGCRestClient igcRestClient = new IGCRestClient(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS);
+        assertTrue(igcRestClient.start());
+        DataStageCache streamed = new DataStageCache(null, now);
+        List<DataStageJob> handled = new ArrayList<>();
+        streamed.initialize(igcRestClient, 4, 1, batch -> {
+            assertTrue(batch.size() <= 1);
+            handled.addAll(batch);
+        });
+        assertEquals(summarize(handled), sequential);
+        assertTrue(streamed.getAllJobs().isEmpty());
+
+    }
+
+    @Test
+    public void testFailedBatch() {
+
+        IGCRestClient failing = new FailingRestClient("stage");
+        assertTrue(failing.start());
+
+        // The original failure should be surfaced, and no partially retrieved jobs retained
+        DataStageCache cache = new DataStageCache(null, now);
+        assertThrows(IGCConnectivityException.class, () -> cache.initialize(failing, 4));
+        assertTrue(cache.getAllJobs().isEmpty());
+
+        // When streaming, no batch should be handed on
+        DataStageCache streamed = new DataStageCache(null, now);
+        List<DataStageJob> handled = new ArrayList<>();
+        assertThrows(IGCConnectivityException.class, () -> streamed.initialize(failing, 4, 1, handled::addAll));
+        assertTrue(handled.isEmpty());
+
+    }
+
+    @Test
+    public void testStreamedAcrossPages() {
+
+        Set<String> expected = summarize(initialize(new IGCRestClient(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS), 1).getAllJobs()).keySet();
+        assertEquals(expected.size(), 4);
+
+        // The 4 changed jobs come back on two pages of 3 and 2 (the last job of the first page appearing again on
+        // the second), and are streamed in batches of 2: so [1, 2] and [3] from the first page, and [4] from the second
+        IGCRestClient paged = new PagedRestClient(3);
+        assertTrue(paged.start());
+        DataStageCache streamed = new DataStageCache(null, now);
+        List<String> handled = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        streamed.initialize(paged, 4, 2, batch -> {
+            // Each batch is released from the cache as it is handed on, so none of its jobs are retained
+            assertTrue(streamed.getAllJobs().isEmpty());
+            for (DataStageJob job : batch) {
+                assertNull(streamed.getCachedJobById(job.getJobObject().getId()));
+                handled.add(job.getJobObject().getId());
+            }
+            batchSizes.add(batch.size());
+        });
+
+        // Every changed job is handed on exactly once
+        assertEquals(handled.size(), expected.size());
+        assertEquals(new TreeSet<>(handled), expected);
+        assertEquals(batchSizes, Arrays.asList(2, 1, 1));
+        assertTrue(streamed.getAllJobs().isEmpty());
+
+    }
+
+    private DataStageCache initialize(IGCRestClient igcRestClient, int hydrationWorkers) {
+        assertTrue(igcRestClient.start());
+        DataStageCache cache = new DataStageCache(null, now);
+        cache.initialize(igcRestClient, hydrationWorkers);
+        return cache;
+    }
+
+    /**
+     * Summarize the details retrieved for each job, so that they can be compared between retrievals.
+     */
+    private Map<String, String> summarize(Collection<DataStageJob> jobs) {
+        Map<String, String> summary = new TreeMap<>();
+        for (DataStageJob job : jobs) {
+            Set<String> stages = new TreeSet<>();
+            for (Stage stage : job.getAllStages()) {
+                stages.add(stage.getId());
+            }
+            Set<String> links = new TreeSet<>();
+            for (Link link : job.getAllLinks()) {
+                links.add(link.getId());
+            }
+            String previous = summary.put(job.getJobObject().getId(), job.getType() + " " + stages + " " + links + " " + new TreeSet<>(job.getStoreRids()) + " " + job.getFingerprint());
+            assertNull(previous);
+        }
+        return summary;
+    }
+
+    /**
+     * A client that returns the changed jobs across two pages: the first of the provided size, and the second holding
+     * the rest along with the last job of the first page again (as IGC can do when jobs change while paging).
+     */
+    private static class PagedRestClient extends IGCRestClient {
+
+        private static final String NEXT_PAGE = "https://" + MockConstants.IGC_HOST + ":" + MockConstants.IGC_PORT + "/ibm/iis/igc-rest/v1/search?begin=";
+
+        private final int pageSize;
+        private final List<Reference> remaining;
+
+        PagedRestClient(int pageSize) {
+            super(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS);
+            this.pageSize = pageSize;
+            this.remaining = new ArrayList<>();
+        }
+
+        @Override
+        public <T extends Reference> ItemList<T> search(IGCSearch igcSearch) {
+            ItemList<T> results = super.search(igcSearch);
+            for (JsonNode type : igcSearch.getQuery().path("types")) {
+                if (type.asText().equals("dsjob") && results.getItems().size() > pageSize) {
+                    List<T> all = results.getItems();
+                    int total = all.size() + 1;
+                    remaining.clear();
+                    remaining.addAll(all.subList(pageSize - 1, all.size()));
+                    results.setItems(new ArrayList<>(all.subList(0, pageSize)));
+                    results.setPaging(page(total, 0, pageSize - 1, NEXT_PAGE + pageSize));
+                    return results;
+                }
+            }
+            return results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Reference> ItemList<T> getNextPage(Paging paging) {
+            if (paging.getNextPageURL() != null && paging.getNextPageURL().startsWith(NEXT_PAGE)) {
+                int total = paging.getNumTotal();
+                ItemList<T> nextPage = new ItemList<>();
+                nextPage.setItems(new ArrayList<>((List<T>) (List<?>) remaining));
+                nextPage.setPaging(page(total, pageSize, total, null));
+                return nextPage;
+            }
+            return super.getNextPage(paging);
+        }
+
+        private static Paging page(int total, int begin, int end, String next) {
+            Paging paging = new Paging(total);
+            paging.setPageSize(end - begin + 1);
+            paging.setBeginIndex(begin);
+            paging.setEndIndex(end);
+            paging.setNextPageURL(next);
+            return paging;
+        }
+
+    }
+
+    /**
+     * A client whose searches for a particular type always fail.
+     */
+    private static class FailingRestClient extends IGCRestClient {
+
+        private final String failingType;
+
+        FailingRestClient(String failingType) {
+            super(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS);
+            this.failingType = failingType;
+        }
+
+        @Override
+        public <T extends Reference> ItemList<T> search(IGCSearch igcSearch) {
+            for (JsonNode type : igcSearch.getQuery().path("types")) {
+                if (type.asText().equals(failingType)) {
+                    throw new IGCConnectivityException("Unable to search for " + failingType, (Throwable) null);
+                }
+            }
+            return super.search(igcSearch);
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Link;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Stage;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.StageColumn;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class DataStageJobComponentsTest {
+
+    private static final Reference PROJECT = reference("transformation_project", "project", "Project");
+    private static final Reference JOB_A = reference("dsjob", "jobA", "JobA");
+    private static final Reference JOB_B = reference("dsjob", "jobB", "JobB");
+    private static final Reference OTHER_JOB = reference("dsjob", "other", "Other");
+    private static final Reference CONTAINER = reference("shared_container", "container", "Container");
+
+    public DataStageJobComponentsTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testPartitionedByJob() {
+
+        Stage stageA1 = component(new Stage(), "stage", "stageA1", PROJECT, JOB_A);
+        Stage stageA2 = component(new Stage(), "stage", "stageA2", PROJECT, JOB_A);
+        Stage stageB1 = component(new Stage(), "stage", "stageB1", PROJECT, JOB_B);
+        Link linkA = component(new Link(), "link", "linkA", PROJECT, JOB_A, stageA1);
+        StageColumn columnB = component(new StageColumn(), "stage_column", "columnB", PROJECT, JOB_B, stageB1);
+
+        DataStageJobComponents components = DataStageJobComponents.of(
+                Arrays.asList("jobA", "jobB"),
+                Arrays.asList(stageA1, stageB1, stageA2),
+                Collections.singletonList(linkA),
+                Collections.singletonList(columnB));
+
+        assertEquals(components.getStagesForJob("jobA"), Arrays.asList(stageA1, stageA2));
+        assertEquals(components.getStagesForJob("jobB"), Collections.singletonList(stageB1));
+        assertEquals(components.getLinksForJob("jobA"), Collections.singletonList(linkA));
+        assertTrue(components.getLinksForJob("jobB").isEmpty());
+        assertEquals(components.getStageColumnsForJob("jobB"), Collections.singletonList(columnB));
+
+        // A job for which no stage columns could be identified has none, rather than an empty list
+        assertNull(components.getStageColumnsForJob("jobA"));
+
+    }
+
+    @Test
+    public void testClosestJobInContext() {
+
+        // A stage within a container of a job belongs to that job, and one within a job nested in another job of the
+        // batch belongs to the innermost of them
+        Stage contained = component(new Stage(), "stage", "contained", PROJECT, JOB_A, CONTAINER);
+        Stage nested = component(new Stage(), "stage", "nested", PROJECT, JOB_A, JOB_B);
+
+        DataStageJobComponents components = DataStageJobComponents.of(
+                Arrays.asList("jobA", "jobB"),
+                Arrays.asList(contained, nested),
+                Collections.emptyList(),
+                Collections.emptyList());
+
+        assertEquals(components.getStagesForJob("jobA"), Collections.singletonList(contained));
+        assertEquals(components.getStagesForJob("jobB"), Collections.singletonList(nested));
+
+    }
+
+    @Test
+    public void testUnresolvedSkipped() {
+
+        Stage outside = component(new Stage(), "stage", "outside", PROJECT, OTHER_JOB);
+        Stage noContext = new Stage();
+        noContext.setType("stage");
+        noContext.setId("noContext");
+        Link orphan = component(new Link(), "link", "orphan", PROJECT);
+
+        DataStageJobComponents components = DataStageJobComponents.of(
+                Collections.singletonList("jobA"),
+                Arrays.asList(outside, noContext),
+                Collections.singletonList(orphan),
+                null);
+
+        assertTrue(components.getStagesForJob("jobA").isEmpty());
+        assertTrue(components.getStagesForJob("other").isEmpty());
+        assertTrue(components.getLinksForJob("jobA").isEmpty());
+        assertNull(components.getStageColumnsForJob("jobA"));
+
+    }
+
+    private static Reference reference(String type, String rid, String name) {
+        Reference reference = new Reference();
+        reference.setType(type);
+        reference.setId(rid);
+        reference.setName(name);
+        return reference;
+    }
+
+    private static <T extends Reference> T component(T component, String type, String rid, Reference... context) {
+        component.setType(type);
+        component.setId(rid);
+        component.setName(rid);
+        component.setContext(new ArrayList<>(Arrays.asList(context)));
+        return component;
+    }
+
+}
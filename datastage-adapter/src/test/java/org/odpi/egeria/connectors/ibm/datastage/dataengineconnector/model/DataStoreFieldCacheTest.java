@@ -0,0 +1,120 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Classificationenabledgroup;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.InformationAsset;
+import org.odpi.egeria.connectors.ibm.information.server.mocks.MockConstants;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the batched retrieval of data store fields using the mocked server resources.
+ */
+public class DataStoreFieldCacheTest {
+
+    private static final String[] TABLE_RIDS = {
+            "b1c497ce.54bd3a08.001mts4pv.ero7ma4.762e3s.vmiap4ol4t6bfumes65jg",
+            "b1c497ce.54bd3a08.001mts4qb.ntk38t5.g75l3m.h1o18j6lbnm86rj1f53qf",
+            MockConstants.DATABASE_TABLE_RID,
+            "b1c497ce.54bd3a08.001mts4r2.p5ktjrv.hdk8rd.mi5vb5n6bcpsi129jrsu0"
+    };
+    private static final String[] RECORD_RIDS = {
+            "b1c497ce.54bd3a08.001mts4ph.b7lpq4j.d82i4j.07t39udu9cg9cr4pao1kd",
+            "b1c497ce.54bd3a08.001mts4ph.b86tslg.b76kkf.nutbk7i9du0ba7i9r4ka4"
+    };
+
+    private IGCRestClient igcRestClient;
+
+    public DataStoreFieldCacheTest() {
+        HttpHelper.noStrictSSL();
+        igcRestClient = new IGCRestClient(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS);
+    }
+
+    @BeforeSuite
+    public void startClient() {
+        assertTrue(igcRestClient.start());
+    }
+
+    @Test
+    public void testPrefetchMatchesLookup() {
+
+        List<InformationAsset> stores = getStores();
+
+        DataStoreFieldCache batched = new DataStoreFieldCache(igcRestClient);
+        batched.prefetch(stores);
+        assertEquals(batched.size(), stores.size());
+        assertEquals(batched.getStoreMisses(), stores.size());
+
+        for (InformationAsset store : stores) {
+
+            // Retrieve the fields of only this store, through a search of its own
+            DataStoreFieldCache single = new DataStoreFieldCache(igcRestClient, 1);
+            Map<String, String> expected = summarize(single, single.getFieldsForStore(store));
+            assertFalse(expected.isEmpty());
+
+            Map<String, String> prefetched = summarize(batched, batched.getFieldsForStore(store));
+            assertEquals(prefetched, expected);
+
+            // Every field retrieved in the batch should belong to the store under which it was cached
+            for (Classificationenabledgroup field : batched.getFieldsForStore(store)) {
+                assertEquals(batched.getFieldIdentity(field).getParentIdentity().getRid(), store.getId());
+                assertEquals(batched.getFieldIdentity(field).toString(), field.getIdentity(igcRestClient).toString());
+            }
+
+        }
+
+        // Nothing further should have been retrieved once the batch was prefetched
+        assertEquals(batched.getStoreMisses(), stores.size());
+        assertEquals(batched.getStoreLookups(), stores.size() * 3L);
+
+    }
+
+    @Test
+    public void testUnknownStoreType() {
+
+        InformationAsset unknown = new InformationAsset();
+        unknown.setId("unknown");
+        unknown.setType("main_object");
+        DataStoreFieldCache cache = new DataStoreFieldCache(igcRestClient);
+        assertTrue(cache.getFieldsForStore(unknown).isEmpty());
+        assertEquals(cache.size(), 1);
+
+    }
+
+    private List<InformationAsset> getStores() {
+        List<InformationAsset> stores = new ArrayList<>();
+        for (String rid : TABLE_RIDS) {
+            stores.add(getStore(rid, "database_table"));
+        }
+        for (String rid : RECORD_RIDS) {
+            stores.add(getStore(rid, "data_file_record"));
+        }
+        return stores;
+    }
+
+    private InformationAsset getStore(String rid, String type) {
+        InformationAsset store = new InformationAsset();
+        store.setId(rid);
+        store.setType(type);
+        return store;
+    }
+
+    /**
+     * Summarize the provided fields by their RID and identity, so that they can be compared between retrievals.
+     */
+    private Map<String, String> summarize(DataStoreFieldCache cache, List<Classificationenabledgroup> fields) {
+        Map<String, String> summary = new TreeMap<>();
+        for (Classificationenabledgroup field : fields) {
+            summary.put(field.getId(), cache.getFieldIdentity(field).toString());
+        }
+        return summary;
+    }
+
+}
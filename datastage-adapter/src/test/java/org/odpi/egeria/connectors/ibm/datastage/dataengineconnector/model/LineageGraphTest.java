@@ -0,0 +1,196 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.*;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Paging;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.information.server.mocks.MockConstants;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class LineageGraphTest {
+
+    private static final Reference PROJECT = new Reference("Project", "transformation_project", "project");
+    private static final Reference JOB = new Reference("Job", "dsjob", "job");
+    private static final Reference HOST = new Reference("HOST", "host", "host");
+    private static final Reference DATABASE = new Reference("DB", "database", "database");
+    private static final Reference SCHEMA = new Reference("SCHEMA", "database_schema", "schema");
+
+    private final IGCRestClient igcRestClient;
+    private final DataStoreFieldCache fieldCache;
+
+    private final Stage reader;
+    private final Stage writer;
+    private final Link input;
+    private final Link output;
+    private final StageColumn first;
+    private final StageColumn second;
+    private final StageColumn third;
+    private final StageColumn outsideColumn;
+    private final Classificationenabledgroup field;
+    private final LineageGraph graph;
+
+    public LineageGraphTest() {
+
+        igcRestClient = new OfflineRestClient();
+        fieldCache = new DataStoreFieldCache(igcRestClient);
+
+        InformationAsset table = asset(new InformationAsset(), "database_table", "table", HOST, DATABASE, SCHEMA);
+        InformationAsset unknownTable = asset(new InformationAsset(), "database_table", "unknownTable", HOST, DATABASE, SCHEMA);
+
+        reader = asset(new Stage(), "stage", "reader", PROJECT, JOB);
+        writer = asset(new Stage(), "stage", "writer", PROJECT, JOB);
+        input = asset(new Link(), "link", "input", PROJECT, JOB, reader);
+        output = asset(new Link(), "link", "output", PROJECT, JOB, writer);
+        first = asset(new StageColumn(), "stage_column", "first", PROJECT, JOB, reader, input);
+        second = asset(new StageColumn(), "stage_column", "second", PROJECT, JOB, reader, input);
+        third = asset(new StageColumn(), "stage_column", "third", PROJECT, JOB, writer, output);
+        outsideColumn = asset(new StageColumn(), "stage_column", "outside", PROJECT, new Reference("Other", "dsjob", "other"));
+        field = asset(new Classificationenabledgroup(), "database_column", "field", HOST, DATABASE, SCHEMA, table);
+
+        // The columns form a cycle (first -> second -> third -> first), and some relationships lead outside the job
+        reader.setReadsFromDesign(items(table));
+        writer.setWritesToDesign(items(unknownTable));
+        input.setStageColumns(items(first, second));
+        output.setStageColumns(items(third, outsideColumn));
+        first.setNextStageColumns(items(second));
+        first.setPreviousStageColumns(items(outsideColumn));
+        second.setNextStageColumns(items(third));
+        second.setPreviousStageColumns(items(first));
+        third.setNextStageColumns(items(first));
+        third.setPreviousStageColumns(items(second));
+        field.setReadByDesign(items(first));
+        field.setWrittenByDesign(items(third, outsideColumn));
+
+        Map<String, Identity> storeIdentities = new HashMap<>();
+        storeIdentities.put(table.getId(), table.getIdentity(igcRestClient));
+
+        graph = new LineageGraph(igcRestClient,
+                fieldCache,
+                Arrays.asList(reader, writer),
+                Arrays.asList(input, output),
+                Arrays.asList(first, second, third),
+                Collections.singletonList(field),
+                storeIdentities);
+
+    }
+
+    @Test
+    public void testNodes() {
+
+        // 2 stages, 2 links, 3 columns, 1 field and 2 stores (one of which has no known fields)
+        assertEquals(graph.size(), 10);
+        assertEquals(graph.getQualifiedName(graph.getNode("reader")), reader.getIdentity(igcRestClient).toString());
+        assertEquals(graph.getQualifiedName(graph.getNode("first")), first.getIdentity(igcRestClient).toString());
+        assertEquals(graph.getQualifiedName(graph.getNode("field")), fieldCache.getFieldIdentity(field).toString());
+        assertNotNull(graph.getQualifiedName(graph.getNode("table")));
+        assertNull(graph.getQualifiedName(graph.getNode("input")));
+        assertNull(graph.getQualifiedName(graph.getNode("unknownTable")));
+
+    }
+
+    @Test
+    public void testEdges() {
+
+        assertRelated("first", LineageGraph.Relation.NEXT_COLUMNS, "second");
+        assertRelated("second", LineageGraph.Relation.PREVIOUS_COLUMNS, "first");
+        assertRelated("input", LineageGraph.Relation.LINK_COLUMNS, "first", "second");
+        assertRelated("field", LineageGraph.Relation.READ_BY_COLUMNS, "first");
+        assertRelated("reader", LineageGraph.Relation.STAGE_READS, "table");
+        assertRelated("writer", LineageGraph.Relation.STAGE_WRITES, "unknownTable");
+        assertRelated("reader", LineageGraph.Relation.STAGE_WRITES);
+        assertRelated("table", LineageGraph.Relation.NEXT_COLUMNS);
+
+    }
+
+    @Test
+    public void testCycle() {
+
+        // Following the next columns around the cycle should come back to the start, without any other edges
+        int node = graph.getNode("first");
+        List<Integer> visited = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int[] next = graph.getRelated(node, LineageGraph.Relation.NEXT_COLUMNS);
+            assertEquals(next.length, 1);
+            node = next[0];
+            visited.add(node);
+        }
+        assertEquals(visited, Arrays.asList(graph.getNode("second"), graph.getNode("third"), graph.getNode("first")));
+        assertRelated("first", LineageGraph.Relation.PREVIOUS_COLUMNS);
+        assertRelated("third", LineageGraph.Relation.PREVIOUS_COLUMNS, "second");
+
+    }
+
+    @Test
+    public void testMissingLinks() {
+
+        // Relationships that lead outside the job are skipped, and anything outside the job has no relationships
+        assertEquals(graph.getNode("outside"), -1);
+        assertEquals(graph.getNode("missing"), -1);
+        assertRelated("output", LineageGraph.Relation.LINK_COLUMNS, "third");
+        assertRelated("field", LineageGraph.Relation.WRITTEN_BY_COLUMNS, "third");
+        for (LineageGraph.Relation relation : LineageGraph.Relation.values()) {
+            assertEquals(graph.getRelated(-1, relation).length, 0);
+        }
+
+    }
+
+    private void assertRelated(String rid, LineageGraph.Relation relation, String... expected) {
+        int node = graph.getNode(rid);
+        assertTrue(node >= 0, "Node not found: " + rid);
+        Set<String> related = new TreeSet<>();
+        for (int target : graph.getRelated(node, relation)) {
+            related.add(ridOf(target));
+        }
+        assertEquals(related, new TreeSet<>(Arrays.asList(expected)), relation + " of " + rid);
+    }
+
+    private String ridOf(int node) {
+        for (String rid : Arrays.asList("reader", "writer", "input", "output", "first", "second", "third", "field", "table", "unknownTable")) {
+            if (graph.getNode(rid) == node) {
+                return rid;
+            }
+        }
+        return null;
+    }
+
+    private static <T extends Reference> T asset(T asset, String type, String rid, Reference... context) {
+        asset.setType(type);
+        asset.setId(rid);
+        asset.setName(rid);
+        asset.setContext(new ArrayList<>(Arrays.asList(context)));
+        return asset;
+    }
+
+    @SafeVarargs
+    private static <T extends Reference> ItemList<T> items(T... items) {
+        ItemList<T> list = new ItemList<>();
+        list.setItems(new ArrayList<>(Arrays.asList(items)));
+        list.setPaging(new Paging(items.length));
+        return list;
+    }
+
+    /**
+     * A client that never needs to retrieve anything, as every object in these tests has a complete context.
+     */
+    private static class OfflineRestClient extends IGCRestClient {
+
+        OfflineRestClient() {
+            super(MockConstants.IGC_HOST, MockConstants.IGC_PORT, MockConstants.IGC_USER, MockConstants.IGC_PASS);
+        }
+
+        @Override
+        public boolean hasModificationDetails(String typeName) {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model;
+
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class SequenceDependencyGraphTest {
+
+    public SequenceDependencyGraphTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testNestedBuiltFirst() {
+
+        // outer runs middle, which runs inner: added outermost first, but must be built innermost first
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("outer", Arrays.asList("job1", "middle"), null);
+        graph.addSequence("middle", Arrays.asList("inner", "job2"), null);
+        graph.addSequence("inner", Collections.singletonList("job3"), null);
+
+        assertEquals(graph.getBuildOrderRids(), Arrays.asList("inner", "middle", "outer"));
+        assertEquals(graph.size(), 3);
+
+    }
+
+    @Test
+    public void testSharedNested() {
+
+        // Two sequences run the same nested sequence, which must be built once, before both of them
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("left", Collections.singletonList("shared"), null);
+        graph.addSequence("right", Arrays.asList("shared", "left"), null);
+        graph.addSequence("shared", Collections.emptyList(), null);
+
+        assertEquals(graph.getBuildOrderRids(), Arrays.asList("shared", "left", "right"));
+
+    }
+
+    @Test
+    public void testIndependentKeepOrder() {
+
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("c", Collections.singletonList("job1"), null);
+        graph.addSequence("a", Collections.singletonList("job2"), null);
+        graph.addSequence("b", null, null);
+
+        assertEquals(graph.getBuildOrderRids(), Arrays.asList("c", "a", "b"));
+
+    }
+
+    @Test
+    public void testAddedOnce() {
+
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("a", Collections.singletonList("job1"), null);
+        graph.addSequence("a", Collections.singletonList("b"), null);
+        graph.addSequence("b", Collections.emptyList(), null);
+
+        // The first addition of a sequence is the one retained
+        assertEquals(graph.size(), 2);
+        assertEquals(graph.getBuildOrderRids(), Arrays.asList("a", "b"));
+
+    }
+
+    @Test
+    public void testSelfDependency() {
+
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("loop", Arrays.asList("loop", "job1"), null);
+        graph.addSequence("outer", Collections.singletonList("loop"), null);
+
+        assertEquals(graph.getBuildOrderRids(), Arrays.asList("loop", "outer"));
+
+    }
+
+    @Test(timeOut = 5000)
+    public void testCycle() {
+
+        // outer runs a, and a and b run each other: outer is added first, but must still come after the whole cycle
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("outer", Collections.singletonList("a"), null);
+        graph.addSequence("independent", Collections.singletonList("job1"), null);
+        graph.addSequence("a", Arrays.asList("b", "job2"), null);
+        graph.addSequence("b", Collections.singletonList("a"), null);
+
+        List<String> order = graph.getBuildOrderRids();
+        assertEquals(order.size(), 4);
+        assertEquals(new HashSet<>(order), new HashSet<>(Arrays.asList("outer", "independent", "a", "b")));
+        assertTrue(order.indexOf("outer") > order.indexOf("a"));
+        assertTrue(order.indexOf("outer") > order.indexOf("b"));
+
+        // The sequences in the cycle are kept together, in the order in which they were added
+        assertEquals(order.indexOf("b"), order.indexOf("a") + 1);
+
+    }
+
+    @Test(timeOut = 5000)
+    public void testSeparateCycles() {
+
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("x1", Collections.singletonList("x2"), null);
+        graph.addSequence("x2", Collections.singletonList("x3"), null);
+        graph.addSequence("x3", Collections.singletonList("x1"), null);
+        graph.addSequence("y1", Collections.singletonList("y2"), null);
+        graph.addSequence("y2", Collections.singletonList("y1"), null);
+        graph.addSequence("top", Arrays.asList("x2", "y1"), null);
+
+        List<String> order = graph.getBuildOrderRids();
+        assertEquals(order.size(), 6);
+        assertEquals(new HashSet<>(order).size(), 6);
+        assertEquals(order.get(order.size() - 1), "top");
+
+    }
+
+    @Test(timeOut = 5000)
+    public void testDeeplyNested() {
+
+        // Each sequence runs the next, and the last runs the first again
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        int depth = 20000;
+        for (int i = 0; i < depth; i++) {
+            graph.addSequence("seq" + i, Collections.singletonList("seq" + ((i + 1) % depth)), null);
+        }
+        graph.addSequence("top", Collections.singletonList("seq0"), null);
+
+        List<String> order = graph.getBuildOrderRids();
+        assertEquals(order.size(), depth + 1);
+        assertEquals(order.get(0), "seq0");
+        assertEquals(order.get(depth), "top");
+
+    }
+
+    @Test
+    public void testMissingMembers() {
+
+        SequenceDependencyGraph graph = new SequenceDependencyGraph();
+        graph.addSequence("outer", Arrays.asList("job1", "inner", "job2"), null);
+        graph.addSequence("inner", Arrays.asList("job2", "job3"), null);
+
+        // Nested sequences and known jobs are never missing
+        assertEquals(graph.getMissingMembers(Collections.singleton("job1")), new TreeSet<>(Arrays.asList("job2", "job3")));
+        assertTrue(graph.getMissingMembers(new HashSet<>(Arrays.asList("job1", "job2", "job3"))).isEmpty());
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the persistence of fingerprints between syncs.
+ */
+public class FileFingerprintStoreTest {
+
+    @Test
+    void testOnlyCommittedFingerprintsPersist() throws IOException {
+
+        Path file = Files.createTempDirectory("fingerprints").resolve("datastage.properties");
+
+        FileFingerprintStore store = new FileFingerprintStore(file);
+        assertTrue(store.isChanged("a", "1"));
+        store.stage("a", "1");
+        assertTrue(store.isChanged("b", "1"));
+        store.stage("b", "1");
+        store.commit();
+        assertTrue(Files.exists(file));
+
+        // A new store on the same file sees the committed fingerprints
+        store = new FileFingerprintStore(file);
+        assertFalse(store.isChanged("a", "1"));
+        assertTrue(store.isChanged("b", "2"));
+        store.stage("b", "2");
+
+        // ... and a retried sync is compared against the last successful one, not what the failed attempt staged
+        store.rollback();
+        assertTrue(store.isChanged("b", "2"));
+        assertFalse(store.isChanged("b", "1"));
+        store.rollback();
+
+        store = new FileFingerprintStore(file);
+        assertFalse(store.isChanged("b", "1"));
+
+    }
+
+    @Test
+    void testOnlyStagedFingerprintsAreCommitted() throws IOException {
+
+        Path file = Files.createTempDirectory("fingerprints").resolve("datastage.properties");
+
+        // Comparing a fingerprint alone must never record it: only what was staged (and not discarded) is committed
+        FileFingerprintStore store = new FileFingerprintStore(file);
+        assertTrue(store.isChanged("processed", "1"));
+        store.stage("processed", "1");
+        assertTrue(store.isChanged("compared", "1"));
+        assertTrue(store.isChanged("failed", "1"));
+        store.stage("failed", "1");
+        store.discard("failed");
+        store.commit();
+
+        store = new FileFingerprintStore(file);
+        assertFalse(store.isChanged("processed", "1"));
+        assertTrue(store.isChanged("compared", "1"));
+        assertTrue(store.isChanged("failed", "1"));
+
+    }
+
+    @Test
+    void testFingerprintIgnoresCollectionOrder() {
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("name", "job");
+        first.put("ports", Arrays.asList("in", "out"));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("ports", Arrays.asList("out", "in"));
+        second.put("name", "job");
+        assertEquals(Fingerprints.of(mapper, first), Fingerprints.of(mapper, second));
+
+        second.put("name", "other");
+        assertNotEquals(Fingerprints.of(mapper, first), Fingerprints.of(mapper, second));
+
+    }
+
+}
@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.store;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the persistence of sync state between syncs.
+ */
+public class FileSyncStateStoreTest {
+
+    @Test
+    void testProgressIsResumedOnlyForTheSameWindow() throws IOException {
+
+        Path file = Files.createTempDirectory("syncstate").resolve("datastage.properties");
+
+        FileSyncStateStore store = new FileSyncStateStore(file);
+        assertNull(store.getLastSynced());
+        assertTrue(store.getProgress(null).isEmpty());
+
+        // A partially completed first sync (with no start to its window)
+        Map<String, Long> completed = new HashMap<>();
+        completed.put("job1", 1000L);
+        completed.put("job2", 2000L);
+        store.setProgress(null, completed);
+
+        store = new FileSyncStateStore(file);
+        assertNull(store.getLastSynced());
+        assertEquals(store.getProgress(null), completed);
+        assertTrue(store.getProgress(new Date(5000L)).isEmpty());
+
+        // Completing the window moves the watermark and discards the progress
+        store.setLastSynced(new Date(5000L));
+        store = new FileSyncStateStore(file);
+        assertEquals(store.getLastSynced(), new Date(5000L));
+        assertTrue(store.getProgress(null).isEmpty());
+
+        // ... while progress on the next window leaves the watermark alone
+        store.setProgress(new Date(5000L), Collections.singletonMap("job3", 6000L));
+        store = new FileSyncStateStore(file);
+        assertEquals(store.getLastSynced(), new Date(5000L));
+        assertEquals(store.getProgress(new Date(5000L)), Collections.singletonMap("job3", 6000L));
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.Error;
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.ScheduledTask;
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.TaskExecutionReport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The combined report of a task that was submitted to IA in several chunks: the scheduled tasks of every chunk that
+ * was submitted successfully, along with the report of each individual chunk and the names within any chunk whose
+ * submission failed outright (so that those can be re-submitted).
+ */
+public class BulkTaskExecutionReport extends TaskExecutionReport {
+
+    private final List<TaskExecutionReport> chunkReports;
+    private final List<List<String>> failedChunks;
+
+    /**
+     * Combine the reports of the provided chunks.
+     *
+     * @param chunks the names (of columns or tables) included in each chunk
+     * @param reports the report of each chunk, in the same order as the chunks (null for any chunk that failed)
+     */
+    BulkTaskExecutionReport(List<List<String>> chunks, List<TaskExecutionReport> reports) {
+        List<ScheduledTask> scheduledTasks = new ArrayList<>();
+        List<TaskExecutionReport> successful = new ArrayList<>();
+        List<List<String>> failed = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            TaskExecutionReport report = reports.get(i);
+            if (report == null) {
+                failed.add(new ArrayList<>(chunks.get(i)));
+            } else {
+                successful.add(report);
+                if (report.getScheduledTaskList() != null) {
+                    scheduledTasks.addAll(report.getScheduledTaskList());
+                }
+            }
+        }
+        setScheduledTaskList(scheduledTasks);
+        this.chunkReports = Collections.unmodifiableList(successful);
+        this.failedChunks = Collections.unmodifiableList(failed);
+    }
+
+    /**
+     * Retrieve the individual report of each chunk that was submitted successfully.
+     *
+     * @return {@code List<TaskExecutionReport>}
+     */
+    public List<TaskExecutionReport> getChunkReports() { return chunkReports; }
+
+    /**
+     * Retrieve the names (of columns or tables) of each chunk whose submission failed.
+     *
+     * @return {@code List<List<String>>}
+     */
+    public List<List<String>> getFailedChunks() { return failedChunks; }
+
+    /**
+     * Retrieve all of the errors (warnings) reported across every chunk that was submitted successfully.
+     *
+     * @return {@code List<Error>}
+     */
+    public List<Error> getAllErrors() {
+        List<Error> allErrors = new ArrayList<>();
+        for (TaskExecutionReport report : chunkReports) {
+            if (report.getErrorList() != null) {
+                allErrors.addAll(report.getErrorList().getAllErrors());
+            }
+        }
+        return allErrors;
+    }
+
+    @Override
+    public String toString() {
+        return "{ \"ScheduledTasks\": " + getScheduledTaskList().toString()
+                + ", \"Chunks\": " + chunkReports.size()
+                + ", \"FailedChunks\": " + failedChunks.toString()
+                + " }";
+    }
+
+}
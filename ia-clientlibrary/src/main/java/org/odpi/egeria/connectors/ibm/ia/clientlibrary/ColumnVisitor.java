@@ -0,0 +1,22 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.Column;
+
+/**
+ * Callback for the columns within an IA results response, invoked for each column as soon as it has been parsed so
+ * that results can be aggregated or forwarded without first binding the entire response in memory.
+ */
+@FunctionalInterface
+public interface ColumnVisitor {
+
+    /**
+     * Visit a single column of the results.
+     *
+     * @param table the location of the table in which the column is defined
+     * @param column the column, including any of its results that were included in the response
+     */
+    void visit(TableLocation table, Column column);
+
+}
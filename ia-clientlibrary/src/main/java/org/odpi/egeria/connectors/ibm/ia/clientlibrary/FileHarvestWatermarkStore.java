@@ -0,0 +1,115 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * A harvest watermark store persisted to a local file (as Java properties), holding the watermarks of any number of
+ * projects. The file is replaced atomically on each update, so that a failure part-way through writing it never loses
+ * the watermarks of the last harvest.
+ */
+public class FileHarvestWatermarkStore implements HarvestWatermarkStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileHarvestWatermarkStore.class);
+
+    // Separates the project from the table in each key (neither of which can contain a tab)
+    private static final String KEY_SEPARATOR = "\t";
+
+    private final Path file;
+    private final Properties state;
+
+    /**
+     * Open (or create) a harvest watermark store in the provided file.
+     *
+     * @param file the file in which to persist the watermarks
+     * @throws IOException if the file exists but cannot be read
+     */
+    public FileHarvestWatermarkStore(Path file) throws IOException {
+        this.file = file;
+        this.state = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                state.load(reader);
+            }
+            if (log.isInfoEnabled()) { log.info("Loaded harvest watermarks from: {}", file); }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<String, Date> getWatermarks(String projectName) {
+        Map<String, Date> watermarks = new HashMap<>();
+        String prefix = projectName + KEY_SEPARATOR;
+        for (String key : state.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                String value = state.getProperty(key);
+                try {
+                    watermarks.put(key.substring(prefix.length()), new Date(Long.parseLong(value)));
+                } catch (NumberFormatException e) {
+                    log.error("Unable to parse persisted watermark for {}: {}", key, value);
+                }
+            }
+        }
+        return watermarks;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setWatermarks(String projectName, Map<String, Date> watermarks) throws IOException {
+        Properties updated = new Properties();
+        String prefix = projectName + KEY_SEPARATOR;
+        for (String key : state.stringPropertyNames()) {
+            if (!key.startsWith(prefix)) {
+                updated.setProperty(key, state.getProperty(key));
+            }
+        }
+        for (Map.Entry<String, Date> entry : watermarks.entrySet()) {
+            if (entry.getValue() != null) {
+                updated.setProperty(prefix + entry.getKey(), Long.toString(entry.getValue().getTime()));
+            }
+        }
+        save(updated);
+    }
+
+    /**
+     * Replace the persisted watermarks with the provided watermarks.
+     *
+     * @param updated the watermarks to persist
+     * @throws IOException if the watermarks cannot be persisted
+     */
+    private void save(Properties updated) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                updated.store(writer, "IA results harvest watermarks");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        state.clear();
+        state.putAll(updated);
+    }
+
+}
@@ -0,0 +1,36 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Remembers how far the results of each table of an IA project have been harvested: the publication date of the
+ * results that were last harvested for each table (its watermark), so that a table's results are only harvested
+ * again once newer results have been published for it.
+ */
+public interface HarvestWatermarkStore {
+
+    /**
+     * Retrieve the publication date of the results last harvested for each table of the provided project.
+     *
+     * @param projectName the name of the IA project
+     * @return {@code Map<String, Date>} keyed by the qualified name of each table, or an empty map if nothing has been
+     * harvested from the project
+     * @throws IOException if the watermarks cannot be retrieved
+     */
+    Map<String, Date> getWatermarks(String projectName) throws IOException;
+
+    /**
+     * Persist the publication date of the results last harvested for each table of the provided project, replacing
+     * any watermarks previously recorded for the project.
+     *
+     * @param projectName the name of the IA project
+     * @param watermarks the publication date of the results last harvested, keyed by the qualified name of each table
+     * @throws IOException if the watermarks cannot be persisted
+     */
+    void setWatermarks(String projectName, Map<String, Date> watermarks) throws IOException;
+
+}
@@ -18,34 +18,28 @@ import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.util.Base64Utils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -55,6 +49,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * <br><br>
  * Methods are provided to interact with REST API endpoints and process results as through the use of registered POJOs
  * to automatically (de-)serialise between the XML form and a native Java object.
+ * <br><br>
+ * The client is thread-safe: a single instance (and its session) can be shared by many threads, for example to
+ * harvest the results of many tables in parallel.
  */
 public class IARestClient {
 
@@ -62,12 +59,11 @@ public class IARestClient {
 
     private String authorization;
     private String baseURL;
-    private List<String> cookies = null;
+    private final AtomicReference<List<String>> cookies = new AtomicReference<>(null);
     private RestTemplate restTemplate;
 
     private XmlMapper mapper;
-    private DocumentBuilder xmlParser;
-    private Transformer xmlTransformer;
+    private XMLInputFactory xmlInputFactory;
 
     private static final String EP_BASE_API = "/ibm/iis/ia/api/";
     private static final String EP_PROJECT = EP_BASE_API + "project";
@@ -84,6 +80,16 @@ public class IARestClient {
     private static final String EP_PUBLISH = EP_BASE_API + "publishResults";
     private static final String EP_LOGOUT = EP_BASE_API + "logout";
 
+    private static final AtomicInteger WORKER_THREAD_COUNT = new AtomicInteger(0);
+
+    /**
+     * Writes the payload of a request directly into the body of the request.
+     */
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(OutputStream body) throws IOException;
+    }
+
     /**
      * Default constructor used by the IARestClient.
      * <br><br>
@@ -110,23 +116,15 @@ public class IARestClient {
 
         this.baseURL = baseURL;
         this.authorization = authorization;
-        XMLInputFactory inputFactory = new WstxInputFactory();
+        this.xmlInputFactory = new WstxInputFactory();
+        // Coalesce text so that each element's text is trimmed as a whole, and never resolve external entities
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
         XMLOutputFactory outputFactory = new WstxOutputFactory();
-        XmlFactory xf = new XmlFactory(inputFactory, outputFactory);
+        XmlFactory xf = new XmlFactory(xmlInputFactory, outputFactory);
         this.mapper = new XmlMapper(xf);
         this.mapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, JsonInclude.Include.NON_EMPTY));
-        try {
-            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            this.xmlParser = documentBuilderFactory.newDocumentBuilder();
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            this.xmlTransformer = transformerFactory.newTransformer();
-        } catch (ParserConfigurationException e) {
-            log.error("Unable to instantiate an XML parser.", e);
-        } catch (TransformerConfigurationException e) {
-            log.error("Unable to instantiate an XML transformer.", e);
-        }
         this.restTemplate = new RestTemplate();
 
         // Ensure that the REST template always uses UTF-8
@@ -150,22 +148,22 @@ public class IARestClient {
     }
 
     /**
-     * Setup the HTTP headers of a request based on either session reuse (forceLogin = false) or forcing a new
-     * session (forceLogin = true).
+     * Setup the HTTP headers of a request based on either session reuse (session provided) or forcing a new
+     * session (no session provided).
      *
-     * @param forceLogin indicates whether to create a new session by forcing login (true), or reuse existing session (false)
+     * @param session the cookies of the session to re-use, or null to create a new session
      * @return HttpHeaders
      */
-    private HttpHeaders getHttpHeaders(boolean forceLogin) {
+    private HttpHeaders getHttpHeaders(List<String> session) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.CACHE_CONTROL, "no-cache");
         headers.add(HttpHeaders.CONTENT_TYPE, "application/xml");
 
-        // If we have cookies already, and haven't been asked to force the login,
-        // re-use these (to maintain the same session)
-        if (cookies != null && !forceLogin) {
-            headers.addAll(HttpHeaders.COOKIE, cookies);
+        // If we have a session already (and haven't been asked to force the login),
+        // re-use its cookies (to maintain the same session)
+        if (session != null) {
+            headers.addAll(HttpHeaders.COOKIE, session);
         } else { // otherwise re-authenticate by Basic authentication
             String auth = "Basic " + this.authorization;
             headers.add(HttpHeaders.AUTHORIZATION, auth);
@@ -184,18 +182,21 @@ public class IARestClient {
      * @param method the HTTP method to use in sending the request
      * @param payload the payload (if any) for the request
      * @param alreadyTriedNewSession indicates whether a new session was already attempted (true) or not (false)
+     * @param session the cookies of the session with which the request failed
      * @return {@code ResponseEntity<String>}
      */
     private ResponseEntity<String> openNewSessionWithRequest(String url,
                                                              HttpMethod method,
                                                              String payload,
-                                                             boolean alreadyTriedNewSession) {
+                                                             boolean alreadyTriedNewSession,
+                                                             List<String> session) {
         if (alreadyTriedNewSession) {
             if (log.isErrorEnabled()) { log.error("Opening a new session already attempted without success -- giving up on {} to {} with {}", method, url, payload); }
             return null;
         } else {
-            // By removing cookies, we'll force a login
-            this.cookies = null;
+            // By removing cookies, we'll force a login (unless another thread has already replaced the session that
+            // failed, in which case there is no need to discard its replacement)
+            cookies.compareAndSet(session, null);
             return makeRequest(url, method, payload, true);
         }
     }
@@ -207,17 +208,28 @@ public class IARestClient {
      * @param response the response from which to obtain the cookies
      */
     private void setCookiesFromResponse(ResponseEntity<String> response) {
+        setCookiesFromResponse(response.getStatusCode(), response.getHeaders());
+    }
+
+    /**
+     * Adds the cookies from a response into subsequent headers, so that we re-use the session indicated by those
+     * cookies.
+     *
+     * @param status the status of the response
+     * @param headers the headers of the response from which to obtain the cookies
+     */
+    private void setCookiesFromResponse(HttpStatus status, HttpHeaders headers) {
 
         // If we had a successful response, setup the cookies
-        if (response.getStatusCode() == HttpStatus.OK
-                || response.getStatusCode() == HttpStatus.CREATED
-                || response.getStatusCode() == HttpStatus.NO_CONTENT) {
-            HttpHeaders headers = response.getHeaders();
-            if (headers.get(HttpHeaders.SET_COOKIE) != null) {
-                this.cookies = headers.get(HttpHeaders.SET_COOKIE);
+        if (status == HttpStatus.OK
+                || status == HttpStatus.CREATED
+                || status == HttpStatus.NO_CONTENT) {
+            List<String> setCookies = headers.get(HttpHeaders.SET_COOKIE);
+            if (setCookies != null) {
+                cookies.set(Collections.unmodifiableList(new ArrayList<>(setCookies)));
             }
         } else {
-            if (log.isErrorEnabled()) { log.error("Unable to make request or unexpected status: {}", response.getStatusCode()); }
+            if (log.isErrorEnabled()) { log.error("Unable to make request or unexpected status: {}", status); }
         }
 
     }
@@ -235,7 +247,10 @@ public class IARestClient {
                                                HttpMethod method,
                                                String payload,
                                                boolean forceLogin) {
-        HttpHeaders headers = getHttpHeaders(forceLogin);
+        // Take a single snapshot of the session, so that the request is both sent with and (if it fails) retried
+        // against the same session, whatever other threads are doing
+        List<String> session = forceLogin ? null : cookies.get();
+        HttpHeaders headers = getHttpHeaders(session);
         HttpEntity<String> toSend;
         if (payload != null) {
             toSend = new HttpEntity<>(payload, headers);
@@ -258,7 +273,8 @@ public class IARestClient {
                     url,
                     method,
                     payload,
-                    forceLogin
+                    forceLogin,
+                    session
             );
         } catch (RestClientException e) {
             log.error("Request failed -- check IA environment connectivity and authentication details.", e);
@@ -286,26 +302,108 @@ public class IARestClient {
             log.error("Unable to complete request -- check IA environment connectivity and authentication details.");
             throw new RuntimeException("Unable to complete request -- check IA environment connectivity and authentication details.");
         } else if (response.hasBody()) {
-            // We MUST minimize the XML response in order for it to be properly de-serialized by Jackson
-            // (otherwise an <A></A> with a newline in-between is interpreted has having a long '      ' value rather
-            // than as identical to just <A/>, and as a result things like arrays are not properly deserialized)
             body = response.getBody();
-            if (body != null) {
-                try {
-                    Document xmlDoc = xmlParser.parse(new InputSource(new StringReader(body)));
-                    minimizeXML(xmlDoc);
-                    StringWriter writer = new StringWriter();
-                    StreamResult result = new StreamResult(writer);
-                    xmlTransformer.transform(new DOMSource(xmlDoc), result);
-                    body = writer.toString();
-                } catch (TransformerException e) {
-                    log.error("Unable to transform parsed response body back to String: {}", body, e);
-                } catch (SAXException | IOException e) {
-                    log.error("Unable to parse the response body as XML: {}", body, e);
+        }
+        return body;
+    }
+
+    /**
+     * General utility for making requests whose responses contain results by column, streaming each column of the
+     * response to the provided visitor as it is parsed. If the response cannot be read in full a RuntimeException is thrown, so
+     * that callers never mistake a partial response for a complete one (the visitor may already have been handed the
+     * columns read before the failure).
+     *
+     * @param endpoint the REST resource against which to make the request
+     * @param visitor the visitor to which to hand each column of the response
+     * @param description a description of the results being requested
+     */
+    private void visitColumns(String endpoint, ColumnVisitor visitor, String description) {
+        makeStreamedRequest(endpoint, HttpMethod.GET, null, response -> {
+            readColumns(response.getBody(), visitor, description);
+            return null;
+        });
+    }
+
+    /**
+     * General utility for making requests whose payload is written directly into the request, and whose response is
+     * read directly from the response, rather than either being held as a String.
+     *
+     * @param endpoint the REST resource against which to make the request
+     * @param method HttpMethod (GET, POST, etc)
+     * @param payload (optional) the writer of the payload of the request
+     * @param extractor the reader of the response
+     * @param <T> the type of object read from the response
+     * @return T - the object read from the response
+     */
+    private <T> T makeStreamedRequest(String endpoint, HttpMethod method, PayloadWriter payload, ResponseExtractor<T> extractor) {
+        return makeStreamedRequest(baseURL + endpoint, method, payload, extractor, false);
+    }
+
+    /**
+     * Internal utility for making potentially repeat streamed requests (if session expires and needs to be re-opened).
+     *
+     * @param url the URL against which to make the request
+     * @param method HttpMethod (GET, POST, etc)
+     * @param payload (optional) the writer of the payload of the request
+     * @param extractor the reader of the response
+     * @param forceLogin a boolean indicating whether login should be forced (true) or session reused (false)
+     * @param <T> the type of object read from the response
+     * @return T - the object read from the response
+     */
+    private <T> T makeStreamedRequest(String url,
+                                      HttpMethod method,
+                                      PayloadWriter payload,
+                                      ResponseExtractor<T> extractor,
+                                      boolean forceLogin) {
+        List<String> session = forceLogin ? null : cookies.get();
+        HttpHeaders headers = getHttpHeaders(session);
+        try {
+            if (log.isDebugEnabled()) { log.debug("{}ing (streamed) to {}", method, url); }
+            return restTemplate.execute(url, method, request -> {
+                request.getHeaders().putAll(headers);
+                if (payload != null) {
+                    payload.write(request.getBody());
                 }
+            }, response -> {
+                setCookiesFromResponse(response.getStatusCode(), response.getHeaders());
+                return extractor.extractData(response);
+            });
+        } catch (HttpClientErrorException e) {
+            if (forceLogin) {
+                if (log.isErrorEnabled()) { log.error("Opening a new session already attempted without success -- giving up on {} to {}", method, url); }
+                throw new RuntimeException("Unable to complete request -- check IA environment connectivity and authentication details.", e);
+            }
+            log.warn("Request failed -- session may have expired, retrying...", e);
+            // By removing cookies, we'll force a login (unless another thread has already replaced the failed session)
+            cookies.compareAndSet(session, null);
+            return makeStreamedRequest(url, method, payload, extractor, true);
+        } catch (RestClientException e) {
+            log.error("Request failed -- check IA environment connectivity and authentication details.", e);
+            throw new RuntimeException("Unable to complete request -- check IA environment connectivity and authentication details.", e);
+        }
+    }
+
+    /**
+     * Read each column from the provided response body, in a single streaming pass, handing each to the provided
+     * visitor as soon as it has been parsed.
+     *
+     * @param body the response body to read
+     * @param visitor the visitor to which to hand each column
+     * @param description a description of the results being read
+     */
+    private void readColumns(InputStream body, ColumnVisitor visitor, String description) {
+        XMLStreamReader reader = null;
+        try {
+            reader = new WhitespaceTrimmingStreamReader(xmlInputFactory.createXMLStreamReader(body));
+            ProjectColumnReader.read(mapper, reader, visitor);
+        } catch (XMLStreamException | IOException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to parse {} results.", description, e); }
+            throw new RuntimeException("Unable to parse " + description + " results -- the response may be incomplete.", e);
+        } finally {
+            if (reader != null) {
+                closeResponse(reader);
             }
         }
-        return body;
     }
 
     /**
@@ -324,7 +422,7 @@ public class IARestClient {
         String response = makeRequest(EP_PROJECTS, HttpMethod.GET, null);
         List<Project> lProjects = new ArrayList<>();
         try {
-            lProjects = mapper.readValue(response, new TypeReference<List<Project>>(){});
+            lProjects = readResponse(response, new TypeReference<List<Project>>(){});
         } catch (IOException e) {
             if (log.isErrorEnabled()) { log.error("Unable to parse projects response: {}", response, e); }
         }
@@ -341,7 +439,7 @@ public class IARestClient {
         String response = makeRequest(EP_PROJECT + "?projectName=" + encodeParameterForURL(projectName), HttpMethod.GET, null);
         Project project = null;
         try {
-            project = mapper.readValue(response, Project.class);
+            project = readResponse(response, Project.class);
         } catch (IOException e) {
             if (log.isErrorEnabled()) { log.error("Unable to parse project details for project '{}': {}", projectName, response, e); }
         }
@@ -380,9 +478,9 @@ public class IARestClient {
         for (DataSource dataSource : details.getDataSources()) {
             for (Schema schema : dataSource.getSchemas()) {
                 for (Table table : schema.getTables()) {
+                    TableLocation location = new TableLocation(dataSource.getName(), schema.getName(), table.getName());
                     for (Column column : table.getColumns()) {
-                        String qualifiedName = dataSource.getName() + "." + schema.getName() + "." + table.getName() + "." + column.getName();
-                        columnNames.add(qualifiedName);
+                        columnNames.add(location.getQualifiedColumnName(column.getName()));
                     }
                 }
             }
@@ -399,20 +497,13 @@ public class IARestClient {
      */
     public Map<String, ColumnAnalysisResults> getColumnAnalysisResultsForTable(String projectName,
                                                                                String tableName) {
-        Project results = getColumnAnalysisResults(projectName, tableName + ".*");
         Map<String, ColumnAnalysisResults> map = new HashMap<>();
-        for (DataSource dataSource : results.getDataSources()) {
-            for (Schema schema : dataSource.getSchemas()) {
-                for (Table table : schema.getTables()) {
-                    for (Column column : table.getColumns()) {
-                        ColumnAnalysisResults columnAnalysisResults = column.getColumnAnalysisResults();
-                        if (columnAnalysisResults != null) {
-                            map.put(column.getName(), columnAnalysisResults);
-                        }
-                    }
-                }
+        visitColumnAnalysisResults(projectName, tableName + ".*", (table, column) -> {
+            ColumnAnalysisResults columnAnalysisResults = column.getColumnAnalysisResults();
+            if (columnAnalysisResults != null) {
+                map.put(column.getName(), columnAnalysisResults);
             }
-        }
+        });
         return map;
     }
 
@@ -425,33 +516,197 @@ public class IARestClient {
      */
     public Map<String, List<DataQualityProblem>> getDataQualityAnalysisResultsForTable(String projectName,
                                                                                     String tableName) {
-        Project results = getDataQualityAnalysisResults(projectName, tableName);
         Map<String, List<DataQualityProblem>> map = new HashMap<>();
-        for (DataSource dataSource : results.getDataSources()) {
-            for (Schema schema : dataSource.getSchemas()) {
-                for (Table table : schema.getTables()) {
-                    for (Column column : table.getColumns()) {
-                        List<DataQualityProblem> dataQualityProblems = column.getDataQualityProblems();
-                        if (dataQualityProblems != null) {
-                            map.put(column.getName(), dataQualityProblems);
-                        }
-                    }
-                }
+        visitDataQualityAnalysisResults(projectName, tableName, (table, column) -> {
+            List<DataQualityProblem> dataQualityProblems = column.getDataQualityProblems();
+            if (dataQualityProblems != null) {
+                map.put(column.getName(), dataQualityProblems);
+            }
+        });
+        return map;
+    }
+
+    /**
+     * Retrieve the column analysis results for each of a number of tables, fetching the results of up to the
+     * specified number of tables in parallel.
+     *
+     * @param projectName the name of the project from which to retrieve results
+     * @param tableNames the names of the tables for which to retrieve results
+     * @param maxConcurrency the maximum number of tables for which to retrieve results at the same time
+     * @return {@code Map<String, Map<String, ColumnAnalysisResults>>} - a map from table name to a map from column
+     *      name to analysis results, in the order of the provided table names (omitting any table whose results could
+     *      not be retrieved)
+     */
+    public Map<String, Map<String, ColumnAnalysisResults>> getColumnAnalysisResultsForTables(String projectName,
+                                                                                             List<String> tableNames,
+                                                                                             int maxConcurrency) {
+        return getResultsForTables(projectName, tableNames, maxConcurrency, this::getColumnAnalysisResultsForTable, "column analysis");
+    }
+
+    /**
+     * Retrieve the data quality analysis results for each of a number of tables, fetching the results of up to the
+     * specified number of tables in parallel.
+     *
+     * @param projectName the name of the project from which to retrieve results
+     * @param tableNames the names of the tables for which to retrieve results
+     * @param maxConcurrency the maximum number of tables for which to retrieve results at the same time
+     * @return {@code Map<String, Map<String, List<DataQualityProblem>>>} - a map from table name to a map from column
+     *      name to analysis results, in the order of the provided table names (omitting any table whose results could
+     *      not be retrieved)
+     */
+    public Map<String, Map<String, List<DataQualityProblem>>> getDataQualityAnalysisResultsForTables(String projectName,
+                                                                                                    List<String> tableNames,
+                                                                                                    int maxConcurrency) {
+        return getResultsForTables(projectName, tableNames, maxConcurrency, this::getDataQualityAnalysisResultsForTable, "data quality");
+    }
+
+    /**
+     * Retrieve results for each of a number of tables, running up to the specified number of retrievals in parallel.
+     *
+     * @param projectName the name of the project from which to retrieve results
+     * @param tableNames the names of the tables for which to retrieve results
+     * @param maxConcurrency the maximum number of tables for which to retrieve results at the same time
+     * @param retrieval the retrieval of the results of a single table (given the project and table names)
+     * @param description a description of the results being retrieved
+     * @param <T> the type of results retrieved for each table
+     * @return {@code Map<String, T>} - a map from table name to its results
+     */
+    private <T> Map<String, T> getResultsForTables(String projectName,
+                                                   List<String> tableNames,
+                                                   int maxConcurrency,
+                                                   BiFunction<String, String, T> retrieval,
+                                                   String description) {
+        Map<String, T> map = new LinkedHashMap<>();
+        if (tableNames == null || tableNames.isEmpty()) {
+            return map;
+        }
+        List<T> results = runConcurrently(tableNames,
+                maxConcurrency,
+                tableName -> retrieval.apply(projectName, tableName),
+                "retrieve " + description + " results for project '" + projectName + "' and table");
+        for (int i = 0; i < tableNames.size(); i++) {
+            if (results.get(i) != null) {
+                map.put(tableNames.get(i), results.get(i));
             }
         }
         return map;
     }
 
     /**
-     * Retrieve the column analysis results for the specified IA project.
+     * Apply the provided work to each of the provided inputs, running up to the specified number of them in parallel.
+     *
+     * @param inputs the inputs to which to apply the work
+     * @param maxConcurrency the maximum number of inputs to which to apply the work at the same time
+     * @param work the work to apply to each input
+     * @param description a description of the work (for logging any failures)
+     * @param <I> the type of the inputs
+     * @param <T> the type of the result of the work
+     * @return {@code List<T>} - the result for each input, in the same order as the inputs (null for any input for
+     *      which the work failed)
+     */
+    private <I, T> List<T> runConcurrently(List<I> inputs,
+                                           int maxConcurrency,
+                                           Function<I, T> work,
+                                           String description) {
+        List<T> results = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+        if (inputs.isEmpty()) {
+            return results;
+        }
+        int threads = Math.max(1, Math.min(maxConcurrency, inputs.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ia-worker-" + WORKER_THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<T>> tasks = new ArrayList<>();
+            for (I input : inputs) {
+                tasks.add(() -> work.apply(input));
+            }
+            List<Future<T>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.set(i, futures.get(i).get());
+                } catch (ExecutionException e) {
+                    if (log.isErrorEnabled()) { log.error("Unable to {}: {}", description, inputs.get(i), e.getCause()); }
+                }
+            }
+        } catch (InterruptedException e) {
+            log.warn("Interrupted while trying to {} -- returning only those completed.", description);
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Stream the column analysis results for the specified IA project and column(s) to the provided visitor, one
+     * column at a time as the results are parsed.  You can specify a wildcard ({@code *}) character for any of the
+     * elements of the qualified columnName (eg. the table and column).
      *
      * @param projectName the name of the IA project for which to retrieve column analysis results
      * @param columnName (optional) qualified name of a column for which to retrieve analysis results
-     * @return Project - containing only the column analysis results details
+     * @param visitor the visitor to which to hand the results of each column
+     */
+    public void visitColumnAnalysisResults(String projectName,
+                                           String columnName,
+                                           ColumnVisitor visitor) {
+        visitColumns(getColumnBasedEndpoint(projectName, columnName, EP_COL_ANALYSIS_RESULTS), visitor, "getColumnAnalysisResults");
+    }
+
+    /**
+     * Stream the format distribution for the specified IA project and column(s) to the provided visitor, one column at
+     * a time as the results are parsed.  You can specify a wildcard ({@code *}) character for any of the elements of
+     * the qualified columnName (eg. the table and column).
+     *
+     * @param projectName the name of the IA project for which to retrieve format distribution results
+     * @param columnName the qualified name of the column for which to retrieve analysis results
+     * @param visitor the visitor to which to hand the results of each column
+     */
+    public void visitFormatDistribution(String projectName,
+                                        String columnName,
+                                        ColumnVisitor visitor) {
+        if (columnName == null) {
+            throw new RuntimeException("The 'columnName' parameter is required for 'getFormatDistribution'.");
+        }
+        visitColumns(getColumnBasedEndpoint(projectName, columnName, EP_FORMAT_DISTRIBUTION), visitor, "getFormatDistribution");
+    }
+
+    /**
+     * Stream the frequency distribution of values for the specified IA project and column(s) to the provided visitor,
+     * one column at a time as the results are parsed.  You can specify a wildcard ({@code *}) character for any of the
+     * elements of the qualified columnName (eg. the table and column).
+     *
+     * @param projectName the name of the IA project for which to retrieve frequency distribution results
+     * @param columnName the qualified name of the column for which to retrieve analysis results
+     * @param visitor the visitor to which to hand the results of each column
+     */
+    public void visitFrequencyDistribution(String projectName,
+                                           String columnName,
+                                           ColumnVisitor visitor) {
+        if (columnName == null) {
+            throw new RuntimeException("The 'columnName' parameter is required for 'getFrequencyDistribution'.");
+        }
+        visitColumns(getColumnBasedEndpoint(projectName, columnName, EP_FREQ_DISTRIBUTION), visitor, "getFrequencyDistribution");
+    }
+
+    /**
+     * Stream the data quality analysis results for the specified IA project to the provided visitor, one column at a
+     * time as the results are parsed.
+     *
+     * @param projectName the name of the IA project for which to retrieve data quality analysis results
+     * @param tableName (optional) qualified name of a table for which to retrieve analysis results
+     * @param visitor the visitor to which to hand the results of each column
      */
-    private Project getColumnAnalysisResults(String projectName,
-                                            String columnName) {
-        return makeColumnBasedRequest(projectName, columnName, EP_COL_ANALYSIS_RESULTS, "getColumnAnalysisResults");
+    public void visitDataQualityAnalysisResults(String projectName,
+                                                String tableName,
+                                                ColumnVisitor visitor) {
+        String endpoint = EP_DQ_ANALYSIS_RESULTS + "?projectName=" + encodeParameterForURL(projectName);
+        if (tableName != null) {
+            endpoint += "&tableName=" + encodeParameterForURL(tableName);
+        }
+        visitColumns(endpoint, visitor, "getDataQualityAnalysisResults");
     }
 
     /**
@@ -465,28 +720,13 @@ public class IARestClient {
      */
     public Map<String, List<Format>> getFormatDistribution(String projectName,
                                                            String columnName) {
-        if (columnName == null) {
-            throw new RuntimeException("The 'columnName' parameter is required for 'getFormatDistribution'.");
-        }
-        Project response = makeColumnBasedRequest(projectName, columnName, EP_FORMAT_DISTRIBUTION, "getFormatDistribution");
         Map<String, List<Format>> map = new HashMap<>();
-        if (response != null) {
-            List<DataSource> dataSourceList = response.getDataSources();
-            for (DataSource source : dataSourceList) {
-                String dataSourceName = source.getName();
-                for (Schema schema : source.getSchemas()) {
-                    String schemaName = schema.getName();
-                    for (Table table : schema.getTables()) {
-                        String tableName = table.getName();
-                        for (Column column : table.getColumns()) {
-                            String name = column.getName();
-                            String qualifiedName = dataSourceName + "." + schemaName + "." + tableName + "." + name;
-                            map.put(qualifiedName, column.getColumnAnalysisResults().getFormatDistribution().getFormats());
-                        }
-                    }
-                }
+        visitFormatDistribution(projectName, columnName, (table, column) -> {
+            ColumnAnalysisResults results = column.getColumnAnalysisResults();
+            if (results != null && results.getFormatDistribution() != null) {
+                map.put(table.getQualifiedColumnName(column.getName()), results.getFormatDistribution().getFormats());
             }
-        }
+        });
         return map;
     }
 
@@ -501,43 +741,16 @@ public class IARestClient {
      */
     public Map<String, List<Value>> getFrequencyDistribution(String projectName,
                                                              String columnName) {
-        if (columnName == null) {
-            throw new RuntimeException("The 'columnName' parameter is required for 'getFrequencyDistribution'.");
-        }
-        Project response = makeColumnBasedRequest(projectName, columnName, EP_FREQ_DISTRIBUTION, "getFrequencyDistribution");
         Map<String, List<Value>> map = new HashMap<>();
-        if (response != null) {
-            List<DataSource> dataSourceList = response.getDataSources();
-            for (DataSource source : dataSourceList) {
-                String dataSourceName = source.getName();
-                for (Schema schema : source.getSchemas()) {
-                    String schemaName = schema.getName();
-                    for (Table table : schema.getTables()) {
-                        String tableName = table.getName();
-                        for (Column column : table.getColumns()) {
-                            String name = column.getName();
-                            String qualifiedName = dataSourceName + "." + schemaName + "." + tableName + "." + name;
-                            map.put(qualifiedName, column.getColumnAnalysisResults().getFrequencyDistribution().getValues());
-                        }
-                    }
-                }
+        visitFrequencyDistribution(projectName, columnName, (table, column) -> {
+            ColumnAnalysisResults results = column.getColumnAnalysisResults();
+            if (results != null && results.getFrequencyDistribution() != null) {
+                map.put(table.getQualifiedColumnName(column.getName()), results.getFrequencyDistribution().getValues());
             }
-        }
+        });
         return map;
     }
 
-    /**
-     * Retrieve the data quality analysis results for the specified IA project.
-     *
-     * @param projectName the name of the IA project for which to retrieve column analysis results
-     * @param tableName (optional) qualified name of a table for which to retrieve analysis results
-     * @return Project - containing only the data quality analysis results details
-     */
-    private Project getDataQualityAnalysisResults(String projectName,
-                                                  String tableName) {
-        return makeTableBasedRequest(projectName, tableName, EP_DQ_ANALYSIS_RESULTS, "getDataQualityAnalysisResults");
-    }
-
     /**
      * Retrieve information on results that have been published for the specified IA project.
      *
@@ -597,6 +810,62 @@ public class IARestClient {
         return makeTaskRequest(projectName, runDataQualityAnalysis, "runDataQualityAnalysis");
     }
 
+    /**
+     * Run a column analysis within the specified project against a (potentially very large) number of columns, by
+     * splitting the columns into chunks and submitting a separate task for each chunk, up to the specified number of
+     * chunks at the same time.
+     *
+     * @param projectName the name of the project in which to run the column analysis
+     * @param columnNames the fully-qualified names of the columns to run analysis against
+     * @param chunkSize the maximum number of columns to include in each task
+     * @param maxConcurrency the maximum number of tasks to submit at the same time
+     * @return BulkTaskExecutionReport combining the scheduled task IDs and any errors of every chunk
+     */
+    public BulkTaskExecutionReport runColumnAnalysis(String projectName,
+                                                     List<String> columnNames,
+                                                     int chunkSize,
+                                                     int maxConcurrency) {
+        return runTasksInChunks(projectName, columnNames, chunkSize, maxConcurrency, chunk -> {
+            List<Column> columns = new ArrayList<>();
+            for (String columnName : chunk) {
+                Column column = new Column();
+                column.setName(columnName);
+                columns.add(column);
+            }
+            RunColumnAnalysis runColumnAnalysis = new RunColumnAnalysis();
+            runColumnAnalysis.setColumns(columns);
+            return runColumnAnalysis;
+        }, "runColumnAnalysis");
+    }
+
+    /**
+     * Run a data quality analysis within the specified project against a (potentially very large) number of tables, by
+     * splitting the tables into chunks and submitting a separate task for each chunk, up to the specified number of
+     * chunks at the same time.
+     *
+     * @param projectName the name of the project in which to run the data quality analysis
+     * @param tableNames the fully-qualified names of the tables to run analysis against
+     * @param chunkSize the maximum number of tables to include in each task
+     * @param maxConcurrency the maximum number of tasks to submit at the same time
+     * @return BulkTaskExecutionReport combining the scheduled task IDs and any errors of every chunk
+     */
+    public BulkTaskExecutionReport runDataQualityAnalysis(String projectName,
+                                                          List<String> tableNames,
+                                                          int chunkSize,
+                                                          int maxConcurrency) {
+        return runTasksInChunks(projectName, tableNames, chunkSize, maxConcurrency, chunk -> {
+            List<Table> tables = new ArrayList<>();
+            for (String tableName : chunk) {
+                Table table = new Table();
+                table.setName(tableName);
+                tables.add(table);
+            }
+            RunDataQualityAnalysis runDataQualityAnalysis = new RunDataQualityAnalysis();
+            runDataQualityAnalysis.setTables(tables);
+            return runDataQualityAnalysis;
+        }, "runDataQualityAnalysis");
+    }
+
     /**
      * Publish analysis results from the specified project's specified table.
      *
@@ -642,7 +911,7 @@ public class IARestClient {
         String response = makeRequest(EP_TASK_STATUS + "?scheduleID=" + scheduleId, HttpMethod.GET, null);
         TaskExecutionSchedule taskExecutionSchedule = null;
         try {
-            taskExecutionSchedule = mapper.readValue(response, TaskExecutionSchedule.class);
+            taskExecutionSchedule = readResponse(response, TaskExecutionSchedule.class);
         } catch (IOException e) {
             if (log.isErrorEnabled()) { log.error("Unable to parse execution status for '{}': {}", scheduleId, response, e); }
         }
@@ -696,16 +965,7 @@ public class IARestClient {
         StringWriter out = new StringWriter();
         try {
             XMLStreamWriter xmlWriter = mapper.getFactory().getXMLOutputFactory().createXMLStreamWriter(out);
-            xmlWriter.writeStartDocument();
-            xmlWriter.writeStartElement("iaapi", "Project", "http://www.ibm.com/investigate/api/iaapi");
-            xmlWriter.writeAttribute("name", projectName);
-            xmlWriter.writeStartElement("Tasks");
-            mapper.writeValue(xmlWriter, value);
-            xmlWriter.writeEndElement(); // /Tasks
-            xmlWriter.writeEndElement(); // /Project
-            xmlWriter.writeEndDocument();
-            xmlWriter.flush();
-            xmlWriter.close();
+            writeTaskPayload(xmlWriter, projectName, value);
         } catch (JsonProcessingException e) {
             log.error("Unable to translate provided {} object to XML: {}", value.getClass().getName(), value, e);
         } catch (XMLStreamException e) {
@@ -717,7 +977,51 @@ public class IARestClient {
     }
 
     /**
-     * Request the execution of a task based on the provided details.
+     * Write the provided POJO as an XML document for executing a task directly into the provided stream.
+     *
+     * @param out the stream into which to write the XML document
+     * @param projectName the name of the project in which to run the task
+     * @param value the POJO to translate
+     * @throws IOException if the POJO cannot be translated or written
+     */
+    private void writeTaskPayload(OutputStream out,
+                                  String projectName,
+                                  Object value) throws IOException {
+        try {
+            XMLStreamWriter xmlWriter = mapper.getFactory().getXMLOutputFactory().createXMLStreamWriter(out, UTF_8.name());
+            writeTaskPayload(xmlWriter, projectName, value);
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to write " + value.getClass().getName() + " task to XML stream.", e);
+        }
+    }
+
+    /**
+     * Write the provided POJO as an XML document for executing a task.
+     *
+     * @param xmlWriter the writer through which to write the XML document
+     * @param projectName the name of the project in which to run the task
+     * @param value the POJO to translate
+     * @throws XMLStreamException if the XML cannot be written
+     * @throws IOException if the POJO cannot be translated
+     */
+    private void writeTaskPayload(XMLStreamWriter xmlWriter,
+                                  String projectName,
+                                  Object value) throws XMLStreamException, IOException {
+        xmlWriter.writeStartDocument();
+        xmlWriter.writeStartElement("iaapi", "Project", "http://www.ibm.com/investigate/api/iaapi");
+        xmlWriter.writeAttribute("name", projectName);
+        xmlWriter.writeStartElement("Tasks");
+        mapper.writeValue(xmlWriter, value);
+        xmlWriter.writeEndElement(); // /Tasks
+        xmlWriter.writeEndElement(); // /Project
+        xmlWriter.writeEndDocument();
+        xmlWriter.flush();
+        xmlWriter.close();
+    }
+
+    /**
+     * Request the execution of a task based on the provided details. The request payload is written directly into
+     * the request, and the execution report read directly from the response.
      *
      * @param projectName the name of the IA project in which to execute the task
      * @param details the details of the task to execute
@@ -727,16 +1031,47 @@ public class IARestClient {
     private TaskExecutionReport makeTaskRequest(String projectName,
                                                 Object details,
                                                 String methodName) {
-        String xmlPayload = getTaskPayload(projectName, details);
-        if (log.isDebugEnabled()) { log.debug("Task request payload: " + xmlPayload); }
-        String response = makeRequest(EP_EXECUTE_TASK, HttpMethod.POST, xmlPayload);
-        TaskExecutionReport taskExecutionReport = null;
-        try {
-            taskExecutionReport = mapper.readValue(response, TaskExecutionReport.class);
-        } catch (IOException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to parse {} execution report for project '{}': {}", methodName, projectName, response, e); }
+        if (log.isDebugEnabled()) { log.debug("Task request for project '{}': {}", projectName, details); }
+        return makeStreamedRequest(EP_EXECUTE_TASK, HttpMethod.POST, out -> writeTaskPayload(out, projectName, details), response -> {
+            try {
+                return readResponse(response.getBody(), TaskExecutionReport.class);
+            } catch (IOException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to parse {} execution report for project '{}'.", methodName, projectName, e); }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Request the execution of a task for each chunk of the provided names, up to the specified number of chunks at
+     * the same time.
+     *
+     * @param projectName the name of the IA project in which to execute the tasks
+     * @param names the names of the columns or tables against which to execute the tasks
+     * @param chunkSize the maximum number of names to include in each task
+     * @param maxConcurrency the maximum number of tasks to request at the same time
+     * @param taskForChunk builds the details of the task to execute for a single chunk of names
+     * @param methodName a description of the operation that is being requested
+     * @return BulkTaskExecutionReport
+     */
+    private BulkTaskExecutionReport runTasksInChunks(String projectName,
+                                                     List<String> names,
+                                                     int chunkSize,
+                                                     int maxConcurrency,
+                                                     Function<List<String>, Object> taskForChunk,
+                                                     String methodName) {
+        List<List<String>> chunks = new ArrayList<>();
+        if (names != null) {
+            int size = Math.max(1, chunkSize);
+            for (int i = 0; i < names.size(); i += size) {
+                chunks.add(names.subList(i, Math.min(i + size, names.size())));
+            }
         }
-        return taskExecutionReport;
+        List<TaskExecutionReport> reports = runConcurrently(chunks,
+                maxConcurrency,
+                chunk -> makeTaskRequest(projectName, taskForChunk.apply(chunk), methodName),
+                methodName + " in project '" + projectName + "' for chunk");
+        return new BulkTaskExecutionReport(chunks, reports);
     }
 
     /**
@@ -752,14 +1087,10 @@ public class IARestClient {
                                            String columnName,
                                            String urlBase,
                                            String methodName) {
-        String url = urlBase + "?projectName=" + encodeParameterForURL(projectName);
-        if (columnName != null) {
-            url += "&columnName=" + encodeParameterForURL(columnName);
-        }
-        String response = makeRequest(url, HttpMethod.GET, null);
+        String response = makeRequest(getColumnBasedEndpoint(projectName, columnName, urlBase), HttpMethod.GET, null);
         Project project = null;
         try {
-            project = mapper.readValue(response, Project.class);
+            project = readResponse(response, Project.class);
         } catch (IOException e) {
             if (log.isErrorEnabled()) {
                 if (columnName == null) {
@@ -773,36 +1104,19 @@ public class IARestClient {
     }
 
     /**
-     * Make a request that is based on a combination of a project and an (optional) table name.
+     * Build the endpoint for a request that is based on a combination of a project and an (optional) column name.
      *
      * @param projectName the name of the IA project for which to retrieve results
-     * @param tableName (optional) qualified name of a table for which to retrieve results
+     * @param columnName (optional) qualified name of a column for which to retrieve results
      * @param urlBase the base API URL against which to invoke the operation
-     * @param methodName a description of the operation that is being invoked
-     * @return Project
+     * @return String
      */
-    private Project makeTableBasedRequest(String projectName,
-                                          String tableName,
-                                          String urlBase,
-                                          String methodName) {
+    private String getColumnBasedEndpoint(String projectName, String columnName, String urlBase) {
         String url = urlBase + "?projectName=" + encodeParameterForURL(projectName);
-        if (tableName != null) {
-            url += "&tableName=" + encodeParameterForURL(tableName);
-        }
-        String response = makeRequest(url, HttpMethod.GET, null);
-        Project project = null;
-        try {
-            project = mapper.readValue(response, Project.class);
-        } catch (IOException e) {
-            if (log.isErrorEnabled()) {
-                if (tableName == null) {
-                    log.error("Unable to parse {} results for project '{}': {}", methodName, projectName, response, e);
-                } else {
-                    log.error("Unable to parse {} results for project '{}' and table '{}': {}", methodName, projectName, tableName, response, e);
-                }
-            }
+        if (columnName != null) {
+            url += "&columnName=" + encodeParameterForURL(columnName);
         }
-        return project;
+        return url;
     }
 
     /**
@@ -822,18 +1136,97 @@ public class IARestClient {
     }
 
     /**
-     * Recursively remove all whitespace (including newlines) between XML elements, in-place in the provided XML.
+     * Parse the provided response body into an object of the provided type, in a single streaming pass. While it is
+     * read the XML is minimized (all whitespace between elements is removed, and element text is trimmed) as this is
+     * needed for it to be properly de-serialized by Jackson.
      *
-     * @param node the XML node from which to start the minimization
+     * @param body the response body to parse
+     * @param type the type of object into which to parse the response
+     * @param <T> the type of object into which to parse the response
+     * @return T
+     * @throws IOException if the response cannot be parsed into the provided type
      */
-    private void minimizeXML(Node node) {
-        NodeList children = node.getChildNodes();
-        for (int i = 0; i < children.getLength(); ++i) {
-            Node child = children.item(i);
-            if (child.getNodeType() == Node.TEXT_NODE) {
-                child.setTextContent(child.getTextContent().trim());
-            }
-            minimizeXML(child);
+    private <T> T readResponse(String body, Class<T> type) throws IOException {
+        XMLStreamReader reader = openResponse(body);
+        try {
+            return mapper.readValue(reader, type);
+        } finally {
+            closeResponse(reader);
+        }
+    }
+
+    /**
+     * Parse the provided response body into an object of the provided type, in a single streaming pass. While it is
+     * read the XML is minimized (all whitespace between elements is removed, and element text is trimmed) as this is
+     * needed for it to be properly de-serialized by Jackson.
+     *
+     * @param body the response body to parse
+     * @param type the type of object into which to parse the response
+     * @param <T> the type of object into which to parse the response
+     * @return T
+     * @throws IOException if the response cannot be parsed into the provided type
+     */
+    private <T> T readResponse(String body, TypeReference<T> type) throws IOException {
+        XMLStreamReader reader = openResponse(body);
+        try {
+            return mapper.readValue(reader, type);
+        } finally {
+            closeResponse(reader);
+        }
+    }
+
+    /**
+     * Parse the provided response body into an object of the provided type, in a single streaming pass directly from
+     * the response.
+     *
+     * @param body the response body to parse
+     * @param type the type of object into which to parse the response
+     * @param <T> the type of object into which to parse the response
+     * @return T
+     * @throws IOException if the response cannot be parsed into the provided type
+     */
+    private <T> T readResponse(InputStream body, Class<T> type) throws IOException {
+        XMLStreamReader reader;
+        try {
+            reader = new WhitespaceTrimmingStreamReader(xmlInputFactory.createXMLStreamReader(body));
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse the response body as XML.", e);
+        }
+        try {
+            return mapper.readValue(reader, type);
+        } finally {
+            closeResponse(reader);
+        }
+    }
+
+    /**
+     * Open a minimizing stream reader over the provided response body.
+     *
+     * @param body the response body to read
+     * @return XMLStreamReader
+     * @throws IOException if there is no response body, or it cannot be read as XML
+     */
+    private XMLStreamReader openResponse(String body) throws IOException {
+        if (body == null) {
+            throw new IOException("No response body to parse.");
+        }
+        try {
+            return new WhitespaceTrimmingStreamReader(xmlInputFactory.createXMLStreamReader(new StringReader(body)));
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse the response body as XML.", e);
+        }
+    }
+
+    /**
+     * Close the provided stream reader, once a response has been read.
+     *
+     * @param reader the reader to close
+     */
+    private void closeResponse(XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            log.warn("Unable to close the XML stream reader for a response.", e);
         }
     }
 
@@ -0,0 +1,366 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives IA analysis tasks asynchronously: each submitted (or already scheduled) task is tracked through a
+ * {@link CompletableFuture} that completes once the task has finished running, with the final status of its schedule.
+ * <br><br>
+ * The status of every tracked task is polled from a small, shared pool of threads rather than a thread per task. Each
+ * task starts being polled quickly, and then less and less frequently (exponential back-off, up to a maximum delay)
+ * the longer it runs, with some random jitter so that the polls of tasks submitted together spread out over time.
+ * Optionally, the results of a task can be published automatically as soon as it completes successfully.
+ * <br><br>
+ * The future of a task completes exceptionally if its status can repeatedly not be retrieved, or if its results could
+ * not be published; a task that ran but failed (or was cancelled) in IA completes normally, with that status. Cancelling
+ * a future stops the polling of its task (but not the task itself).
+ */
+public class IATaskOrchestrator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IATaskOrchestrator.class);
+
+    private static final AtomicInteger POLLER_THREAD_COUNT = new AtomicInteger(0);
+
+    public static final long DEFAULT_INITIAL_DELAY = 1000;
+    public static final long DEFAULT_MAX_DELAY = 60000;
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+    public static final double DEFAULT_JITTER = 0.2;
+    public static final int DEFAULT_MAX_ERRORS = 5;
+    public static final int DEFAULT_POLLING_THREADS = 2;
+
+    private final IARestClient iaRestClient;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+    private final int maxErrors;
+    private final ScheduledExecutorService poller;
+    private final Set<CompletableFuture<TaskExecutionSchedule>> tracked;
+
+    /**
+     * Create a new orchestrator of the tasks of the provided IA environment, using the default polling settings.
+     *
+     * @param iaRestClient connectivity to the IA environment
+     */
+    public IATaskOrchestrator(IARestClient iaRestClient) {
+        this(iaRestClient, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY, DEFAULT_MULTIPLIER, DEFAULT_JITTER, DEFAULT_MAX_ERRORS, DEFAULT_POLLING_THREADS);
+    }
+
+    /**
+     * Create a new orchestrator of the tasks of the provided IA environment.
+     *
+     * @param iaRestClient connectivity to the IA environment
+     * @param initialDelay the delay before first polling the status of a task, in milliseconds
+     * @param maxDelay the maximum delay between polls of the status of a task, in milliseconds
+     * @param multiplier the factor by which to increase the delay after each poll of a task that is still running
+     * @param jitter the proportion (between 0 and 1) by which each delay is randomly lengthened or shortened
+     * @param maxErrors the number of consecutive failures to retrieve the status of a task before giving up on it
+     * @param pollingThreads the number of threads from which to poll the status of all tasks
+     */
+    public IATaskOrchestrator(IARestClient iaRestClient,
+                              long initialDelay,
+                              long maxDelay,
+                              double multiplier,
+                              double jitter,
+                              int maxErrors,
+                              int pollingThreads) {
+        this.iaRestClient = iaRestClient;
+        this.initialDelay = Math.max(1, initialDelay);
+        this.maxDelay = Math.max(this.initialDelay, maxDelay);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.jitter = Math.min(Math.max(0.0, jitter), 1.0);
+        this.maxErrors = Math.max(1, maxErrors);
+        this.poller = Executors.newScheduledThreadPool(Math.max(1, pollingThreads), runnable -> {
+            Thread thread = new Thread(runnable, "ia-task-poller-" + POLLER_THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tracked = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Run a column analysis within the specified project against all of the columns of the specified table, tracking
+     * the resulting task(s).
+     *
+     * @param projectName the name of the project in which to run the column analysis
+     * @param tableName the fully-qualified name of the table whose columns should be analyzed
+     * @param publish whether to publish the results of the analysis as soon as it completes successfully (true) or not
+     * @return {@code List<CompletableFuture<TaskExecutionSchedule>>} - one future for each task that was scheduled
+     */
+    public List<CompletableFuture<TaskExecutionSchedule>> runColumnAnalysis(String projectName,
+                                                                           String tableName,
+                                                                           boolean publish) {
+        TaskExecutionReport report = iaRestClient.runColumnAnalysis(projectName, tableName + ".*");
+        return track(report, projectName, publish ? tableName : null);
+    }
+
+    /**
+     * Run a data quality analysis within the specified project against the specified table, tracking the resulting
+     * task(s).
+     *
+     * @param projectName the name of the project in which to run the data quality analysis
+     * @param tableName the fully-qualified name of the table to analyze
+     * @param publish whether to publish the results of the analysis as soon as it completes successfully (true) or not
+     * @return {@code List<CompletableFuture<TaskExecutionSchedule>>} - one future for each task that was scheduled
+     */
+    public List<CompletableFuture<TaskExecutionSchedule>> runDataQualityAnalysis(String projectName,
+                                                                                String tableName,
+                                                                                boolean publish) {
+        TaskExecutionReport report = iaRestClient.runDataQualityAnalysis(projectName, tableName);
+        return track(report, projectName, publish ? tableName : null);
+    }
+
+    /**
+     * Track each of the tasks scheduled by a request, without publishing any of their results.
+     *
+     * @param report the response of a request containing the scheduled task information
+     * @return {@code List<CompletableFuture<TaskExecutionSchedule>>} - one future for each task that was scheduled
+     */
+    public List<CompletableFuture<TaskExecutionSchedule>> track(TaskExecutionReport report) {
+        return track(report, null, null);
+    }
+
+    /**
+     * Track each of the tasks scheduled by a request, optionally publishing the results of the specified table once
+     * each task completes successfully.
+     *
+     * @param report the response of a request containing the scheduled task information
+     * @param projectName the name of the project in which the tasks were scheduled
+     * @param tableToPublish (optional) the fully-qualified name of the table whose results should be published
+     * @return {@code List<CompletableFuture<TaskExecutionSchedule>>} - one future for each task that was scheduled
+     */
+    public List<CompletableFuture<TaskExecutionSchedule>> track(TaskExecutionReport report,
+                                                               String projectName,
+                                                               String tableToPublish) {
+        List<CompletableFuture<TaskExecutionSchedule>> futures = new ArrayList<>();
+        if (report == null || report.getScheduledTaskList() == null || report.getScheduledTaskList().isEmpty()) {
+            CompletableFuture<TaskExecutionSchedule> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("No task was scheduled: " + report));
+            futures.add(failed);
+        } else {
+            for (ScheduledTask scheduledTask : report.getScheduledTaskList()) {
+                futures.add(track(scheduledTask.getScheduleId(), projectName, tableToPublish));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Track a single scheduled task, without publishing its results.
+     *
+     * @param scheduleId the scheduleId of the task to track
+     * @return {@code CompletableFuture<TaskExecutionSchedule>}
+     */
+    public CompletableFuture<TaskExecutionSchedule> track(String scheduleId) {
+        return track(scheduleId, null, null);
+    }
+
+    /**
+     * Track a single scheduled task, optionally publishing the results of the specified table once the task completes
+     * successfully.
+     *
+     * @param scheduleId the scheduleId of the task to track
+     * @param projectName the name of the project in which the task was scheduled
+     * @param tableToPublish (optional) the fully-qualified name of the table whose results should be published
+     * @return {@code CompletableFuture<TaskExecutionSchedule>}
+     */
+    public CompletableFuture<TaskExecutionSchedule> track(String scheduleId,
+                                                          String projectName,
+                                                          String tableToPublish) {
+        CompletableFuture<TaskExecutionSchedule> future = new CompletableFuture<>();
+        tracked.add(future);
+        future.whenComplete((schedule, error) -> tracked.remove(future));
+        Poll poll = new Poll(scheduleId, projectName, tableToPublish, future);
+        try {
+            poller.schedule(poll, withJitter(initialDelay), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IllegalStateException("The orchestrator has been closed.", e));
+        }
+        return future;
+    }
+
+    /**
+     * Retrieve the number of tasks that are currently being tracked.
+     *
+     * @return int
+     */
+    public int getTrackedCount() {
+        return tracked.size();
+    }
+
+    /**
+     * Stop polling for the status of all tasks, cancelling the futures of any that are still being tracked.
+     */
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        for (CompletableFuture<TaskExecutionSchedule> future : tracked) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Indicates whether the provided task has finished running (whether successfully or not).
+     *
+     * @param execution the task execution to check
+     * @return boolean
+     */
+    static boolean isFinished(TaskExecution execution) {
+        if (execution == null || execution.getStatus() == null) {
+            return false;
+        }
+        switch (execution.getStatus()) {
+            case SUCCESSFUL:
+            case FAILED:
+            case CANCELLED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Retrieve the most recent execution of the provided schedule.
+     *
+     * @param schedule the schedule from which to retrieve the most recent execution
+     * @return TaskExecution, or null if the schedule has not (yet) been executed
+     */
+    static TaskExecution getLatestExecution(TaskExecutionSchedule schedule) {
+        TaskExecution latest = null;
+        if (schedule != null && schedule.getTaskExecutionList() != null) {
+            for (TaskExecution execution : schedule.getTaskExecutionList()) {
+                if (latest == null
+                        || (execution.getExecutionDate() != null
+                        && (latest.getExecutionDate() == null || !execution.getExecutionDate().before(latest.getExecutionDate())))) {
+                    latest = execution;
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Randomly lengthen or shorten the provided delay by (up to) the configured proportion of jitter.
+     *
+     * @param delay the delay to adjust, in milliseconds
+     * @return long
+     */
+    private long withJitter(long delay) {
+        if (jitter == 0.0) {
+            return delay;
+        }
+        double factor = 1.0 - jitter + (2.0 * jitter * ThreadLocalRandom.current().nextDouble());
+        return Math.max(1, Math.round(delay * factor));
+    }
+
+    /**
+     * A single poll of the status of a tracked task, which reschedules itself (with a longer delay) until the task
+     * has finished.
+     */
+    private class Poll implements Runnable {
+
+        private final String scheduleId;
+        private final String projectName;
+        private final String tableToPublish;
+        private final CompletableFuture<TaskExecutionSchedule> future;
+        private long delay;
+        private int errors;
+
+        Poll(String scheduleId, String projectName, String tableToPublish, CompletableFuture<TaskExecutionSchedule> future) {
+            this.scheduleId = scheduleId;
+            this.projectName = projectName;
+            this.tableToPublish = tableToPublish;
+            this.future = future;
+            this.delay = initialDelay;
+            this.errors = 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // Cancelled (or closed) while waiting for this poll
+                return;
+            }
+            try {
+                TaskExecutionSchedule schedule = iaRestClient.getTaskStatus(scheduleId);
+                if (schedule == null) {
+                    retryOrFail(new IllegalStateException("Unable to retrieve the status of task: " + scheduleId));
+                    return;
+                }
+                errors = 0;
+                TaskExecution latest = getLatestExecution(schedule);
+                if (!isFinished(latest)) {
+                    if (log.isDebugEnabled()) { log.debug("Task {} still running ({}%).", scheduleId, latest == null ? 0 : latest.getProgress()); }
+                    reschedule();
+                } else if (tableToPublish != null && latest.getStatus() == ExecutionStatus.SUCCESSFUL) {
+                    publish(schedule);
+                } else {
+                    future.complete(schedule);
+                }
+            } catch (RuntimeException e) {
+                retryOrFail(e);
+            }
+        }
+
+        /**
+         * Publish the results of the finished task, completing the task with the outcome. A failure to publish is not
+         * retried (unlike a failure to retrieve the status), as publishing is not a poll: the task is failed at once,
+         * with the publishing error as its cause.
+         *
+         * @param schedule the schedule of the finished task
+         */
+        private void publish(TaskExecutionSchedule schedule) {
+            try {
+                if (iaRestClient.publishResults(projectName, tableToPublish)) {
+                    future.complete(schedule);
+                } else {
+                    future.completeExceptionally(new IllegalStateException("Task " + scheduleId + " completed, but its results could not be published for table: " + tableToPublish));
+                }
+            } catch (RuntimeException e) {
+                if (log.isErrorEnabled()) { log.error("Task {} completed, but its results could not be published for table: {}", scheduleId, tableToPublish, e); }
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Poll again later, or give up on the task if its status has repeatedly not been retrieved.
+         *
+         * @param cause the reason the status could not be retrieved
+         */
+        private void retryOrFail(RuntimeException cause) {
+            errors++;
+            if (errors >= maxErrors) {
+                if (log.isErrorEnabled()) { log.error("Unable to retrieve the status of task {} after {} attempts -- giving up.", scheduleId, errors, cause); }
+                future.completeExceptionally(cause);
+            } else {
+                log.warn("Unable to retrieve the status of task {} (attempt {} of {}), retrying...", scheduleId, errors, maxErrors, cause);
+                reschedule();
+            }
+        }
+
+        /**
+         * Schedule the next poll of the task, backing off from the previous one.
+         */
+        private void reschedule() {
+            delay = Math.min(maxDelay, Math.round(delay * multiplier));
+            try {
+                poller.schedule(this, withJitter(delay), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                future.cancel(false);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.ColumnAnalysisResults;
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.DataQualityProblem;
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Harvests the column analysis and data quality results of an IA project incrementally: only the tables whose results
+ * have been published since they were last harvested (according to a {@link HarvestWatermarkStore}) are retrieved, so
+ * that each harvest does work in proportion to what has changed rather than to the size of the project.
+ * <br><br>
+ * Changed tables are retrieved and handed over a batch at a time, and the watermarks are persisted after each batch
+ * (only for those tables whose results were handled successfully), so an interrupted harvest resumes where it left off.
+ */
+public class IncrementalHarvester {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalHarvester.class);
+
+    private final IARestClient iaRestClient;
+    private final HarvestWatermarkStore watermarkStore;
+    private final int maxConcurrency;
+
+    /**
+     * Handles the results harvested for a single table.
+     */
+    @FunctionalInterface
+    public interface TableHandler {
+
+        /**
+         * Handle the results harvested for a table. If this throws an exception the table's watermark is not advanced,
+         * so its results will be harvested again by the next harvest.
+         *
+         * @param tableName the qualified name of the table
+         * @param published the date the table's results were published
+         * @param columnAnalysisResults the column analysis results of the table, keyed by column name
+         * @param dataQualityProblems the data quality problems of the table, keyed by column name
+         */
+        void handle(String tableName,
+                    Date published,
+                    Map<String, ColumnAnalysisResults> columnAnalysisResults,
+                    Map<String, List<DataQualityProblem>> dataQualityProblems);
+
+    }
+
+    /**
+     * Create a new incremental harvester.
+     *
+     * @param iaRestClient connectivity to the IA environment
+     * @param watermarkStore the store in which to track how far each table has been harvested
+     * @param maxConcurrency the maximum number of tables for which to retrieve results at the same time
+     */
+    public IncrementalHarvester(IARestClient iaRestClient, HarvestWatermarkStore watermarkStore, int maxConcurrency) {
+        this.iaRestClient = iaRestClient;
+        this.watermarkStore = watermarkStore;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Harvest the results of every table of the provided project whose results have been published since they were
+     * last harvested, handing the results of each such table to the provided handler.
+     *
+     * @param projectName the name of the IA project to harvest
+     * @param handler the handler of the results of each changed table
+     * @return {@code List<String>} the qualified names of the tables whose results were harvested
+     * @throws IOException if the watermarks cannot be retrieved or persisted
+     */
+    public List<String> harvest(String projectName, TableHandler handler) throws IOException {
+
+        List<String> harvested = new ArrayList<>();
+        Map<String, Date> published = getPublishedByTable(projectName);
+        if (published.isEmpty()) {
+            if (log.isInfoEnabled()) { log.info("No published results found for project '{}' -- nothing to harvest.", projectName); }
+            return harvested;
+        }
+
+        Map<String, Date> watermarks = new HashMap<>(watermarkStore.getWatermarks(projectName));
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Date> entry : published.entrySet()) {
+            Date watermark = watermarks.get(entry.getKey());
+            if (watermark == null || entry.getValue().after(watermark)) {
+                changed.add(entry.getKey());
+            }
+        }
+        if (log.isInfoEnabled()) { log.info("Harvesting {} of {} tables with published results in project '{}'.", changed.size(), published.size(), projectName); }
+
+        for (int i = 0; i < changed.size(); i += maxConcurrency) {
+            List<String> batch = changed.subList(i, Math.min(i + maxConcurrency, changed.size()));
+            Map<String, Map<String, ColumnAnalysisResults>> columnAnalysis = iaRestClient.getColumnAnalysisResultsForTables(projectName, batch, maxConcurrency);
+            Map<String, Map<String, List<DataQualityProblem>>> dataQuality = iaRestClient.getDataQualityAnalysisResultsForTables(projectName, batch, maxConcurrency);
+            boolean advanced = false;
+            for (String tableName : batch) {
+                if (!columnAnalysis.containsKey(tableName) || !dataQuality.containsKey(tableName)) {
+                    log.warn("Unable to retrieve the results of table '{}' -- it will be harvested again next time.", tableName);
+                    continue;
+                }
+                Date publishedOn = published.get(tableName);
+                try {
+                    handler.handle(tableName, publishedOn, columnAnalysis.get(tableName), dataQuality.get(tableName));
+                    watermarks.put(tableName, publishedOn);
+                    harvested.add(tableName);
+                    advanced = true;
+                } catch (RuntimeException e) {
+                    log.error("Unable to handle the results of table '{}' -- it will be harvested again next time.", tableName, e);
+                }
+            }
+            if (advanced) {
+                watermarkStore.setWatermarks(projectName, watermarks);
+            }
+        }
+
+        return harvested;
+
+    }
+
+    /**
+     * Retrieve the publication date of the results of each table in the provided project, keyed by the qualified name
+     * of the table. (IA only reports published results by the unqualified name of each table, so every table of the
+     * project with that unqualified name is included.)
+     *
+     * @param projectName the name of the IA project
+     * @return {@code Map<String, Date>}
+     */
+    private Map<String, Date> getPublishedByTable(String projectName) {
+        Map<String, Date> publishedByTable = new TreeMap<>();
+        Map<String, Date> published = iaRestClient.getPublishedResults(projectName);
+        if (!published.isEmpty()) {
+            Project details = iaRestClient.getProjectDetails(projectName);
+            if (details == null || details.getDataSources() == null) {
+                log.error("Unable to retrieve the tables of project '{}'.", projectName);
+            } else {
+                for (String tableName : iaRestClient.getTablesInProject(details)) {
+                    Date publishedOn = published.get(IARestClient.getUnqualifiedNameFromQualifiedName(tableName));
+                    if (publishedOn != null) {
+                        publishedByTable.put(tableName, publishedOn);
+                    }
+                }
+            }
+        }
+        return publishedByTable;
+    }
+
+}
@@ -0,0 +1,105 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.Column;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+
+/**
+ * Reads the columns out of an IA Project results response one at a time: only the element hierarchy above each column
+ * (DataSources / DataSource / Schema / Table) is tracked, and each Column element is bound on its own and handed to a
+ * {@link ColumnVisitor} before the next one is read, so that memory use does not grow with the size of the response.
+ */
+final class ProjectColumnReader {
+
+    private static final String DATA_SOURCES = "DataSources";
+    private static final String DATA_SOURCE = "DataSource";
+    private static final String SCHEMA = "Schema";
+    private static final String TABLE = "Table";
+    private static final String COLUMN = "Column";
+    private static final String NAME = "name";
+
+    private ProjectColumnReader() { }
+
+    /**
+     * Read every column within the tables of the provided response, handing each to the provided visitor.
+     *
+     * @param mapper the mapper with which to bind each column
+     * @param reader the reader over the response, positioned anywhere before the Project element
+     * @param visitor the visitor to which to hand each column
+     * @throws XMLStreamException if the response cannot be read as XML
+     * @throws IOException if a column cannot be bound
+     */
+    static void read(XmlMapper mapper, XMLStreamReader reader, ColumnVisitor visitor) throws XMLStreamException, IOException {
+
+        // Depth of the current element below the Project, and the names of the enclosing elements of interest
+        int depth = -1;
+        String dataSource = null;
+        String schema = null;
+        TableLocation table = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String element = reader.getLocalName();
+                if (depth == 1) {
+                    // Only the data sources of a Project contain results for columns
+                    if (!DATA_SOURCES.equals(element)) {
+                        skipElement(reader);
+                        depth--;
+                    }
+                } else if (depth == 2 && DATA_SOURCE.equals(element)) {
+                    dataSource = reader.getAttributeValue(null, NAME);
+                } else if (depth == 3 && SCHEMA.equals(element)) {
+                    schema = reader.getAttributeValue(null, NAME);
+                } else if (depth == 4 && TABLE.equals(element)) {
+                    table = new TableLocation(dataSource, schema, reader.getAttributeValue(null, NAME));
+                } else if (depth == 5 && COLUMN.equals(element) && table != null) {
+                    // Binding the column consumes everything up to (and including) its end element
+                    Column column = mapper.readValue(reader, Column.class);
+                    depth--;
+                    visitor.visit(table, column);
+                } else if (depth > 0) {
+                    skipElement(reader);
+                    depth--;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 4) {
+                    table = null;
+                } else if (depth == 3) {
+                    schema = null;
+                } else if (depth == 2) {
+                    dataSource = null;
+                }
+                depth--;
+            }
+        }
+
+    }
+
+    /**
+     * Skip over the element at which the provided reader is positioned, including all of its content, leaving the
+     * reader positioned at the element's end.
+     *
+     * @param reader the reader positioned at the start of the element to skip
+     * @throws XMLStreamException if the response cannot be read as XML
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int nested = 1;
+        while (nested > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                nested++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                nested--;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import java.util.Objects;
+
+/**
+ * The location of a table within an IA results response: the data source, schema and table in which the columns
+ * being visited are defined. The same location is shared by every column of a table, so its qualified name is only
+ * built once.
+ */
+public class TableLocation {
+
+    private final String dataSourceName;
+    private final String schemaName;
+    private final String tableName;
+    private final String qualifiedName;
+
+    /**
+     * Create a new table location.
+     *
+     * @param dataSourceName the name of the data source (database) in which the table is defined
+     * @param schemaName the name of the schema in which the table is defined
+     * @param tableName the name of the table
+     */
+    public TableLocation(String dataSourceName, String schemaName, String tableName) {
+        this.dataSourceName = dataSourceName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.qualifiedName = dataSourceName + "." + schemaName + "." + tableName;
+    }
+
+    /**
+     * Retrieve the name of the data source (database) in which the table is defined.
+     *
+     * @return String
+     */
+    public String getDataSourceName() { return dataSourceName; }
+
+    /**
+     * Retrieve the name of the schema in which the table is defined.
+     *
+     * @return String
+     */
+    public String getSchemaName() { return schemaName; }
+
+    /**
+     * Retrieve the name of the table.
+     *
+     * @return String
+     */
+    public String getTableName() { return tableName; }
+
+    /**
+     * Retrieve the qualified name of the table (database.schema.table).
+     *
+     * @return String
+     */
+    public String getQualifiedName() { return qualifiedName; }
+
+    /**
+     * Retrieve the qualified name of a column within the table (database.schema.table.column).
+     *
+     * @param columnName the name of the column
+     * @return String
+     */
+    public String getQualifiedColumnName(String columnName) { return qualifiedName + "." + columnName; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TableLocation)) return false;
+        return qualifiedName.equals(((TableLocation) o).qualifiedName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(qualifiedName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return qualifiedName;
+    }
+
+}
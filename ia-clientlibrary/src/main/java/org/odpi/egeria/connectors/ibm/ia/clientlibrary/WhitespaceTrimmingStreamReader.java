@@ -0,0 +1,142 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+/**
+ * Minimizes an XML document while it is being read: the text of every element is trimmed, and any text that is only
+ * whitespace (eg. newlines and indentation between elements) is skipped entirely, so that {@code <A>\n  </A>} is read
+ * exactly as {@code <A/>} would be.
+ * <br><br>
+ * This is needed for IA responses to be properly de-serialized by Jackson (otherwise whitespace between elements is
+ * interpreted as a value, and as a result things like arrays are not properly de-serialized). The underlying reader
+ * should coalesce adjacent text, so that each element's text is trimmed as a whole.
+ */
+class WhitespaceTrimmingStreamReader extends StreamReaderDelegate {
+
+    private String text;
+
+    /**
+     * Minimize the XML read by the provided reader.
+     *
+     * @param reader the reader to minimize
+     */
+    WhitespaceTrimmingStreamReader(XMLStreamReader reader) {
+        super(reader);
+        this.text = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int next() throws XMLStreamException {
+        int event = super.next();
+        while (isText(event)) {
+            String trimmed = super.getText().trim();
+            if (!trimmed.isEmpty()) {
+                text = trimmed;
+                return event;
+            }
+            event = super.next();
+        }
+        text = null;
+        return event;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasText() {
+        return text != null || super.hasText();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getText() {
+        return text != null ? text : super.getText();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char[] getTextCharacters() {
+        return text != null ? text.toCharArray() : super.getTextCharacters();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) throws XMLStreamException {
+        if (text == null) {
+            return super.getTextCharacters(sourceStart, target, targetStart, length);
+        }
+        int count = Math.max(Math.min(length, text.length() - sourceStart), 0);
+        text.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTextStart() {
+        return text != null ? 0 : super.getTextStart();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTextLength() {
+        return text != null ? text.length() : super.getTextLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWhiteSpace() {
+        return text == null && super.isWhiteSpace();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getElementText() throws XMLStreamException {
+        text = null;
+        return super.getElementText().trim();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextTag() throws XMLStreamException {
+        text = null;
+        return super.nextTag();
+    }
+
+    /**
+     * Indicates whether the provided event is (potentially ignorable) text.
+     *
+     * @param event the event to check
+     * @return boolean
+     */
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS
+                || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE;
+    }
+
+}
@@ -7,9 +7,7 @@ import org.odpi.egeria.connectors.ibm.information.server.mocks.MockConstants;
 import org.odpi.openmetadata.http.HttpHelper;
 import org.testng.annotations.*;
 
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static org.testng.Assert.*;
 
@@ -83,6 +81,19 @@ public class ClientTest {
 
     }
 
+    @Test
+    public void testVisitFrequencyDistribution() {
+        List<String> visited = new ArrayList<>();
+        iaRestClient.visitFrequencyDistribution(MockConstants.IA_PROJECT_NAME, MockConstants.IA_COLUMN_NAME, (table, column) -> {
+            assertEquals(table.getTableName(), "CONTACTEMAIL");
+            assertNotNull(column.getColumnAnalysisResults());
+            assertNotNull(column.getColumnAnalysisResults().getFrequencyDistribution());
+            visited.add(table.getQualifiedColumnName(column.getName()));
+        });
+        assertEquals(visited.size(), 1);
+        assertTrue(MockConstants.IA_COLUMN_NAME.endsWith(visited.get(0)));
+    }
+
     @Test
     public void testGetPublishedResults() {
         Map<String, Date> publishedResults = iaRestClient.getPublishedResults(MockConstants.IA_PROJECT_NAME);
@@ -103,6 +114,22 @@ public class ClientTest {
         assertFalse(columnToAnalysisResults.isEmpty());
     }
 
+    @Test
+    public void testTruncatedResults() {
+
+        // A response that cannot be read in full must fail, rather than return only the columns before the truncation
+        assertThrows(RuntimeException.class, () -> iaRestClient.getColumnAnalysisResultsForTable(MockConstants.IA_PROJECT_NAME, MockConstants.IA_TABLE_NAME_WITH_TRUNCATED_RESULTS));
+        List<String> seen = new ArrayList<>();
+        assertThrows(RuntimeException.class, () -> iaRestClient.visitColumnAnalysisResults(MockConstants.IA_PROJECT_NAME, MockConstants.IA_TABLE_NAME_WITH_TRUNCATED_RESULTS + ".*", (table, column) -> seen.add(column.getName())));
+        assertEquals(seen, Collections.singletonList("ETYPE"));
+
+        // ... so that, when retrieving several tables, the truncated table is left out rather than included partially
+        List<String> tableNames = Arrays.asList(MockConstants.IA_TABLE_NAME, MockConstants.IA_TABLE_NAME_WITH_TRUNCATED_RESULTS);
+        Map<String, Map<String, ColumnAnalysisResults>> columnAnalysisByTable = iaRestClient.getColumnAnalysisResultsForTables(MockConstants.IA_PROJECT_NAME, tableNames, 2);
+        assertEquals(columnAnalysisByTable.keySet(), Collections.singleton(MockConstants.IA_TABLE_NAME));
+
+    }
+
     @Test
     public void testGetDataQualityResults() {
         Map<String, List<DataQualityProblem>> columnToQualityResults = iaRestClient.getDataQualityAnalysisResultsForTable(MockConstants.IA_PROJECT_NAME, MockConstants.IA_TABLE_NAME);
@@ -126,6 +153,20 @@ public class ClientTest {
         }
     }
 
+    @Test
+    public void testGetResultsForTables() {
+        List<String> tableNames = Arrays.asList(MockConstants.IA_TABLE_NAME, MockConstants.IA_TABLE_NAME_WITH_DQ_PROBLEMS);
+        Map<String, Map<String, ColumnAnalysisResults>> columnAnalysisByTable = iaRestClient.getColumnAnalysisResultsForTables(MockConstants.IA_PROJECT_NAME, tableNames, 2);
+        assertNotNull(columnAnalysisByTable);
+        assertTrue(columnAnalysisByTable.containsKey(MockConstants.IA_TABLE_NAME));
+        assertFalse(columnAnalysisByTable.get(MockConstants.IA_TABLE_NAME).isEmpty());
+        Map<String, Map<String, List<DataQualityProblem>>> qualityByTable = iaRestClient.getDataQualityAnalysisResultsForTables(MockConstants.IA_PROJECT_NAME, tableNames, 2);
+        assertNotNull(qualityByTable);
+        assertEquals(new ArrayList<>(qualityByTable.keySet()), tableNames);
+        assertTrue(qualityByTable.get(MockConstants.IA_TABLE_NAME).isEmpty());
+        assertEquals(qualityByTable.get(MockConstants.IA_TABLE_NAME_WITH_DQ_PROBLEMS).get("BONUS").size(), 1);
+    }
+
     @Test
     public void testRunColumnAnalysis() {
         TaskExecutionReport scheduled = iaRestClient.runColumnAnalysis(MockConstants.IA_PROJECT_NAME, MockConstants.IA_TABLE_NAME + ".*");
@@ -138,6 +179,16 @@ public class ClientTest {
         testRunningThenCompleted(scheduled);
     }
 
+    @Test
+    public void testRunColumnAnalysisInChunks() {
+        BulkTaskExecutionReport scheduled = iaRestClient.runColumnAnalysis(MockConstants.IA_PROJECT_NAME, Collections.singletonList(MockConstants.IA_TABLE_NAME + ".*"), 10, 2);
+        assertNotNull(scheduled);
+        assertEquals(scheduled.getChunkReports().size(), 1);
+        assertTrue(scheduled.getFailedChunks().isEmpty());
+        assertEquals(scheduled.getScheduledTaskList().size(), 1);
+        assertTrue(iaRestClient.runDataQualityAnalysis(MockConstants.IA_PROJECT_NAME, Collections.emptyList(), 10, 2).getScheduledTaskList().isEmpty());
+    }
+
     private void testRunningThenCompleted(TaskExecutionReport scheduled) {
         assertNotNull(scheduled);
         // First check that it is running
@@ -0,0 +1,181 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.*;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the orchestration of IA tasks against a client whose task statuses are simulated.
+ */
+public class IATaskOrchestratorTest {
+
+    private static final String PROJECT = "project";
+    private static final String TABLE = "DB.SCHEMA.TABLE";
+
+    @Test
+    public void testCompletesWhenFinished() throws Exception {
+        SimulatedClient client = new SimulatedClient(3, ExecutionStatus.SUCCESSFUL, true);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.2, 3, 1)) {
+            CompletableFuture<TaskExecutionSchedule> future = orchestrator.track("s1");
+            TaskExecutionSchedule schedule = future.get(5, TimeUnit.SECONDS);
+            assertEquals(schedule.getScheduleId(), "s1");
+            assertEquals(IATaskOrchestrator.getLatestExecution(schedule).getStatus(), ExecutionStatus.SUCCESSFUL);
+            assertEquals(client.polls.get("s1").get(), 3);
+            assertTrue(client.published.isEmpty());
+        }
+    }
+
+    @Test
+    public void testMultiplexedAndPublished() throws Exception {
+        SimulatedClient client = new SimulatedClient(2, ExecutionStatus.SUCCESSFUL, true);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.2, 3, 1)) {
+            TaskExecutionReport report = new TaskExecutionReport();
+            List<ScheduledTask> tasks = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ScheduledTask task = new ScheduledTask();
+                task.setScheduleId("m" + i);
+                tasks.add(task);
+            }
+            report.setScheduledTaskList(tasks);
+            List<CompletableFuture<TaskExecutionSchedule>> futures = orchestrator.track(report, PROJECT, TABLE);
+            assertEquals(futures.size(), 20);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            assertEquals(client.published.size(), 20);
+            assertEquals(client.threads.size(), 1);
+        }
+    }
+
+    @Test
+    public void testFailedTaskNotPublished() throws Exception {
+        SimulatedClient client = new SimulatedClient(1, ExecutionStatus.FAILED, true);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.0, 3, 1)) {
+            TaskExecutionSchedule schedule = orchestrator.track("f1", PROJECT, TABLE).get(5, TimeUnit.SECONDS);
+            assertEquals(IATaskOrchestrator.getLatestExecution(schedule).getStatus(), ExecutionStatus.FAILED);
+            assertTrue(client.published.isEmpty());
+        }
+    }
+
+    @Test
+    public void testPublishFailure() throws Exception {
+        SimulatedClient client = new SimulatedClient(1, ExecutionStatus.SUCCESSFUL, false);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.0, 3, 1)) {
+            CompletableFuture<TaskExecutionSchedule> future = orchestrator.track("p1", PROJECT, TABLE);
+            assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testPublishRejected() throws Exception {
+        RuntimeException rejection = new RuntimeException("Error publishing: rejected");
+        SimulatedClient client = new RejectingClient(rejection);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.0, 3, 1)) {
+            CompletableFuture<TaskExecutionSchedule> future = orchestrator.track("r1", PROJECT, TABLE);
+            ExecutionException e = expectThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(e.getCause(), rejection);
+            // The task should fail at once, rather than be polled and published again
+            assertEquals(client.published, Collections.singletonList(TABLE));
+            assertEquals(client.polls.get("r1").get(), 1);
+        }
+    }
+
+    @Test
+    public void testGivesUpOnMissingStatus() throws Exception {
+        SimulatedClient client = new SimulatedClient(1, ExecutionStatus.SUCCESSFUL, true);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.0, 3, 1)) {
+            CompletableFuture<TaskExecutionSchedule> future = orchestrator.track("unknown");
+            assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals(client.polls.get("unknown").get(), 3);
+        }
+    }
+
+    @Test
+    public void testNothingScheduled() {
+        SimulatedClient client = new SimulatedClient(1, ExecutionStatus.SUCCESSFUL, true);
+        try (IATaskOrchestrator orchestrator = new IATaskOrchestrator(client)) {
+            List<CompletableFuture<TaskExecutionSchedule>> futures = orchestrator.track((TaskExecutionReport) null);
+            assertEquals(futures.size(), 1);
+            assertTrue(futures.get(0).isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    public void testCloseCancels() {
+        SimulatedClient client = new SimulatedClient(Integer.MAX_VALUE, ExecutionStatus.SUCCESSFUL, true);
+        IATaskOrchestrator orchestrator = new IATaskOrchestrator(client, 1, 5, 2.0, 0.0, 3, 1);
+        CompletableFuture<TaskExecutionSchedule> future = orchestrator.track("c1");
+        orchestrator.close();
+        assertTrue(future.isCancelled());
+    }
+
+    /**
+     * Simulates tasks that are running until they have been polled a number of times, after which they finish with
+     * the configured status. Any task whose scheduleId starts with "unknown" never has a status.
+     */
+    private static class SimulatedClient extends IARestClient {
+
+        private final int pollsUntilFinished;
+        private final ExecutionStatus finalStatus;
+        private final boolean publishSucceeds;
+        private final Map<String, AtomicInteger> polls = new ConcurrentHashMap<>();
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private final List<String> published = new CopyOnWriteArrayList<>();
+
+        SimulatedClient(int pollsUntilFinished, ExecutionStatus finalStatus, boolean publishSucceeds) {
+            super("localhost", "9443", "user", "password");
+            this.pollsUntilFinished = pollsUntilFinished;
+            this.finalStatus = finalStatus;
+            this.publishSucceeds = publishSucceeds;
+        }
+
+        @Override
+        public TaskExecutionSchedule getTaskStatus(String scheduleId) {
+            threads.add(Thread.currentThread().getName());
+            int count = polls.computeIfAbsent(scheduleId, k -> new AtomicInteger(0)).incrementAndGet();
+            if (scheduleId.startsWith("unknown")) {
+                return null;
+            }
+            TaskExecution execution = new TaskExecution();
+            execution.setExecutionDate(new Date());
+            execution.setStatus(count >= pollsUntilFinished ? finalStatus : ExecutionStatus.RUNNING);
+            TaskExecutionSchedule schedule = new TaskExecutionSchedule();
+            schedule.setScheduleId(scheduleId);
+            schedule.setTaskExecutionList(Collections.singletonList(execution));
+            return schedule;
+        }
+
+        @Override
+        public boolean publishResults(String projectName, String tableName) {
+            published.add(tableName);
+            return publishSucceeds;
+        }
+
+    }
+
+    /**
+     * Simulates tasks that finish on their first poll, but whose results are always rejected when published.
+     */
+    private static class RejectingClient extends SimulatedClient {
+
+        private final RuntimeException rejection;
+
+        RejectingClient(RuntimeException rejection) {
+            super(1, ExecutionStatus.SUCCESSFUL, true);
+            this.rejection = rejection;
+        }
+
+        @Override
+        public boolean publishResults(String projectName, String tableName) {
+            super.publishResults(projectName, tableName);
+            throw rejection;
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.ia.clientlibrary.model.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the incremental harvesting of IA results against a client whose published results are simulated.
+ */
+public class IncrementalHarvesterTest {
+
+    private static final String PROJECT = "project";
+
+    @Test
+    public void testOnlyChangedTablesHarvested() throws IOException {
+        Path dir = Files.createTempDirectory("harvest");
+        Path file = dir.resolve("watermarks.properties");
+        SimulatedClient client = new SimulatedClient();
+        client.publish("ORDERS", 1000L);
+        client.publish("CUSTOMERS", 2000L);
+
+        IncrementalHarvester harvester = new IncrementalHarvester(client, new FileHarvestWatermarkStore(file), 1);
+        List<String> handled = new ArrayList<>();
+        List<String> harvested = harvester.harvest(PROJECT, (table, published, ca, dq) -> handled.add(table));
+        assertEquals(harvested, Arrays.asList("DB.SCHEMA.CUSTOMERS", "DB.SCHEMA.ORDERS"));
+        assertEquals(handled, harvested);
+        assertEquals(client.requested, harvested);
+
+        // Nothing has been republished, so nothing should be harvested (even from a re-opened store)
+        client.requested.clear();
+        harvester = new IncrementalHarvester(client, new FileHarvestWatermarkStore(file), 4);
+        assertTrue(harvester.harvest(PROJECT, (table, published, ca, dq) -> fail()).isEmpty());
+        assertTrue(client.requested.isEmpty());
+
+        // Only the republished table should be harvested
+        client.publish("ORDERS", 3000L);
+        harvested = harvester.harvest(PROJECT, (table, published, ca, dq) -> assertEquals(published.getTime(), 3000L));
+        assertEquals(harvested, Collections.singletonList("DB.SCHEMA.ORDERS"));
+        assertEquals(client.requested, harvested);
+    }
+
+    @Test
+    public void testFailedTableHarvestedAgain() throws IOException {
+        Path dir = Files.createTempDirectory("harvest");
+        SimulatedClient client = new SimulatedClient();
+        client.publish("ORDERS", 1000L);
+        client.publish("CUSTOMERS", 2000L);
+        IncrementalHarvester harvester = new IncrementalHarvester(client, new FileHarvestWatermarkStore(dir.resolve("w.properties")), 2);
+        List<String> harvested = harvester.harvest(PROJECT, (table, published, ca, dq) -> {
+            if (table.endsWith("ORDERS")) {
+                throw new IllegalStateException("Simulated failure");
+            }
+        });
+        assertEquals(harvested, Collections.singletonList("DB.SCHEMA.CUSTOMERS"));
+        harvested = harvester.harvest(PROJECT, (table, published, ca, dq) -> { });
+        assertEquals(harvested, Collections.singletonList("DB.SCHEMA.ORDERS"));
+    }
+
+    @Test
+    public void testWatermarksPerProject() throws IOException {
+        Path dir = Files.createTempDirectory("harvest");
+        FileHarvestWatermarkStore store = new FileHarvestWatermarkStore(dir.resolve("w.properties"));
+        store.setWatermarks("one", Collections.singletonMap("A.B.C", new Date(1L)));
+        store.setWatermarks("two", Collections.singletonMap("A.B.D", new Date(2L)));
+        store = new FileHarvestWatermarkStore(dir.resolve("w.properties"));
+        assertEquals(store.getWatermarks("one"), Collections.singletonMap("A.B.C", new Date(1L)));
+        assertEquals(store.getWatermarks("two"), Collections.singletonMap("A.B.D", new Date(2L)));
+        assertTrue(store.getWatermarks("three").isEmpty());
+    }
+
+    /**
+     * Simulates a project whose tables all sit in DB.SCHEMA, with results published for some of them.
+     */
+    private static class SimulatedClient extends IARestClient {
+
+        private final Map<String, Date> published = new HashMap<>();
+        private final List<String> requested = new ArrayList<>();
+
+        SimulatedClient() {
+            super("localhost", "9443", "user", "password");
+        }
+
+        void publish(String table, long time) {
+            published.put(table, new Date(time));
+        }
+
+        @Override
+        public Map<String, Date> getPublishedResults(String projectName) {
+            return new HashMap<>(published);
+        }
+
+        @Override
+        public Project getProjectDetails(String projectName) {
+            List<Table> tables = new ArrayList<>();
+            for (String name : Arrays.asList("CUSTOMERS", "ORDERS", "UNPUBLISHED")) {
+                Table table = new Table();
+                table.setName(name);
+                tables.add(table);
+            }
+            Schema schema = new Schema();
+            schema.setName("SCHEMA");
+            schema.setTables(tables);
+            DataSource dataSource = new DataSource();
+            dataSource.setName("DB");
+            dataSource.setSchemas(Collections.singletonList(schema));
+            Project project = new Project();
+            project.setName(projectName);
+            project.setDataSources(Collections.singletonList(dataSource));
+            return project;
+        }
+
+        @Override
+        public Map<String, Map<String, ColumnAnalysisResults>> getColumnAnalysisResultsForTables(String projectName, List<String> tableNames, int maxConcurrency) {
+            requested.addAll(tableNames);
+            Map<String, Map<String, ColumnAnalysisResults>> map = new LinkedHashMap<>();
+            for (String tableName : tableNames) {
+                map.put(tableName, Collections.singletonMap("ID", new ColumnAnalysisResults()));
+            }
+            return map;
+        }
+
+        @Override
+        public Map<String, Map<String, List<DataQualityProblem>>> getDataQualityAnalysisResultsForTables(String projectName, List<String> tableNames, int maxConcurrency) {
+            Map<String, Map<String, List<DataQualityProblem>>> map = new LinkedHashMap<>();
+            for (String tableName : tableNames) {
+                map.put(tableName, Collections.emptyMap());
+            }
+            return map;
+        }
+
+    }
+
+}
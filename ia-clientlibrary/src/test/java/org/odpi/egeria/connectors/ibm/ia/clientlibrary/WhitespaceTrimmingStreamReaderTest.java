@@ -0,0 +1,77 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.ia.clientlibrary;
+
+import org.testng.annotations.Test;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class WhitespaceTrimmingStreamReaderTest {
+
+    private XMLInputFactory factory;
+
+    public WhitespaceTrimmingStreamReaderTest() {
+        factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    @Test
+    public void testWhitespaceSkipped() throws XMLStreamException {
+        List<String> events = readEvents("<A>\n  <B>\n  </B>\n  <C/>\n</A>");
+        assertEquals(events.toString(), "[<A>, <B>, </B>, <C>, </C>, </A>]");
+    }
+
+    @Test
+    public void testTextTrimmed() throws XMLStreamException {
+        List<String> events = readEvents("<A>\n  <B>  some value &amp; more\n  </B>\n</A>");
+        assertEquals(events.toString(), "[<A>, <B>, 'some value & more', </B>, </A>]");
+    }
+
+    @Test
+    public void testTextCharacters() throws XMLStreamException {
+        XMLStreamReader reader = open("<A>  value  </A>");
+        reader.next();
+        assertEquals(reader.next(), XMLStreamConstants.CHARACTERS);
+        assertEquals(new String(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength()), "value");
+        char[] target = new char[3];
+        assertEquals(reader.getTextCharacters(1, target, 0, 3), 3);
+        assertEquals(new String(target), "alu");
+        assertFalse(reader.isWhiteSpace());
+    }
+
+    @Test
+    public void testElementText() throws XMLStreamException {
+        XMLStreamReader reader = open("<A>\n  value\n</A>");
+        reader.next();
+        assertEquals(reader.getElementText(), "value");
+    }
+
+    private XMLStreamReader open(String xml) throws XMLStreamException {
+        return new WhitespaceTrimmingStreamReader(factory.createXMLStreamReader(new StringReader(xml)));
+    }
+
+    private List<String> readEvents(String xml) throws XMLStreamException {
+        XMLStreamReader reader = open(xml);
+        List<String> events = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                events.add("<" + reader.getLocalName() + ">");
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                events.add("</" + reader.getLocalName() + ">");
+            } else if (event == XMLStreamConstants.CHARACTERS) {
+                events.add("'" + reader.getText() + "'");
+            }
+        }
+        return events;
+    }
+
+}
@@ -0,0 +1,433 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Schedules the processing of IGC events across separate lanes, so that cheap events (eg. a single term being
+ * modified) do not have to wait behind expensive ones (eg. a large IMAM share, or a burst of IA classifications).
+ * <br><br>
+ * Each lane has its own queue (processed in arrival order) and its own limit on how many of its events can be
+ * processed concurrently. A shared pool of workers takes events from the lanes according to a fairness policy:
+ * <ul>
+ *     <li>STRICT_PRIORITY: always take from the highest-priority lane that has work (in the order the lanes are
+ *          declared), so a lower-priority lane only progresses when the lanes above it are idle or at their limit.</li>
+ *     <li>WEIGHTED_ROUND_ROBIN: take from the lanes in turn, up to each lane's weight before moving to the next, so
+ *          that every lane progresses but higher-weighted lanes get proportionally more of the workers.</li>
+ * </ul>
+ * Events can be submitted with the keys (eg. RIDs) of the assets they affect: an event is only processed once every
+ * event submitted before it with any of the same keys has been processed, whatever lane either is in. Events for the
+ * same asset are therefore never processed concurrently nor out of order, while events for unrelated assets are free
+ * to overtake each other.
+ * <br><br>
+ * Submitting an event to a lane whose queue is full blocks until there is space, so that a backlog applies
+ * back-pressure to the consumer rather than growing without bound.
+ */
+public class EventLaneScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLaneScheduler.class);
+
+    /**
+     * The lanes into which events are scheduled, in priority order (highest first).
+     */
+    public enum Lane {
+        ASSET,
+        IA_CLASSIFICATION,
+        BULK_SHARE
+    }
+
+    /**
+     * The policies by which workers choose the lane from which to take their next event.
+     */
+    public enum FairnessPolicy {
+        STRICT_PRIORITY,
+        WEIGHTED_ROUND_ROBIN
+    }
+
+    public static final int DEFAULT_WORKERS = 3;
+    public static final int DEFAULT_LANE_CONCURRENCY = 1;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private final FairnessPolicy fairnessPolicy;
+    private final int queueCapacity;
+    private final EnumMap<Lane, LaneState> lanes;
+    private final List<Thread> workers;
+
+    private final ReentrantLock lock;
+    private final Condition workAvailable;
+    private final Condition spaceAvailable;
+    private final Condition idle;
+    private final Map<String, Deque<QueuedEvent>> outstandingByKey;
+
+    private int outstanding;
+
+    private int cursor;
+    private boolean running;
+
+    /**
+     * Create a new scheduler with default settings: a worker per lane, each lane limited to processing one event at a
+     * time, and lanes weighted towards the cheap asset events.
+     */
+    public EventLaneScheduler() {
+        this(DEFAULT_WORKERS, null, null, FairnessPolicy.WEIGHTED_ROUND_ROBIN, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param workerCount the number of workers to share across all lanes
+     * @param laneConcurrency the maximum number of events of each lane that can be processed at the same time (any
+     *                        lane not included defaults to DEFAULT_LANE_CONCURRENCY)
+     * @param laneWeights the number of events to take from each lane in its turn, when using WEIGHTED_ROUND_ROBIN
+     *                    (any lane not included defaults to a weight based on its priority)
+     * @param fairnessPolicy the policy by which workers choose the lane from which to take their next event
+     * @param queueCapacity the maximum number of events that can wait in each lane
+     */
+    public EventLaneScheduler(int workerCount,
+                              Map<Lane, Integer> laneConcurrency,
+                              Map<Lane, Integer> laneWeights,
+                              FairnessPolicy fairnessPolicy,
+                              int queueCapacity) {
+        this.fairnessPolicy = fairnessPolicy == null ? FairnessPolicy.WEIGHTED_ROUND_ROBIN : fairnessPolicy;
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.lanes = new EnumMap<>(Lane.class);
+        int numLanes = Lane.values().length;
+        for (Lane lane : Lane.values()) {
+            int concurrency = laneConcurrency == null ? DEFAULT_LANE_CONCURRENCY : laneConcurrency.getOrDefault(lane, DEFAULT_LANE_CONCURRENCY);
+            // By default weight lanes by priority, eg. 3:2:1 for three lanes
+            int weight = laneWeights == null ? numLanes - lane.ordinal() : laneWeights.getOrDefault(lane, numLanes - lane.ordinal());
+            lanes.put(lane, new LaneState(Math.max(concurrency, 1), Math.max(weight, 1)));
+        }
+        this.lock = new ReentrantLock();
+        this.workAvailable = lock.newCondition();
+        this.spaceAvailable = lock.newCondition();
+        this.idle = lock.newCondition();
+        this.outstandingByKey = new HashMap<>();
+        this.outstanding = 0;
+        this.cursor = 0;
+        this.running = true;
+        this.workers = new ArrayList<>();
+        for (int i = 0; i < Math.max(workerCount, 1); i++) {
+            Thread worker = new Thread(this::work, "IGCEventLaneWorker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Submit an event to be processed in the provided lane, blocking while that lane's queue is full.
+     *
+     * @param lane the lane in which to process the event
+     * @param task the processing of the event
+     * @throws InterruptedException if interrupted while waiting for space in the lane
+     */
+    public void submit(Lane lane, Runnable task) throws InterruptedException {
+        submit(lane, Collections.emptySet(), task);
+    }
+
+    /**
+     * Submit an event to be processed in the provided lane, once every event submitted before it with any of the
+     * provided keys has been processed, blocking while that lane's queue is full.
+     *
+     * @param lane the lane in which to process the event
+     * @param keys the keys (eg. RIDs) of the assets the event affects
+     * @param task the processing of the event
+     * @throws InterruptedException if interrupted while waiting for space in the lane
+     */
+    public void submit(Lane lane, Collection<String> keys, Runnable task) throws InterruptedException {
+        QueuedEvent event = new QueuedEvent(keys == null ? Collections.emptySet() : new LinkedHashSet<>(keys), task);
+        lock.lock();
+        try {
+            LaneState state = lanes.get(lane);
+            while (running && state.queue.size() >= queueCapacity) {
+                spaceAvailable.await();
+            }
+            if (!running) {
+                throw new IllegalStateException("The event lane scheduler has been shutdown.");
+            }
+            state.queue.add(event);
+            for (String key : event.keys) {
+                outstandingByKey.computeIfAbsent(key, k -> new ArrayDeque<>()).add(event);
+            }
+            outstanding++;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieve the number of events waiting to be processed in the provided lane.
+     *
+     * @param lane the lane for which to retrieve the number of waiting events
+     * @return int
+     */
+    public int getQueuedCount(Lane lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indicates whether the provided number of events could be submitted to any one lane without blocking.
+     *
+     * @param events the number of events
+     * @return boolean
+     */
+    public boolean hasCapacityFor(int events) {
+        lock.lock();
+        try {
+            for (LaneState state : lanes.values()) {
+                if (state.queue.size() + events > queueCapacity) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until every event submitted so far has been processed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitIdle() throws InterruptedException {
+        lock.lock();
+        try {
+            while (outstanding > 0) {
+                idle.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop taking new events, and wait (up to the provided time) for those already submitted to be processed.
+     *
+     * @param timeout the maximum time to wait, in milliseconds
+     * @return boolean true if all submitted events were processed within the time, otherwise false
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(long timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            workAvailable.signalAll();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Thread worker : workers) {
+            worker.join(Math.max(deadline - System.currentTimeMillis(), 1));
+        }
+        boolean drained = true;
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                drained = false;
+                worker.interrupt();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Loop run by each worker: repeatedly take the next event according to the fairness policy, and process it.
+     */
+    private void work() {
+        while (true) {
+            Lane lane;
+            QueuedEvent event;
+            lock.lock();
+            try {
+                while ((lane = nextLane()) == null) {
+                    if (!running && isEmpty()) {
+                        return;
+                    }
+                    workAvailable.await(100, TimeUnit.MILLISECONDS);
+                }
+                LaneState state = lanes.get(lane);
+                event = state.takeEligible();
+                state.inFlight++;
+                spaceAvailable.signalAll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                event.task.run();
+            } catch (Exception e) {
+                // Do not let a failure processing one event stop the worker from processing any more
+                if (log.isErrorEnabled()) { log.error("Unable to process event in lane: {}", lane, e); }
+            } finally {
+                lock.lock();
+                try {
+                    lanes.get(lane).inFlight--;
+                    for (String key : event.keys) {
+                        Deque<QueuedEvent> pending = outstandingByKey.get(key);
+                        pending.remove(event);
+                        if (pending.isEmpty()) {
+                            outstandingByKey.remove(key);
+                        }
+                    }
+                    outstanding--;
+                    if (outstanding == 0) {
+                        idle.signalAll();
+                    }
+                    // This lane may have been waiting on its concurrency limit, or other events on this event's keys
+                    workAvailable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Choose the lane from which to take the next event (must be called while holding the lock).
+     *
+     * @return Lane the lane from which to take the next event, or null if no lane has an event that can be processed
+     */
+    private Lane nextLane() {
+        Lane[] all = Lane.values();
+        if (fairnessPolicy == FairnessPolicy.STRICT_PRIORITY) {
+            for (Lane lane : all) {
+                if (lanes.get(lane).isReady()) {
+                    return lane;
+                }
+            }
+            return null;
+        }
+        // Weighted round-robin: stay on the current lane until it has used its weight, then move on to the next; once
+        // no ready lane has any weight left, start a new round
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < all.length; i++) {
+                Lane lane = all[(cursor + i) % all.length];
+                LaneState state = lanes.get(lane);
+                if (state.isReady() && state.credits > 0) {
+                    state.credits--;
+                    cursor = state.credits > 0 ? lane.ordinal() : (lane.ordinal() + 1) % all.length;
+                    return lane;
+                }
+            }
+            for (LaneState state : lanes.values()) {
+                state.credits = state.weight;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indicates whether the provided event can be processed now: ie. no event submitted before it with any of the
+     * same keys is still waiting or being processed (must be called while holding the lock).
+     *
+     * @param event the event to check
+     * @return boolean
+     */
+    private boolean isEligible(QueuedEvent event) {
+        for (String key : event.keys) {
+            if (outstandingByKey.get(key).peekFirst() != event) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether every lane's queue is empty (must be called while holding the lock).
+     *
+     * @return boolean
+     */
+    private boolean isEmpty() {
+        for (LaneState state : lanes.values()) {
+            if (!state.queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An event waiting to be processed, with the keys of the assets it affects.
+     */
+    private static class QueuedEvent {
+
+        private final Set<String> keys;
+        private final Runnable task;
+
+        QueuedEvent(Set<String> keys, Runnable task) {
+            this.keys = keys;
+            this.task = task;
+        }
+
+    }
+
+    /**
+     * The queue and accounting for a single lane.
+     */
+    private class LaneState {
+
+        private final Deque<QueuedEvent> queue;
+        private final int concurrency;
+        private final int weight;
+        private int inFlight;
+        private int credits;
+
+        LaneState(int concurrency, int weight) {
+            this.queue = new ArrayDeque<>();
+            this.concurrency = concurrency;
+            this.weight = weight;
+            this.inFlight = 0;
+            this.credits = weight;
+        }
+
+        boolean isReady() {
+            return inFlight < concurrency && firstEligible() != null;
+        }
+
+        /**
+         * Retrieve the earliest event in this lane that can be processed now (without removing it).
+         *
+         * @return QueuedEvent, or null if none of the lane's events can be processed now
+         */
+        QueuedEvent firstEligible() {
+            for (QueuedEvent event : queue) {
+                if (isEligible(event)) {
+                    return event;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Remove and return the earliest event in this lane that can be processed now.
+         *
+         * @return QueuedEvent, or null if none of the lane's events can be processed now
+         */
+        QueuedEvent takeEligible() {
+            QueuedEvent event = firstEligible();
+            if (event != null) {
+                queue.remove(event);
+            }
+            return event;
+        }
+
+    }
+
+}
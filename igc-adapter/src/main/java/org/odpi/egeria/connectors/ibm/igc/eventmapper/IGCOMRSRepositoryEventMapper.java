@@ -2,8 +2,10 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.ibm.igc.eventmapper;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.odpi.egeria.connectors.ibm.igc.auditlog.IGCOMRSAuditCode;
 import org.odpi.egeria.connectors.ibm.igc.auditlog.IGCOMRSErrorCode;
@@ -16,12 +18,18 @@ import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.events.*;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics.EventMapperMetrics;
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics.EventMetricsReporter;
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics.JmxEventMetricsReporter;
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics.LogEventMetricsReporter;
 import org.odpi.egeria.connectors.ibm.igc.eventmapper.model.ChangeSet;
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.model.CascadingPurge;
 import org.odpi.egeria.connectors.ibm.igc.eventmapper.model.PurgeMarker;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSMetadataCollection;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSRepositoryConnector;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCRepositoryHelper;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.entities.EntityMapping;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.CompactStubPayload;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.IGCEntityGuid;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.IGCRelationshipGuid;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
@@ -54,6 +62,22 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     private static final Logger log = LoggerFactory.getLogger(IGCOMRSRepositoryEventMapper.class);
     private static final Duration pollDuration = Duration.ofMillis(100);
+    private static final int PURGE_BATCH_SIZE = 100;
+    private static final long DEFAULT_METRICS_INTERVAL = 60000;
+    private static final long LANE_SHUTDOWN_TIMEOUT = 30000;
+    private static final int DEFAULT_EVENT_WORKERS = 0;
+    private static final int MAX_POLL_RECORDS = 500;
+    private static final int STUB_LOCK_STRIPES = 64;
+    private static final List<String> RID_FIELDS = Arrays.asList(
+            "ASSET_RID",
+            "createdRID",
+            "mergedRID",
+            "createdRIDs",
+            "mergedRIDs",
+            "deletedRIDs",
+            "dataCollectionRid",
+            "dataFieldRid"
+    );
 
     private String sourceName;
     private IGCOMRSRepositoryConnector igcomrsRepositoryConnector;
@@ -70,6 +94,11 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     private IGCKafkaConsumerThread igcKafkaConsumer;
     private ObjectMapper mapper;
+    private OMRSEventBuffer eventBuffer;
+    private EventMapperMetrics metrics;
+    private long metricsInterval;
+    private EventLaneScheduler laneScheduler;
+    private final Object[] stubLocks = createStubLocks();
 
     /**
      * Default constructor
@@ -127,10 +156,71 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         igcKafkaProperties.put(ConsumerConfig.GROUP_ID_CONFIG, "IGCOMRSRepositoryEventMapper_consumer");
         igcKafkaProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
         igcKafkaProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        // Offsets are only committed once the events they cover have been processed (see IGCKafkaConsumerThread)
+        igcKafkaProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        // ... and bound each poll, so that the consumer can tell whether the lanes have room for what it returns
+        igcKafkaProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, MAX_POLL_RECORDS);
 
         // Setup ObjectMapper for (de-)serialisation of events
         this.mapper = new ObjectMapper();
 
+        // Setup the buffer through which OMRS events are published in batches
+        int eventBufferSize = OMRSEventBuffer.DEFAULT_MAX_EVENTS;
+        long eventBufferWindow = OMRSEventBuffer.DEFAULT_MAX_AGE;
+        // ... and the metrics captured about processing (reported only if a reporter is configured)
+        this.metrics = new EventMapperMetrics();
+        this.metricsInterval = DEFAULT_METRICS_INTERVAL;
+        // ... and the lanes across which events are scheduled for processing (by default none: events are processed
+        // directly by the consumer, in arrival order)
+        int eventWorkers = DEFAULT_EVENT_WORKERS;
+        Map<EventLaneScheduler.Lane, Integer> laneConcurrency = null;
+        Map<EventLaneScheduler.Lane, Integer> laneWeights = null;
+        EventLaneScheduler.FairnessPolicy laneFairness = EventLaneScheduler.FairnessPolicy.WEIGHTED_ROUND_ROBIN;
+        Map<String, Object> proxyProperties = this.connectionBean.getConfigurationProperties();
+        if (proxyProperties != null) {
+            Object size = proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.EVENT_BUFFER_SIZE);
+            if (size instanceof Number) {
+                eventBufferSize = ((Number) size).intValue();
+            }
+            Object window = proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.EVENT_BUFFER_WINDOW);
+            if (window instanceof Number) {
+                eventBufferWindow = ((Number) window).longValue();
+            }
+            Object reporter = proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.METRICS_REPORTER);
+            if (reporter != null) {
+                addMetricsReporter(reporter.toString());
+            }
+            Object interval = proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.METRICS_INTERVAL);
+            if (interval instanceof Number) {
+                metricsInterval = ((Number) interval).longValue();
+            }
+            Object workers = proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.EVENT_WORKERS);
+            if (workers instanceof Number) {
+                eventWorkers = ((Number) workers).intValue();
+            }
+            laneConcurrency = getLaneSettings(proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.LANE_CONCURRENCY));
+            laneWeights = getLaneSettings(proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.LANE_WEIGHTS));
+            Object fairness = proxyProperties.get(IGCOMRSRepositoryEventMapperProvider.LANE_FAIRNESS);
+            if (fairness != null) {
+                try {
+                    laneFairness = EventLaneScheduler.FairnessPolicy.valueOf(fairness.toString().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    if (log.isWarnEnabled()) { log.warn("Unknown lane fairness policy '{}' -- using: {}", fairness, laneFairness); }
+                }
+            }
+        }
+        this.eventBuffer = new OMRSEventBuffer(eventBufferSize, eventBufferWindow);
+        // Any number of workers less than 1 means events are processed directly by the consumer, in arrival order
+        if (eventWorkers > 0) {
+            this.laneScheduler = new EventLaneScheduler(
+                    eventWorkers,
+                    laneConcurrency,
+                    laneWeights,
+                    laneFairness,
+                    EventLaneScheduler.DEFAULT_QUEUE_CAPACITY
+            );
+        }
+
         this.igcKafkaConsumer = new IGCKafkaConsumerThread();
         try {
             this.igcomrsMetadataCollection = (IGCOMRSMetadataCollection) igcomrsRepositoryConnector.getMetadataCollection();
@@ -154,13 +244,77 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     }
 
+    /**
+     * Retrieve the per-lane settings from the provided configuration value: a map from lane name (eg. ASSET) to number.
+     *
+     * @param settings the configuration value from which to retrieve the settings
+     * @return {@code Map<EventLaneScheduler.Lane, Integer>} or null if no valid settings were provided
+     */
+    private Map<EventLaneScheduler.Lane, Integer> getLaneSettings(Object settings) {
+        Map<EventLaneScheduler.Lane, Integer> laneSettings = null;
+        if (settings instanceof Map) {
+            laneSettings = new EnumMap<>(EventLaneScheduler.Lane.class);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) settings).entrySet()) {
+                try {
+                    EventLaneScheduler.Lane lane = EventLaneScheduler.Lane.valueOf(entry.getKey().toString().toUpperCase());
+                    if (entry.getValue() instanceof Number) {
+                        laneSettings.put(lane, ((Number) entry.getValue()).intValue());
+                    }
+                } catch (IllegalArgumentException e) {
+                    if (log.isWarnEnabled()) { log.warn("Unknown event lane '{}' -- ignoring its setting.", entry.getKey()); }
+                }
+            }
+        }
+        return laneSettings;
+    }
+
+    /**
+     * Create the locks that serialize upserts of the same stub, striped by the RID of the stub's asset.
+     *
+     * @return Object[]
+     */
+    private static Object[] createStubLocks() {
+        Object[] locks = new Object[STUB_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    /**
+     * Register the metrics reporter with the provided name: either 'log', 'jmx', or the fully-qualified name of a
+     * class implementing EventMetricsReporter.
+     *
+     * @param reporterName the name of the reporter to register
+     */
+    private void addMetricsReporter(String reporterName) {
+        if (reporterName.equalsIgnoreCase("log")) {
+            metrics.addReporter(new LogEventMetricsReporter());
+        } else if (reporterName.equalsIgnoreCase("jmx")) {
+            metrics.addReporter(new JmxEventMetricsReporter());
+        } else if (!reporterName.equals("") && !reporterName.equalsIgnoreCase("none")) {
+            try {
+                Class<?> reporterClass = Class.forName(reporterName);
+                metrics.addReporter((EventMetricsReporter) reporterClass.newInstance());
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to setup metrics reporter '{}' -- metrics will not be reported.", reporterName, e); }
+            }
+        }
+    }
+
 
     /**
      * Class to support multi-threaded consumption of IGC Kafka events.
+     * <br><br>
+     * The consumer keeps polling while events are processed (directly, or across lanes), and only commits the offsets
+     * of events that are fully processed and whose OMRS events have been published: for each partition, up to (but
+     * excluding) the earliest event still being processed. If the lanes cannot take another poll's worth of events,
+     * the consumer pauses its partitions (while still polling, so it remains part of its group) until they can.
      */
     private class IGCKafkaConsumerThread implements Runnable {
 
         private final AtomicBoolean running = new AtomicBoolean(false);
+        private final PartitionOffsetTracker offsets = new PartitionOffsetTracker();
 
         void start() {
             Thread worker = new Thread(this);
@@ -179,7 +333,18 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
             running.set(true);
             try (final Consumer<Long, String> consumer = new KafkaConsumer<>(igcKafkaProperties)) {
-                consumer.subscribe(Collections.singletonList(igcKafkaTopic));
+                consumer.subscribe(Collections.singletonList(igcKafkaTopic), new ConsumerRebalanceListener() {
+                    @Override
+                    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                        // Commit whatever is done for the partitions we are losing before another consumer takes them
+                        // on (anything still being processed will be re-read by that consumer)
+                        commit(consumer, offsets.release(partitions));
+                    }
+                    @Override
+                    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                        // Nothing to do: events are tracked as they are received
+                    }
+                });
                 IGCOMRSAuditCode auditCode = IGCOMRSAuditCode.EVENT_MAPPER_RUNNING;
                 auditLog.logRecord("run",
                         auditCode.getLogMessageId(),
@@ -189,15 +354,29 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                         auditCode.getSystemAction(),
                         auditCode.getUserAction());
                 // TODO: Likely need to tweak these settings to give further processing time for large events
-                //  like IMAM shares -- or even switch to manual offset management rather than auto-commits
+                //  like IMAM shares
                 //  (see: https://kafka.apache.org/0110/javadoc/org/apache/kafka/clients/consumer/KafkaConsumer.html)
                 while (running.get()) {
                     try {
                         ConsumerRecords<Long, String> events = consumer.poll(pollDuration);
                         for (ConsumerRecord<Long, String> event : events) {
-                            processEvent(event.value());
+                            TopicPartition partition = new TopicPartition(event.topic(), event.partition());
+                            long offset = event.offset();
+                            offsets.started(partition, offset);
+                            dispatchEvent(event.value(), () -> offsets.finished(partition, offset));
+                        }
+                        // Publish anything produced by the events processed so far (updating their stubs), and only
+                        // then mark them as consumed: if we stop before then, the events are re-read on restart and,
+                        // as their stubs were not yet updated, the OMRS events are produced again
+                        commit(consumer, offsets.takeCommittable());
+                        applyBackPressure(consumer);
+                        if (metrics.isReportDue(metricsInterval)) {
+                            recordConsumerLag(consumer);
+                            metrics.report();
                         }
                     } catch (Exception e) {
+                        // Publish whatever was produced before the failure, rather than holding onto it
+                        eventBuffer.flush();
                         auditCode = IGCOMRSAuditCode.EVENT_MAPPER_CONSUMER_FAILURE;
                         auditLog.logException("consumer failure",
                                 auditCode.getLogMessageId(),
@@ -212,8 +391,146 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             }
         }
 
+        /**
+         * Publish everything produced so far, and then commit the provided offsets. The offsets must be retrieved
+         * before publishing, so that everything produced by the events they cover is published before they are
+         * committed.
+         *
+         * @param consumer the consumer through which to commit
+         * @param done the offsets to commit, by partition
+         */
+        private void commit(Consumer<Long, String> consumer, Map<TopicPartition, OffsetAndMetadata> done) {
+            eventBuffer.flush();
+            if (!done.isEmpty()) {
+                consumer.commitSync(done);
+            }
+        }
+
+        /**
+         * Pause the consumer's partitions if the lanes could not take another poll's worth of events without blocking,
+         * and resume them once they can.
+         *
+         * @param consumer the consumer to pause or resume
+         */
+        private void applyBackPressure(Consumer<Long, String> consumer) {
+            if (laneScheduler != null) {
+                if (!laneScheduler.hasCapacityFor(MAX_POLL_RECORDS)) {
+                    consumer.pause(consumer.assignment());
+                } else if (!consumer.paused().isEmpty()) {
+                    consumer.resume(consumer.paused());
+                }
+            }
+        }
+
+        /**
+         * Record how far behind the end of each of its assigned partitions the consumer currently is.
+         *
+         * @param consumer the consumer for which to record lag
+         */
+        private void recordConsumerLag(Consumer<Long, String> consumer) {
+            Set<TopicPartition> partitions = consumer.assignment();
+            if (!partitions.isEmpty()) {
+                Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+                for (TopicPartition partition : partitions) {
+                    Long endOffset = endOffsets.get(partition);
+                    if (endOffset != null) {
+                        metrics.recordConsumerLag(partition.toString(), Math.max(endOffset - consumer.position(partition), 0));
+                    }
+                }
+            }
+        }
+
+    }
+
+
+    /**
+     * Hand an event received on the topic to the lane in which it should be processed, or process it directly if
+     * events are not being scheduled across lanes.
+     *
+     * @param event inbound event
+     * @param finished run once the event has been processed (whether successfully or not)
+     * @throws InterruptedException if interrupted while waiting for space in the event's lane
+     */
+    private void dispatchEvent(String event, Runnable finished) throws InterruptedException {
+        if (laneScheduler == null) {
+            try {
+                processEvent(event);
+            } finally {
+                finished.run();
+            }
+        } else {
+            EventLaneScheduler.Lane lane = EventLaneScheduler.Lane.ASSET;
+            Set<String> rids = Collections.emptySet();
+            try {
+                JsonNode eventNode = mapper.readTree(event);
+                lane = getLaneForEventType(eventNode.path("eventType").asText());
+                rids = getRidsForEvent(eventNode);
+            } catch (IOException e) {
+                // Leave it to the processing itself to report on the un-parseable event
+                if (log.isDebugEnabled()) { log.debug("Unable to determine type of event, defaulting lane: {}", event, e); }
+            }
+            // Keying each event by the RIDs it affects ensures events for the same asset are processed one at a time
+            // and in arrival order (eg. a delete cannot overtake the update before it), even across lanes
+            laneScheduler.submit(lane, rids, () -> {
+                try {
+                    processEvent(event);
+                } finally {
+                    finished.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieve the RIDs of the assets affected by the provided event.
+     *
+     * @param eventNode the parsed event
+     * @return {@code Set<String>}
+     */
+    private Set<String> getRidsForEvent(JsonNode eventNode) {
+        Set<String> rids = new HashSet<>();
+        for (String field : RID_FIELDS) {
+            JsonNode value = eventNode.path(field);
+            if (value.isArray()) {
+                for (JsonNode rid : value) {
+                    addRid(rids, rid.asText());
+                }
+            } else if (!value.isMissingNode() && !value.isNull()) {
+                addRid(rids, value.asText());
+            }
+        }
+        return rids;
+    }
+
+    /**
+     * Add the provided RID to the set of RIDs, if it is not empty.
+     *
+     * @param rids the set of RIDs to which to add
+     * @param rid the RID to add
+     */
+    private void addRid(Set<String> rids, String rid) {
+        if (rid != null && !rid.equals("")) {
+            rids.add(rid);
+        }
     }
 
+    /**
+     * Determine the lane in which to process events of the provided type.
+     *
+     * @param eventType the type of the event
+     * @return EventLaneScheduler.Lane
+     */
+    private EventLaneScheduler.Lane getLaneForEventType(String eventType) {
+        EventLaneScheduler.Lane lane;
+        if (eventType.equals("IMAM_SHARE_EVENT")) {
+            lane = EventLaneScheduler.Lane.BULK_SHARE;
+        } else if (eventType.startsWith("IA_")) {
+            lane = EventLaneScheduler.Lane.IA_CLASSIFICATION;
+        } else {
+            lane = EventLaneScheduler.Lane.ASSET;
+        }
+        return lane;
+    }
 
     /**
      * Method to pass an event received on topic.
@@ -228,6 +545,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         } else {
             processEventV115(event);
         }
+        eventBuffer.flushIfExpired();
     }
 
     /**
@@ -240,6 +558,8 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
         try {
             InfosphereEvents eventObj = this.mapper.readValue(event, InfosphereEvents.class);
+            long start = System.nanoTime();
+            long restCallsBefore = igcRestClient.getRequestCountForCurrentThread();
             switch(eventObj.getEventType()) {
                 case "IMAM_SHARE_EVENT":
                     processIMAMShareEventV115((InfosphereEventsIMAMEvent)eventObj);
@@ -289,6 +609,11 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                     processAssetEventV115((InfosphereEventsAssetEvent)eventObj);
                     break;
             }
+            metrics.recordEvent(
+                    eventObj.getEventType(),
+                    System.nanoTime() - start,
+                    igcRestClient.getRequestCountForCurrentThread() - restCallsBefore
+            );
         } catch (IOException e) {
             if (log.isErrorEnabled()) { log.error("Unable to translate event {} into object.", event, e); }
         }
@@ -316,9 +641,9 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             processAsset(entry.getKey(), entry.getValue());
         }
 
-        // Then iterate through any deleted entities
-        for (Map.Entry<String, String> entry : deletedRIDs.entrySet()) {
-            sendPurgedEntity(entry.getValue(), entry.getKey());
+        // Then purge any deleted entities (together, so that their stubs can be retrieved in bulk)
+        if (!deletedRIDs.isEmpty()) {
+            sendPurgedEntities(deletedRIDs);
         }
 
     }
@@ -504,8 +829,11 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         Reference asset = null;
         if (stub != null) {
             if (log.isDebugEnabled()) { log.debug("Retrieving IGC Reference for stub payload: {}", stub.getPayload()); }
-            asset = igcomrsRepositoryConnector.getIGCRestClient().readJSONIntoPOJO(stub.getPayload());
-            asset.setFullyRetrieved();
+            String json = CompactStubPayload.getJsonFromStubPayload(stub.getPayload());
+            if (json != null) {
+                asset = igcomrsRepositoryConnector.getIGCRestClient().readJSONIntoPOJO(json);
+                asset.setFullyRetrieved();
+            }
         }
         return asset;
     }
@@ -569,7 +897,9 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
         if (log.isDebugEnabled()) { log.debug("processAsset called with rid {} and type {}", rid, assetType); }
 
+        long start = System.nanoTime();
         Reference latestVersion = igcRepositoryHelper.getFullAssetDetails(rid, assetType);
+        metrics.recordPhase(EventMapperMetrics.Phase.FULL_ASSET_FETCH, System.nanoTime() - start);
 
         if (latestVersion == null) {
             // If we can't retrieve the asset by RID, it no longer exists -- so send a delete event
@@ -583,10 +913,14 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         } else {
 
             // Otherwise see if there's a stub...
+            start = System.nanoTime();
             OMRSStub stub = igcRepositoryHelper.getOMRSStubForAsset(latestVersion);
+            metrics.recordPhase(EventMapperMetrics.Phase.STUB_READ, System.nanoTime() - start);
 
             // Calculate the delta between the latest version and the previous saved stub
+            start = System.nanoTime();
             ChangeSet changeSet = new ChangeSet(igcRestClient, latestVersion, stub);
+            metrics.recordPhase(EventMapperMetrics.Phase.CHANGE_SET_DIFF, System.nanoTime() - start);
             Set<String> changedProperties = changeSet.getChangedProperties();
 
             // Output any entities first
@@ -603,7 +937,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                         log.debug(" ...... details for property '{}'", propertyName);
                         log.debug(" .......... {}", changeSet.getChangesForProperty(propertyName));
                     }
-                    log.debug(" ... before: {}", stub.getPayload());
+                    log.debug(" ... before: {}", CompactStubPayload.getJsonFromStubPayload(stub.getPayload()));
                     log.debug(" ... now:    {}", igcRestClient.getValueAsJSON(latestVersion));
                 }
                 sendUpdatedEntity(latestVersion, stub);
@@ -612,6 +946,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             }
 
             // Retrieve the mapping from IGC property name to OMRS relationship type
+            start = System.nanoTime();
             Map<String, List<RelationshipMapping>> relationshipMap = igcRepositoryHelper.getIgcPropertiesToRelationshipMappings(
                     latestVersion.getType(),
                     localServerUserId
@@ -648,6 +983,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                     }
                 }
             }
+            metrics.recordPhase(EventMapperMetrics.Phase.RELATIONSHIP_PROCESSING, System.nanoTime() - start);
 
         }
 
@@ -1055,18 +1391,20 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      */
     private void sendNewRelationship(Relationship relationship, String relationshipLevelRid) {
         if (relationship != null) {
-            repositoryEventProcessor.processNewRelationshipEvent(
-                    sourceName,
-                    metadataCollectionId,
-                    originatorServerName,
-                    originatorServerType,
-                    null,
-                    relationship
+            eventBuffer.add(relationship.getGUID(), "NewRelationship:" + relationship.getVersion(), () ->
+                    repositoryEventProcessor.processNewRelationshipEvent(
+                            sourceName,
+                            metadataCollectionId,
+                            originatorServerName,
+                            originatorServerType,
+                            null,
+                            relationship
+                    )
             );
             if (relationshipLevelRid != null) {
                 Reference relationshipLevelAsset = igcRestClient.getAssetById(relationshipLevelRid);
                 if (relationshipLevelAsset != null) {
-                    igcRepositoryHelper.upsertOMRSStubForAsset(relationshipLevelAsset);
+                    upsertStub(relationshipLevelAsset, Collections.singletonList(relationship.getGUID()));
                 }
             }
         }
@@ -1087,14 +1425,16 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             if (igcStubObject != null) {
                 old.setVersion(igcStubObject.getModifiedOn().getTime());
             }
-            repositoryEventProcessor.processUpdatedRelationshipEvent(
-                    sourceName,
-                    metadataCollectionId,
-                    originatorServerName,
-                    originatorServerType,
-                    null,
-                    old,
-                    relationship
+            eventBuffer.add(relationship.getGUID(), "UpdatedRelationship:" + relationship.getVersion(), () ->
+                    repositoryEventProcessor.processUpdatedRelationshipEvent(
+                            sourceName,
+                            metadataCollectionId,
+                            originatorServerName,
+                            originatorServerType,
+                            null,
+                            old,
+                            relationship
+                    )
             );
             // Note that we will never upsert an OMRS stub here as this is only used for self-referencing relationships
         }
@@ -1232,13 +1572,15 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                         relationshipLevelRid,
                         true
                 );
-                repositoryEventProcessor.processDeletePurgedRelationshipEvent(
-                        sourceName,
-                        metadataCollectionId,
-                        originatorServerName,
-                        originatorServerType,
-                        null,
-                        relationship
+                eventBuffer.add(relationship.getGUID(), "PurgedRelationship:" + relationship.getVersion(), () ->
+                        repositoryEventProcessor.processDeletePurgedRelationshipEvent(
+                                sourceName,
+                                metadataCollectionId,
+                                originatorServerName,
+                                originatorServerType,
+                                null,
+                                relationship
+                        )
                 );
             } catch (RepositoryErrorException e) {
                 if (log.isErrorEnabled()) { log.error("Unable to retrieve relationship details for: {}", relationshipGUID, e); }
@@ -1256,7 +1598,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      */
     private void sendNewEntity(Reference asset) {
 
-        boolean atLeastOneEvent = false;
+        List<String> sentGuids = new ArrayList<>();
 
         // Output an entity for all entities that map to this asset type -- generated and non-generated
         List<EntityMapping> referenceableMappers = igcRepositoryHelper.getMappers(asset.getType(), localServerUserId);
@@ -1265,14 +1607,16 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             IGCEntityGuid igcEntityGuid = igcRepositoryHelper.getEntityGuid(asset.getType(), ridPrefix, asset.getId());
             EntityDetail detail = getEntityDetailForAssetWithGUID(asset, igcEntityGuid);
             if (detail != null) {
-                atLeastOneEvent = true;
-                repositoryEventProcessor.processNewEntityEvent(
-                        sourceName,
-                        metadataCollectionId,
-                        originatorServerName,
-                        originatorServerType,
-                        null,
-                        detail
+                sentGuids.add(detail.getGUID());
+                eventBuffer.add(detail.getGUID(), "NewEntity:" + detail.getVersion(), () ->
+                        repositoryEventProcessor.processNewEntityEvent(
+                                sourceName,
+                                metadataCollectionId,
+                                originatorServerName,
+                                originatorServerType,
+                                null,
+                                detail
+                        )
                 );
                 // TODO: for now this sends the same set of classifications every time, known design issue with how
                 //  classifications are currently handled (to be changed once classifications are reworked)
@@ -1287,10 +1631,10 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             }
         }
 
-        // Finally, update the stub with the latest version of the asset
+        // Finally, update the stub with the latest version of the asset once the events have been published
         // (if any of the above fail, this will also be missed, so we will simply have more updates on the next event)
-        if (atLeastOneEvent) {
-            igcRepositoryHelper.upsertOMRSStubForAsset(asset);
+        if (!sentGuids.isEmpty()) {
+            upsertStub(asset, sentGuids);
         }
 
     }
@@ -1303,7 +1647,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      */
     private void sendUpdatedEntity(Reference latestVersion, OMRSStub stub) {
 
-        boolean atLeastOneEvent = false;
+        List<String> sentGuids = new ArrayList<>();
 
         // See if there are any generated entities to send an event for (ie. *Type)
         List<EntityMapping> referenceableMappers = igcRepositoryHelper.getMappers(latestVersion.getType(), localServerUserId);
@@ -1313,16 +1657,18 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             IGCEntityGuid igcEntityGuid = igcRepositoryHelper.getEntityGuid(latestVersion.getType(), ridPrefix, latestVersion.getId());
             EntityDetail detail = getEntityDetailForAssetWithGUID(latestVersion, igcEntityGuid);
             if (detail != null) {
-                atLeastOneEvent = true;
+                sentGuids.add(detail.getGUID());
                 EntityDetail last = getEntityDetailForStubWithGUID(stub, igcEntityGuid);
-                repositoryEventProcessor.processUpdatedEntityEvent(
-                        sourceName,
-                        metadataCollectionId,
-                        originatorServerName,
-                        originatorServerType,
-                        null,
-                        last,
-                        detail
+                eventBuffer.add(detail.getGUID(), "UpdatedEntity:" + detail.getVersion(), () ->
+                        repositoryEventProcessor.processUpdatedEntityEvent(
+                                sourceName,
+                                metadataCollectionId,
+                                originatorServerName,
+                                originatorServerType,
+                                null,
+                                last,
+                                detail
+                        )
                 );
                 processClassifications(detail, detail.getClassifications(), last == null ? new ArrayList<>() : last.getClassifications());
             } else {
@@ -1330,10 +1676,10 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             }
         }
 
-        // Finally, update the stub with the latest version of the asset
+        // Finally, update the stub with the latest version of the asset once the events have been published
         // (if any of the above fail, this will also be missed, so we will simply have more updates on the next event)
-        if (atLeastOneEvent) {
-            igcRepositoryHelper.upsertOMRSStubForAsset(latestVersion);
+        if (!sentGuids.isEmpty()) {
+            upsertStub(latestVersion, sentGuids);
         }
 
     }
@@ -1406,13 +1752,15 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      * @param detail the entity for which to send a new classification event
      */
     private void sendNewClassification(EntityDetail detail) {
-        repositoryEventProcessor.processClassifiedEntityEvent(
-                sourceName,
-                metadataCollectionId,
-                originatorServerName,
-                originatorServerType,
-                null,
-                detail
+        eventBuffer.add(detail.getGUID(), "ClassifiedEntity:" + detail.getVersion(), () ->
+                repositoryEventProcessor.processClassifiedEntityEvent(
+                        sourceName,
+                        metadataCollectionId,
+                        originatorServerName,
+                        originatorServerType,
+                        null,
+                        detail
+                )
         );
     }
 
@@ -1422,13 +1770,15 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      * @param detail the entity for which to send a changed classification event
      */
     private void sendChangedClassification(EntityDetail detail) {
-        repositoryEventProcessor.processReclassifiedEntityEvent(
-                sourceName,
-                metadataCollectionId,
-                originatorServerName,
-                originatorServerType,
-                null,
-                detail
+        eventBuffer.add(detail.getGUID(), "ReclassifiedEntity:" + detail.getVersion(), () ->
+                repositoryEventProcessor.processReclassifiedEntityEvent(
+                        sourceName,
+                        metadataCollectionId,
+                        originatorServerName,
+                        originatorServerType,
+                        null,
+                        detail
+                )
         );
     }
 
@@ -1438,198 +1788,279 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      * @param detail the entity for which to send a removed classification event
      */
     private void sendRemovedClassification(EntityDetail detail) {
-        repositoryEventProcessor.processDeclassifiedEntityEvent(
-                sourceName,
-                metadataCollectionId,
-                originatorServerName,
-                originatorServerType,
-                null,
-                detail
+        eventBuffer.add(detail.getGUID(), "DeclassifiedEntity:" + detail.getVersion(), () ->
+                repositoryEventProcessor.processDeclassifiedEntityEvent(
+                        sourceName,
+                        metadataCollectionId,
+                        originatorServerName,
+                        originatorServerType,
+                        null,
+                        detail
+                )
         );
     }
 
+    /**
+     * Update (or create) the OMRS stub for the provided asset once the events sent for it have been published,
+     * capturing the time taken to do so. The stub records the last version of the asset for which events were sent,
+     * so it is only updated once they have actually been published: if the events are lost before then (eg. the
+     * mapper is stopped before the buffer is flushed), they are detected and sent again when the IGC event is replayed.
+     *
+     * @param asset the asset for which to upsert the OMRS stub
+     * @param instanceGuids the GUIDs of the instances for which events were sent for the asset
+     */
+    private void upsertStub(Reference asset, List<String> instanceGuids) {
+        eventBuffer.afterPublish(instanceGuids, () -> {
+            long start = System.nanoTime();
+            // Events for different assets can still touch the same related asset's stub, so never upsert the same
+            // stub from more than one lane worker at a time (which could create duplicate stubs)
+            synchronized (stubLocks[Math.floorMod(asset.getId().hashCode(), STUB_LOCK_STRIPES)]) {
+                igcRepositoryHelper.upsertOMRSStubForAsset(asset);
+            }
+            metrics.recordPhase(EventMapperMetrics.Phase.STUB_UPSERT, System.nanoTime() - start);
+        });
+    }
+
     private void sendPurgedEntity(String igcAssetType, String rid) {
-        sendPurgedEntity(igcAssetType, rid, new HashSet<>());
+        Map<String, String> ridsToTypes = new HashMap<>();
+        ridsToTypes.put(rid, igcAssetType);
+        sendPurgedEntities(ridsToTypes);
     }
 
     /**
-     * Send an event out on OMRS topic for a purged entity.
+     * Send events out on OMRS topic for purged entities, cascading the purge to any entities they contain.
+     * <br><br>
+     * The containment hierarchy is walked iteratively, one level at a time: the stubs for all entities at a level are
+     * retrieved together, all relationships of those entities are purged, and any contained entities not already
+     * visited form the next level. Only once every relationship has been purged are the entities themselves purged
+     * (deepest level first, so that children are always purged before their parents), published in bounded batches.
      *
-     * @param igcAssetType the IGC asset type (ie. translated from the ASSET_TYPE from the event)
-     * @param rid the IGC Repository ID (RID) of the asset
+     * @param ridsToTypes the IGC Repository IDs (RIDs) of the purged assets, keyed to their IGC asset type (ie.
+     *                    translated from the ASSET_TYPE from the event)
      */
-    private void sendPurgedEntity(String igcAssetType, String rid, Set<String> alreadyPurgedRids) {
+    private void sendPurgedEntities(Map<String, String> ridsToTypes) {
+        new CascadingPurge<>(new PurgeHandler(), PURGE_BATCH_SIZE).purge(ridsToTypes);
+    }
 
-        if (alreadyPurgedRids.contains(rid)) {
-            if (log.isDebugEnabled()) { log.debug("Received RID has already been purged -- skipping: {}", rid); }
-        } else {
-            if (log.isDebugEnabled()) { log.debug("Purging entity of type '{}' with RID: {}", igcAssetType, rid); }
-
-            OMRSStub stub = igcRepositoryHelper.getOMRSStubForAsset(rid, igcAssetType);
-            // If there is no stub, there should not be any information that was sent previously in an event for us
-            // to need to purge anything, so we should be able to skip the rest and continue on our way
-            if (stub != null) {
-
-                Reference fromObject = getIgcAssetFromStubPayload(stub);
-
-                // Purge entities by getting all mappers used for that entity (ie. *Type generated entities
-                // as well as non-generated entities)
-                List<EntityMapping> referenceableMappers = igcRepositoryHelper.getMappers(igcAssetType, localServerUserId);
-                for (EntityMapping referenceableMapper : referenceableMappers) {
-
-                    if (log.isDebugEnabled()) { log.debug("Checking via: {}", referenceableMapper.getClass().getName()); }
-                    if (referenceableMapper.isOmrsType(igcRestClient, fromObject)) {
-
-                        List<PurgeMarker> purgeMarkers = new ArrayList<>();
-                        String ridPrefix = referenceableMapper.getIgcRidPrefix();
-                        IGCEntityGuid igcEntityGuid = igcRepositoryHelper.getEntityGuid(igcAssetType, ridPrefix, rid);
-                        // First purge any relationships that exist against this entity
-                        List<RelationshipMapping> relationshipMappers = referenceableMapper.getRelationshipMappers();
-                        for (RelationshipMapping relationshipMapping : relationshipMappers) {
-
-                            if (log.isDebugEnabled()) { log.debug("Checking for relationships via: {}", relationshipMapping.getClass().getName()); }
-                            RelationshipMapping.ProxyMapping pmOne = relationshipMapping.getProxyOneMapping();
-                            RelationshipMapping.ProxyMapping pmTwo = relationshipMapping.getProxyTwoMapping();
-                            try {
-                                RelationshipDef relationshipDef = (RelationshipDef) igcomrsMetadataCollection.getTypeDefByName(
-                                        localServerUserId,
-                                        relationshipMapping.getOmrsRelationshipType()
-                                );
-                                RelationshipMapping.ContainedType childEnd = relationshipMapping.getContainedType();
-                                // TODO: not quite as simple as this just checking types, as the IGC type could match both ends...
-                                if ((childEnd.equals(RelationshipMapping.ContainedType.ONE) && pmTwo.matchesAssetType(igcAssetType))
-                                        || (childEnd.equals(RelationshipMapping.ContainedType.TWO) && pmOne.matchesAssetType(igcAssetType))) {
-                                    // If the child entities are at one end of the relationship, and we are starting from the
-                                    // other, then recursively purge
-                                    if (log.isDebugEnabled()) { log.debug(" ... containment detected for type '{}' and relationship {}", igcAssetType, relationshipMapping.getClass().getName()); }
-                                    // Need to ensure all relationships are purged BEFORE recursing on entities, otherwise
-                                    // for recursed entities we will inevitably need to try to delete a parent-child relationship
-                                    // where one end (eg. the child) has already been purged and therefore a stub for it cannot be
-                                    // retrieved
-                                    purgeMarkers.add(new PurgeMarker(fromObject, relationshipDef, relationshipMapping));
-                                }
+    /**
+     * Carries out the purge of entities (and their relationships) as the containment hierarchy is walked.
+     */
+    private class PurgeHandler implements CascadingPurge.Handler<OMRSStub, PendingEntityPurge> {
 
-                                // Irrespective of containment and the potential need to recurse, remove the relationship
-                                List<String> propertyNames = null;
-                                List<Reference> endOne = new ArrayList<>();
-                                List<Reference> endTwo = new ArrayList<>();
-                                boolean iterateOnOne = false;
-                                if (pmOne.matchesAssetType(igcAssetType)) {
-                                    if (log.isDebugEnabled()) { log.debug(" ... setting 'from' to end1: {}", igcAssetType); }
-                                    propertyNames = pmOne.getIgcRelationshipProperties();
-                                    endOne.addAll(relationshipMapping.getProxyOneAssetFromAsset(fromObject, igcRestClient));
-                                    iterateOnOne = true;
-                                } else if (pmTwo.matchesAssetType(igcAssetType)) {
-                                    if (log.isDebugEnabled()) { log.debug(" ... setting 'from' to end2: {}", igcAssetType); }
-                                    propertyNames = pmTwo.getIgcRelationshipProperties();
-                                    endTwo.addAll(relationshipMapping.getProxyTwoAssetFromAsset(fromObject, igcRestClient));
-                                    iterateOnOne = false;
-                                } else {
-                                    log.warn("Unable to match the purged entity '{}' to either end of relationship: {}", igcAssetType, relationshipDef.getName());
-                                }
-                                if (propertyNames != null) {
-                                    for (String property : propertyNames) {
-                                        if (log.isDebugEnabled()) { log.debug(" ... checking for relationship on property: {}", property); }
-                                        Object relatedResult = igcRestClient.getPropertyByName(fromObject, property);
-                                        if (relatedResult != null) {
-                                            // TODO: we should also cache up all of the relationship ends that are NOT purged,
-                                            //  as these entities should have their stubs updated (to no longer refer to a
-                                            //  non-existent relationship) -- in fact, that might take care of sending the
-                                            //  correct relationship purges for us?
-                                            if (relatedResult instanceof Reference) {
-                                                Reference relationship = (Reference) relatedResult;
-                                                if (relationship.getType() != null) {
-                                                    // In cases of an exclusive relationship, there could be an empty
-                                                    // object rather than null, but this semantically still means there
-                                                    // is no relationship so treat it as a null relationship (skip it)
-                                                    cascadeRelationshipPurge(
-                                                            relationshipMapping,
-                                                            relationshipDef,
-                                                            endOne,
-                                                            endTwo,
-                                                            relationship,
-                                                            property,
-                                                            iterateOnOne
-                                                    );
-                                                }
-                                            } else if (relatedResult instanceof ItemList) {
-                                                ItemList<?> relationships = (ItemList<?>) relatedResult;
-                                                for (Reference relationship : relationships.getItems()) {
-                                                    cascadeRelationshipPurge(
-                                                            relationshipMapping,
-                                                            relationshipDef,
-                                                            endOne,
-                                                            endTwo,
-                                                            relationship,
-                                                            property,
-                                                            iterateOnOne
-                                                    );
-                                                }
-                                            }
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, OMRSStub> getStubs(Map<String, String> ridsToTypes) {
+            return igcRepositoryHelper.getOMRSStubsForAssets(ridsToTypes, PURGE_BATCH_SIZE);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public PendingEntityPurge purgeRelationships(String rid, String igcAssetType, OMRSStub stub, Map<String, String> containedAssets) {
+            return purgeRelationshipsForEntity(igcAssetType, rid, stub, containedAssets);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void purgeEntity(PendingEntityPurge purge) {
+            List<String> purgedGuids = new ArrayList<>();
+            for (EntityDetail detail : purge.details) {
+                purgedGuids.add(detail.getGUID());
+                if (log.isDebugEnabled()) { log.debug(" ... purging entity: {}", detail.getGUID()); }
+                eventBuffer.add(detail.getGUID(), "PurgedEntity:" + detail.getVersion(), () ->
+                        repositoryEventProcessor.processDeletePurgedEntityEvent(
+                                sourceName,
+                                metadataCollectionId,
+                                originatorServerName,
+                                originatorServerType,
+                                null,
+                                detail
+                        )
+                );
+            }
+            // Finally, remove the stub once the purges have been published (so that if such an asset is created in the
+            // future it is recognised as new rather than an update)
+            eventBuffer.afterPublish(purgedGuids, () -> {
+                if (log.isDebugEnabled()) { log.debug("Deleting stub: {}", purge.rid); }
+                igcRepositoryHelper.deleteOMRSStubForAsset(purge.rid, purge.igcAssetType);
+            });
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void flush() {
+            eventBuffer.flush();
+        }
+
+    }
+
+    /**
+     * Send events out on OMRS topic for the purge of every relationship of a purged entity, and collect any entities
+     * it contains (that have not already been visited) so that they can be purged as well.
+     *
+     * @param igcAssetType the IGC asset type of the purged entity
+     * @param rid the IGC Repository ID (RID) of the purged entity
+     * @param stub the OMRS stub for the purged entity
+     * @param containedEntities into which to collect the RIDs (and types) of any contained entities
+     * @return PendingEntityPurge the details needed to purge the entity itself, once its children have been purged
+     */
+    private PendingEntityPurge purgeRelationshipsForEntity(String igcAssetType,
+                                                           String rid,
+                                                           OMRSStub stub,
+                                                           Map<String, String> containedEntities) {
+
+        if (log.isDebugEnabled()) { log.debug("Purging entity of type '{}' with RID: {}", igcAssetType, rid); }
+
+        PendingEntityPurge pending = new PendingEntityPurge(igcAssetType, rid);
+        Reference fromObject = getIgcAssetFromStubPayload(stub);
+
+        // Purge entities by getting all mappers used for that entity (ie. *Type generated entities
+        // as well as non-generated entities)
+        List<EntityMapping> referenceableMappers = igcRepositoryHelper.getMappers(igcAssetType, localServerUserId);
+        for (EntityMapping referenceableMapper : referenceableMappers) {
+
+            if (log.isDebugEnabled()) { log.debug("Checking via: {}", referenceableMapper.getClass().getName()); }
+            if (referenceableMapper.isOmrsType(igcRestClient, fromObject)) {
+
+                List<PurgeMarker> purgeMarkers = new ArrayList<>();
+                String ridPrefix = referenceableMapper.getIgcRidPrefix();
+                IGCEntityGuid igcEntityGuid = igcRepositoryHelper.getEntityGuid(igcAssetType, ridPrefix, rid);
+                // First purge any relationships that exist against this entity
+                List<RelationshipMapping> relationshipMappers = referenceableMapper.getRelationshipMappers();
+                for (RelationshipMapping relationshipMapping : relationshipMappers) {
+
+                    if (log.isDebugEnabled()) { log.debug("Checking for relationships via: {}", relationshipMapping.getClass().getName()); }
+                    RelationshipMapping.ProxyMapping pmOne = relationshipMapping.getProxyOneMapping();
+                    RelationshipMapping.ProxyMapping pmTwo = relationshipMapping.getProxyTwoMapping();
+                    try {
+                        RelationshipDef relationshipDef = (RelationshipDef) igcomrsMetadataCollection.getTypeDefByName(
+                                localServerUserId,
+                                relationshipMapping.getOmrsRelationshipType()
+                        );
+                        RelationshipMapping.ContainedType childEnd = relationshipMapping.getContainedType();
+                        // TODO: not quite as simple as this just checking types, as the IGC type could match both ends...
+                        if ((childEnd.equals(RelationshipMapping.ContainedType.ONE) && pmTwo.matchesAssetType(igcAssetType))
+                                || (childEnd.equals(RelationshipMapping.ContainedType.TWO) && pmOne.matchesAssetType(igcAssetType))) {
+                            // If the child entities are at one end of the relationship, and we are starting from the
+                            // other, then purge them as part of the next level
+                            if (log.isDebugEnabled()) { log.debug(" ... containment detected for type '{}' and relationship {}", igcAssetType, relationshipMapping.getClass().getName()); }
+                            // Need to ensure all relationships are purged BEFORE purging entities, otherwise for
+                            // contained entities we will inevitably need to try to delete a parent-child relationship
+                            // where one end (eg. the child) has already been purged and therefore a stub for it cannot
+                            // be retrieved
+                            purgeMarkers.add(new PurgeMarker(fromObject, relationshipDef, relationshipMapping));
+                        }
+
+                        // Irrespective of containment and the potential need to cascade, remove the relationship
+                        List<String> propertyNames = null;
+                        List<Reference> endOne = new ArrayList<>();
+                        List<Reference> endTwo = new ArrayList<>();
+                        boolean iterateOnOne = false;
+                        if (pmOne.matchesAssetType(igcAssetType)) {
+                            if (log.isDebugEnabled()) { log.debug(" ... setting 'from' to end1: {}", igcAssetType); }
+                            propertyNames = pmOne.getIgcRelationshipProperties();
+                            endOne.addAll(relationshipMapping.getProxyOneAssetFromAsset(fromObject, igcRestClient));
+                            iterateOnOne = true;
+                        } else if (pmTwo.matchesAssetType(igcAssetType)) {
+                            if (log.isDebugEnabled()) { log.debug(" ... setting 'from' to end2: {}", igcAssetType); }
+                            propertyNames = pmTwo.getIgcRelationshipProperties();
+                            endTwo.addAll(relationshipMapping.getProxyTwoAssetFromAsset(fromObject, igcRestClient));
+                            iterateOnOne = false;
+                        } else {
+                            log.warn("Unable to match the purged entity '{}' to either end of relationship: {}", igcAssetType, relationshipDef.getName());
+                        }
+                        if (propertyNames != null) {
+                            for (String property : propertyNames) {
+                                if (log.isDebugEnabled()) { log.debug(" ... checking for relationship on property: {}", property); }
+                                Object relatedResult = igcRestClient.getPropertyByName(fromObject, property);
+                                if (relatedResult != null) {
+                                    // TODO: we should also cache up all of the relationship ends that are NOT purged,
+                                    //  as these entities should have their stubs updated (to no longer refer to a
+                                    //  non-existent relationship) -- in fact, that might take care of sending the
+                                    //  correct relationship purges for us?
+                                    if (relatedResult instanceof Reference) {
+                                        Reference relationship = (Reference) relatedResult;
+                                        if (relationship.getType() != null) {
+                                            // In cases of an exclusive relationship, there could be an empty
+                                            // object rather than null, but this semantically still means there
+                                            // is no relationship so treat it as a null relationship (skip it)
+                                            cascadeRelationshipPurge(
+                                                    relationshipMapping,
+                                                    relationshipDef,
+                                                    endOne,
+                                                    endTwo,
+                                                    relationship,
+                                                    property,
+                                                    iterateOnOne
+                                            );
+                                        }
+                                    } else if (relatedResult instanceof ItemList) {
+                                        ItemList<?> relationships = (ItemList<?>) relatedResult;
+                                        for (Reference relationship : relationships.getItems()) {
+                                            cascadeRelationshipPurge(
+                                                    relationshipMapping,
+                                                    relationshipDef,
+                                                    endOne,
+                                                    endTwo,
+                                                    relationship,
+                                                    property,
+                                                    iterateOnOne
+                                            );
                                         }
                                     }
                                 }
-                            } catch (RepositoryErrorException | TypeDefNotKnownException | InvalidParameterException e) {
-                                log.error("Unable to retrieve the relationship type definition for '{}' -- cannot purge relationship.", relationshipMapping.getOmrsRelationshipType(), e);
                             }
-
                         }
+                    } catch (RepositoryErrorException | TypeDefNotKnownException | InvalidParameterException e) {
+                        log.error("Unable to retrieve the relationship type definition for '{}' -- cannot purge relationship.", relationshipMapping.getOmrsRelationshipType(), e);
+                    }
 
-                        // Recurse on any purges we've marked
-                        for (PurgeMarker purgeMarker : purgeMarkers) {
-                            recurseOnContainedEntities(purgeMarker, alreadyPurgedRids);
-                        }
+                }
 
-                        // Then remove the entity itself
-                        EntityDetail detail = getEntityDetailForStubWithGUID(stub, igcEntityGuid);
-                        if (detail != null) {
-                            if (log.isDebugEnabled()) { log.debug(" ... purging entity: {}", igcEntityGuid.asGuid()); }
-                            repositoryEventProcessor.processDeletePurgedEntityEvent(
-                                    sourceName,
-                                    metadataCollectionId,
-                                    originatorServerName,
-                                    originatorServerType,
-                                    null,
-                                    detail
-                            );
-                            // and mark it as purged, so that we don't attempt to purge again during the recursion
-                            alreadyPurgedRids.add(igcEntityGuid.getRid());
-                        } else {
-                            if (log.isWarnEnabled()) { log.warn("No stub information exists for purged GUID {} -- cannot generated purgeEntity event.", igcEntityGuid.asGuid()); }
-                        }
+                // Queue up any contained entities to be purged as part of the next level
+                for (PurgeMarker purgeMarker : purgeMarkers) {
+                    collectContainedEntities(purgeMarker, containedEntities);
+                }
 
-                    } else {
-                        log.info("Type ({}) did not match mapper, skipped: {}", igcAssetType, referenceableMapper.getClass().getName());
-                    }
+                // Then retain the details needed to remove the entity itself
+                EntityDetail detail = getEntityDetailForStubWithGUID(stub, igcEntityGuid);
+                if (detail != null) {
+                    pending.details.add(detail);
+                } else {
+                    if (log.isWarnEnabled()) { log.warn("No stub information exists for purged GUID {} -- cannot generated purgeEntity event.", igcEntityGuid.asGuid()); }
                 }
 
-                // Finally, remove the stub (so that if such an asset is created in the future it is recognised as new
-                // rather than an update)
-                if (log.isDebugEnabled()) { log.debug("Deleting stub: {}", rid); }
-                igcRepositoryHelper.deleteOMRSStubForAsset(rid, igcAssetType);
             } else {
-                log.info("No stub information exists for RID {} of type {} -- cannot generated purgeEntity event.", rid, igcAssetType);
+                log.info("Type ({}) did not match mapper, skipped: {}", igcAssetType, referenceableMapper.getClass().getName());
             }
         }
 
+        return pending;
+
     }
 
     /**
-     * Recursively purge any entities that are contained within the marker pointing to what was purged.
+     * Collect any entities that are contained within the marker pointing to what was purged.
      *
      * @param marker the marker indicating what was purged
-     * @param alreadyPurgedRids a set of RIDs for entities that have already been purged
+     * @param containedEntities into which to collect the RIDs (and types) of the contained entities
      */
-    private void recurseOnContainedEntities(PurgeMarker marker, Set<String> alreadyPurgedRids) {
+    private void collectContainedEntities(PurgeMarker marker,
+                                          Map<String, String> containedEntities) {
 
         RelationshipMapping relationshipMapping = marker.getMapping();
         Reference parentObject = marker.getTriggerObject();
         RelationshipMapping.ContainedType childEnd = relationshipMapping.getContainedType();
         RelationshipMapping.ProxyMapping parent;
 
-        if (log.isDebugEnabled()) { log.debug("Recursing on mapping: {}", relationshipMapping.getClass().getName()); }
-
-        String parentRid = parentObject.getId();
+        if (log.isDebugEnabled()) { log.debug("Collecting contained entities via mapping: {}", relationshipMapping.getClass().getName()); }
 
         if (childEnd.equals(RelationshipMapping.ContainedType.TWO)) {
             if (log.isDebugEnabled()) { log.debug(" ... setting parent as 1, child as 2"); }
@@ -1645,18 +2076,11 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             Object relatedResult = igcRestClient.getPropertyByName(parentObject, property);
             if (relatedResult != null) {
                 if (relatedResult instanceof Reference) {
-                    Reference relationship = (Reference) relatedResult;
-                    if (!relationship.getId().equals(parentRid)) {
-                        if (log.isDebugEnabled()) { log.debug(" ... purging child entity: {}", relationship.getId()); }
-                        sendPurgedEntity(relationship.getType(), relationship.getId(), alreadyPurgedRids);
-                    }
+                    addContainedEntity((Reference) relatedResult, containedEntities);
                 } else if (relatedResult instanceof ItemList) {
                     ItemList<?> relationships = (ItemList<?>) relatedResult;
                     for (Reference relationship : relationships.getItems()) {
-                        if (!relationship.getId().equals(parentRid)) {
-                            if (log.isDebugEnabled()) { log.debug(" ... purging child entity: {}", relationship.getId()); }
-                            sendPurgedEntity(relationship.getType(), relationship.getId(), alreadyPurgedRids);
-                        }
+                        addContainedEntity(relationship, containedEntities);
                     }
                 }
             }
@@ -1664,6 +2088,40 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     }
 
+    /**
+     * Add the provided child entity to those to be purged (the cascading purge itself skips the parent and any entity
+     * it has already visited).
+     *
+     * @param child the contained entity
+     * @param containedEntities into which to collect the RIDs (and types) of the contained entities
+     */
+    private void addContainedEntity(Reference child,
+                                    Map<String, String> containedEntities) {
+        String childRid = child.getId();
+        if (childRid != null) {
+            if (log.isDebugEnabled()) { log.debug(" ... purging child entity: {}", childRid); }
+            containedEntities.putIfAbsent(childRid, child.getType());
+        }
+    }
+
+    /**
+     * The details retained for a purged entity while the relationships of the rest of its containment hierarchy are
+     * purged, so that the entity itself can be purged afterwards.
+     */
+    private static class PendingEntityPurge {
+
+        private final String igcAssetType;
+        private final String rid;
+        private final List<EntityDetail> details;
+
+        PendingEntityPurge(String igcAssetType, String rid) {
+            this.igcAssetType = igcAssetType;
+            this.rid = rid;
+            this.details = new ArrayList<>();
+        }
+
+    }
+
     private void cascadeRelationshipPurge(RelationshipMapping relationshipMapping,
                                           RelationshipDef relationshipDef,
                                           List<Reference> endOne,
@@ -1744,6 +2202,18 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
     public void disconnect() throws ConnectorCheckedException {
         super.disconnect();
         igcKafkaConsumer.stop();
+        if (laneScheduler != null) {
+            try {
+                if (!laneScheduler.shutdown(LANE_SHUTDOWN_TIMEOUT)) {
+                    if (log.isWarnEnabled()) { log.warn("Not all received events were processed before shutdown."); }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        eventBuffer.flush();
+        metrics.report();
+        metrics.close();
         IGCOMRSAuditCode auditCode = IGCOMRSAuditCode.EVENT_MAPPER_SHUTDOWN;
         auditLog.logRecord("disconnect",
                 auditCode.getLogMessageId(),
@@ -5,6 +5,9 @@ package org.odpi.egeria.connectors.ibm.igc.eventmapper;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The IGCOMRSRepositoryEventMapperProvider is the connector provider for the IGCOMRSRepositoryEventMapperProvider.
@@ -21,6 +24,38 @@ public class IGCOMRSRepositoryEventMapperProvider extends OMRSRepositoryConnecto
     static final String CONNECTOR_TYPE_NAME = "OMRS IGC Event Mapper Connector";
     static final String CONNECTOR_TYPE_DESC = "OMRS IGC Event Mapper Connector that processes events from the IBM InfoSphere Information Governance Catalog repository store.";
 
+    public static final String EVENT_BUFFER_SIZE = "eventBufferSize";
+    public static final String EVENT_BUFFER_WINDOW = "eventBufferWindow";
+    public static final String METRICS_REPORTER = "metricsReporter";
+    public static final String METRICS_INTERVAL = "metricsInterval";
+
+    /**
+     * The number of workers across which to process events in lanes (by ASSET, IA_CLASSIFICATION and BULK_SHARE
+     * events). Lanes are off by default (0): events are then processed directly by the consumer, one at a time and in
+     * arrival order. With lanes on, the consumer keeps polling while the lanes work, events affecting the same assets
+     * are still processed in arrival order, and each partition's offset is only committed up to the earliest event
+     * that is not yet fully processed.
+     */
+    public static final String EVENT_WORKERS = "eventWorkers";
+
+    /**
+     * The maximum number of events of each lane to process at the same time, as a map keyed by lane name (only used
+     * when lanes are on; any lane not included is limited to one at a time).
+     */
+    public static final String LANE_CONCURRENCY = "laneConcurrency";
+
+    /**
+     * The number of events to take from each lane in its turn, as a map keyed by lane name (only used when lanes are
+     * on, with the WEIGHTED_ROUND_ROBIN fairness policy).
+     */
+    public static final String LANE_WEIGHTS = "laneWeights";
+
+    /**
+     * The policy by which workers choose the lane from which to take their next event: STRICT_PRIORITY or
+     * WEIGHTED_ROUND_ROBIN (the default; only used when lanes are on).
+     */
+    public static final String LANE_FAIRNESS = "laneFairness";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -35,6 +70,18 @@ public class IGCOMRSRepositoryEventMapperProvider extends OMRSRepositoryConnecto
         connectorType.setDisplayName(CONNECTOR_TYPE_NAME);
         connectorType.setDescription(CONNECTOR_TYPE_DESC);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
+
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(EVENT_BUFFER_SIZE);
+        recognizedConfigurationProperties.add(EVENT_BUFFER_WINDOW);
+        recognizedConfigurationProperties.add(METRICS_REPORTER);
+        recognizedConfigurationProperties.add(METRICS_INTERVAL);
+        recognizedConfigurationProperties.add(EVENT_WORKERS);
+        recognizedConfigurationProperties.add(LANE_CONCURRENCY);
+        recognizedConfigurationProperties.add(LANE_WEIGHTS);
+        recognizedConfigurationProperties.add(LANE_FAIRNESS);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.setConnectorTypeProperties(connectorType);
     }
 
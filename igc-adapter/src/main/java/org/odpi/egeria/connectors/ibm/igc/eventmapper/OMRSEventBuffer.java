@@ -0,0 +1,265 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the OMRS events produced while processing IGC events, so that they can be published in batches rather
+ * than one-by-one as each is produced.
+ * <br><br>
+ * Events are always published in the order in which they were added (so that the causal ordering the event mapper
+ * relies upon, eg. entities before their relationships, is retained), and any event that exactly repeats the
+ * previous event still waiting in the buffer for the same instance is dropped. Only consecutive repeats for an
+ * instance are dropped, so an ordering-sensitive sequence (eg. a purge followed by a re-create of the same instance)
+ * is always published in full; event keys should include the version of the instance, so that events for different
+ * versions are never mistaken for repeats. The buffer is flushed explicitly (eg. once an asset has been processed),
+ * whenever it reaches its maximum size, or whenever the oldest waiting event exceeds the maximum age.
+ * <br><br>
+ * Events are published outside of the lock guarding the buffer, so that adding events (eg. from other lane workers)
+ * is never blocked while a batch is being published; batches are still published one at a time, in order.
+ * <br><br>
+ * Any work that records that events have been sent (eg. updating the OMRS stub of an asset) should be added to the
+ * buffer as a post-publish action, after the events it covers: it is then only run once those events have actually
+ * been published, so that if the process stops before the buffer is flushed the events will be detected (and sent)
+ * again when the IGC event is re-processed. An action is skipped if any event for one of the instances it covers
+ * could not be published, for the same reason.
+ */
+public class OMRSEventBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(OMRSEventBuffer.class);
+
+    /**
+     * Default maximum number of events to buffer before they are published.
+     */
+    public static final int DEFAULT_MAX_EVENTS = 500;
+
+    /**
+     * Default maximum time (in milliseconds) an event can wait in the buffer before it is published.
+     */
+    public static final long DEFAULT_MAX_AGE = 1000;
+
+    private final int maxEvents;
+    private final long maxAge;
+
+    private final Object publishLock;
+
+    private List<Entry> pending;
+    private int pendingEvents;
+    private Map<String, String> lastPendingEventByInstance;
+    private long oldestEventTime;
+
+    private final Set<String> failedInstances;
+
+    private final AtomicLong publishedCount;
+    private long coalescedCount;
+
+    /**
+     * Create a new buffer using the default size and time window.
+     */
+    public OMRSEventBuffer() {
+        this(DEFAULT_MAX_EVENTS, DEFAULT_MAX_AGE);
+    }
+
+    /**
+     * Create a new buffer using the provided size and time window.
+     *
+     * @param maxEvents the maximum number of events to buffer before publishing them (1 or less disables buffering)
+     * @param maxAge the maximum time (in milliseconds) an event can wait in the buffer before it is published
+     */
+    public OMRSEventBuffer(int maxEvents, long maxAge) {
+        this.maxEvents = Math.max(maxEvents, 1);
+        this.maxAge = maxAge;
+        this.pending = new ArrayList<>();
+        this.pendingEvents = 0;
+        this.lastPendingEventByInstance = new HashMap<>();
+        this.oldestEventTime = 0;
+        this.publishLock = new Object();
+        this.failedInstances = new HashSet<>();
+        this.publishedCount = new AtomicLong(0);
+        this.coalescedCount = 0;
+    }
+
+    /**
+     * Add an event to the buffer, publishing the buffer if this causes it to reach its maximum size.
+     *
+     * @param instanceGuid the GUID of the instance (entity or relationship) to which the event refers
+     * @param eventKey uniquely identifies the event for the instance (type of event and version of the instance), so
+     *                 that repeats of the same event can be dropped
+     * @param publisher the action that will actually publish the event
+     */
+    public void add(String instanceGuid, String eventKey, Runnable publisher) {
+        boolean full = false;
+        synchronized (this) {
+            if (instanceGuid != null && eventKey != null && eventKey.equals(lastPendingEventByInstance.get(instanceGuid))) {
+                if (log.isDebugEnabled()) { log.debug("Dropping repeated {} event for instance: {}", eventKey, instanceGuid); }
+                coalescedCount++;
+            } else {
+                if (pending.isEmpty()) {
+                    oldestEventTime = System.currentTimeMillis();
+                }
+                if (instanceGuid != null) {
+                    lastPendingEventByInstance.put(instanceGuid, eventKey);
+                }
+                pending.add(new Entry(publisher, instanceGuid));
+                pendingEvents++;
+                full = pendingEvents >= maxEvents;
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Add an action to the buffer that should only be run once every event added before it has been published (eg.
+     * recording the last version of an asset for which events were sent). The action is not run if any event for one
+     * of the provided instances could not be published, and does not count towards the size of the buffer.
+     *
+     * @param instanceGuids the GUIDs of the instances (entities or relationships) whose events the action covers
+     * @param action the action to run once the events have been published
+     */
+    public void afterPublish(Collection<String> instanceGuids, Runnable action) {
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                oldestEventTime = System.currentTimeMillis();
+            }
+            pending.add(new Entry(action, instanceGuids == null ? Collections.emptySet() : instanceGuids));
+        }
+    }
+
+    /**
+     * Publish all events that are waiting in the buffer, in the order they were added.
+     */
+    public void flush() {
+        // Only one batch is published at a time (so batches are published in the order they were taken), but the
+        // buffer itself is only locked while the batch is taken from it
+        synchronized (publishLock) {
+            List<Entry> batch;
+            int batchEvents;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                batchEvents = pendingEvents;
+                pending = new ArrayList<>();
+                pendingEvents = 0;
+                lastPendingEventByInstance = new HashMap<>();
+                oldestEventTime = 0;
+            }
+            if (log.isDebugEnabled()) { log.debug("Publishing batch of {} OMRS events.", batchEvents); }
+            for (Entry entry : batch) {
+                if (entry.isAction()) {
+                    runAction(entry);
+                } else {
+                    try {
+                        entry.task.run();
+                        publishedCount.incrementAndGet();
+                    } catch (Exception e) {
+                        // Do not let a single failed event prevent the rest of the batch from being published, but
+                        // remember it so that nothing records the event as having been sent
+                        if (log.isErrorEnabled()) { log.error("Unable to publish OMRS event.", e); }
+                        if (entry.instanceGuid != null) {
+                            failedInstances.add(entry.instanceGuid);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Run the provided post-publish action, unless an event for one of the instances it covers failed to publish
+     * (failures are tracked across batches, as the events covered by an action may have been published in an earlier
+     * batch than the action itself).
+     *
+     * @param entry the post-publish action to run
+     */
+    private void runAction(Entry entry) {
+        boolean failed = false;
+        for (String instanceGuid : entry.instanceGuids) {
+            failed = failedInstances.remove(instanceGuid) || failed;
+        }
+        if (failed) {
+            if (log.isWarnEnabled()) { log.warn("Skipping post-publish action, as events could not be published for: {}", entry.instanceGuids); }
+            return;
+        }
+        try {
+            entry.task.run();
+        } catch (Exception e) {
+            if (log.isErrorEnabled()) { log.error("Unable to complete post-publish action.", e); }
+        }
+    }
+
+    /**
+     * Publish all events that are waiting in the buffer, if the oldest of them has waited longer than the maximum age.
+     */
+    public void flushIfExpired() {
+        boolean expired;
+        synchronized (this) {
+            expired = !pending.isEmpty() && System.currentTimeMillis() - oldestEventTime >= maxAge;
+        }
+        if (expired) {
+            flush();
+        }
+    }
+
+    /**
+     * Retrieve the number of events currently waiting in the buffer (excluding any post-publish actions).
+     *
+     * @return int
+     */
+    public synchronized int size() { return pendingEvents; }
+
+    /**
+     * Retrieve the total number of events that have been published through this buffer.
+     *
+     * @return long
+     */
+    public long getPublishedCount() { return publishedCount.get(); }
+
+    /**
+     * Retrieve the total number of duplicate events that have been dropped by this buffer.
+     *
+     * @return long
+     */
+    public synchronized long getCoalescedCount() { return coalescedCount; }
+
+    /**
+     * An event (for a single instance) or post-publish action (for any number of instances) waiting in the buffer.
+     */
+    private static final class Entry {
+
+        private final Runnable task;
+        private final String instanceGuid;
+        private final Collection<String> instanceGuids;
+
+        Entry(Runnable publisher, String instanceGuid) {
+            this.task = publisher;
+            this.instanceGuid = instanceGuid;
+            this.instanceGuids = null;
+        }
+
+        Entry(Runnable action, Collection<String> instanceGuids) {
+            this.task = action;
+            this.instanceGuid = null;
+            this.instanceGuids = instanceGuids;
+        }
+
+        boolean isAction() { return instanceGuids != null; }
+
+    }
+
+}
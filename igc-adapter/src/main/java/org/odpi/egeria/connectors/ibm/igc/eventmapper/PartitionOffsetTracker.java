@@ -0,0 +1,122 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.*;
+
+/**
+ * Tracks which of the events received from each partition of the topic have been fully processed, so that the
+ * consumer can keep polling while events are still being processed (eg. across lanes) and yet only ever commit the
+ * offsets of events that are done.
+ * <br><br>
+ * Events in the same partition can finish out of order, so the offset that can be committed for a partition is that
+ * of the earliest event still being processed (or just past the latest event received, if none are still being
+ * processed): every event before it is then known to be done, and any event from it onwards is re-read on restart.
+ */
+public class PartitionOffsetTracker {
+
+    private final Map<TopicPartition, PartitionState> partitions;
+
+    /**
+     * Create a new tracker, with no events yet received.
+     */
+    public PartitionOffsetTracker() {
+        this.partitions = new HashMap<>();
+    }
+
+    /**
+     * Record that an event has been received and handed off for processing.
+     *
+     * @param partition the partition from which the event was received
+     * @param offset the offset of the event within the partition
+     */
+    public synchronized void started(TopicPartition partition, long offset) {
+        PartitionState state = partitions.computeIfAbsent(partition, p -> new PartitionState());
+        state.inFlight.add(offset);
+        state.latest = Math.max(state.latest, offset);
+    }
+
+    /**
+     * Record that an event has been processed (whether successfully or not), so that it no longer holds back the
+     * offsets that can be committed for its partition.
+     *
+     * @param partition the partition from which the event was received
+     * @param offset the offset of the event within the partition
+     */
+    public synchronized void finished(TopicPartition partition, long offset) {
+        PartitionState state = partitions.get(partition);
+        if (state != null) {
+            state.inFlight.remove(offset);
+        }
+    }
+
+    /**
+     * Retrieve the offsets that can be committed for each partition, ie. up to (but excluding) the earliest event that
+     * is still being processed, and mark them as committed. Only partitions whose committable offset has moved on
+     * since they were last retrieved are included.
+     *
+     * @return {@code Map<TopicPartition, OffsetAndMetadata>} the offsets to commit, by partition (empty if none)
+     */
+    public synchronized Map<TopicPartition, OffsetAndMetadata> takeCommittable() {
+        Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>();
+        for (Map.Entry<TopicPartition, PartitionState> entry : partitions.entrySet()) {
+            addCommittable(committable, entry.getKey(), entry.getValue());
+        }
+        return committable;
+    }
+
+    /**
+     * Retrieve the offsets that can be committed for the provided partitions, and stop tracking them (eg. because they
+     * have been assigned to another consumer). Any events from these partitions that finish later are ignored.
+     *
+     * @param revoked the partitions to stop tracking
+     * @return {@code Map<TopicPartition, OffsetAndMetadata>} the offsets to commit for the partitions (empty if none)
+     */
+    public synchronized Map<TopicPartition, OffsetAndMetadata> release(Collection<TopicPartition> revoked) {
+        Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>();
+        for (TopicPartition partition : revoked) {
+            PartitionState state = partitions.remove(partition);
+            if (state != null) {
+                addCommittable(committable, partition, state);
+            }
+        }
+        return committable;
+    }
+
+    /**
+     * Add the offset that can be committed for the provided partition, if it has moved on since it was last added,
+     * and mark it as committed (must be called while holding the lock).
+     *
+     * @param committable the offsets to commit, by partition
+     * @param partition the partition
+     * @param state the events still being processed for the partition
+     */
+    private void addCommittable(Map<TopicPartition, OffsetAndMetadata> committable, TopicPartition partition, PartitionState state) {
+        long next = state.inFlight.isEmpty() ? state.latest + 1 : state.inFlight.first();
+        if (next > state.committed) {
+            committable.put(partition, new OffsetAndMetadata(next));
+            state.committed = next;
+        }
+    }
+
+    /**
+     * The events still being processed for a single partition, and how far it has been committed.
+     */
+    private static class PartitionState {
+
+        private final TreeSet<Long> inFlight;
+        private long latest;
+        private long committed;
+
+        PartitionState() {
+            this.inFlight = new TreeSet<>();
+            this.latest = -1;
+            this.committed = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,244 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the metrics captured by the event mapper: how far behind the consumer is on each partition of the
+ * topic, how many events of each type have been processed (and how quickly), how long each phase of processing an
+ * asset takes, and how many REST calls each type of event needs.
+ * <br><br>
+ * Recording is thread-safe and cheap; the metrics are periodically handed to any {@link EventMetricsReporter}s that
+ * have been registered, each of which decides how (and where) to surface them.
+ */
+public class EventMapperMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(EventMapperMetrics.class);
+
+    /**
+     * The phases of processing an asset for which latencies are captured. Note that processing relationships can
+     * itself involve processing further assets, so the latency of that phase includes any such nested processing.
+     */
+    public enum Phase {
+        FULL_ASSET_FETCH,
+        STUB_READ,
+        CHANGE_SET_DIFF,
+        RELATIONSHIP_PROCESSING,
+        STUB_UPSERT
+    }
+
+    private final long startTime;
+    private final Map<String, LongAdder> eventCounts;
+    private final Map<String, LongAdder> restCallCounts;
+    private final Map<String, LatencyHistogram> eventLatencies;
+    private final Map<Phase, LatencyHistogram> phaseLatencies;
+    private final Map<String, Long> consumerLag;
+    private final List<EventMetricsReporter> reporters;
+
+    private Map<String, Long> eventCountsAtLastReport;
+    private long lastReportTime;
+
+    /**
+     * Create a new, empty registry of metrics.
+     */
+    public EventMapperMetrics() {
+        this.startTime = System.currentTimeMillis();
+        this.eventCounts = new ConcurrentHashMap<>();
+        this.restCallCounts = new ConcurrentHashMap<>();
+        this.eventLatencies = new ConcurrentHashMap<>();
+        this.phaseLatencies = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phaseLatencies.put(phase, new LatencyHistogram());
+        }
+        this.consumerLag = new ConcurrentHashMap<>();
+        this.reporters = new ArrayList<>();
+        this.eventCountsAtLastReport = new HashMap<>();
+        this.lastReportTime = startTime;
+    }
+
+    /**
+     * Register a reporter through which to surface these metrics.
+     *
+     * @param reporter the reporter to register
+     */
+    public synchronized void addReporter(EventMetricsReporter reporter) {
+        reporters.add(reporter);
+    }
+
+    /**
+     * Record the processing of a single event.
+     *
+     * @param eventType the type of the event that was processed (eg. IMAM_SHARE_EVENT, ASSET_MODIFIED_EVENT, etc)
+     * @param nanos the time taken to process the event, in nanoseconds
+     * @param restCalls the number of REST calls that were needed to process the event
+     */
+    public void recordEvent(String eventType, long nanos, long restCalls) {
+        String type = eventType == null ? "UNKNOWN" : eventType;
+        eventCounts.computeIfAbsent(type, k -> new LongAdder()).increment();
+        restCallCounts.computeIfAbsent(type, k -> new LongAdder()).add(restCalls);
+        eventLatencies.computeIfAbsent(type, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Record the time taken by a single phase of processing an asset.
+     *
+     * @param phase the phase that was completed
+     * @param nanos the time taken by the phase, in nanoseconds
+     */
+    public void recordPhase(Phase phase, long nanos) {
+        phaseLatencies.get(phase).record(nanos);
+    }
+
+    /**
+     * Record how far behind the consumer is on a partition of the topic.
+     *
+     * @param partition the partition (topic-number) for which lag was measured
+     * @param lag the number of messages between the consumer's position and the end of the partition
+     */
+    public void recordConsumerLag(String partition, long lag) {
+        consumerLag.put(partition, lag);
+    }
+
+    /**
+     * Retrieve the total number of events processed, by event type.
+     *
+     * @return {@code Map<String, Long>}
+     */
+    public Map<String, Long> getEventCounts() { return sum(eventCounts); }
+
+    /**
+     * Retrieve the total number of REST calls made while processing events, by event type.
+     *
+     * @return {@code Map<String, Long>}
+     */
+    public Map<String, Long> getRestCallCounts() { return sum(restCallCounts); }
+
+    /**
+     * Retrieve the average number of REST calls made to process a single event, by event type.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    public Map<String, Double> getRestCallsPerEvent() {
+        Map<String, Long> events = getEventCounts();
+        Map<String, Double> perEvent = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : getRestCallCounts().entrySet()) {
+            long count = events.getOrDefault(entry.getKey(), 0L);
+            perEvent.put(entry.getKey(), count == 0 ? 0.0 : entry.getValue() / (double) count);
+        }
+        return perEvent;
+    }
+
+    /**
+     * Retrieve the latencies of processing events, by event type.
+     *
+     * @return {@code Map<String, LatencyHistogram>}
+     */
+    public Map<String, LatencyHistogram> getEventLatencies() { return new TreeMap<>(eventLatencies); }
+
+    /**
+     * Retrieve the latencies of each phase of processing an asset.
+     *
+     * @return {@code Map<Phase, LatencyHistogram>}
+     */
+    public Map<Phase, LatencyHistogram> getPhaseLatencies() { return Collections.unmodifiableMap(phaseLatencies); }
+
+    /**
+     * Retrieve the most recently measured lag of the consumer, by partition.
+     *
+     * @return {@code Map<String, Long>}
+     */
+    public Map<String, Long> getConsumerLag() { return new TreeMap<>(consumerLag); }
+
+    /**
+     * Retrieve the rate at which events have been processed since the metrics were last reported, by event type.
+     *
+     * @return {@code Map<String, Double>} of events per second
+     */
+    public synchronized Map<String, Double> getEventsPerSecond() {
+        return getEventsPerSecond(getEventCounts(), System.currentTimeMillis());
+    }
+
+    /**
+     * Indicates whether at least the provided interval has passed since the metrics were last reported (true) or not
+     * (false).
+     *
+     * @param interval the minimum time between reports, in milliseconds
+     * @return boolean
+     */
+    public synchronized boolean isReportDue(long interval) {
+        return System.currentTimeMillis() - lastReportTime >= interval;
+    }
+
+    /**
+     * Hand the current metrics to every registered reporter, if at least the provided interval has passed since they
+     * were last reported.
+     *
+     * @param interval the minimum time between reports, in milliseconds
+     */
+    public synchronized void reportIfDue(long interval) {
+        if (isReportDue(interval)) {
+            report();
+        }
+    }
+
+    /**
+     * Hand the current metrics to every registered reporter.
+     */
+    public synchronized void report() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> counts = getEventCounts();
+        Map<String, Double> rates = getEventsPerSecond(counts, now);
+        for (EventMetricsReporter reporter : reporters) {
+            try {
+                reporter.report(this, rates);
+            } catch (Exception e) {
+                // Never let a failure to report metrics interfere with the processing of events
+                if (log.isWarnEnabled()) { log.warn("Unable to report event mapper metrics via: {}", reporter.getClass().getName(), e); }
+            }
+        }
+        eventCountsAtLastReport = counts;
+        lastReportTime = now;
+    }
+
+    /**
+     * Release any resources held by the registered reporters.
+     */
+    public synchronized void close() {
+        for (EventMetricsReporter reporter : reporters) {
+            reporter.close();
+        }
+        reporters.clear();
+    }
+
+    /**
+     * Retrieve the time at which metrics started to be captured.
+     *
+     * @return long
+     */
+    public long getStartTime() { return startTime; }
+
+    private Map<String, Double> getEventsPerSecond(Map<String, Long> counts, long now) {
+        double seconds = Math.max(now - lastReportTime, 1) / 1000.0;
+        Map<String, Double> rates = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            long previous = eventCountsAtLastReport.getOrDefault(entry.getKey(), 0L);
+            rates.put(entry.getKey(), (entry.getValue() - previous) / seconds);
+        }
+        return rates;
+    }
+
+    private static Map<String, Long> sum(Map<String, LongAdder> adders) {
+        Map<String, Long> totals = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : adders.entrySet()) {
+            totals.put(entry.getKey(), entry.getValue().sum());
+        }
+        return totals;
+    }
+
+}
@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface through which the event mapper's metrics are exposed over JMX.
+ */
+public interface EventMapperMetricsMXBean {
+
+    /**
+     * Retrieve the most recently measured lag of the consumer, by partition.
+     *
+     * @return {@code Map<String, Long>}
+     */
+    Map<String, Long> getConsumerLag();
+
+    /**
+     * Retrieve the total number of events processed, by event type.
+     *
+     * @return {@code Map<String, Long>}
+     */
+    Map<String, Long> getEventCounts();
+
+    /**
+     * Retrieve the rate at which events were processed over the last reporting interval, by event type.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    Map<String, Double> getEventsPerSecond();
+
+    /**
+     * Retrieve the average number of REST calls needed to process an event, by event type.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    Map<String, Double> getRestCallsPerEvent();
+
+    /**
+     * Retrieve the 95th percentile latency (in milliseconds) of processing an event, by event type.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    Map<String, Double> getEventLatencyP95Millis();
+
+    /**
+     * Retrieve the mean latency (in milliseconds) of each phase of processing an asset.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    Map<String, Double> getPhaseLatencyMeanMillis();
+
+    /**
+     * Retrieve the 95th percentile latency (in milliseconds) of each phase of processing an asset.
+     *
+     * @return {@code Map<String, Double>}
+     */
+    Map<String, Double> getPhaseLatencyP95Millis();
+
+}
@@ -0,0 +1,31 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
+
+import java.util.Map;
+
+/**
+ * Surfaces the metrics captured by the event mapper somewhere they can be observed.
+ * <br><br>
+ * Implementations other than those provided ({@link LogEventMetricsReporter}, {@link JmxEventMetricsReporter}) can
+ * be plugged in by configuring the fully-qualified name of the implementing class, which must have a public
+ * no-argument constructor.
+ */
+public interface EventMetricsReporter {
+
+    /**
+     * Report the provided metrics.
+     *
+     * @param metrics the registry of metrics captured by the event mapper
+     * @param eventsPerSecond the rate at which events were processed since the last report, by event type
+     */
+    void report(EventMapperMetrics metrics, Map<String, Double> eventsPerSecond);
+
+    /**
+     * Release any resources held by the reporter.
+     */
+    default void close() {
+        // Nothing to release by default
+    }
+
+}
@@ -0,0 +1,143 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports the metrics captured by the event mapper through JMX, by registering an {@link EventMapperMetricsMXBean}
+ * with the platform MBean server (under the domain of this package, eg.
+ * {@code org.odpi.egeria.connectors.ibm.igc:type=EventMapperMetrics,id=1}).
+ */
+public class JmxEventMetricsReporter implements EventMetricsReporter, EventMapperMetricsMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JmxEventMetricsReporter.class);
+
+    private static final AtomicInteger instances = new AtomicInteger(0);
+
+    private volatile EventMapperMetrics metrics;
+    private volatile Map<String, Double> eventsPerSecond;
+    private ObjectName objectName;
+
+    /**
+     * Create a new reporter, registering it with the platform MBean server.
+     */
+    public JmxEventMetricsReporter() {
+        this.eventsPerSecond = Collections.emptyMap();
+        try {
+            objectName = new ObjectName("org.odpi.egeria.connectors.ibm.igc:type=EventMapperMetrics,id=" + instances.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (JMException e) {
+            if (log.isWarnEnabled()) { log.warn("Unable to register event mapper metrics with JMX.", e); }
+            objectName = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void report(EventMapperMetrics metrics, Map<String, Double> eventsPerSecond) {
+        this.metrics = metrics;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (objectName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to unregister event mapper metrics from JMX.", e); }
+            }
+            objectName = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getConsumerLag() {
+        return metrics == null ? Collections.emptyMap() : metrics.getConsumerLag();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getEventCounts() {
+        return metrics == null ? Collections.emptyMap() : metrics.getEventCounts();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getEventsPerSecond() { return eventsPerSecond; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getRestCallsPerEvent() {
+        return metrics == null ? Collections.emptyMap() : metrics.getRestCallsPerEvent();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getEventLatencyP95Millis() {
+        Map<String, Double> latencies = new TreeMap<>();
+        if (metrics != null) {
+            for (Map.Entry<String, LatencyHistogram> entry : metrics.getEventLatencies().entrySet()) {
+                latencies.put(entry.getKey(), entry.getValue().getPercentileMillis(95));
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getPhaseLatencyMeanMillis() {
+        Map<String, Double> latencies = new TreeMap<>();
+        if (metrics != null) {
+            for (Map.Entry<EventMapperMetrics.Phase, LatencyHistogram> entry : metrics.getPhaseLatencies().entrySet()) {
+                latencies.put(entry.getKey().name(), entry.getValue().getMeanMillis());
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getPhaseLatencyP95Millis() {
+        Map<String, Double> latencies = new TreeMap<>();
+        if (metrics != null) {
+            for (Map.Entry<EventMapperMetrics.Phase, LatencyHistogram> entry : metrics.getPhaseLatencies().entrySet()) {
+                latencies.put(entry.getKey().name(), entry.getValue().getPercentileMillis(95));
+            }
+        }
+        return latencies;
+    }
+
+}
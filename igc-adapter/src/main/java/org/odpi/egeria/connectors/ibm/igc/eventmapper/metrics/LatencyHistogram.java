@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies, using power-of-two buckets of microseconds (ie. the first bucket holds anything
+ * under 1 microsecond, the next anything under 2, then 4, 8 and so on up to just over an hour). Percentiles are
+ * therefore approximate (reported as the upper bound of the bucket in which they fall), but recording a value is
+ * cheap enough to do for every phase of every event.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 33;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong count;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+
+    /**
+     * Create a new, empty histogram.
+     */
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong(0);
+        this.totalNanos = new AtomicLong(0);
+        this.maxNanos = new AtomicLong(0);
+    }
+
+    /**
+     * Record a single latency.
+     *
+     * @param nanos the latency to record, in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        long micros = value / 1000;
+        int bucket = micros == 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Retrieve the number of latencies recorded.
+     *
+     * @return long
+     */
+    public long getCount() { return count.get(); }
+
+    /**
+     * Retrieve the mean of the latencies recorded, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0.0 : (totalNanos.get() / (double) n) / 1000000.0;
+    }
+
+    /**
+     * Retrieve the largest latency recorded, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMaxMillis() { return maxNanos.get() / 1000000.0; }
+
+    /**
+     * Retrieve the (approximate) latency below which the provided percentage of recorded latencies fall, in
+     * milliseconds.
+     *
+     * @param percentile the percentile to retrieve, between 0 and 100
+     * @return double
+     */
+    public double getPercentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0.0;
+        }
+        long threshold = (long) Math.ceil(n * (percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold) {
+                return Math.min((1L << i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fms, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                getCount(),
+                getMeanMillis(),
+                getPercentileMillis(50),
+                getPercentileMillis(95),
+                getPercentileMillis(99),
+                getMaxMillis());
+    }
+
+}
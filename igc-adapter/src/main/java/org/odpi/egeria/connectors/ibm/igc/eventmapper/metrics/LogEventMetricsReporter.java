@@ -0,0 +1,39 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Reports the metrics captured by the event mapper to the log (at INFO level).
+ */
+public class LogEventMetricsReporter implements EventMetricsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LogEventMetricsReporter.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void report(EventMapperMetrics metrics, Map<String, Double> eventsPerSecond) {
+        if (log.isInfoEnabled()) {
+            log.info("Event mapper consumer lag by partition: {}", metrics.getConsumerLag());
+            Map<String, Double> restCallsPerEvent = metrics.getRestCallsPerEvent();
+            for (Map.Entry<String, LatencyHistogram> entry : metrics.getEventLatencies().entrySet()) {
+                String eventType = entry.getKey();
+                log.info("Event type {}: {} events/s, {} REST calls/event, {}",
+                        eventType,
+                        String.format("%.2f", eventsPerSecond.getOrDefault(eventType, 0.0)),
+                        String.format("%.1f", restCallsPerEvent.getOrDefault(eventType, 0.0)),
+                        entry.getValue());
+            }
+            for (Map.Entry<EventMapperMetrics.Phase, LatencyHistogram> entry : metrics.getPhaseLatencies().entrySet()) {
+                log.info("Phase {}: {}", entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+/**
+ * Captures and reports metrics about the EventMapper's processing: for example, consumer lag and phase latencies.
+ */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics;
@@ -0,0 +1,166 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Walks the containment hierarchy of purged assets iteratively, one level at a time, so that a purge can cascade
+ * through a (potentially very large and deep) hierarchy without recursion.
+ * <br><br>
+ * For each level, the stubs of the level's assets are retrieved in batches, the relationships of every asset with a
+ * stub are purged, and any contained assets not already visited form the next level. Only once every relationship
+ * has been purged are the assets themselves purged: deepest level first, so that children are always purged before
+ * their parents, flushing after each batch of purges.
+ *
+ * @param <S> the type of the stub retained for each asset
+ * @param <P> the type of the details retained to purge each asset, once its relationships have been purged
+ */
+public class CascadingPurge<S, P> {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadingPurge.class);
+
+    /**
+     * The operations through which the purge is actually carried out.
+     *
+     * @param <S> the type of the stub retained for each asset
+     * @param <P> the type of the details retained to purge each asset, once its relationships have been purged
+     */
+    public interface Handler<S, P> {
+
+        /**
+         * Retrieve the stubs for all of the provided assets (at most a batch of them).
+         *
+         * @param ridsToTypes the RIDs of the assets, keyed to the IGC asset type of each
+         * @return {@code Map<String, S>} keyed by RID, missing any asset that has no stub
+         */
+        Map<String, S> getStubs(Map<String, String> ridsToTypes);
+
+        /**
+         * Purge every relationship of the provided asset, and collect any assets it contains.
+         *
+         * @param rid the RID of the asset
+         * @param igcAssetType the IGC asset type of the asset
+         * @param stub the stub of the asset
+         * @param containedAssets into which to collect the RIDs (and types) of any contained assets
+         * @return P the details needed to purge the asset itself, once its children have been purged
+         */
+        P purgeRelationships(String rid, String igcAssetType, S stub, Map<String, String> containedAssets);
+
+        /**
+         * Purge the asset itself.
+         *
+         * @param pending the details retained to purge the asset
+         */
+        void purgeEntity(P pending);
+
+        /**
+         * Publish the purges so far.
+         */
+        void flush();
+
+    }
+
+    private final Handler<S, P> handler;
+    private final int batchSize;
+
+    /**
+     * Create a new cascading purge.
+     *
+     * @param handler the operations through which to carry out the purge
+     * @param batchSize the maximum number of stubs to retrieve at once, and number of purges between each flush
+     */
+    public CascadingPurge(Handler<S, P> handler, int batchSize) {
+        this.handler = handler;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Purge the provided assets, and every asset they (transitively) contain.
+     *
+     * @param ridsToTypes the RIDs of the purged assets, keyed to the IGC asset type of each
+     * @return int the number of assets purged
+     */
+    public int purge(Map<String, String> ridsToTypes) {
+
+        CompactRidSet visitedRids = new CompactRidSet(ridsToTypes.size());
+        Deque<List<P>> purgesByLevel = new ArrayDeque<>();
+        Map<String, String> level = ridsToTypes;
+
+        while (!level.isEmpty()) {
+
+            if (log.isDebugEnabled()) { log.debug("Purging relationships for a level of {} entities.", level.size()); }
+            Map<String, String> nextLevel = new LinkedHashMap<>();
+            List<P> purges = new ArrayList<>();
+            for (Map<String, String> batch : inBatches(level)) {
+                Map<String, S> stubs = handler.getStubs(batch);
+                for (Map.Entry<String, String> entry : batch.entrySet()) {
+                    String rid = entry.getKey();
+                    String igcAssetType = entry.getValue();
+                    if (!visitedRids.add(rid)) {
+                        if (log.isDebugEnabled()) { log.debug("Received RID has already been purged -- skipping: {}", rid); }
+                    } else {
+                        S stub = stubs.get(rid);
+                        // If there is no stub, there should not be any information that was sent previously in an
+                        // event for us to need to purge anything, so we can skip the rest and continue on our way
+                        if (stub != null) {
+                            Map<String, String> containedAssets = new LinkedHashMap<>();
+                            purges.add(handler.purgeRelationships(rid, igcAssetType, stub, containedAssets));
+                            for (Map.Entry<String, String> contained : containedAssets.entrySet()) {
+                                String childRid = contained.getKey();
+                                if (!childRid.equals(rid) && !visitedRids.contains(childRid)) {
+                                    nextLevel.putIfAbsent(childRid, contained.getValue());
+                                }
+                            }
+                        } else {
+                            log.info("No stub information exists for RID {} of type {} -- cannot generated purgeEntity event.", rid, igcAssetType);
+                        }
+                    }
+                }
+            }
+            purgesByLevel.push(purges);
+            level = nextLevel;
+
+        }
+
+        // Then purge the entities themselves, starting from the most deeply-contained
+        int purged = 0;
+        while (!purgesByLevel.isEmpty()) {
+            for (P purge : purgesByLevel.pop()) {
+                handler.purgeEntity(purge);
+                purged++;
+                if (purged % batchSize == 0) {
+                    handler.flush();
+                }
+            }
+        }
+        return purged;
+
+    }
+
+    /**
+     * Split the provided assets into batches of at most the batch size.
+     *
+     * @param ridsToTypes the assets to split
+     * @return {@code List<Map<String, String>>}
+     */
+    private List<Map<String, String>> inBatches(Map<String, String> ridsToTypes) {
+        List<Map<String, String>> batches = new ArrayList<>();
+        Map<String, String> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : ridsToTypes.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+}
@@ -11,6 +11,7 @@ import com.flipkart.zjsonpatch.DiffFlags;
 import com.flipkart.zjsonpatch.JsonDiff;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.CompactStubPayload;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,15 +58,15 @@ public class ChangeSet {
 
         // Calculate the delta between the latest version and the previous saved stub
         try {
-            JsonNode stubPayload = objectMapper.readTree(stub.getPayload());
+            CompactStubPayload lastVersion = CompactStubPayload.fromStubPayload(stub.getPayload(), objectMapper);
             if (bNoStub) {
                 if (log.isDebugEnabled()) { log.debug("No existing stub -- calculating differences."); }
-                calculateDelta(asset, stubPayload);
+                calculateDelta(asset, lastVersion);
             } else {
-                Long stubModified = stubPayload.path("modified_on").asLong(0);
+                Long stubModified = lastVersion.getModifiedOn();
                 if (stubModified == 0) {
                     if (log.isDebugEnabled()) { log.debug("No timestamp inside stub -- calculating differences."); }
-                    calculateDelta(asset, stubPayload);
+                    calculateDelta(asset, lastVersion);
                 } else {
                     // Short-circuit the delta calculation if the modification date inside the stub's payload is equal
                     // to the modification date of the asset itself.  This way we avoid updating the stub simply because
@@ -73,17 +74,17 @@ public class ChangeSet {
                     Date assetModified = (Date) this.igcRestClient.getPropertyByName(asset, "modified_on");
                     if (assetModified == null) {
                         if (log.isDebugEnabled()) { log.debug("No timestamp inside asset -- calculating differences."); }
-                        calculateDelta(asset, stubPayload);
+                        calculateDelta(asset, lastVersion);
                     } else if (!stubModified.equals(assetModified.getTime())) {
                         if (log.isDebugEnabled()) { log.debug("Modification timestamp of stub ({}) does not match asset ({}) -- calculating differences.", stubModified, assetModified.getTime()); }
-                        calculateDelta(asset, stubPayload);
+                        calculateDelta(asset, lastVersion);
                     } else {
                         if (this.igcRestClient.getPagedRelationshipPropertiesForType(asset.getType()).contains("detected_classifications")) {
                             // One exception we must handle where the timestamps will match but there could still be
                             // changes is when there is the potential for a classification: data class detection does NOT
                             // update the modification timestamp of the entity that was classified
                             if (log.isDebugEnabled()) { log.debug("Modification timestamps matched, but may be classifications -- calculating differences."); }
-                            calculateDelta(asset, stubPayload);
+                            calculateDelta(asset, lastVersion);
                         } else {
                             if (log.isDebugEnabled()) { log.debug("Modification timestamps between stub and asset matched -- skipping change calculation."); }
                         }
@@ -99,19 +100,30 @@ public class ChangeSet {
 
     /**
      * Calculate the differences between the provided IGC entity and the payload of an OMRS stub representing a previous
-     * version of the same entity
+     * version of the same entity. Only those properties whose content hashes differ between the two versions are
+     * actually diff'd, so that large but unchanged properties (eg. thousands of columns on a table) are skipped.
      *
      * @param asset the latest version of the IGC entity to compare
-     * @param stubPayload the payload of a previous version of the IGC entity to compare
+     * @param lastVersion the payload of a previous version of the IGC entity to compare
      * @throws IOException if there are any errors processing the information as JSON
      */
-    private void calculateDelta(Reference asset, JsonNode stubPayload) throws IOException {
+    private void calculateDelta(Reference asset, CompactStubPayload lastVersion) throws IOException {
 
-        EnumSet<DiffFlags> flags = DiffFlags.dontNormalizeOpIntoMoveAndCopy().clone();
         JsonNode currentAsset = objectMapper.readTree(this.igcRestClient.getValueAsJSON(asset));
+        Set<String> propertiesToDiff = lastVersion.getChangedProperties(CompactStubPayload.fromJsonTree(currentAsset));
+        if (propertiesToDiff.isEmpty()) {
+            if (log.isDebugEnabled()) { log.debug("Content hashes of all properties matched -- skipping change calculation."); }
+            return;
+        }
+        if (log.isDebugEnabled()) { log.debug("Content hashes differed for properties: {}", propertiesToDiff); }
+
+        // Since the property names are retained as the top-level keys, the paths of the resulting patch are identical
+        // to those we would get from diff'ing the complete objects
+        JsonNode stubPayload = lastVersion.getSubTree(objectMapper, propertiesToDiff);
+        EnumSet<DiffFlags> flags = DiffFlags.dontNormalizeOpIntoMoveAndCopy().clone();
         this.patch = JsonDiff.asJson(
                 stubPayload,
-                currentAsset,
+                CompactStubPayload.getSubTree(objectMapper, currentAsset, propertiesToDiff),
                 flags
         );
         if (log.isDebugEnabled()) {
@@ -0,0 +1,160 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.model;
+
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.ContentHash;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * A compact set of IGC Repository IDs (RIDs), used to track which assets have already been visited while cascading
+ * a purge through a (potentially very large) containment hierarchy.
+ * <br><br>
+ * The set is a pair of open-addressed tables rather than a HashSet, so there is no entry object per RID: a 64-bit
+ * hash of each RID is kept in a primitive table that is probed first, and the RID itself is only compared when the
+ * hashes match. Two distinct RIDs that collide on the full hash are therefore still both tracked.
+ */
+public class CompactRidSet {
+
+    private final ToLongFunction<String> hasher;
+
+    private long[] hashes;
+    private String[] rids;
+    private int size;
+
+    /**
+     * Create a new, empty set.
+     */
+    public CompactRidSet() {
+        this(64);
+    }
+
+    /**
+     * Create a new, empty set sized to hold the provided number of RIDs without needing to grow.
+     *
+     * @param expectedSize the number of RIDs the set is expected to hold
+     */
+    public CompactRidSet(int expectedSize) {
+        this(expectedSize, ContentHash::fnv1a64);
+    }
+
+    /**
+     * Create a new, empty set that hashes RIDs using the provided function.
+     *
+     * @param expectedSize the number of RIDs the set is expected to hold
+     * @param hasher the function with which to hash each RID
+     */
+    CompactRidSet(int expectedSize, ToLongFunction<String> hasher) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.hasher = hasher;
+        this.hashes = new long[capacity];
+        this.rids = new String[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Add the provided RID to the set.
+     *
+     * @param rid the RID to add
+     * @return boolean true if the RID was not already in the set, otherwise false
+     */
+    public boolean add(String rid) {
+        if (rid == null) {
+            return false;
+        }
+        if ((size + 1) * 2 > rids.length) {
+            grow();
+        }
+        boolean added = insert(hashes, rids, hasher.applyAsLong(rid), rid);
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    /**
+     * Indicates whether the provided RID is in the set (true) or not (false).
+     *
+     * @param rid the RID to check
+     * @return boolean
+     */
+    public boolean contains(String rid) {
+        if (rid == null) {
+            return false;
+        }
+        long hash = hasher.applyAsLong(rid);
+        int mask = rids.length - 1;
+        int index = spread(hash) & mask;
+        while (rids[index] != null) {
+            if (hashes[index] == hash && rids[index].equals(rid)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieve the number of RIDs in the set.
+     *
+     * @return int
+     */
+    public int size() { return size; }
+
+    /**
+     * Double the capacity of the tables, re-inserting every existing RID.
+     */
+    private void grow() {
+        long[] biggerHashes = new long[hashes.length << 1];
+        String[] biggerRids = new String[rids.length << 1];
+        for (int i = 0; i < rids.length; i++) {
+            if (rids[i] != null) {
+                insert(biggerHashes, biggerRids, hashes[i], rids[i]);
+            }
+        }
+        hashes = biggerHashes;
+        rids = biggerRids;
+    }
+
+    /**
+     * Insert the provided RID into the provided tables (which must have at least one empty slot).
+     *
+     * @param intoHashes the table of hashes into which to insert
+     * @param intoRids the table of RIDs into which to insert
+     * @param hash the hash of the RID
+     * @param rid the RID to insert
+     * @return boolean true if the RID was inserted, false if it was already present
+     */
+    private static boolean insert(long[] intoHashes, String[] intoRids, long hash, String rid) {
+        int mask = intoRids.length - 1;
+        int index = spread(hash) & mask;
+        while (intoRids[index] != null) {
+            if (intoHashes[index] == hash && intoRids[index].equals(rid)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        intoHashes[index] = hash;
+        intoRids[index] = rid;
+        return true;
+    }
+
+    /**
+     * Fold the high bits of the hash into the low bits used to pick a slot.
+     *
+     * @param hash the 64-bit hash
+     * @return int
+     */
+    private static int spread(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "CompactRidSet{size=" + size + ", capacity=" + rids.length + "}";
+    }
+
+}
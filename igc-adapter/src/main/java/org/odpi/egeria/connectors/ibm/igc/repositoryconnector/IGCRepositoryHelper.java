@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.egeria.connectors.ibm.igc.auditlog.IGCOMRSErrorCode;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestConstants;
@@ -12,10 +13,12 @@ import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchSorting;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchTemplate;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.EntityMappingInstance;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.classifications.ClassificationMapping;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.entities.EntityMapping;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.relationships.RelationshipMapping;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.CompactStubPayload;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.IGCEntityGuid;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.IGCRelationshipGuid;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
@@ -33,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -51,6 +55,12 @@ public class IGCRepositoryHelper {
     private static final String GENERATED_ENTITY_QNAME_PREFIX = "gen!";
     private static final String GENERATED_ENTITY_QNAME_POSTFIX = "@";
 
+    private static final IGCSearchTemplate STUB_BY_NAME = new IGCSearchTemplate(new IGCSearch(
+            "$OMRS-Stub",
+            new String[]{ "$sourceRID", "$sourceType", "$payload" },
+            new IGCSearchConditionSet(new IGCSearchCondition("name", "=", IGCSearchTemplate.parameter(0)))
+    ));
+
     private IGCOMRSRepositoryConnector igcomrsRepositoryConnector;
     private OMRSRepositoryHelper repositoryHelper;
     private IGCRestClient igcRestClient;
@@ -63,6 +73,7 @@ public class IGCRepositoryHelper {
     private String metadataCollectionId;
 
     private XMLOutputFactory xmlOutputFactory;
+    private ObjectMapper stubMapper;
 
     IGCRepositoryHelper(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                         OMRSRepositoryHelper repositoryHelper,
@@ -71,6 +82,7 @@ public class IGCRepositoryHelper {
         this.repositoryHelper = repositoryHelper;
         this.igcRestClient = igcRestClient;
         this.xmlOutputFactory = XMLOutputFactory.newInstance();
+        this.stubMapper = new ObjectMapper();
         this.repositoryName = igcomrsRepositoryConnector.getRepositoryName();
         this.metadataCollectionId = igcomrsRepositoryConnector.getMetadataCollectionId();
         this.entityMappingStore = new EntityMappingStore(igcomrsRepositoryConnector);
@@ -1686,15 +1698,7 @@ public class IGCRepositoryHelper {
 
         // We need to translate the provided asset into a unique name for the stub
         String stubName = getStubNameForAsset(rid, type);
-        IGCSearchCondition condition = new IGCSearchCondition(
-                "name",
-                "=",
-                stubName
-        );
-        String[] properties = new String[]{ "$sourceRID", "$sourceType", "$payload" };
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        IGCSearch igcSearch = new IGCSearch("$OMRS-Stub", properties, conditionSet);
-        ItemList<OMRSStub> results = igcRestClient.search(igcSearch);
+        ItemList<OMRSStub> results = igcRestClient.search(STUB_BY_NAME, stubName);
         OMRSStub stub = null;
         if (results.getPaging().getNumTotal() > 0) {
             if (results.getPaging().getNumTotal() > 1) {
@@ -1708,6 +1712,47 @@ public class IGCRepositoryHelper {
 
     }
 
+    /**
+     * Retrieve the OMRS asset stubs (shadow copies of last version of assets) for all of the provided assets, using
+     * as few searches as possible (each search retrieves up to a page of stubs by name).
+     * Any asset for which there is no existing stub will simply be missing from the results.
+     *
+     * @param ridsToTypes the Repository IDs (RIDs) of the assets for which to retrieve the OMRS stubs, keyed to the
+     *                    IGC asset type of each
+     * @param batchSize the maximum number of stubs to retrieve in a single search
+     * @return {@code Map<String, OMRSStub>} keyed by the RID of the asset to which each stub belongs
+     */
+    public Map<String, OMRSStub> getOMRSStubsForAssets(Map<String, String> ridsToTypes, int batchSize) {
+
+        Map<String, OMRSStub> stubs = new HashMap<>();
+        String[] properties = new String[]{ "$sourceRID", "$sourceType", "$payload" };
+        List<String> stubNames = new ArrayList<>();
+        Iterator<Map.Entry<String, String>> assets = ridsToTypes.entrySet().iterator();
+        while (assets.hasNext()) {
+            Map.Entry<String, String> asset = assets.next();
+            stubNames.add(getStubNameForAsset(asset.getKey(), asset.getValue()));
+            if (stubNames.size() >= batchSize || !assets.hasNext()) {
+                IGCSearchCondition condition = new IGCSearchCondition("name", stubNames);
+                IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
+                IGCSearch igcSearch = new IGCSearch("$OMRS-Stub", properties, conditionSet);
+                igcSearch.setPageSize(batchSize);
+                ItemList<OMRSStub> results = igcRestClient.search(igcSearch);
+                results.getAllPages(igcRestClient);
+                for (OMRSStub stub : results.getItems()) {
+                    if (stubs.containsKey(stub.getSourceRID())) {
+                        if (log.isWarnEnabled()) { log.warn("Found multiple stubs for asset, taking only the first: {}", stub.getSourceRID()); }
+                    } else {
+                        stubs.put(stub.getSourceRID(), stub);
+                    }
+                }
+                stubNames = new ArrayList<>();
+            }
+        }
+        if (log.isDebugEnabled()) { log.debug("Found {} stubs for {} assets.", stubs.size(), ridsToTypes.size()); }
+        return stubs;
+
+    }
+
     /**
      * Retrieve an OMRS asset stub (shadow copy of last version of an asset) for the provided asset.
      * If there is no existing stub, will return null.
@@ -1731,8 +1776,14 @@ public class IGCRepositoryHelper {
 
         String stubName = getStubNameFromAsset(asset);
 
-        // Get the full asset details as a singular JSON payload
+        // Get the full asset details as a singular JSON payload, and encode it in compact form (with the content
+        // hashes that allow unchanged properties to be skipped by subsequent change detection)
         String payload = igcRestClient.getValueAsJSON(asset);
+        try {
+            payload = CompactStubPayload.fromJsonTree(stubMapper.readTree(payload)).encode();
+        } catch (IOException e) {
+            if (log.isWarnEnabled()) { log.warn("Unable to encode compact payload for stub, storing as plain JSON: {}", stubName, e); }
+        }
 
         // Construct the asset XML document, including the full asset payload
         StringWriter stringWriter = new StringWriter();
@@ -0,0 +1,267 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A compact representation of the payload of an OMRS stub: a binary encoding of the last version of an asset
+ * (compressed JSON) preceded by a content hash for each of the asset's top-level properties.
+ * <br><br>
+ * The per-property hashes allow unchanged properties to be detected without parsing or diff'ing the full JSON of
+ * the asset, so that the (expensive) JSON diff only needs to be run over properties whose hash has changed. Payloads
+ * that were stored before this format existed (ie. plain JSON) can still be read, and will be re-written in the compact
+ * form the next time the stub is upserted.
+ */
+public class CompactStubPayload {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactStubPayload.class);
+
+    /**
+     * Marker at the start of any payload stored in the compact form.
+     */
+    public static final String COMPACT_PREFIX = "#c1:";
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private long modifiedOn;
+    private LinkedHashMap<String, Long> propertyHashes;
+    private byte[] compressedJson;
+    private String json;
+    private JsonNode tree;
+
+    private CompactStubPayload() {
+        this.propertyHashes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Create a new compact payload from the JSON tree of an asset.
+     *
+     * @param asset the JSON tree representing the latest version of the asset
+     * @return CompactStubPayload
+     */
+    public static CompactStubPayload fromJsonTree(JsonNode asset) {
+        CompactStubPayload payload = new CompactStubPayload();
+        payload.tree = asset;
+        payload.json = asset.toString();
+        payload.modifiedOn = asset.path("modified_on").asLong(0);
+        Iterator<Map.Entry<String, JsonNode>> fields = asset.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            payload.propertyHashes.put(field.getKey(), ContentHash.fnv1a64(field.getValue().toString()));
+        }
+        return payload;
+    }
+
+    /**
+     * Read a compact payload from the payload string stored on an OMRS stub, whether that payload is already in
+     * the compact form or is a plain JSON payload (from a stub stored before the compact form existed).
+     *
+     * @param stubPayload the payload string stored on the OMRS stub
+     * @param objectMapper the mapper to use to parse any plain JSON payload
+     * @return CompactStubPayload
+     * @throws IOException if the payload cannot be decoded
+     */
+    public static CompactStubPayload fromStubPayload(String stubPayload, ObjectMapper objectMapper) throws IOException {
+
+        CompactStubPayload payload;
+        if (isCompact(stubPayload)) {
+            payload = new CompactStubPayload();
+            byte[] bytes = Base64.getDecoder().decode(stubPayload.substring(COMPACT_PREFIX.length()));
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                byte version = in.readByte();
+                if (version != FORMAT_VERSION) {
+                    throw new IOException("Unsupported stub payload format version: " + version);
+                }
+                payload.modifiedOn = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String property = in.readUTF();
+                    payload.propertyHashes.put(property, in.readLong());
+                }
+                payload.compressedJson = new byte[in.readInt()];
+                in.readFully(payload.compressedJson);
+            }
+        } else {
+            if (log.isDebugEnabled()) { log.debug("Stub payload is not compact -- parsing as JSON."); }
+            payload = fromJsonTree(objectMapper.readTree(stubPayload == null ? "{}" : stubPayload));
+        }
+        return payload;
+
+    }
+
+    /**
+     * Decode the JSON of the asset from the provided stub payload, irrespective of whether the payload is stored in
+     * the compact form or as plain JSON.
+     *
+     * @param stubPayload the payload string stored on the OMRS stub
+     * @return String of JSON representing the last version of the asset
+     */
+    public static String getJsonFromStubPayload(String stubPayload) {
+        String json = stubPayload;
+        if (isCompact(stubPayload)) {
+            try {
+                json = fromStubPayload(stubPayload, null).getJson();
+            } catch (IOException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to decode compact stub payload: {}", stubPayload, e); }
+                json = null;
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Indicates whether the provided stub payload is stored in the compact form (true) or not (false).
+     *
+     * @param stubPayload the payload string stored on the OMRS stub
+     * @return boolean
+     */
+    public static boolean isCompact(String stubPayload) {
+        return stubPayload != null && stubPayload.startsWith(COMPACT_PREFIX);
+    }
+
+    /**
+     * Encode this payload into the compact string form to be stored on an OMRS stub.
+     *
+     * @return String
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(modifiedOn);
+            out.writeInt(propertyHashes.size());
+            for (Map.Entry<String, Long> entry : propertyHashes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+            byte[] compressed = getCompressedJson();
+            out.writeInt(compressed.length);
+            out.write(compressed);
+        } catch (IOException e) {
+            // Only writing to memory, so this should never happen
+            if (log.isErrorEnabled()) { log.error("Unable to encode compact stub payload.", e); }
+        }
+        return COMPACT_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Retrieve the modification timestamp of the asset captured in this payload, or 0 if there was none.
+     *
+     * @return long
+     */
+    public long getModifiedOn() { return modifiedOn; }
+
+    /**
+     * Retrieve the content hash of each top-level property of the asset captured in this payload.
+     *
+     * @return {@code Map<String, Long>}
+     */
+    public Map<String, Long> getPropertyHashes() { return Collections.unmodifiableMap(propertyHashes); }
+
+    /**
+     * Retrieve the names of the top-level properties whose content differs between this payload and the provided
+     * payload: including any properties that exist in only one of the two.
+     *
+     * @param other the payload against which to compare
+     * @return {@code Set<String>}
+     */
+    public Set<String> getChangedProperties(CompactStubPayload other) {
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, Long> entry : propertyHashes.entrySet()) {
+            if (!entry.getValue().equals(other.propertyHashes.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String property : other.propertyHashes.keySet()) {
+            if (!propertyHashes.containsKey(property)) {
+                changed.add(property);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Retrieve the full JSON of the asset captured in this payload, decompressing it if necessary.
+     *
+     * @return String
+     */
+    public String getJson() {
+        if (json == null && compressedJson != null) {
+            try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(compressedJson))) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(compressedJson.length * 4);
+                byte[] buffer = new byte[4096];
+                int length;
+                while ((length = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, length);
+                }
+                json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to decompress stub payload.", e); }
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Retrieve a JSON tree containing only the specified top-level properties of the asset captured in this payload.
+     *
+     * @param objectMapper the mapper to use to parse the JSON
+     * @param properties the names of the properties to include
+     * @return ObjectNode
+     * @throws IOException if the JSON cannot be parsed
+     */
+    public ObjectNode getSubTree(ObjectMapper objectMapper, Set<String> properties) throws IOException {
+        if (tree == null) {
+            tree = objectMapper.readTree(getJson());
+        }
+        return getSubTree(objectMapper, tree, properties);
+    }
+
+    /**
+     * Retrieve a JSON tree containing only the specified top-level properties of the provided JSON tree.
+     *
+     * @param objectMapper the mapper to use to create the new tree
+     * @param full the full JSON tree from which to take the properties
+     * @param properties the names of the properties to include
+     * @return ObjectNode
+     */
+    public static ObjectNode getSubTree(ObjectMapper objectMapper, JsonNode full, Set<String> properties) {
+        ObjectNode subset = objectMapper.createObjectNode();
+        for (String property : properties) {
+            JsonNode value = full.get(property);
+            if (value != null) {
+                subset.set(property, value);
+            }
+        }
+        return subset;
+    }
+
+    /**
+     * Retrieve the compressed bytes of the JSON of the asset captured in this payload, compressing it if necessary.
+     *
+     * @return byte[]
+     * @throws IOException if the JSON cannot be compressed
+     */
+    private byte[] getCompressedJson() throws IOException {
+        if (compressedJson == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+                out.write(getJson().getBytes(StandardCharsets.UTF_8));
+            }
+            compressedJson = bytes.toByteArray();
+        }
+        return compressedJson;
+    }
+
+}
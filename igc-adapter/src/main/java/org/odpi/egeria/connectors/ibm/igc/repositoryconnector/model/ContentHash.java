@@ -0,0 +1,39 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model;
+
+/**
+ * Utilities for computing cheap, non-cryptographic hashes of strings (eg. of stub payload properties, or of RIDs).
+ */
+public class ContentHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+        // Do nothing...
+    }
+
+    /**
+     * Calculate a 64-bit (FNV-1a) hash of the provided string, over the low and then high byte of each character.
+     * <br><br>
+     * These hashes are persisted within OMRS stubs, so the calculation must never change.
+     *
+     * @param value the string to hash
+     * @return long
+     */
+    public static long fnv1a64(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                hash ^= (c & 0xff);
+                hash *= FNV_PRIME;
+                hash ^= (c >>> 8);
+                hash *= FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+}
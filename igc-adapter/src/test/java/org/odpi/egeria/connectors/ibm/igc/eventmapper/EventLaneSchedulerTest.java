@@ -0,0 +1,191 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class EventLaneSchedulerTest {
+
+    public EventLaneSchedulerTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testStrictPriority() throws InterruptedException {
+
+        EventLaneScheduler scheduler = new EventLaneScheduler(1, null, null, EventLaneScheduler.FairnessPolicy.STRICT_PRIORITY, 10);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the only worker with a bulk event, then queue up more bulk events ahead of an asset event
+        scheduler.submit(EventLaneScheduler.Lane.BULK_SHARE, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.add("bulk0");
+        });
+        started.await();
+        scheduler.submit(EventLaneScheduler.Lane.BULK_SHARE, () -> processed.add("bulk1"));
+        scheduler.submit(EventLaneScheduler.Lane.BULK_SHARE, () -> processed.add("bulk2"));
+        scheduler.submit(EventLaneScheduler.Lane.ASSET, () -> processed.add("asset"));
+        release.countDown();
+
+        assertTrue(scheduler.shutdown(5000));
+        assertEquals(processed.size(), 4);
+        assertEquals(processed.get(1), "asset");
+        assertEquals(processed.get(2), "bulk1");
+
+    }
+
+    @Test
+    public void testLanesProgressIndependently() throws InterruptedException {
+
+        EventLaneScheduler scheduler = new EventLaneScheduler();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch assetDone = new CountDownLatch(1);
+
+        // A long-running bulk event must not hold up events in the asset lane
+        scheduler.submit(EventLaneScheduler.Lane.BULK_SHARE, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        scheduler.submit(EventLaneScheduler.Lane.ASSET, assetDone::countDown);
+        assetDone.await();
+        release.countDown();
+
+        assertTrue(scheduler.shutdown(5000));
+
+    }
+
+    @Test
+    public void testSameKeyProcessedInOrderAcrossLanes() throws InterruptedException {
+
+        EventLaneScheduler scheduler = new EventLaneScheduler(4, null, null, EventLaneScheduler.FairnessPolicy.STRICT_PRIORITY, 10);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // A slow bulk event for a RID must not be overtaken by a later (higher-priority) event for the same RID...
+        scheduler.submit(EventLaneScheduler.Lane.BULK_SHARE, Arrays.asList("rid1", "rid2"), () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.add("bulk");
+        });
+        started.await();
+        scheduler.submit(EventLaneScheduler.Lane.ASSET, Collections.singletonList("rid2"), () -> processed.add("update"));
+        scheduler.submit(EventLaneScheduler.Lane.ASSET, Collections.singletonList("rid2"), () -> processed.add("delete"));
+        // ... while an event for an unrelated RID is free to go ahead
+        CountDownLatch otherDone = new CountDownLatch(1);
+        scheduler.submit(EventLaneScheduler.Lane.ASSET, Collections.singletonList("rid3"), () -> {
+            processed.add("other");
+            otherDone.countDown();
+        });
+        otherDone.await();
+        release.countDown();
+
+        scheduler.awaitIdle();
+        assertEquals(processed, Arrays.asList("other", "bulk", "update", "delete"));
+        assertTrue(scheduler.shutdown(5000));
+
+    }
+
+    @Test
+    public void testSameKeyNeverConcurrent() throws InterruptedException {
+
+        EventLaneScheduler scheduler = new EventLaneScheduler(4, Collections.singletonMap(EventLaneScheduler.Lane.ASSET, 4), null, EventLaneScheduler.FairnessPolicy.WEIGHTED_ROUND_ROBIN, 100);
+        AtomicInteger active = new AtomicInteger(0);
+        AtomicInteger maxActive = new AtomicInteger(0);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 50; i++) {
+            final int sequence = i;
+            scheduler.submit(EventLaneScheduler.Lane.ASSET, Collections.singletonList("rid"), () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                processed.add(sequence);
+                active.decrementAndGet();
+            });
+        }
+
+        scheduler.awaitIdle();
+        assertEquals(maxActive.get(), 1);
+        assertEquals(processed.size(), 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(processed.get(i).intValue(), i);
+        }
+        assertTrue(scheduler.shutdown(5000));
+
+    }
+
+    @Test
+    public void testAwaitIdle() throws InterruptedException {
+
+        EventLaneScheduler scheduler = new EventLaneScheduler();
+        AtomicInteger count = new AtomicInteger(0);
+        for (int i = 0; i < 20; i++) {
+            scheduler.submit(EventLaneScheduler.Lane.values()[i % 3], () -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                count.incrementAndGet();
+            });
+        }
+
+        scheduler.awaitIdle();
+        assertEquals(count.get(), 20);
+        assertTrue(scheduler.shutdown(5000));
+
+    }
+
+    @Test
+    public void testCapacity() throws InterruptedException {
+
+        EventLaneScheduler scheduler = new EventLaneScheduler(1, null, null, EventLaneScheduler.FairnessPolicy.STRICT_PRIORITY, 3);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        scheduler.submit(EventLaneScheduler.Lane.ASSET, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        assertTrue(scheduler.hasCapacityFor(3));
+
+        // Any one lane without room is enough to report that there is no capacity
+        scheduler.submit(EventLaneScheduler.Lane.BULK_SHARE, () -> { });
+        assertTrue(scheduler.hasCapacityFor(2));
+        assertFalse(scheduler.hasCapacityFor(3));
+
+        release.countDown();
+        scheduler.awaitIdle();
+        assertTrue(scheduler.hasCapacityFor(3));
+        assertTrue(scheduler.shutdown(5000));
+
+    }
+
+}
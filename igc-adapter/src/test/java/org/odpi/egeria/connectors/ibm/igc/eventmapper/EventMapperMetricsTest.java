@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics.EventMapperMetrics;
+import org.odpi.egeria.connectors.ibm.igc.eventmapper.metrics.LatencyHistogram;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class EventMapperMetricsTest {
+
+    public EventMapperMetricsTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testHistogram() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000000L);     // 1ms
+        }
+        histogram.record(500000000L);       // 500ms
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getMaxMillis(), 500.0, 0.001);
+        assertTrue(histogram.getPercentileMillis(50) >= 1.0 && histogram.getPercentileMillis(50) < 2.1);
+        assertEquals(histogram.getPercentileMillis(100), 500.0, 0.001);
+
+    }
+
+    @Test
+    public void testReporting() {
+
+        EventMapperMetrics metrics = new EventMapperMetrics();
+        Map<String, Double> reported = new HashMap<>();
+        metrics.addReporter((registry, eventsPerSecond) -> reported.putAll(eventsPerSecond));
+
+        metrics.recordEvent("ASSET_MODIFIED_EVENT", 2000000L, 4);
+        metrics.recordEvent("ASSET_MODIFIED_EVENT", 2000000L, 6);
+        metrics.recordEvent("IMAM_SHARE_EVENT", 90000000L, 120);
+        metrics.recordPhase(EventMapperMetrics.Phase.STUB_READ, 1000000L);
+        metrics.recordConsumerLag("InfosphereEvents-0", 42);
+
+        assertEquals(metrics.getEventCounts().get("ASSET_MODIFIED_EVENT"), Long.valueOf(2));
+        assertEquals(metrics.getRestCallsPerEvent().get("ASSET_MODIFIED_EVENT"), 5.0, 0.001);
+        assertEquals(metrics.getPhaseLatencies().get(EventMapperMetrics.Phase.STUB_READ).getCount(), 1);
+        assertEquals(metrics.getConsumerLag().get("InfosphereEvents-0"), Long.valueOf(42));
+
+        metrics.report();
+        assertTrue(reported.containsKey("IMAM_SHARE_EVENT"));
+        assertTrue(reported.get("ASSET_MODIFIED_EVENT") > 0);
+        assertEquals(metrics.getEventsPerSecond().get("ASSET_MODIFIED_EVENT"), 0.0, 0.001);
+
+    }
+
+}
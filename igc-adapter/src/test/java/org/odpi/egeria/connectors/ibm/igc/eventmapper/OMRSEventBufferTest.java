@@ -0,0 +1,248 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class OMRSEventBufferTest {
+
+    public OMRSEventBufferTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testFlushOnSize() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer(3, 60000);
+        List<String> published = new ArrayList<>();
+
+        buffer.add("a", "NewEntity:1", () -> published.add("a"));
+        buffer.add("b", "NewEntity:1", () -> published.add("b"));
+        assertTrue(published.isEmpty());
+        assertEquals(buffer.size(), 2);
+
+        buffer.add("c", "NewEntity:1", () -> published.add("c"));
+        assertEquals(published, Arrays.asList("a", "b", "c"));
+        assertEquals(buffer.size(), 0);
+        assertEquals(buffer.getPublishedCount(), 3);
+
+    }
+
+    @Test
+    public void testFlushOnAge() throws InterruptedException {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer(100, 50);
+        List<String> published = new ArrayList<>();
+
+        buffer.add("a", "NewEntity:1", () -> published.add("a"));
+        buffer.flushIfExpired();
+        assertTrue(published.isEmpty());
+
+        Thread.sleep(100);
+        buffer.flushIfExpired();
+        assertEquals(published, Collections.singletonList("a"));
+        assertEquals(buffer.size(), 0);
+
+        // Once flushed, the age should restart from the next event
+        buffer.add("b", "NewEntity:1", () -> published.add("b"));
+        buffer.flushIfExpired();
+        assertEquals(published.size(), 1);
+
+    }
+
+    @Test
+    public void testRepeatsDropped() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer();
+        List<String> published = new ArrayList<>();
+
+        buffer.add("a", "UpdatedEntity:2", () -> published.add("a2"));
+        buffer.add("a", "UpdatedEntity:2", () -> published.add("a2-repeat"));
+        buffer.add("a", "UpdatedEntity:3", () -> published.add("a3"));
+        buffer.add("b", "UpdatedEntity:2", () -> published.add("b2"));
+        buffer.flush();
+
+        assertEquals(published, Arrays.asList("a2", "a3", "b2"));
+        assertEquals(buffer.getCoalescedCount(), 1);
+        assertEquals(buffer.getPublishedCount(), 3);
+
+        // Nothing should be dropped against events from an earlier batch
+        buffer.add("a", "UpdatedEntity:3", () -> published.add("a3-again"));
+        buffer.flush();
+        assertEquals(published.get(3), "a3-again");
+
+    }
+
+    @Test
+    public void testOrderingSensitiveSequenceKept() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer();
+        List<String> published = new ArrayList<>();
+
+        buffer.add("a", "PurgedEntity:1", () -> published.add("purge"));
+        buffer.add("a", "NewEntity:1", () -> published.add("new"));
+        buffer.add("a", "PurgedEntity:1", () -> published.add("purge-again"));
+        buffer.flush();
+
+        assertEquals(published, Arrays.asList("purge", "new", "purge-again"));
+        assertEquals(buffer.getCoalescedCount(), 0);
+
+    }
+
+    @Test
+    public void testOrderPreserved() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer(7, 60000);
+        List<Integer> published = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            final int n = i;
+            buffer.add("guid" + (i % 5), "NewEntity:" + i, () -> published.add(n));
+            expected.add(i);
+        }
+        buffer.flush();
+
+        assertEquals(published, expected);
+
+    }
+
+    @Test
+    public void testFailedEventDoesNotStopBatch() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer();
+        List<String> published = new ArrayList<>();
+
+        buffer.add("a", "NewEntity:1", () -> { throw new IllegalStateException("Unable to publish."); });
+        buffer.add("b", "NewEntity:1", () -> published.add("b"));
+        buffer.flush();
+
+        assertEquals(published, Collections.singletonList("b"));
+        assertEquals(buffer.getPublishedCount(), 1);
+
+    }
+
+    @Test
+    public void testAddNotBlockedWhilePublishing() throws InterruptedException {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer();
+        List<String> published = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        buffer.add("a", "NewEntity:1", () -> {
+            publishing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            published.add("a");
+        });
+        Thread flusher = new Thread(buffer::flush);
+        flusher.start();
+        assertTrue(publishing.await(5, TimeUnit.SECONDS));
+
+        // While the first batch is still being published, new events should be buffered without waiting on it
+        buffer.add("b", "NewEntity:1", () -> published.add("b"));
+        assertEquals(buffer.size(), 1);
+
+        release.countDown();
+        flusher.join(5000);
+        buffer.flush();
+        assertEquals(published, Arrays.asList("a", "b"));
+
+    }
+
+    @Test
+    public void testActionAfterEvents() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer(2, 60000);
+        List<String> published = new ArrayList<>();
+
+        buffer.add("a", "NewEntity:1", () -> published.add("a"));
+        buffer.afterPublish(Collections.singletonList("a"), () -> published.add("stub-a"));
+        assertTrue(published.isEmpty());
+
+        // Actions do not count towards the size of the buffer, but are run in order with the events around them
+        assertEquals(buffer.size(), 1);
+        buffer.add("b", "NewEntity:1", () -> published.add("b"));
+        assertEquals(published, Arrays.asList("a", "stub-a", "b"));
+        assertEquals(buffer.getPublishedCount(), 2);
+
+    }
+
+    @Test
+    public void testActionSkippedOnFailure() {
+
+        OMRSEventBuffer buffer = new OMRSEventBuffer(2, 60000);
+        List<String> published = new ArrayList<>();
+
+        // The failed event is published in an earlier batch than the action covering it
+        buffer.add("a", "NewEntity:1", () -> { throw new IllegalStateException("Unable to publish."); });
+        buffer.add("b", "NewEntity:1", () -> published.add("b"));
+        buffer.afterPublish(Arrays.asList("a", "b"), () -> published.add("stub-ab"));
+        buffer.add("c", "NewEntity:1", () -> published.add("c"));
+        buffer.afterPublish(Collections.singletonList("c"), () -> published.add("stub-c"));
+        buffer.flush();
+
+        assertEquals(published, Arrays.asList("b", "c", "stub-c"));
+
+        // Once skipped, a failure should not affect later actions for the same instance
+        buffer.add("a", "NewEntity:1", () -> published.add("a"));
+        buffer.afterPublish(Collections.singletonList("a"), () -> published.add("stub-a"));
+        buffer.flush();
+        assertEquals(published.subList(3, 5), Arrays.asList("a", "stub-a"));
+
+    }
+
+    @Test
+    public void testEventsResentAfterStopBeforeFlush() {
+
+        // Mirror the event mapper: compare the asset against its stub, buffer an event for any difference, and only
+        // update the stub once that event has been published
+        Map<String, Integer> stubs = new HashMap<>();
+        List<String> published = new ArrayList<>();
+
+        OMRSEventBuffer beforeStop = new OMRSEventBuffer();
+        processAsset(beforeStop, stubs, published, "a", 2);
+        assertEquals(beforeStop.size(), 1);
+
+        // Stop between processing the event and flushing the buffer: nothing is published, and the stub is untouched
+        assertTrue(published.isEmpty());
+        assertTrue(stubs.isEmpty());
+
+        // On restart the IGC event is replayed, and as the stub was never updated the OMRS event is produced again
+        OMRSEventBuffer afterRestart = new OMRSEventBuffer();
+        processAsset(afterRestart, stubs, published, "a", 2);
+        afterRestart.flush();
+        assertEquals(published, Collections.singletonList("a:2"));
+        assertEquals(stubs.get("a"), Integer.valueOf(2));
+
+        // ... and once it has been published, replaying the same IGC event again produces nothing further
+        processAsset(afterRestart, stubs, published, "a", 2);
+        afterRestart.flush();
+        assertEquals(published, Collections.singletonList("a:2"));
+
+    }
+
+    private static void processAsset(OMRSEventBuffer buffer, Map<String, Integer> stubs, List<String> published, String guid, int version) {
+        Integer last = stubs.get(guid);
+        if (last == null || last < version) {
+            buffer.add(guid, "UpdatedEntity:" + version, () -> published.add(guid + ":" + version));
+            buffer.afterPublish(Collections.singletonList(guid), () -> stubs.put(guid, version));
+        }
+    }
+
+}
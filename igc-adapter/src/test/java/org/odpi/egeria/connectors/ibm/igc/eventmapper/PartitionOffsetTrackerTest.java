@@ -0,0 +1,82 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class PartitionOffsetTrackerTest {
+
+    private static final TopicPartition FIRST = new TopicPartition("InfosphereEvents", 0);
+    private static final TopicPartition SECOND = new TopicPartition("InfosphereEvents", 1);
+
+    public PartitionOffsetTrackerTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testCommitUpToEarliestInFlight() {
+
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        for (long offset = 10; offset < 15; offset++) {
+            tracker.started(FIRST, offset);
+        }
+
+        // Later events finishing first must not allow anything to be committed past the earliest still in flight
+        tracker.finished(FIRST, 12);
+        tracker.finished(FIRST, 14);
+        assertEquals(tracker.takeCommittable(), Collections.singletonMap(FIRST, new OffsetAndMetadata(10)));
+
+        tracker.finished(FIRST, 10);
+        tracker.finished(FIRST, 11);
+        assertEquals(tracker.takeCommittable(), Collections.singletonMap(FIRST, new OffsetAndMetadata(13)));
+
+        // Once everything received is done, commit just past the latest event
+        tracker.finished(FIRST, 13);
+        assertEquals(tracker.takeCommittable(), Collections.singletonMap(FIRST, new OffsetAndMetadata(15)));
+
+    }
+
+    @Test
+    public void testOnlyChangedPartitions() {
+
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.started(FIRST, 0);
+        tracker.started(SECOND, 0);
+        tracker.finished(FIRST, 0);
+
+        Map<TopicPartition, OffsetAndMetadata> committable = tracker.takeCommittable();
+        assertEquals(committable, Collections.singletonMap(FIRST, new OffsetAndMetadata(1)));
+
+        // Nothing has moved on since the last commit
+        assertTrue(tracker.takeCommittable().isEmpty());
+
+        tracker.finished(SECOND, 0);
+        assertEquals(tracker.takeCommittable(), Collections.singletonMap(SECOND, new OffsetAndMetadata(1)));
+
+    }
+
+    @Test
+    public void testRelease() {
+
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.started(FIRST, 5);
+        tracker.started(FIRST, 6);
+        tracker.started(SECOND, 3);
+        tracker.finished(FIRST, 5);
+        tracker.finished(SECOND, 3);
+
+        // Only the revoked partition is committed and forgotten, leaving the other to be committed as normal
+        assertEquals(tracker.release(Collections.singleton(FIRST)), Collections.singletonMap(FIRST, new OffsetAndMetadata(6)));
+        tracker.finished(FIRST, 6);
+        assertEquals(tracker.takeCommittable(), Collections.singletonMap(SECOND, new OffsetAndMetadata(4)));
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.model;
+
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the cascading of a purge through a containment hierarchy.
+ */
+public class CascadingPurgeTest {
+
+    public CascadingPurgeTest() {
+        // Do nothing...
+    }
+
+    /**
+     * Records everything done by the purge, against a hierarchy of children keyed by their parent's RID.
+     */
+    private static class RecordingHandler implements CascadingPurge.Handler<String, String> {
+
+        private final Map<String, List<String>> children;
+        private final Set<String> withoutStubs;
+        private final List<Integer> stubBatchSizes = new ArrayList<>();
+        private final List<String> relationshipsPurged = new ArrayList<>();
+        private final List<String> entitiesPurged = new ArrayList<>();
+        private final List<Integer> flushedAt = new ArrayList<>();
+
+        RecordingHandler(Map<String, List<String>> children, Set<String> withoutStubs) {
+            this.children = children;
+            this.withoutStubs = withoutStubs;
+        }
+
+        @Override
+        public Map<String, String> getStubs(Map<String, String> ridsToTypes) {
+            stubBatchSizes.add(ridsToTypes.size());
+            Map<String, String> stubs = new HashMap<>();
+            for (String rid : ridsToTypes.keySet()) {
+                if (!withoutStubs.contains(rid)) {
+                    stubs.put(rid, "stub:" + rid);
+                }
+            }
+            return stubs;
+        }
+
+        @Override
+        public String purgeRelationships(String rid, String igcAssetType, String stub, Map<String, String> containedAssets) {
+            assertEquals(stub, "stub:" + rid);
+            // No entity can be purged before every relationship has been
+            assertTrue(entitiesPurged.isEmpty());
+            relationshipsPurged.add(rid);
+            for (String child : children.getOrDefault(rid, Collections.emptyList())) {
+                containedAssets.put(child, "child_of_" + igcAssetType);
+            }
+            return rid;
+        }
+
+        @Override
+        public void purgeEntity(String pending) {
+            entitiesPurged.add(pending);
+        }
+
+        @Override
+        public void flush() {
+            flushedAt.add(entitiesPurged.size());
+        }
+
+    }
+
+    @Test
+    public void testMultiLevelPurge() {
+
+        // host -> database -> schema -> 2 tables -> 2 columns each
+        Map<String, List<String>> children = new HashMap<>();
+        children.put("host", Collections.singletonList("db"));
+        children.put("db", Collections.singletonList("schema"));
+        children.put("schema", Arrays.asList("t1", "t2"));
+        children.put("t1", Arrays.asList("t1c1", "t1c2"));
+        children.put("t2", Arrays.asList("t2c1", "t2c2"));
+        RecordingHandler handler = new RecordingHandler(children, Collections.emptySet());
+
+        int purged = new CascadingPurge<>(handler, 100).purge(Collections.singletonMap("host", "host"));
+
+        assertEquals(purged, 9);
+        assertEquals(handler.relationshipsPurged, Arrays.asList("host", "db", "schema", "t1", "t2", "t1c1", "t1c2", "t2c1", "t2c2"));
+        // Entities are purged deepest level first, so every child precedes its parent
+        assertEquals(handler.entitiesPurged, Arrays.asList("t1c1", "t1c2", "t2c1", "t2c2", "t1", "t2", "schema", "db", "host"));
+        // Stubs are retrieved once per level
+        assertEquals(handler.stubBatchSizes, Arrays.asList(1, 1, 1, 2, 4));
+
+    }
+
+    @Test
+    public void testSharedAndCyclicContainment() {
+
+        // A child reachable from two parents, and a child that (wrongly) refers back to its ancestor and itself
+        Map<String, List<String>> children = new HashMap<>();
+        children.put("a", Arrays.asList("b", "c"));
+        children.put("b", Collections.singletonList("shared"));
+        children.put("c", Collections.singletonList("shared"));
+        children.put("shared", Arrays.asList("a", "shared"));
+        RecordingHandler handler = new RecordingHandler(children, Collections.emptySet());
+
+        int purged = new CascadingPurge<>(handler, 100).purge(Collections.singletonMap("a", "type"));
+
+        assertEquals(purged, 4);
+        assertEquals(handler.relationshipsPurged, Arrays.asList("a", "b", "c", "shared"));
+        assertEquals(handler.entitiesPurged, Arrays.asList("shared", "b", "c", "a"));
+
+    }
+
+    @Test
+    public void testAssetsWithoutStubsAreSkipped() {
+
+        Map<String, List<String>> children = new HashMap<>();
+        children.put("parent", Arrays.asList("stubbed", "unstubbed"));
+        children.put("unstubbed", Collections.singletonList("unreachable"));
+        RecordingHandler handler = new RecordingHandler(children, Collections.singleton("unstubbed"));
+
+        int purged = new CascadingPurge<>(handler, 100).purge(Collections.singletonMap("parent", "type"));
+
+        assertEquals(purged, 2);
+        assertEquals(handler.entitiesPurged, Arrays.asList("stubbed", "parent"));
+
+    }
+
+    @Test
+    public void testLevelsLargerThanBatch() {
+
+        // A table with 250 columns, and 120 further tables purged alongside it
+        Map<String, List<String>> children = new HashMap<>();
+        List<String> columns = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            columns.add("column" + i);
+        }
+        children.put("table", columns);
+        Map<String, String> purgedTables = new LinkedHashMap<>();
+        purgedTables.put("table", "database_table");
+        for (int i = 0; i < 120; i++) {
+            purgedTables.put("other" + i, "database_table");
+        }
+        RecordingHandler handler = new RecordingHandler(children, Collections.emptySet());
+
+        int purged = new CascadingPurge<>(handler, 100).purge(purgedTables);
+
+        assertEquals(purged, 371);
+        // Stubs are never retrieved more than a batch at a time, but every asset is still covered
+        assertEquals(handler.stubBatchSizes, Arrays.asList(100, 21, 100, 100, 50));
+        // ... and purges are flushed after every full batch
+        assertEquals(handler.flushedAt, Arrays.asList(100, 200, 300));
+        // ... with all of the columns purged before any of the tables
+        assertEquals(handler.entitiesPurged.size(), 371);
+        for (int i = 0; i < 250; i++) {
+            assertTrue(handler.entitiesPurged.get(i).startsWith("column"));
+        }
+        assertEquals(handler.entitiesPurged.get(250), "table");
+        assertEquals(new HashSet<>(handler.entitiesPurged).size(), 371);
+
+    }
+
+}
@@ -0,0 +1,73 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper.model;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the tracking of visited RIDs.
+ */
+public class CompactRidSetTest {
+
+    public CompactRidSetTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testAddAndContains() {
+
+        CompactRidSet rids = new CompactRidSet(2);
+        assertTrue(rids.add("b1c497ce.54bd3a08.001mts4qn.7n9a341.3ah12i.d8isp0jsg6jeoe3agsrk"));
+        assertFalse(rids.add("b1c497ce.54bd3a08.001mts4qn.7n9a341.3ah12i.d8isp0jsg6jeoe3agsrk"));
+        assertTrue(rids.contains("b1c497ce.54bd3a08.001mts4qn.7n9a341.3ah12i.d8isp0jsg6jeoe3agsrk"));
+        assertFalse(rids.contains("b1c497ce.54bd3a08.001mts4qn.7n9a341.3ah12i.d8isp0jsg6jeoe3agsrl"));
+        assertFalse(rids.add(null));
+        assertFalse(rids.contains(null));
+        assertEquals(rids.size(), 1);
+
+    }
+
+    @Test
+    public void testGrow() {
+
+        CompactRidSet rids = new CompactRidSet(1);
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(rids.add("rid" + i));
+        }
+        assertEquals(rids.size(), 10000);
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(rids.contains("rid" + i));
+            assertFalse(rids.add("rid" + i));
+        }
+        assertFalse(rids.contains("rid10000"));
+
+    }
+
+    @Test
+    public void testHashCollisions() {
+
+        // Every RID hashes the same, so only the comparison of the RIDs themselves can tell them apart
+        CompactRidSet rids = new CompactRidSet(4, rid -> 42L);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rids.add("rid" + i));
+        }
+        assertEquals(rids.size(), 100);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rids.contains("rid" + i));
+            assertFalse(rids.add("rid" + i));
+        }
+        assertFalse(rids.contains("other"));
+
+        // ... including a hash of 0
+        CompactRidSet zero = new CompactRidSet(4, rid -> 0L);
+        assertTrue(zero.add("a"));
+        assertTrue(zero.add("b"));
+        assertTrue(zero.contains("a"));
+        assertTrue(zero.contains("b"));
+        assertFalse(zero.contains("c"));
+
+    }
+
+}
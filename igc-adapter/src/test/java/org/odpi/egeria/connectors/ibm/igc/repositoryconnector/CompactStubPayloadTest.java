@@ -0,0 +1,59 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.CompactStubPayload;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class CompactStubPayloadTest {
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private String BEFORE = "{\"_type\":\"term\",\"_id\":\"abc\",\"name\":\"Term\",\"modified_on\":1565275364000,\"assigned_assets\":{\"items\":[{\"_id\":\"1\"}]}}";
+    private String AFTER = "{\"_type\":\"term\",\"_id\":\"abc\",\"name\":\"Term\",\"modified_on\":1565275399000,\"assigned_assets\":{\"items\":[{\"_id\":\"1\"},{\"_id\":\"2\"}]},\"short_description\":\"New\"}";
+
+    public CompactStubPayloadTest() {
+        // Do nothing...
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+
+        CompactStubPayload original = CompactStubPayload.fromJsonTree(objectMapper.readTree(BEFORE));
+        String encoded = original.encode();
+        assertTrue(CompactStubPayload.isCompact(encoded));
+        assertFalse(CompactStubPayload.isCompact(BEFORE));
+
+        CompactStubPayload decoded = CompactStubPayload.fromStubPayload(encoded, objectMapper);
+        assertEquals(decoded.getModifiedOn(), 1565275364000L);
+        assertEquals(decoded.getPropertyHashes(), original.getPropertyHashes());
+        assertEquals(objectMapper.readTree(decoded.getJson()), objectMapper.readTree(BEFORE));
+        assertEquals(CompactStubPayload.getJsonFromStubPayload(encoded), decoded.getJson());
+        assertEquals(CompactStubPayload.getJsonFromStubPayload(BEFORE), BEFORE);
+
+    }
+
+    @Test
+    public void testChangedProperties() throws IOException {
+
+        CompactStubPayload before = CompactStubPayload.fromStubPayload(CompactStubPayload.fromJsonTree(objectMapper.readTree(BEFORE)).encode(), objectMapper);
+        CompactStubPayload after = CompactStubPayload.fromJsonTree(objectMapper.readTree(AFTER));
+
+        Set<String> changed = before.getChangedProperties(after);
+        assertEquals(changed.size(), 3);
+        assertTrue(changed.contains("modified_on"));
+        assertTrue(changed.contains("assigned_assets"));
+        assertTrue(changed.contains("short_description"));
+
+        assertTrue(before.getChangedProperties(before).isEmpty());
+        assertEquals(before.getSubTree(objectMapper, changed).size(), 2);
+
+    }
+
+}
@@ -5,6 +5,9 @@ package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -21,6 +24,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.errors.IGCConnectivityException;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.errors.IGCIOException;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.errors.IGCParsingException;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.IGCTypeRegistry;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.*;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.types.TypeDetails;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.types.TypeHeader;
@@ -29,6 +33,7 @@ import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchSorting;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchTemplate;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCCreate;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCUpdate;
 import org.slf4j.Logger;
@@ -73,11 +78,15 @@ public class IGCRestClient {
     private String authorization;
     private String baseURL;
     private Boolean workflowEnabled = false;
-    private List<String> cookies = null;
+    private final AtomicReference<List<String>> cookies = new AtomicReference<>(null);
     private RestTemplate restTemplate;
 
     private IGCVersionEnum igcVersion;
     private HashMap<String, DynamicPropertyReader> typeAndPropertyToAccessor;
+    private final Map<String, Class<?>> typeToPOJO = new ConcurrentHashMap<>();
+    private final ContextInterner contextInterner = new ContextInterner();
+    private final Map<String, IGCSearchTemplate> searchTemplates = createSearchTemplateCache();
+    private final IGCSearchTemplate assetRefByIdTemplate = createAssetRefByIdTemplate();
 
     private Set<String> typesThatCanBeCreated;
     private Set<String> typesThatIncludeModificationDetails;
@@ -89,9 +98,14 @@ public class IGCRestClient {
 
     private int defaultPageSize = 100;
 
+    private final AtomicLong requestCount = new AtomicLong(0);
+    private final ThreadLocal<long[]> threadRequestCount = ThreadLocal.withInitial(() -> new long[1]);
+
     private ObjectMapper mapper;
     private ObjectMapper typeMapper;
 
+    private static final int MAX_SEARCH_TEMPLATES = 1000;
+
     private static final String EP_TYPES = "/ibm/iis/igc-rest/v1/types";
     private static final String EP_ASSET = "/ibm/iis/igc-rest/v1/assets";
     private static final String EP_SEARCH = "/ibm/iis/igc-rest/v1/search";
@@ -148,7 +162,8 @@ public class IGCRestClient {
         // derived from 'data_item')
         this.mapper = new ObjectMapper()
                             .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
-                            .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+                            .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+                            .registerModule(new IGCTypeModule());
         this.typeMapper = new ObjectMapper();
         this.typeAndPropertyToAccessor = new HashMap<>();
         this.restTemplate = new RestTemplate();
@@ -221,23 +236,22 @@ public class IGCRestClient {
     }
 
     /**
-     * Setup the HTTP headers of a request based on either session reuse (forceLogin = false) or forcing a new
-     * session (forceLogin = true).
+     * Setup the HTTP headers of a request based on either session reuse (session provided) or forcing a new
+     * session (no session provided).
      *
-     * @param forceLogin indicates whether to create a new session by forcing login (true), or reuse existing session (false)
+     * @param session the cookies of the session to re-use, or null to create a new session
      * @return HttpHeaders
      */
-    private HttpHeaders getHttpHeaders(boolean forceLogin) {
+    private HttpHeaders getHttpHeaders(List<String> session) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.CACHE_CONTROL, "no-cache");
         headers.add(HttpHeaders.CONTENT_TYPE, "application/json");
 
-        // If we have cookies already, and haven't been asked to force the login,
-        // re-use these (to maintain the same session)
-        if (cookies != null && !forceLogin) {
-            // TODO: identified as High issue on page 1122
-            headers.addAll(HttpHeaders.COOKIE, cookies);
+        // If we have a session already (and haven't been asked to force the login),
+        // re-use its cookies (to maintain the same session)
+        if (session != null) {
+            headers.addAll(HttpHeaders.COOKIE, session);
         } else { // otherwise re-authenticate by Basic authentication
             String auth = "Basic " + this.authorization;
             headers.add(HttpHeaders.AUTHORIZATION, auth);
@@ -257,19 +271,22 @@ public class IGCRestClient {
      * @param contentType the type of content to expect in the payload (if any)
      * @param payload the payload (if any) for the request
      * @param alreadyTriedNewSession indicates whether a new session was already attempted (true) or not (false)
+     * @param session the cookies of the session with which the request failed
      * @return {@code ResponseEntity<String>}
      */
     private ResponseEntity<String> openNewSessionWithRequest(String url,
                                                              HttpMethod method,
                                                              MediaType contentType,
                                                              String payload,
-                                                             boolean alreadyTriedNewSession) {
+                                                             boolean alreadyTriedNewSession,
+                                                             List<String> session) {
         if (alreadyTriedNewSession) {
             String formattedMessage = method + " to " + url + " with: " + payload;
             throw new IGCConnectivityException("Opening a new session already attempted without success -- giving up.", formattedMessage);
         } else {
-            // By removing cookies, we'll force a login
-            this.cookies = null;
+            // By removing cookies, we'll force a login (unless another thread has already replaced the session that
+            // failed, in which case there is no need to discard its replacement)
+            cookies.compareAndSet(session, null);
             return makeRequest(url, method, contentType, payload, true);
         }
     }
@@ -283,19 +300,21 @@ public class IGCRestClient {
      * @param method the HTTP method to use in sending the request
      * @param file the Spring FileSystemResource or ClassPathResource containing the file to be uploaded
      * @param alreadyTriedNewSession indicates whether a new session was already attempted (true) or not (false)
+     * @param session the cookies of the session with which the upload failed
      * @return {@code ResponseEntity<String>}
      */
     private ResponseEntity<String> openNewSessionWithUpload(String endpoint,
                                                             HttpMethod method,
                                                             AbstractResource file,
-                                                            boolean alreadyTriedNewSession) {
+                                                            boolean alreadyTriedNewSession,
+                                                            List<String> session) {
         if (alreadyTriedNewSession) {
             String formattedMessage = method + " to " + endpoint + " with: " + file.toString();
             throw new IGCConnectivityException("Opening a new session already attempted without success -- giving up.", formattedMessage);
         } else {
             log.info("Session appears to have timed out -- starting a new session and re-trying the upload.");
-            // By removing cookies, we'll force a login
-            this.cookies = null;
+            // By removing cookies, we'll force a login (unless another thread has already replaced the failed session)
+            cookies.compareAndSet(session, null);
             return uploadFile(endpoint, method, file, true);
         }
     }
@@ -311,8 +330,9 @@ public class IGCRestClient {
         // If we had a successful response, setup the cookies
         if (response.getStatusCode() == HttpStatus.OK || response.getStatusCode() == HttpStatus.CREATED) {
             HttpHeaders headers = response.getHeaders();
-            if (headers.get(HttpHeaders.SET_COOKIE) != null) {
-                this.cookies = headers.get(HttpHeaders.SET_COOKIE);
+            List<String> setCookies = headers.get(HttpHeaders.SET_COOKIE);
+            if (setCookies != null) {
+                cookies.set(Collections.unmodifiableList(new ArrayList<>(setCookies)));
             }
         } else {
             throw new IGCConnectivityException("Unable to make request or unexpected status.", response.getStatusCode().toString());
@@ -398,6 +418,30 @@ public class IGCRestClient {
      */
     public void setDefaultPageSize(int pageSize) { this.defaultPageSize = pageSize; }
 
+    /**
+     * Retrieve the total number of REST requests this client has made against the environment.
+     *
+     * @return long
+     */
+    public long getRequestCount() { return requestCount.get(); }
+
+    /**
+     * Retrieve the number of REST requests this client has made against the environment from the current thread.
+     * (Taking the difference of this count before and after some processing gives the number of requests the
+     * processing needed, irrespective of any other threads sharing the client.)
+     *
+     * @return long
+     */
+    public long getRequestCountForCurrentThread() { return threadRequestCount.get()[0]; }
+
+    /**
+     * Count a REST request that is about to be made against the environment.
+     */
+    private void countRequest() {
+        requestCount.incrementAndGet();
+        threadRequestCount.get()[0]++;
+    }
+
     /**
      * Utility function to easily encode a username and password to send through as authorization info.
      *
@@ -420,7 +464,10 @@ public class IGCRestClient {
      */
     private ResponseEntity<String> uploadFile(String endpoint, HttpMethod method, AbstractResource file, boolean forceLogin) {
 
-        HttpHeaders headers = getHttpHeaders(forceLogin);
+        // Take a single snapshot of the session, so that the upload is both sent with and (if it fails) retried
+        // against the same session, whatever other threads are doing
+        List<String> session = forceLogin ? null : cookies.get();
+        HttpHeaders headers = getHttpHeaders(session);
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
         ResponseEntity<String> response;
@@ -432,6 +479,7 @@ public class IGCRestClient {
         String url = baseURL + (endpoint.startsWith("/") ? endpoint : "/" + endpoint);
 
         try {
+            countRequest();
             response = restTemplate.exchange(
                     url,
                     method,
@@ -445,7 +493,8 @@ public class IGCRestClient {
                     endpoint,
                     method,
                     file,
-                    forceLogin
+                    forceLogin,
+                    session
             );
         } catch (RestClientException e) {
             throw new IGCConnectivityException("Request failed -- check IGC environment connectivity and authentication details.", e);
@@ -483,7 +532,10 @@ public class IGCRestClient {
                                                MediaType contentType,
                                                String payload,
                                                boolean forceLogin) {
-        HttpHeaders headers = getHttpHeaders(forceLogin);
+        // Take a single snapshot of the session, so that the request is both sent with and (if it fails) retried
+        // against the same session, whatever other threads are doing
+        List<String> session = forceLogin ? null : cookies.get();
+        HttpHeaders headers = getHttpHeaders(session);
         HttpEntity<String> toSend;
         if (payload != null) {
             headers.setContentType(contentType);
@@ -495,6 +547,7 @@ public class IGCRestClient {
         try {
             if (log.isDebugEnabled()) { log.debug("{}ing to {} with: {}", method, url, payload); }
             UriComponents uriComponents = UriComponentsBuilder.fromHttpUrl(url).build(true);
+            countRequest();
             response = restTemplate.exchange(
                     uriComponents.toUri(),
                     method,
@@ -509,7 +562,8 @@ public class IGCRestClient {
                     method,
                     contentType,
                     payload,
-                    forceLogin
+                    forceLogin,
+                    session
             );
         } catch (RestClientException e) {
             throw new IGCConnectivityException("Request failed -- check IGC environment connectivity and authentication details.", e);
@@ -636,12 +690,46 @@ public class IGCRestClient {
      */
     public Reference getAssetRefById(String rid) {
 
+        ItemList<Reference> results = search(assetRefByIdTemplate, rid);
+        Reference reference = null;
+        if (results.getPaging().getNumTotal() > 0) {
+            if (results.getPaging().getNumTotal() > 1) {
+                if (log.isWarnEnabled()) { log.warn("Found multiple assets for RID {}, taking only the first.", rid); }
+            }
+            reference = results.getItems().get(0);
+        }
+
+        return reference;
+
+    }
+
+    /**
+     * Create the cache of prepared searches, retaining only the most recently used of them (as the properties
+     * requested by callers, and hence the distinct searches, are not bounded).
+     *
+     * @return {@code Map<String, IGCSearchTemplate>}
+     */
+    private static Map<String, IGCSearchTemplate> createSearchTemplateCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, IGCSearchTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IGCSearchTemplate> eldest) {
+                return size() > MAX_SEARCH_TEMPLATES;
+            }
+        });
+    }
+
+    /**
+     * Prepare the search used to retrieve any object by its RID.
+     *
+     * @return IGCSearchTemplate
+     */
+    private static IGCSearchTemplate createAssetRefByIdTemplate() {
         // We can search for any object by ID by using "main_object" as the type
         // (no properties needed)
         IGCSearchCondition condition = new IGCSearchCondition(
                 "_id",
                 "=",
-                rid
+                IGCSearchTemplate.parameter(0)
         );
         IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
         IGCSearch igcSearch = new IGCSearch("main_object", conditionSet);
@@ -650,17 +738,7 @@ public class IGCRestClient {
         igcSearch.addType("label");
         igcSearch.addType("user");
         igcSearch.addType("group");
-        ItemList<Reference> results = search(igcSearch);
-        Reference reference = null;
-        if (results.getPaging().getNumTotal() > 0) {
-            if (results.getPaging().getNumTotal() > 1) {
-                if (log.isWarnEnabled()) { log.warn("Found multiple assets for RID {}, taking only the first.", rid); }
-            }
-            reference = results.getItems().get(0);
-        }
-
-        return reference;
-
+        return new IGCSearchTemplate(igcSearch);
     }
 
     /**
@@ -750,16 +828,29 @@ public class IGCRestClient {
                                                                   IGCSearchSorting sorting) {
         if (log.isDebugEnabled()) { log.debug("Retrieving asset {} with subset of details: {}", rid, properties); }
         T assetWithProperties = null;
-        IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", rid);
-        IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
-        IGCSearch igcSearch = new IGCSearch(IGCRestConstants.getAssetTypeForSearch(assetType), properties, idOnlySet);
-        if (pageSize > 0) {
-            igcSearch.setPageSize(pageSize);
-        }
+        StringBuilder key = new StringBuilder("subset|").append(assetType).append('|').append(pageSize).append('|');
         if (sorting != null) {
-            igcSearch.addSortingCriteria(sorting);
+            key.append(sorting.getProperty()).append(':').append(sorting.getAscending());
+        }
+        if (properties != null) {
+            key.append('|').append(String.join(",", properties));
         }
-        ItemList<T> assetsWithProperties = search(igcSearch);
+        IGCSearchTemplate template = searchTemplates.computeIfAbsent(key.toString(), k -> {
+            IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", IGCSearchTemplate.parameter(0));
+            IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
+            IGCSearch igcSearch = new IGCSearch(IGCRestConstants.getAssetTypeForSearch(assetType), idOnlySet);
+            if (properties != null) {
+                igcSearch.addProperties(properties);
+            }
+            if (pageSize > 0) {
+                igcSearch.setPageSize(pageSize);
+            }
+            if (sorting != null) {
+                igcSearch.addSortingCriteria(sorting);
+            }
+            return new IGCSearchTemplate(igcSearch);
+        });
+        ItemList<T> assetsWithProperties = search(template, rid);
         if (!assetsWithProperties.getItems().isEmpty()) {
             assetWithProperties = assetsWithProperties.getItems().get(0);
         }
@@ -783,7 +874,7 @@ public class IGCRestClient {
                                                                   String[] properties,
                                                                   int pageSize,
                                                                   IGCSearchSorting sorting) {
-        return getAssetWithSubsetOfProperties(rid, assetType, Arrays.asList(properties), pageSize, sorting);
+        return getAssetWithSubsetOfProperties(rid, assetType, properties == null ? null : Arrays.asList(properties), pageSize, sorting);
     }
 
     /**
@@ -804,13 +895,37 @@ public class IGCRestClient {
      * @return {@code ItemList<T>} - the first page of results from the search
      */
     public <T extends Reference> ItemList<T> search(IGCSearch igcSearch) {
+        return readSearchResults(searchJson(igcSearch));
+    }
+
+    /**
+     * Retrieve all assets that match the criteria of the provided prepared search, with the provided values bound to
+     * its parameters. This avoids re-building and re-serializing the query for searches that are run repeatedly.
+     *
+     * @param template the prepared search to run
+     * @param values the value of each of the template's parameters, in order
+     * @param <T> the type of items that should be in the ItemList
+     * @return {@code ItemList<T>} - the first page of results from the search
+     */
+    public <T extends Reference> ItemList<T> search(IGCSearchTemplate template, String... values) {
+        return readSearchResults(makeRequest(EP_SEARCH, HttpMethod.POST, MediaType.APPLICATION_JSON, template.bind(values)));
+    }
+
+    /**
+     * Translate the provided JSON page of search results into an ItemList.
+     *
+     * @param results the JSON page of results from a search
+     * @param <T> the type of items that should be in the ItemList
+     * @return {@code ItemList<T>} - the page of results
+     */
+    private <T extends Reference> ItemList<T> readSearchResults(String results) {
         ItemList<T> itemList;
-        String results = searchJson(igcSearch);
         try {
             itemList = this.mapper.readValue(results, new TypeReference<ItemList<T>>(){});
         } catch (IOException e) {
             throw new IGCParsingException("Unable to translate JSON results.", results, e);
         }
+        contextInterner.intern(itemList.getItems());
         return itemList;
     }
 
@@ -1053,6 +1168,7 @@ public class IGCRestClient {
                     nextPageBody = nextPageBody.substring(attributeName.length() + 4, nextPageBody.length() - 1);
                 }
                 nextPage = mapper.readValue(nextPageBody, new TypeReference<ItemList<T>>() {});
+                contextInterner.intern(nextPage.getItems());
             }
         } catch (IOException e) {
             throw new IGCParsingException("Unable to parse next page from JSON.", paging.toString(), e);
@@ -1293,19 +1409,34 @@ public class IGCRestClient {
      * @return Class
      */
     public Class<?> getPOJOForType(String assetType) {
-        Class<?> igcPOJO = null;
-        StringBuilder sbPojoName = new StringBuilder();
-        sbPojoName.append(IGCRestConstants.IGC_REST_BASE_MODEL_PKG);
-        sbPojoName.append(".");
-        sbPojoName.append(IGCRestConstants.getClassNameForAssetType(assetType));
-        try {
-            igcPOJO = Class.forName(sbPojoName.toString());
-        } catch (ClassNotFoundException e) {
-            throw new IGCIOException("Unable to find POJO class.", sbPojoName.toString(), e);
+        Class<?> igcPOJO = IGCTypeRegistry.getClassForType(assetType);
+        if (igcPOJO == null) {
+            // Only fall back to looking up the class by name for types that were not generated, and only once per type
+            igcPOJO = typeToPOJO.computeIfAbsent(assetType, type -> {
+                StringBuilder sbPojoName = new StringBuilder();
+                sbPojoName.append(IGCRestConstants.IGC_REST_BASE_MODEL_PKG);
+                sbPojoName.append(".");
+                sbPojoName.append(IGCRestConstants.getClassNameForAssetType(type));
+                try {
+                    return Class.forName(sbPojoName.toString());
+                } catch (ClassNotFoundException e) {
+                    throw new IGCIOException("Unable to find POJO class.", sbPojoName.toString(), e);
+                }
+            });
         }
         return igcPOJO;
     }
 
+    /**
+     * Retrieve the interner through which this client shares the ancestors (context) of the objects it retrieves,
+     * so that they are only held in memory once no matter how many objects have them in common.
+     *
+     * @return ContextInterner
+     */
+    public ContextInterner getContextInterner() {
+        return contextInterner;
+    }
+
     /**
      * Returns true iff the workflow is enabled in the environment against which the REST connection is defined.
      *
@@ -1386,6 +1517,74 @@ public class IGCRestClient {
         return getAssetContext(object, true);
     }
 
+    /**
+     * Ensures that the _context and modification details of all of the provided assets are populated, so that their
+     * identities can be computed without any further searches (takes no action for any asset that already has them).
+     * Rather than one search per asset, the incomplete assets are grouped by type and retrieved through a single
+     * search for each page-sized chunk of their IDs.
+     *
+     * @param objects the IGC objects for which to populate the context and modification details
+     */
+    public void populateContextAndModificationDetails(Collection<? extends Reference> objects) {
+        populateContextAndModificationDetails(objects, defaultPageSize);
+    }
+
+    /**
+     * Ensures that the _context and modification details of all of the provided assets are populated, so that their
+     * identities can be computed without any further searches (takes no action for any asset that already has them).
+     * Rather than one search per asset, the incomplete assets are grouped by type and retrieved through a single
+     * search for each chunk of their IDs.
+     *
+     * @param objects the IGC objects for which to populate the context and modification details
+     * @param chunkSize the maximum number of IDs to retrieve through each search
+     */
+    public void populateContextAndModificationDetails(Collection<? extends Reference> objects, int chunkSize) {
+
+        if (objects == null || objects.isEmpty()) {
+            return;
+        }
+
+        // Group the incomplete objects by type, and then by ID (the same asset may appear more than once)
+        Map<String, Map<String, List<Reference>>> incompleteByType = new HashMap<>();
+        for (Reference object : objects) {
+            if (object != null && !object.isIdentityPopulated() && !object.hasIdentityDetails(this)) {
+                incompleteByType.computeIfAbsent(object.getType(), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(object.getId(), k -> new ArrayList<>())
+                        .add(object);
+            }
+        }
+
+        int size = Math.max(1, chunkSize);
+        for (Map.Entry<String, Map<String, List<Reference>>> entry : incompleteByType.entrySet()) {
+            String type = entry.getKey();
+            Map<String, List<Reference>> byId = entry.getValue();
+            List<String> ids = new ArrayList<>(byId.keySet());
+            if (log.isDebugEnabled()) { log.debug("Populating context and / or modification details for {} {} assets...", ids.size(), type); }
+            for (int i = 0; i < ids.size(); i += size) {
+                List<String> chunk = ids.subList(i, Math.min(i + size, ids.size()));
+                IGCSearchCondition byIds = new IGCSearchCondition("_id", new ArrayList<>(chunk));
+                IGCSearch igcSearch = new IGCSearch(type, new IGCSearchConditionSet(byIds));
+                if (hasModificationDetails(type)) {
+                    igcSearch.addProperties(IGCRestConstants.getModificationProperties());
+                }
+                igcSearch.setPageSize(chunk.size());
+                // The page size matches the number of IDs, so all of the details are in this single page
+                ItemList<Reference> details = search(igcSearch);
+                if (details != null && details.getItems() != null) {
+                    for (Reference detail : details.getItems()) {
+                        List<Reference> sameAsset = byId.get(detail.getId());
+                        if (sameAsset != null) {
+                            for (Reference object : sameAsset) {
+                                object.setContextAndModificationDetails(detail);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
     /**
      * Ensures that the _context of the asset is populated (takes no action if already populated).
      * In addition, if the asset type supports them, will also retrieve and set modification details.
@@ -1410,14 +1609,17 @@ public class IGCRestClient {
 
                 if (log.isDebugEnabled()) { log.debug("Context and / or modification details are empty, populating..."); }
 
-                IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", object.getId());
-                IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
-                IGCSearch igcSearch = new IGCSearch(object.getType(), idOnlySet);
-                if (bHasModificationDetails) {
-                    igcSearch.addProperties(IGCRestConstants.getModificationProperties());
-                }
-                igcSearch.setPageSize(2);
-                ItemList<T> assetsWithCtx = search(igcSearch);
+                IGCSearchTemplate template = searchTemplates.computeIfAbsent("context|" + object.getType(), k -> {
+                    IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", IGCSearchTemplate.parameter(0));
+                    IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
+                    IGCSearch igcSearch = new IGCSearch(object.getType(), idOnlySet);
+                    if (bHasModificationDetails) {
+                        igcSearch.addProperties(IGCRestConstants.getModificationProperties());
+                    }
+                    igcSearch.setPageSize(2);
+                    return new IGCSearchTemplate(igcSearch);
+                });
+                ItemList<T> assetsWithCtx = search(template, object.getId());
                 if (!assetsWithCtx.getItems().isEmpty()) {
                     populated = assetsWithCtx.getItems().get(0);
                 }
@@ -46,6 +46,7 @@ public class IGCBeanGenerator {
             + "model" + File.separator;
     private static final String COMMON_DIRECTORY = DIRECTORY + File.separator + "common";
     private static final String BASE_DIRECTORY = DIRECTORY + File.separator + "base";
+    private static final String REGISTRY_CLASS_NAME = "IGCTypeRegistry";
 
     public static void main(String[] args) {
 
@@ -75,12 +76,14 @@ public class IGCBeanGenerator {
 
     private IGCRestClient igcRestClient;
     private TreeMap<String, TreeMap<String, String>> superTypeToSubTypeToClassName;
+    private TreeMap<String, String> typeToClassName;
 
     private Map<String, Set<String>> superTypeToProperties;
 
     private IGCBeanGenerator(String hostname, String port, String username, String password) {
         igcRestClient = new IGCRestClient(hostname, port, username, password);
         superTypeToSubTypeToClassName = new TreeMap<>();
+        typeToClassName = new TreeMap<>();
         superTypeToProperties = new HashMap<>();
     }
 
@@ -104,6 +107,7 @@ public class IGCBeanGenerator {
                 createPOJOForType(details);
             } else {
                 superTypeToProperties.put(IGCRestConstants.INFORMATION_ASSET, IGCRestConstants.getFixedInformationAssetProperties());
+                typeToClassName.put(IGCRestConstants.INFORMATION_ASSET, IGCRestConstants.getClassNameForAssetType(IGCRestConstants.INFORMATION_ASSET));
             }
         }
 
@@ -144,6 +148,11 @@ public class IGCBeanGenerator {
         log.info("Injecting subtype information into Reference...");
         injectSubTypes(refPath, superTypeToSubTypeToClassName.get("reference"));
 
+        // And generate the static registry of every type, so that types can be resolved (and their POJOs
+        // instantiated) without any reflection
+        log.info("Generating type registry...");
+        createTypeRegistry();
+
         igcRestClient.disconnect();
 
     }
@@ -254,6 +263,7 @@ public class IGCBeanGenerator {
                 superTypeToSubTypeToClassName.put(superType, new TreeMap<>());
             }
             superTypeToSubTypeToClassName.get(superType).put(id, className);
+            typeToClassName.put(id, className);
 
             fs.append("}");
             fs.append(System.lineSeparator());
@@ -264,6 +274,94 @@ public class IGCBeanGenerator {
 
     }
 
+    private void createTypeRegistry() {
+
+        String filename = BASE_DIRECTORY + File.separator + REGISTRY_CLASS_NAME + ".java";
+        try (BufferedWriter fs = new BufferedWriter(new FileWriter(filename))) {
+
+            fs.append("/* SPDX-License-Identifier: Apache-2.0 */");
+            fs.append(System.lineSeparator());
+            fs.append("/* Copyright Contributors to the ODPi Egeria project. */");
+            fs.append(System.lineSeparator());
+            fs.append("package ").append(IGCRestConstants.IGC_REST_BASE_MODEL_PKG).append(";");
+            fs.append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("import " + IGCRestConstants.IGC_REST_COMMON_MODEL_PKG + ".Reference;");
+            fs.append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("import java.util.Collections;");
+            fs.append(System.lineSeparator());
+            fs.append("import java.util.HashMap;");
+            fs.append(System.lineSeparator());
+            fs.append("import java.util.Map;");
+            fs.append(System.lineSeparator());
+            fs.append("import java.util.Set;");
+            fs.append(System.lineSeparator());
+            fs.append("import java.util.function.Supplier;");
+            fs.append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("/**").append(System.lineSeparator());
+            fs.append(" * Static registry of the POJO for every out-of-the-box IGC asset type, and of a creator for each of those POJOs,").append(System.lineSeparator());
+            fs.append(" * so that neither resolving a type nor instantiating its POJO requires any reflection.").append(System.lineSeparator());
+            fs.append(" * <br><br>").append(System.lineSeparator());
+            fs.append(" * (this code has been created based on out-of-the-box IGC metadata types, alongside the POJOs themselves.)").append(System.lineSeparator());
+            fs.append(" */").append(System.lineSeparator());
+            fs.append("public final class ").append(REGISTRY_CLASS_NAME).append(" {");
+            fs.append(System.lineSeparator()).append(System.lineSeparator());
+            fs.append("    private static final Map<String, Class<? extends Reference>> TYPE_TO_CLASS;").append(System.lineSeparator());
+            fs.append("    private static final Map<Class<?>, Supplier<? extends Reference>> CLASS_TO_CREATOR;").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("    static {").append(System.lineSeparator());
+            fs.append("        Map<String, Class<? extends Reference>> classes = new HashMap<>(").append(String.valueOf(typeToClassName.size() * 2)).append(");").append(System.lineSeparator());
+            fs.append("        Map<Class<?>, Supplier<? extends Reference>> creators = new HashMap<>(").append(String.valueOf(typeToClassName.size() * 2)).append(");").append(System.lineSeparator());
+            for (Map.Entry<String, String> entry : typeToClassName.entrySet()) {
+                String className = entry.getValue();
+                fs.append("        register(classes, creators, \"").append(entry.getKey()).append("\", ")
+                        .append(className).append(".class, ").append(className).append("::new);").append(System.lineSeparator());
+            }
+            fs.append("        TYPE_TO_CLASS = Collections.unmodifiableMap(classes);").append(System.lineSeparator());
+            fs.append("        CLASS_TO_CREATOR = Collections.unmodifiableMap(creators);").append(System.lineSeparator());
+            fs.append("    }").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("    private ").append(REGISTRY_CLASS_NAME).append("() { }").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("    private static <T extends Reference> void register(Map<String, Class<? extends Reference>> classes,").append(System.lineSeparator());
+            fs.append("                                                       Map<Class<?>, Supplier<? extends Reference>> creators,").append(System.lineSeparator());
+            fs.append("                                                       String typeId,").append(System.lineSeparator());
+            fs.append("                                                       Class<T> pojo,").append(System.lineSeparator());
+            fs.append("                                                       Supplier<T> creator) {").append(System.lineSeparator());
+            fs.append("        classes.put(typeId, pojo);").append(System.lineSeparator());
+            fs.append("        creators.put(pojo, creator);").append(System.lineSeparator());
+            fs.append("    }").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("    /**").append(System.lineSeparator());
+            fs.append("     * Retrieve the POJO for the provided IGC asset type.").append(System.lineSeparator());
+            fs.append("     * @param typeId the name of the IGC asset type").append(System.lineSeparator());
+            fs.append("     * @return {@code Class<? extends Reference>} the POJO, or null if the type is not an out-of-the-box type").append(System.lineSeparator());
+            fs.append("     */").append(System.lineSeparator());
+            fs.append("    public static Class<? extends Reference> getClassForType(String typeId) { return TYPE_TO_CLASS.get(typeId); }").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("    /**").append(System.lineSeparator());
+            fs.append("     * Retrieve a creator of new instances of the provided POJO.").append(System.lineSeparator());
+            fs.append("     * @param pojo the POJO for which to retrieve a creator").append(System.lineSeparator());
+            fs.append("     * @return {@code Supplier<? extends Reference>} the creator, or null if the POJO is not an out-of-the-box POJO").append(System.lineSeparator());
+            fs.append("     */").append(System.lineSeparator());
+            fs.append("    public static Supplier<? extends Reference> getCreatorForClass(Class<?> pojo) { return CLASS_TO_CREATOR.get(pojo); }").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("    /**").append(System.lineSeparator());
+            fs.append("     * Retrieve the names of all of the out-of-the-box IGC asset types.").append(System.lineSeparator());
+            fs.append("     * @return {@code Set<String>}").append(System.lineSeparator());
+            fs.append("     */").append(System.lineSeparator());
+            fs.append("    public static Set<String> getTypes() { return TYPE_TO_CLASS.keySet(); }").append(System.lineSeparator());
+            fs.append(System.lineSeparator());
+            fs.append("}").append(System.lineSeparator());
+
+        } catch (IOException e) {
+            log.error("Unable to open file output: {}", filename, e);
+        }
+
+    }
+
     private String getClassHeading(String displayName, String typeName) {
         return "/**" +
                 System.lineSeparator() +
@@ -0,0 +1,418 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Static registry of the POJO for every out-of-the-box IGC asset type, and of a creator for each of those POJOs,
+ * so that neither resolving a type nor instantiating its POJO requires any reflection.
+ * <br><br>
+ * (this code has been created based on out-of-the-box IGC metadata types, alongside the POJOs themselves.)
+ */
+public final class IGCTypeRegistry {
+
+    private static final Map<String, Class<? extends Reference>> TYPE_TO_CLASS;
+    private static final Map<Class<?>, Supplier<? extends Reference>> CLASS_TO_CREATOR;
+
+    static {
+        Map<String, Class<? extends Reference>> classes = new HashMap<>(712);
+        Map<Class<?>, Supplier<? extends Reference>> creators = new HashMap<>(712);
+        register(classes, creators, "Rule_Execution_Result", RuleExecutionResult.class, RuleExecutionResult::new);
+        register(classes, creators, "acl", Acl.class, Acl::new);
+        register(classes, creators, "aclentry", Aclentry.class, Aclentry::new);
+        register(classes, creators, "actiondescriptor", Actiondescriptor.class, Actiondescriptor::new);
+        register(classes, creators, "amazon_s3_bucket", AmazonS3Bucket.class, AmazonS3Bucket::new);
+        register(classes, creators, "amazon_s3_data_file", AmazonS3DataFile.class, AmazonS3DataFile::new);
+        register(classes, creators, "amazon_s3_data_file_field", AmazonS3DataFileField.class, AmazonS3DataFileField::new);
+        register(classes, creators, "amazon_s3_data_file_folder", AmazonS3DataFileFolder.class, AmazonS3DataFileFolder::new);
+        register(classes, creators, "amazon_s3_data_file_record", AmazonS3DataFileRecord.class, AmazonS3DataFileRecord::new);
+        register(classes, creators, "analysis_project", AnalysisProject.class, AnalysisProject::new);
+        register(classes, creators, "analysissummaryobject", Analysissummaryobject.class, Analysissummaryobject::new);
+        register(classes, creators, "analytics_model", AnalyticsModel.class, AnalyticsModel::new);
+        register(classes, creators, "analytics_object", AnalyticsObject.class, AnalyticsObject::new);
+        register(classes, creators, "analytics_project", AnalyticsProject.class, AnalyticsProject::new);
+        register(classes, creators, "analytics_script", AnalyticsScript.class, AnalyticsScript::new);
+        register(classes, creators, "application", Application.class, Application::new);
+        register(classes, creators, "application_install", ApplicationInstall.class, ApplicationInstall::new);
+        register(classes, creators, "applicationfunction", Applicationfunction.class, Applicationfunction::new);
+        register(classes, creators, "applicationsetting", Applicationsetting.class, Applicationsetting::new);
+        register(classes, creators, "archivedtask", Archivedtask.class, Archivedtask::new);
+        register(classes, creators, "array", Array.class, Array::new);
+        register(classes, creators, "ascl_steward", AsclSteward.class, AsclSteward::new);
+        register(classes, creators, "associativeobject", Associativeobject.class, Associativeobject::new);
+        register(classes, creators, "attribute", Attribute.class, Attribute::new);
+        register(classes, creators, "attribute_type", AttributeType.class, AttributeType::new);
+        register(classes, creators, "attribute_type_field", AttributeTypeField.class, AttributeTypeField::new);
+        register(classes, creators, "automation_rule", AutomationRule.class, AutomationRule::new);
+        register(classes, creators, "bi_collection", BiCollection.class, BiCollection::new);
+        register(classes, creators, "bi_collection_dimension", BiCollectionDimension.class, BiCollectionDimension::new);
+        register(classes, creators, "bi_collection_fact", BiCollectionFact.class, BiCollectionFact::new);
+        register(classes, creators, "bi_collection_member", BiCollectionMember.class, BiCollectionMember::new);
+        register(classes, creators, "bi_cube", BiCube.class, BiCube::new);
+        register(classes, creators, "bi_filter", BiFilter.class, BiFilter::new);
+        register(classes, creators, "bi_folder", BiFolder.class, BiFolder::new);
+        register(classes, creators, "bi_hierarchy", BiHierarchy.class, BiHierarchy::new);
+        register(classes, creators, "bi_hierarchy_member", BiHierarchyMember.class, BiHierarchyMember::new);
+        register(classes, creators, "bi_level", BiLevel.class, BiLevel::new);
+        register(classes, creators, "bi_model", BiModel.class, BiModel::new);
+        register(classes, creators, "bi_olap_level_element", BiOlapLevelElement.class, BiOlapLevelElement::new);
+        register(classes, creators, "bi_report", BiReport.class, BiReport::new);
+        register(classes, creators, "bi_report_data_item_source", BiReportDataItemSource.class, BiReportDataItemSource::new);
+        register(classes, creators, "bi_report_nocontext", BiReportNocontext.class, BiReportNocontext::new);
+        register(classes, creators, "bi_report_nofolder", BiReportNofolder.class, BiReportNofolder::new);
+        register(classes, creators, "bi_report_query", BiReportQuery.class, BiReportQuery::new);
+        register(classes, creators, "bi_report_query_detail_filter", BiReportQueryDetailFilter.class, BiReportQueryDetailFilter::new);
+        register(classes, creators, "bi_report_query_item", BiReportQueryItem.class, BiReportQueryItem::new);
+        register(classes, creators, "bi_report_query_summary_filter", BiReportQuerySummaryFilter.class, BiReportQuerySummaryFilter::new);
+        register(classes, creators, "bi_report_query_usage", BiReportQueryUsage.class, BiReportQueryUsage::new);
+        register(classes, creators, "bi_report_section", BiReportSection.class, BiReportSection::new);
+        register(classes, creators, "bi_root_folder", BiRootFolder.class, BiRootFolder::new);
+        register(classes, creators, "bi_server", BiServer.class, BiServer::new);
+        register(classes, creators, "binary_infoset_operation", BinaryInfosetOperation.class, BinaryInfosetOperation::new);
+        register(classes, creators, "blueprint", Blueprint.class, Blueprint::new);
+        register(classes, creators, "blueprint_element_link", BlueprintElementLink.class, BlueprintElementLink::new);
+        register(classes, creators, "candidate_key", CandidateKey.class, CandidateKey::new);
+        register(classes, creators, "category", Category.class, Category::new);
+        register(classes, creators, "cdc_mapping", CdcMapping.class, CdcMapping::new);
+        register(classes, creators, "cdc_mapping_document", CdcMappingDocument.class, CdcMappingDocument::new);
+        register(classes, creators, "changed_properties", ChangedProperties.class, ChangedProperties::new);
+        register(classes, creators, "classdescriptor", Classdescriptor.class, Classdescriptor::new);
+        register(classes, creators, "classification", Classification.class, Classification::new);
+        register(classes, creators, "classification_contribution", ClassificationContribution.class, ClassificationContribution::new);
+        register(classes, creators, "classificationenabledgroup", Classificationenabledgroup.class, Classificationenabledgroup::new);
+        register(classes, creators, "classificationtask", Classificationtask.class, Classificationtask::new);
+        register(classes, creators, "collection", Collection.class, Collection::new);
+        register(classes, creators, "column_analysis", ColumnAnalysis.class, ColumnAnalysis::new);
+        register(classes, creators, "column_analysis_summary", ColumnAnalysisSummary.class, ColumnAnalysisSummary::new);
+        register(classes, creators, "column_definition", ColumnDefinition.class, ColumnDefinition::new);
+        register(classes, creators, "composite_view", CompositeView.class, CompositeView::new);
+        register(classes, creators, "connector", Connector.class, Connector::new);
+        register(classes, creators, "credential", Credential.class, Credential::new);
+        register(classes, creators, "credentials", Credentials.class, Credentials::new);
+        register(classes, creators, "custom_attribute", CustomAttribute.class, CustomAttribute::new);
+        register(classes, creators, "customattributedef", Customattributedef.class, Customattributedef::new);
+        register(classes, creators, "customattributeval", Customattributeval.class, Customattributeval::new);
+        register(classes, creators, "data_class", DataClass.class, DataClass::new);
+        register(classes, creators, "data_class_old", DataClassOld.class, DataClassOld::new);
+        register(classes, creators, "data_connection", DataConnection.class, DataConnection::new);
+        register(classes, creators, "data_connection_mapping", DataConnectionMapping.class, DataConnectionMapping::new);
+        register(classes, creators, "data_element", DataElement.class, DataElement::new);
+        register(classes, creators, "data_field", DataField.class, DataField::new);
+        register(classes, creators, "data_file", DataFile.class, DataFile::new);
+        register(classes, creators, "data_file_definition", DataFileDefinition.class, DataFileDefinition::new);
+        register(classes, creators, "data_file_definition_field", DataFileDefinitionField.class, DataFileDefinitionField::new);
+        register(classes, creators, "data_file_definition_record", DataFileDefinitionRecord.class, DataFileDefinitionRecord::new);
+        register(classes, creators, "data_file_field", DataFileField.class, DataFileField::new);
+        register(classes, creators, "data_file_folder", DataFileFolder.class, DataFileFolder::new);
+        register(classes, creators, "data_file_folder_nobucket", DataFileFolderNobucket.class, DataFileFolderNobucket::new);
+        register(classes, creators, "data_file_record", DataFileRecord.class, DataFileRecord::new);
+        register(classes, creators, "data_item", DataItem.class, DataItem::new);
+        register(classes, creators, "data_item_definition", DataItemDefinition.class, DataItemDefinition::new);
+        register(classes, creators, "data_item_properties", DataItemProperties.class, DataItemProperties::new);
+        register(classes, creators, "data_item_value", DataItemValue.class, DataItemValue::new);
+        register(classes, creators, "data_map_filter_operation", DataMapFilterOperation.class, DataMapFilterOperation::new);
+        register(classes, creators, "data_policy", DataPolicy.class, DataPolicy::new);
+        register(classes, creators, "data_rule", DataRule.class, DataRule::new);
+        register(classes, creators, "data_rule_definition", DataRuleDefinition.class, DataRuleDefinition::new);
+        register(classes, creators, "data_rule_results", DataRuleResults.class, DataRuleResults::new);
+        register(classes, creators, "data_rule_set", DataRuleSet.class, DataRuleSet::new);
+        register(classes, creators, "data_rule_set_definition", DataRuleSetDefinition.class, DataRuleSetDefinition::new);
+        register(classes, creators, "database", Database.class, Database::new);
+        register(classes, creators, "database_alias", DatabaseAlias.class, DatabaseAlias::new);
+        register(classes, creators, "database_column", DatabaseColumn.class, DatabaseColumn::new);
+        register(classes, creators, "database_domain", DatabaseDomain.class, DatabaseDomain::new);
+        register(classes, creators, "database_index", DatabaseIndex.class, DatabaseIndex::new);
+        register(classes, creators, "database_schema", DatabaseSchema.class, DatabaseSchema::new);
+        register(classes, creators, "database_table", DatabaseTable.class, DatabaseTable::new);
+        register(classes, creators, "datagroup", Datagroup.class, Datagroup::new);
+        register(classes, creators, "datasourcealiasgroup", Datasourcealiasgroup.class, Datasourcealiasgroup::new);
+        register(classes, creators, "datastage_item", DatastageItem.class, DatastageItem::new);
+        register(classes, creators, "derivation", Derivation.class, Derivation::new);
+        register(classes, creators, "design_column", DesignColumn.class, DesignColumn::new);
+        register(classes, creators, "design_foreign_key", DesignForeignKey.class, DesignForeignKey::new);
+        register(classes, creators, "design_key", DesignKey.class, DesignKey::new);
+        register(classes, creators, "design_stored_procedure", DesignStoredProcedure.class, DesignStoredProcedure::new);
+        register(classes, creators, "design_stored_procedure_parameter", DesignStoredProcedureParameter.class, DesignStoredProcedureParameter::new);
+        register(classes, creators, "design_table", DesignTable.class, DesignTable::new);
+        register(classes, creators, "design_view", DesignView.class, DesignView::new);
+        register(classes, creators, "development_log", DevelopmentLog.class, DevelopmentLog::new);
+        register(classes, creators, "directory", Directory.class, Directory::new);
+        register(classes, creators, "directoryproviderconfiguration", Directoryproviderconfiguration.class, Directoryproviderconfiguration::new);
+        register(classes, creators, "directoryproviderproperty", Directoryproviderproperty.class, Directoryproviderproperty::new);
+        register(classes, creators, "ds_stage_column", DsStageColumn.class, DsStageColumn::new);
+        register(classes, creators, "dsargumentmap", Dsargumentmap.class, Dsargumentmap::new);
+        register(classes, creators, "dsdata_connection", DsdataConnection.class, DsdataConnection::new);
+        register(classes, creators, "dsdesign_view", DsdesignView.class, DsdesignView::new);
+        register(classes, creators, "dsexternaldependency", Dsexternaldependency.class, Dsexternaldependency::new);
+        register(classes, creators, "dsfolder", Dsfolder.class, Dsfolder::new);
+        register(classes, creators, "dsjcltemplate", Dsjcltemplate.class, Dsjcltemplate::new);
+        register(classes, creators, "dsjob", Dsjob.class, Dsjob::new);
+        register(classes, creators, "dsmetabag", Dsmetabag.class, Dsmetabag::new);
+        register(classes, creators, "dsmfcolumninfo", Dsmfcolumninfo.class, Dsmfcolumninfo::new);
+        register(classes, creators, "dsparameter", Dsparameter.class, Dsparameter::new);
+        register(classes, creators, "dsparameter_job", DsparameterJob.class, DsparameterJob::new);
+        register(classes, creators, "dsparameter_set", DsparameterSet.class, DsparameterSet::new);
+        register(classes, creators, "dsstage_type", DsstageType.class, DsstageType::new);
+        register(classes, creators, "duplicates_operation", DuplicatesOperation.class, DuplicatesOperation::new);
+        register(classes, creators, "endpoint", Endpoint.class, Endpoint::new);
+        register(classes, creators, "entity_attribute", EntityAttribute.class, EntityAttribute::new);
+        register(classes, creators, "entity_type", EntityType.class, EntityType::new);
+        register(classes, creators, "exception_filter_operation", ExceptionFilterOperation.class, ExceptionFilterOperation::new);
+        register(classes, creators, "extension_mapping", ExtensionMapping.class, ExtensionMapping::new);
+        register(classes, creators, "extension_mapping_document", ExtensionMappingDocument.class, ExtensionMappingDocument::new);
+        register(classes, creators, "field_analysis", FieldAnalysis.class, FieldAnalysis::new);
+        register(classes, creators, "file", File.class, File::new);
+        register(classes, creators, "file_record_analysis", FileRecordAnalysis.class, FileRecordAnalysis::new);
+        register(classes, creators, "filter", Filter.class, Filter::new);
+        register(classes, creators, "filter_operation", FilterOperation.class, FilterOperation::new);
+        register(classes, creators, "filterconstraint", Filterconstraint.class, Filterconstraint::new);
+        register(classes, creators, "folder", Folder.class, Folder::new);
+        register(classes, creators, "foreign_key", ForeignKey.class, ForeignKey::new);
+        register(classes, creators, "foreign_key_definition", ForeignKeyDefinition.class, ForeignKeyDefinition::new);
+        register(classes, creators, "function", Function.class, Function::new);
+        register(classes, creators, "function_call", FunctionCall.class, FunctionCall::new);
+        register(classes, creators, "functioncall", FunctionCall2.class, FunctionCall2::new);
+        register(classes, creators, "group", Group.class, Group::new);
+        register(classes, creators, "hbase_namespace", HbaseNamespace.class, HbaseNamespace::new);
+        register(classes, creators, "host", Host.class, Host::new);
+        register(classes, creators, "host_(engine)", HostEngine.class, HostEngine::new);
+        register(classes, creators, "idoc_field", IdocField.class, IdocField::new);
+        register(classes, creators, "idoc_segment_type", IdocSegmentType.class, IdocSegmentType::new);
+        register(classes, creators, "idoc_type", IdocType.class, IdocType::new);
+        register(classes, creators, "in_parameter", InParameter.class, InParameter::new);
+        register(classes, creators, "index_member", IndexMember.class, IndexMember::new);
+        register(classes, creators, "inferred_foreign_key", InferredForeignKey.class, InferredForeignKey::new);
+        register(classes, creators, "inferred_key", InferredKey.class, InferredKey::new);
+        register(classes, creators, "information_asset", InformationAsset.class, InformationAsset::new);
+        register(classes, creators, "information_governance_policy", InformationGovernancePolicy.class, InformationGovernancePolicy::new);
+        register(classes, creators, "information_governance_rule", InformationGovernanceRule.class, InformationGovernanceRule::new);
+        register(classes, creators, "information_server_report", InformationServerReport.class, InformationServerReport::new);
+        register(classes, creators, "information_server_report_(analysis_project)", InformationServerReportAnalysisProject.class, InformationServerReportAnalysisProject::new);
+        register(classes, creators, "information_server_report_(database)", InformationServerReportDatabase.class, InformationServerReportDatabase::new);
+        register(classes, creators, "information_server_report_(job)", InformationServerReportJob.class, InformationServerReportJob::new);
+        register(classes, creators, "information_server_report_(mapping_project)", InformationServerReportMappingProject.class, InformationServerReportMappingProject::new);
+        register(classes, creators, "information_server_report_(mapping_specification)", InformationServerReportMappingSpecification.class, InformationServerReportMappingSpecification::new);
+        register(classes, creators, "information_server_report_(steward)", InformationServerReportSteward.class, InformationServerReportSteward::new);
+        register(classes, creators, "information_server_report_param_(job)", InformationServerReportParamJob.class, InformationServerReportParamJob::new);
+        register(classes, creators, "information_server_report_parameters", InformationServerReportParameters.class, InformationServerReportParameters::new);
+        register(classes, creators, "information_services_application", InformationServicesApplication.class, InformationServicesApplication::new);
+        register(classes, creators, "information_services_argument", InformationServicesArgument.class, InformationServicesArgument::new);
+        register(classes, creators, "information_services_operation", InformationServicesOperation.class, InformationServicesOperation::new);
+        register(classes, creators, "information_services_project", InformationServicesProject.class, InformationServicesProject::new);
+        register(classes, creators, "information_services_service", InformationServicesService.class, InformationServicesService::new);
+        register(classes, creators, "infoset", Infoset.class, Infoset::new);
+        register(classes, creators, "infoset_operation", InfosetOperation.class, InfosetOperation::new);
+        register(classes, creators, "inout_parameter", InoutParameter.class, InoutParameter::new);
+        register(classes, creators, "input_parameter", InputParameter.class, InputParameter::new);
+        register(classes, creators, "inputpin", Inputpin.class, Inputpin::new);
+        register(classes, creators, "instance", Instance.class, Instance::new);
+        register(classes, creators, "inv_data_rule", InvDataRule.class, InvDataRule::new);
+        register(classes, creators, "inv_data_rule_definition", InvDataRuleDefinition.class, InvDataRuleDefinition::new);
+        register(classes, creators, "inv_data_rule_set", InvDataRuleSet.class, InvDataRuleSet::new);
+        register(classes, creators, "inv_data_rule_set_definition", InvDataRuleSetDefinition.class, InvDataRuleSetDefinition::new);
+        register(classes, creators, "job", Job.class, Job::new);
+        register(classes, creators, "job_constraint", JobConstraint.class, JobConstraint::new);
+        register(classes, creators, "job_fail_event", JobFailEvent.class, JobFailEvent::new);
+        register(classes, creators, "job_input_pin", JobInputPin.class, JobInputPin::new);
+        register(classes, creators, "job_output_pin", JobOutputPin.class, JobOutputPin::new);
+        register(classes, creators, "job_parameter", JobParameter.class, JobParameter::new);
+        register(classes, creators, "job_read_event", JobReadEvent.class, JobReadEvent::new);
+        register(classes, creators, "job_run", JobRun.class, JobRun::new);
+        register(classes, creators, "job_run_activity", JobRunActivity.class, JobRunActivity::new);
+        register(classes, creators, "job_stage_parameters", JobStageParameters.class, JobStageParameters::new);
+        register(classes, creators, "job_stage_record", JobStageRecord.class, JobStageRecord::new);
+        register(classes, creators, "job_write_event", JobWriteEvent.class, JobWriteEvent::new);
+        register(classes, creators, "jobdef", Jobdef.class, Jobdef::new);
+        register(classes, creators, "keycomponent", Keycomponent.class, Keycomponent::new);
+        register(classes, creators, "label", Label.class, Label::new);
+        register(classes, creators, "lineage_container", LineageContainer.class, LineageContainer::new);
+        register(classes, creators, "lineage_report_template", LineageReportTemplate.class, LineageReportTemplate::new);
+        register(classes, creators, "lineagefilter", Lineagefilter.class, Lineagefilter::new);
+        register(classes, creators, "link", Link.class, Link::new);
+        register(classes, creators, "linktype", Linktype.class, Linktype::new);
+        register(classes, creators, "local_container", LocalContainer.class, LocalContainer::new);
+        register(classes, creators, "logical_data_model", LogicalDataModel.class, LogicalDataModel::new);
+        register(classes, creators, "logical_domain", LogicalDomain.class, LogicalDomain::new);
+        register(classes, creators, "logical_entity", LogicalEntity.class, LogicalEntity::new);
+        register(classes, creators, "logical_foreign_key", LogicalForeignKey.class, LogicalForeignKey::new);
+        register(classes, creators, "logical_inversion_key", LogicalInversionKey.class, LogicalInversionKey::new);
+        register(classes, creators, "logical_key", LogicalKey.class, LogicalKey::new);
+        register(classes, creators, "logical_validation_list", LogicalValidationList.class, LogicalValidationList::new);
+        register(classes, creators, "logical_validation_range", LogicalValidationRange.class, LogicalValidationRange::new);
+        register(classes, creators, "logical_validation_rule", LogicalValidationRule.class, LogicalValidationRule::new);
+        register(classes, creators, "logical_variable", LogicalVariable.class, LogicalVariable::new);
+        register(classes, creators, "machine_profile", MachineProfile.class, MachineProfile::new);
+        register(classes, creators, "main_object", MainObject.class, MainObject::new);
+        register(classes, creators, "mapping", Mapping.class, Mapping::new);
+        register(classes, creators, "mapping_component", MappingComponent.class, MappingComponent::new);
+        register(classes, creators, "mapping_filter", MappingFilter.class, MappingFilter::new);
+        register(classes, creators, "mapping_join", MappingJoin.class, MappingJoin::new);
+        register(classes, creators, "mapping_project", MappingProject.class, MappingProject::new);
+        register(classes, creators, "mapping_specification", MappingSpecification.class, MappingSpecification::new);
+        register(classes, creators, "masking_rule", MaskingRule.class, MaskingRule::new);
+        register(classes, creators, "match_specification", MatchSpecification.class, MatchSpecification::new);
+        register(classes, creators, "mdm_model", MdmModel.class, MdmModel::new);
+        register(classes, creators, "member_type", MemberType.class, MemberType::new);
+        register(classes, creators, "method", Method.class, Method::new);
+        register(classes, creators, "metric", Metric.class, Metric::new);
+        register(classes, creators, "model_eval_metric", ModelEvalMetric.class, ModelEvalMetric::new);
+        register(classes, creators, "model_input", ModelInput.class, ModelInput::new);
+        register(classes, creators, "model_label", ModelLabel.class, ModelLabel::new);
+        register(classes, creators, "mwb_database_alias", MwbDatabaseAlias.class, MwbDatabaseAlias::new);
+        register(classes, creators, "navigationdescriptor", Navigationdescriptor.class, Navigationdescriptor::new);
+        register(classes, creators, "node_operation", NodeOperation.class, NodeOperation::new);
+        register(classes, creators, "non_published_data_rule_definition", NonPublishedDataRuleDefinition.class, NonPublishedDataRuleDefinition::new);
+        register(classes, creators, "non_published_data_rule_set", NonPublishedDataRuleSet.class, NonPublishedDataRuleSet::new);
+        register(classes, creators, "non_steward_user", NonStewardUser.class, NonStewardUser::new);
+        register(classes, creators, "notebook", Notebook.class, Notebook::new);
+        register(classes, creators, "object_type", ObjectType.class, ObjectType::new);
+        register(classes, creators, "olap_join", OlapJoin.class, OlapJoin::new);
+        register(classes, creators, "olap_member_source", OlapMemberSource.class, OlapMemberSource::new);
+        register(classes, creators, "olapassociation", Olapassociation.class, Olapassociation::new);
+        register(classes, creators, "olaphierarchyassociation", Olaphierarchyassociation.class, Olaphierarchyassociation::new);
+        register(classes, creators, "olapjoinref", Olapjoinref.class, Olapjoinref::new);
+        register(classes, creators, "olapmodelgroup", Olapmodelgroup.class, Olapmodelgroup::new);
+        register(classes, creators, "olapobject", Olapobject.class, Olapobject::new);
+        register(classes, creators, "oslc_link", OslcLink.class, OslcLink::new);
+        register(classes, creators, "out_parameter", OutParameter.class, OutParameter::new);
+        register(classes, creators, "output_value", OutputValue.class, OutputValue::new);
+        register(classes, creators, "outputpin", Outputpin.class, Outputpin::new);
+        register(classes, creators, "parameter", Parameter.class, Parameter::new);
+        register(classes, creators, "parameter_set", ParameterSet.class, ParameterSet::new);
+        register(classes, creators, "parameter_set_definition", ParameterSetDefinition.class, ParameterSetDefinition::new);
+        register(classes, creators, "parameterset", ParameterSet2.class, ParameterSet2::new);
+        register(classes, creators, "parameterval", Parameterval.class, Parameterval::new);
+        register(classes, creators, "physical_data_model", PhysicalDataModel.class, PhysicalDataModel::new);
+        register(classes, creators, "physical_domain", PhysicalDomain.class, PhysicalDomain::new);
+        register(classes, creators, "physical_object", PhysicalObject.class, PhysicalObject::new);
+        register(classes, creators, "physical_object_attribute", PhysicalObjectAttribute.class, PhysicalObjectAttribute::new);
+        register(classes, creators, "primarycategory", Primarycategory.class, Primarycategory::new);
+        register(classes, creators, "propdescriptor", Propdescriptor.class, Propdescriptor::new);
+        register(classes, creators, "providerpropertyinfo", Providerpropertyinfo.class, Providerpropertyinfo::new);
+        register(classes, creators, "providerpropertyinfoextended", Providerpropertyinfoextended.class, Providerpropertyinfoextended::new);
+        register(classes, creators, "providerpropertytype", Providerpropertytype.class, Providerpropertytype::new);
+        register(classes, creators, "published_data_rule_definition", PublishedDataRuleDefinition.class, PublishedDataRuleDefinition::new);
+        register(classes, creators, "published_data_rule_set", PublishedDataRuleSet.class, PublishedDataRuleSet::new);
+        register(classes, creators, "quality_Problem_Type", QualityProblemType.class, QualityProblemType::new);
+        register(classes, creators, "quality_problem", QualityProblem.class, QualityProblem::new);
+        register(classes, creators, "quality_problem_type_DQR", QualityProblemTypeDqr.class, QualityProblemTypeDqr::new);
+        register(classes, creators, "r_shiny_app", RShinyApp.class, RShinyApp::new);
+        register(classes, creators, "r_shiny_app_object", RShinyAppObject.class, RShinyAppObject::new);
+        register(classes, creators, "reference_key", ReferenceKey.class, ReferenceKey::new);
+        register(classes, creators, "referenced_container", ReferencedContainer.class, ReferencedContainer::new);
+        register(classes, creators, "reportobject", Reportobject.class, Reportobject::new);
+        register(classes, creators, "result_column", ResultColumn.class, ResultColumn::new);
+        register(classes, creators, "role_assignment", RoleAssignment.class, RoleAssignment::new);
+        register(classes, creators, "role_context", RoleContext.class, RoleContext::new);
+        register(classes, creators, "root_tuple", RootTuple.class, RootTuple::new);
+        register(classes, creators, "routine", Routine.class, Routine::new);
+        register(classes, creators, "routine_argument", RoutineArgument.class, RoutineArgument::new);
+        register(classes, creators, "sap_connection", SapConnection.class, SapConnection::new);
+        register(classes, creators, "sequence_job", SequenceJob.class, SequenceJob::new);
+        register(classes, creators, "session_configuration", SessionConfiguration.class, SessionConfiguration::new);
+        register(classes, creators, "set_operation", SetOperation.class, SetOperation::new);
+        register(classes, creators, "shared_container", SharedContainer.class, SharedContainer::new);
+        register(classes, creators, "stage", Stage.class, Stage::new);
+        register(classes, creators, "stage_column", StageColumn.class, StageColumn::new);
+        register(classes, creators, "stage_data_rule_definition", StageDataRuleDefinition.class, StageDataRuleDefinition::new);
+        register(classes, creators, "stage_type", StageType.class, StageType::new);
+        register(classes, creators, "stage_type_detail", StageTypeDetail.class, StageTypeDetail::new);
+        register(classes, creators, "stage_variable", StageVariable.class, StageVariable::new);
+        register(classes, creators, "standardization_object", StandardizationObject.class, StandardizationObject::new);
+        register(classes, creators, "standardization_rule", StandardizationRule.class, StandardizationRule::new);
+        register(classes, creators, "standardization_rule_set", StandardizationRuleSet.class, StandardizationRuleSet::new);
+        register(classes, creators, "steward", Steward.class, Steward::new);
+        register(classes, creators, "steward_group", StewardGroup.class, StewardGroup::new);
+        register(classes, creators, "steward_user", StewardUser.class, StewardUser::new);
+        register(classes, creators, "stored_procedure", StoredProcedure.class, StoredProcedure::new);
+        register(classes, creators, "stored_procedure_definition", StoredProcedureDefinition.class, StoredProcedureDefinition::new);
+        register(classes, creators, "stored_procedure_parameter", StoredProcedureParameter.class, StoredProcedureParameter::new);
+        register(classes, creators, "subject_area", SubjectArea.class, SubjectArea::new);
+        register(classes, creators, "system_role", SystemRole.class, SystemRole::new);
+        register(classes, creators, "table_analysis", TableAnalysis.class, TableAnalysis::new);
+        register(classes, creators, "table_analysis_summary", TableAnalysisSummary.class, TableAnalysisSummary::new);
+        register(classes, creators, "table_definition", TableDefinition.class, TableDefinition::new);
+        register(classes, creators, "table_definition_properties", TableDefinitionProperties.class, TableDefinitionProperties::new);
+        register(classes, creators, "term", Term.class, Term::new);
+        register(classes, creators, "term_assignment", TermAssignment.class, TermAssignment::new);
+        register(classes, creators, "term_history", TermHistory.class, TermHistory::new);
+        register(classes, creators, "transform_argument", TransformArgument.class, TransformArgument::new);
+        register(classes, creators, "transformation_project", TransformationProject.class, TransformationProject::new);
+        register(classes, creators, "transforms_function", TransformsFunction.class, TransformsFunction::new);
+        register(classes, creators, "tuple", Tuple.class, Tuple::new);
+        register(classes, creators, "tuple_attribute", TupleAttribute.class, TupleAttribute::new);
+        register(classes, creators, "user", User.class, User::new);
+        register(classes, creators, "user_group", UserGroup.class, UserGroup::new);
+        register(classes, creators, "user_role", UserRole.class, UserRole::new);
+        register(classes, creators, "valid_value", ValidValue.class, ValidValue::new);
+        register(classes, creators, "valid_value_list", ValidValueList.class, ValidValueList::new);
+        register(classes, creators, "valid_value_range", ValidValueRange.class, ValidValueRange::new);
+        register(classes, creators, "validity_table", ValidityTable.class, ValidityTable::new);
+        register(classes, creators, "validvaluelist", ValidValueList2.class, ValidValueList2::new);
+        register(classes, creators, "validvaluerange", ValidValueRange2.class, ValidValueRange2::new);
+        register(classes, creators, "validvaluerule", Validvaluerule.class, Validvaluerule::new);
+        register(classes, creators, "validvalues", Validvalues.class, Validvalues::new);
+        register(classes, creators, "view", View.class, View::new);
+        register(classes, creators, "volume", Volume.class, Volume::new);
+        register(classes, creators, "volume_contribution", VolumeContribution.class, VolumeContribution::new);
+        register(classes, creators, "warehouse_mapping", WarehouseMapping.class, WarehouseMapping::new);
+        register(classes, creators, "warehouse_mapping_document", WarehouseMappingDocument.class, WarehouseMappingDocument::new);
+        register(classes, creators, "xml_schema_definition", XmlSchemaDefinition.class, XmlSchemaDefinition::new);
+        register(classes, creators, "xml_schema_library", XmlSchemaLibrary.class, XmlSchemaLibrary::new);
+        register(classes, creators, "xsd_attribute", XsdAttribute.class, XsdAttribute::new);
+        register(classes, creators, "xsd_attribute_group", XsdAttributeGroup.class, XsdAttributeGroup::new);
+        register(classes, creators, "xsd_attribute_reference", XsdAttributeReference.class, XsdAttributeReference::new);
+        register(classes, creators, "xsd_choice", XsdChoice.class, XsdChoice::new);
+        register(classes, creators, "xsd_complex_type", XsdComplexType.class, XsdComplexType::new);
+        register(classes, creators, "xsd_element", XsdElement.class, XsdElement::new);
+        register(classes, creators, "xsd_element_group", XsdElementGroup.class, XsdElementGroup::new);
+        register(classes, creators, "xsd_element_group_reference", XsdElementGroupReference.class, XsdElementGroupReference::new);
+        register(classes, creators, "xsd_element_reference", XsdElementReference.class, XsdElementReference::new);
+        register(classes, creators, "xsd_foreign_key", XsdForeignKey.class, XsdForeignKey::new);
+        register(classes, creators, "xsd_primary_key", XsdPrimaryKey.class, XsdPrimaryKey::new);
+        register(classes, creators, "xsd_sequence", XsdSequence.class, XsdSequence::new);
+        register(classes, creators, "xsd_simple_type", XsdSimpleType.class, XsdSimpleType::new);
+        register(classes, creators, "xsd_unique_key", XsdUniqueKey.class, XsdUniqueKey::new);
+        TYPE_TO_CLASS = Collections.unmodifiableMap(classes);
+        CLASS_TO_CREATOR = Collections.unmodifiableMap(creators);
+    }
+
+    private IGCTypeRegistry() { }
+
+    private static <T extends Reference> void register(Map<String, Class<? extends Reference>> classes,
+                                                       Map<Class<?>, Supplier<? extends Reference>> creators,
+                                                       String typeId,
+                                                       Class<T> pojo,
+                                                       Supplier<T> creator) {
+        classes.put(typeId, pojo);
+        creators.put(pojo, creator);
+    }
+
+    /**
+     * Retrieve the POJO for the provided IGC asset type.
+     * @param typeId the name of the IGC asset type
+     * @return {@code Class<? extends Reference>} the POJO, or null if the type is not an out-of-the-box type
+     */
+    public static Class<? extends Reference> getClassForType(String typeId) { return TYPE_TO_CLASS.get(typeId); }
+
+    /**
+     * Retrieve a creator of new instances of the provided POJO.
+     * @param pojo the POJO for which to retrieve a creator
+     * @return {@code Supplier<? extends Reference>} the creator, or null if the POJO is not an out-of-the-box POJO
+     */
+    public static Supplier<? extends Reference> getCreatorForClass(Class<?> pojo) { return CLASS_TO_CREATOR.get(pojo); }
+
+    /**
+     * Retrieve the names of all of the out-of-the-box IGC asset types.
+     * @return {@code Set<String>}
+     */
+    public static Set<String> getTypes() { return TYPE_TO_CLASS.keySet(); }
+
+}
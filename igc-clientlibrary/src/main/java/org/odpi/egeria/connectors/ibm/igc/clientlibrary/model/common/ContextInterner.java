@@ -0,0 +1,233 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common;
+
+import java.util.*;
+
+/**
+ * Ensures that the ancestors shared by many IGC objects are only held in memory once. Every object retrieved from IGC
+ * carries its own copy of its '_context' (eg. the host, database, schema and table of a column), so when many
+ * objects are held at the same time the same ancestors are otherwise duplicated many thousands of times.
+ * <br><br>
+ * Once interned, every object with the same context shares a single (unmodifiable) context list made up of shared
+ * ancestor references, along with a single chain of ancestor identities linked through their parents. Type names are
+ * deduplicated as well. The interner is thread-safe.
+ * <br><br>
+ * Ancestors are shared by their type, RID and name, so an ancestor that is renamed in IGC (eg. a host, database or
+ * folder) is shared afresh under its new name rather than identities continuing to be built from the stale name.
+ * Each kind of shared instance is bounded, keeping only the most recently used, so that an interner held for the
+ * life of a long-running client does not grow without limit: an evicted instance is simply shared afresh the next
+ * time it is seen.
+ */
+public class ContextInterner {
+
+    private static final char KEY_SEPARATOR = '\u0001';
+    private static final char PATH_SEPARATOR = '\u0002';
+
+    /**
+     * The default maximum number of each kind of shared instance to retain.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final Map<String, String> strings;
+    private final Map<String, Reference> ancestors;
+    private final Map<String, List<Reference>> contexts;
+    private final Map<String, Identity> identities;
+
+    /**
+     * Create a new interner retaining up to the default number of each kind of shared instance.
+     */
+    public ContextInterner() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Create a new interner retaining up to the provided number of each kind of shared instance.
+     *
+     * @param maxEntries the maximum number of strings, ancestors, contexts and identities (each) to retain
+     */
+    public ContextInterner(int maxEntries) {
+        this.strings = newLruMap(maxEntries);
+        this.ancestors = newLruMap(maxEntries);
+        this.contexts = newLruMap(maxEntries);
+        this.identities = newLruMap(maxEntries);
+    }
+
+    /**
+     * Retrieve the single shared instance of the provided string.
+     *
+     * @param value the string to deduplicate
+     * @return String
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * Replace the context (and type name) of the provided object with their shared instances.
+     *
+     * @param object the IGC object whose context to intern
+     */
+    public void intern(Reference object) {
+        if (object != null) {
+            object.setType(intern(object.getType()));
+            if (object.getContext() != null) {
+                object.setContext(internContext(object.getContext()));
+            }
+        }
+    }
+
+    /**
+     * Replace the contexts (and type names) of all of the provided objects with their shared instances.
+     *
+     * @param objects the IGC objects whose contexts to intern
+     */
+    public void intern(List<? extends Reference> objects) {
+        if (objects != null) {
+            for (Reference object : objects) {
+                intern(object);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the single shared instance of the provided context.
+     *
+     * @param context the '_context' of an IGC object
+     * @return {@code List<Reference>} an unmodifiable list of shared ancestor references
+     */
+    public List<Reference> internContext(List<Reference> context) {
+        if (context == null || context.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String key = getPathKey(context, context.size());
+        List<Reference> shared = contexts.get(key);
+        if (shared == null) {
+            List<Reference> interned = new ArrayList<>(context.size());
+            for (Reference ancestor : context) {
+                interned.add(internAncestor(ancestor));
+            }
+            List<Reference> candidate = Collections.unmodifiableList(interned);
+            shared = contexts.putIfAbsent(key, candidate);
+            if (shared == null) {
+                shared = candidate;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Retrieve the identity of the provided object, sharing the identities of all of its ancestors (and its context)
+     * with every other object that has the same context.
+     *
+     * @param object the IGC object for which to retrieve an identity
+     * @return Identity
+     */
+    public Identity getIdentity(Reference object) {
+        List<Reference> context = internContext(object.getContext());
+        return new Identity(context, getParentIdentity(context), intern(object.getType()), object.getName(), object.getId(), false);
+    }
+
+    /**
+     * Retrieve the single shared identity of the last ancestor within the provided context (ie. the parent of any
+     * object with that context).
+     *
+     * @param context the interned '_context' of an IGC object
+     * @return Identity, or null if the context is empty
+     */
+    private Identity getParentIdentity(List<Reference> context) {
+        if (context.isEmpty()) {
+            return null;
+        }
+        String key = getPathKey(context, context.size());
+        Identity shared = identities.get(key);
+        if (shared == null) {
+            // (Resolve the grandparent first rather than from within a computeIfAbsent, as that would be recursive)
+            List<Reference> parentContext = internContext(context.subList(0, context.size() - 1));
+            Identity grandparent = getParentIdentity(parentContext);
+            Reference parent = context.get(context.size() - 1);
+            Identity candidate = new Identity(parentContext, grandparent, parent.getType(), parent.getName(), parent.getId(), false);
+            shared = identities.putIfAbsent(key, candidate);
+            if (shared == null) {
+                shared = candidate;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Retrieve the single shared instance of the provided ancestor.
+     *
+     * @param ancestor an element of the '_context' of an IGC object
+     * @return Reference
+     */
+    private Reference internAncestor(Reference ancestor) {
+        Reference shared = ancestors.get(getKey(ancestor));
+        if (shared == null) {
+            ancestor.setType(intern(ancestor.getType()));
+            ancestor.setName(intern(ancestor.getName()));
+            shared = ancestors.putIfAbsent(getKey(ancestor), ancestor);
+            if (shared == null) {
+                shared = ancestor;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Retrieve the number of distinct ancestors that are currently shared.
+     *
+     * @return int
+     */
+    public int size() {
+        return ancestors.size();
+    }
+
+    /**
+     * Release all of the shared instances (objects that were already interned continue to share them).
+     */
+    public void clear() {
+        identities.clear();
+        contexts.clear();
+        ancestors.clear();
+        strings.clear();
+    }
+
+    /**
+     * Create a thread-safe map that retains only the provided number of most recently used entries.
+     *
+     * @param maxEntries the maximum number of entries to retain
+     * @param <V> the type of values in the map
+     * @return {@code Map<String, V>}
+     */
+    private static <V> Map<String, V> newLruMap(int maxEntries) {
+        final int limit = Math.max(maxEntries, 1);
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > limit;
+            }
+        });
+    }
+
+    private static String getKey(Reference ancestor) {
+        // The name is part of the key, so that a renamed ancestor is never shared under its old name
+        return ancestor.getType() + KEY_SEPARATOR + ancestor.getId() + KEY_SEPARATOR + ancestor.getName();
+    }
+
+    private static String getPathKey(List<Reference> context, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(PATH_SEPARATOR);
+            }
+            sb.append(getKey(context.get(i)));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,48 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+
+/**
+ * Faster, non-reflection approach for dynamically setting properties on the underlying Jackson POJOs: the counterpart
+ * of {@link DynamicPropertyReader}, using the same LambdaMetafactory approach to bind directly to a setter method.
+ * Will need to instantiate one of these writers for every property * POJO combination (and best to cache them as they
+ * are used to avoid re-bootstrapping when they'll be used multiple times)
+ */
+public class DynamicPropertyWriter {
+
+    private final BiConsumer setterFunction;
+
+    public DynamicPropertyWriter(Method setterMethod) {
+
+        Class<?> pojoClass = setterMethod.getDeclaringClass();
+        Class<?> valueType = setterMethod.getParameterTypes()[0];
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        CallSite site;
+        try {
+            site = LambdaMetafactory.metafactory(lookup,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    lookup.findVirtual(pojoClass, setterMethod.getName(), MethodType.methodType(void.class, valueType)),
+                    MethodType.methodType(void.class, pojoClass, valueType));
+        } catch (LambdaConversionException | NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Lambda creation failed for method (" + setterMethod + ").", e);
+        }
+        try {
+            setterFunction = (BiConsumer) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Lambda creation failed for method (" + setterMethod + ").", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void setProperty(Object pojo, Object value) {
+        setterFunction.accept(pojo, value);
+    }
+
+}
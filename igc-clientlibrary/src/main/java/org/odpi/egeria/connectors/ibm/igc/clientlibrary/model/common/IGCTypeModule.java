@@ -0,0 +1,140 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.*;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.IGCTypeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Jackson module that removes reflection from the de-serialization of the IGC POJOs: every out-of-the-box POJO is
+ * instantiated through the creator generated into the {@link IGCTypeRegistry}, and every property of any POJO is set
+ * through a {@link DynamicPropertyWriter} bound directly to its setter, rather than through reflective invocation.
+ */
+public class IGCTypeModule extends SimpleModule {
+
+    private static final Logger log = LoggerFactory.getLogger(IGCTypeModule.class);
+
+    public IGCTypeModule() {
+        super("IGCTypeModule");
+        for (String typeId : IGCTypeRegistry.getTypes()) {
+            Class<? extends Reference> pojo = IGCTypeRegistry.getClassForType(typeId);
+            addValueInstantiator(pojo, new GeneratedInstantiator(pojo, IGCTypeRegistry.getCreatorForClass(pojo)));
+        }
+        setDeserializerModifier(new SetterModifier());
+    }
+
+    /**
+     * Instantiates a POJO through its generated creator.
+     */
+    private static class GeneratedInstantiator extends ValueInstantiator.Base {
+
+        private final Supplier<? extends Reference> creator;
+
+        GeneratedInstantiator(Class<?> pojo, Supplier<? extends Reference> creator) {
+            super(pojo);
+            this.creator = creator;
+        }
+
+        @Override
+        public boolean canInstantiate() { return true; }
+
+        @Override
+        public boolean canCreateUsingDefault() { return true; }
+
+        @Override
+        public Object createUsingDefault(DeserializationContext ctxt) { return creator.get(); }
+
+    }
+
+    /**
+     * Replaces the reflective setter-based properties of every POJO with properties that use a generated setter.
+     */
+    private static class SetterModifier extends BeanDeserializerModifier {
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config,
+                                                     BeanDescription beanDesc,
+                                                     BeanDeserializerBuilder builder) {
+            if (Reference.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                List<SettableBeanProperty> replacements = new ArrayList<>();
+                Iterator<SettableBeanProperty> properties = builder.getProperties();
+                while (properties.hasNext()) {
+                    SettableBeanProperty property = properties.next();
+                    if (property instanceof MethodProperty) {
+                        Method setter = ((AnnotatedMethod) property.getMember()).getAnnotated();
+                        if (!setter.getParameterTypes()[0].isPrimitive()) {
+                            try {
+                                replacements.add(new GeneratedSetterProperty(property, new DynamicPropertyWriter(setter)));
+                            } catch (IllegalArgumentException e) {
+                                log.warn("Unable to generate setter -- falling back to reflection for: {}", setter, e);
+                            }
+                        }
+                    }
+                }
+                for (SettableBeanProperty replacement : replacements) {
+                    builder.addOrReplaceProperty(replacement, true);
+                }
+            }
+            return builder;
+        }
+
+    }
+
+    /**
+     * A property that is de-serialized exactly as its delegate would be, but then set through a generated setter.
+     */
+    private static class GeneratedSetterProperty extends SettableBeanProperty.Delegating {
+
+        private final DynamicPropertyWriter writer;
+
+        GeneratedSetterProperty(SettableBeanProperty delegate, DynamicPropertyWriter writer) {
+            super(delegate);
+            this.writer = writer;
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+            return new GeneratedSetterProperty(d, writer);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            writer.setProperty(instance, delegate.deserialize(p, ctxt));
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            writer.setProperty(instance, delegate.deserialize(p, ctxt));
+            return instance;
+        }
+
+        @Override
+        public void set(Object instance, Object value) {
+            writer.setProperty(instance, value);
+        }
+
+        @Override
+        public Object setAndReturn(Object instance, Object value) {
+            writer.setProperty(instance, value);
+            return instance;
+        }
+
+    }
+
+}
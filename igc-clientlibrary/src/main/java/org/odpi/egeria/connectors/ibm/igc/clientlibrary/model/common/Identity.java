@@ -35,6 +35,7 @@ public class Identity {
     private static final String FULL_NAME = "full_name";
 
     private List<Reference> context;
+    private Identity parent;
 
     private String assetType;
     private String assetName;
@@ -88,8 +89,24 @@ public class Identity {
      * @param partial true if this is only a partial identity, false otherwise
      */
     public Identity(List<Reference> context, String assetType, String assetName, String rid, boolean partial) {
+        this(context, null, assetType, assetName, rid, partial);
+    }
+
+    /**
+     * Creates a new identity that shares the provided identity of its parent, rather than deriving it from the
+     * context (see {@link ContextInterner}).
+     *
+     * @param context the populated '_context' array from an asset
+     * @param parent the identity of the parent of the asset (the last element of its context)
+     * @param assetType the type of the asset
+     * @param assetName the name of the asset
+     * @param rid the Repository ID (RID) of the asset
+     * @param partial true if this is only a partial identity, false otherwise
+     */
+    Identity(List<Reference> context, Identity parent, String assetType, String assetName, String rid, boolean partial) {
         this(partial);
         this.context = context;
+        this.parent = parent;
         this.assetType = assetType;
         this.assetName = assetName;
         this.rid = rid;
@@ -104,8 +121,7 @@ public class Identity {
      * @return Identity
      */
     public Identity getParentIdentity() {
-        Identity parent = null;
-        if (!context.isEmpty()) {
+        if (parent == null && !context.isEmpty()) {
             int lastIndex = context.size() - 1;
             Reference endOfCtx = context.get(lastIndex);
             List<Reference> parentCtx = context.subList(0, lastIndex);
@@ -509,8 +509,41 @@ public class Reference extends ObjectPrinter {
         return identity != null;
     }
 
+    /**
+     * Indicates whether this item already has all of the details needed to populate its identity (true), or whether
+     * its _context and / or modification details must first be retrieved (false).
+     *
+     * @param igcrest a REST API connection to use in confirming which details the asset should have
+     * @return boolean
+     */
+    @JsonIgnore
+    public boolean hasIdentityDetails(IGCRestClient igcrest) {
+        return _context != null && _context.size() > 0
+                && (!igcrest.hasModificationDetails(IGCRestConstants.getAssetTypeForSearch(getType()))
+                    || (createdBy != null && createdOn != null && modifiedBy != null && modifiedOn != null));
+    }
+
+    /**
+     * Sets the _context and modification details of this item from those of the provided item (eg. as retrieved by a
+     * search for this item).
+     *
+     * @param details the item from which to take the _context and modification details
+     */
+    @JsonIgnore
+    public void setContextAndModificationDetails(Reference details) {
+        setContext(details.getContext());
+        setCreatedOn(details.getCreatedOn());
+        setCreatedBy(details.getCreatedBy());
+        setModifiedOn(details.getModifiedOn());
+        setModifiedBy(details.getModifiedBy());
+    }
+
     /**
      * Retrieves the semantic identity of the asset.
+     * <br><br>
+     * Note that if the asset's _context or modification details are not already populated, this will run a search to
+     * retrieve them: when retrieving the identities of many assets, first populate them all at once through
+     * {@link IGCRestClient#populateContextAndModificationDetails(java.util.Collection)}.
      *
      * @param igcrest a REST API connection to use in confirming the identity of the asset
      * @return Identity
@@ -518,23 +551,12 @@ public class Reference extends ObjectPrinter {
     @JsonIgnore
     public Identity getIdentity(IGCRestClient igcrest) {
         if (!isIdentityPopulated()) {
-            boolean hasModificationDetails = igcrest.hasModificationDetails(IGCRestConstants.getAssetTypeForSearch(getType()));
-            if (_context != null && _context.size() > 0
-                    && (!hasModificationDetails
-                        || (igcrest.hasModificationDetails(IGCRestConstants.getAssetTypeForSearch(getType()))
-                            && createdBy != null && createdOn != null && modifiedBy != null && modifiedOn != null))) {
-                // If we have all of the necessary information to populate the identity, do so directly
-                identity = new Identity(getContext(), getType(), getName(), getId());
-            } else {
-                // Only if we do not, go ahead with another search to retrieve the necessary details
-                Reference assetWithCtx = igcrest.getModificationDetails(this);
-                setContext(assetWithCtx.getContext());
-                setCreatedOn(assetWithCtx.getCreatedOn());
-                setCreatedBy(assetWithCtx.getCreatedBy());
-                setModifiedOn(assetWithCtx.getModifiedOn());
-                setModifiedBy(assetWithCtx.getModifiedBy());
-                identity = new Identity(getContext(), getType(), getName(), getId());
+            if (!hasIdentityDetails(igcrest)) {
+                // Only if we do not have all of the necessary information, go ahead with another search to retrieve it
+                setContextAndModificationDetails(igcrest.getModificationDetails(this));
             }
+            // Share the context and ancestor identities with every other object with the same context
+            identity = igcrest.getContextInterner().getIdentity(this);
         }
         return identity;
     }
@@ -0,0 +1,125 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.search;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prepared form of an {@link IGCSearch}: the invariant part of the query is serialized only once, when the template
+ * is created, and each use of the template then only needs to write the (JSON-escaped) values of its parameters in
+ * between those pre-serialized segments -- no JSON tree is built for any subsequent search.
+ * <br><br>
+ * Parameters are defined by using {@link #parameter(int)} as the value of a condition in the search from which the
+ * template is created. For example, the following would prepare a search for a term by its RID:
+ * <pre>
+ *     IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", IGCSearchTemplate.parameter(0));
+ *     IGCSearchTemplate template = new IGCSearchTemplate(new IGCSearch("term", new IGCSearchConditionSet(idOnly)));
+ *     String query = template.bind(rid);
+ * </pre>
+ * Templates are immutable, and can therefore be cached and used by any number of threads at the same time.
+ */
+public class IGCSearchTemplate {
+
+    private static final String PARAMETER_PREFIX = "{{igc-search-parameter:";
+    private static final String PARAMETER_SUFFIX = "}}";
+
+    private final String[] segments;
+    private final int[] parameterAt;
+    private final int parameterCount;
+    private final int serializedLength;
+
+    /**
+     * Prepare a template from the provided search, any of whose condition values may be parameters.
+     *
+     * @param igcSearch the search from which to prepare the template
+     * @see #parameter(int)
+     */
+    public IGCSearchTemplate(IGCSearch igcSearch) {
+
+        String query = igcSearch.getQuery().toString();
+        String marker = "\"" + PARAMETER_PREFIX;
+        List<String> literals = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        int max = -1;
+        int from = 0;
+        int start = query.indexOf(marker);
+        while (start >= 0) {
+            int end = query.indexOf(PARAMETER_SUFFIX + "\"", start + marker.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated parameter in search: " + query);
+            }
+            int index;
+            try {
+                index = Integer.parseInt(query.substring(start + marker.length(), end));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid parameter in search: " + query, e);
+            }
+            literals.add(query.substring(from, start));
+            indices.add(index);
+            max = Math.max(max, index);
+            from = end + PARAMETER_SUFFIX.length() + 1;
+            start = query.indexOf(marker, from);
+        }
+        literals.add(query.substring(from));
+
+        this.segments = literals.toArray(new String[0]);
+        this.parameterAt = new int[indices.size()];
+        for (int i = 0; i < parameterAt.length; i++) {
+            parameterAt[i] = indices.get(i);
+        }
+        this.parameterCount = max + 1;
+        this.serializedLength = query.length();
+
+    }
+
+    /**
+     * Retrieve the placeholder to use as a condition value for the parameter at the provided position.
+     *
+     * @param index the (zero-based) position of the parameter
+     * @return String
+     */
+    public static String parameter(int index) {
+        return PARAMETER_PREFIX + index + PARAMETER_SUFFIX;
+    }
+
+    /**
+     * Retrieve the number of parameters that must be bound to use this template.
+     *
+     * @return int
+     */
+    public int getParameterCount() { return parameterCount; }
+
+    /**
+     * Retrieve the query for this template, with the provided values bound to its parameters.
+     *
+     * @param values the value of each parameter, in order
+     * @return String - the JSON query, identical to that of the equivalent {@link IGCSearch}
+     */
+    public String bind(String... values) {
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException("Expected " + parameterCount + " parameter value(s), but received " + values.length + ".");
+        }
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        StringBuilder query = new StringBuilder(serializedLength + 64);
+        query.append(segments[0]);
+        for (int i = 0; i < parameterAt.length; i++) {
+            String value = values[parameterAt[i]];
+            if (value == null) {
+                query.append("null");
+            } else {
+                query.append('"').append(encoder.quoteAsString(value)).append('"');
+            }
+            query.append(segments[i + 1]);
+        }
+        return query.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.join("?", segments);
+    }
+
+}
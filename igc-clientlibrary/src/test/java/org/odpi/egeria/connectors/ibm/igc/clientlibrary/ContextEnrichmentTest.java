@@ -0,0 +1,114 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.DatabaseColumn;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the batch population of context and modification details against a client whose searches are simulated.
+ */
+public class ContextEnrichmentTest {
+
+    @Test
+    public void testPopulatedInChunks() {
+
+        SimulatedClient client = new SimulatedClient();
+        List<Reference> columns = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            columns.add(column("col" + i));
+        }
+        Reference duplicate = column("col1");
+        columns.add(duplicate);
+        Reference complete = column("complete");
+        complete.setContext(Collections.singletonList(column("table")));
+        columns.add(complete);
+
+        client.populateContextAndModificationDetails(columns, 2);
+        assertEquals(client.searchedIds.size(), 3);
+        assertEquals(client.searchedIds.get(0), ids("col0", "col1"));
+        assertEquals(client.searchedIds.get(2), ids("col4"));
+        for (Reference column : columns) {
+            assertTrue(column.hasIdentityDetails(client));
+            // No further searches should be needed to compute the identity
+            assertEquals(column.getIdentity(client).getParentIdentity().getName(), "table");
+        }
+        assertEquals(client.searchedIds.size(), 3);
+
+    }
+
+    @Test
+    public void testNothingToPopulate() {
+        SimulatedClient client = new SimulatedClient();
+        client.populateContextAndModificationDetails(Collections.emptyList());
+        client.populateContextAndModificationDetails(null);
+        assertTrue(client.searchedIds.isEmpty());
+    }
+
+    private static Reference column(String id) {
+        DatabaseColumn column = new DatabaseColumn();
+        column.setId(id);
+        column.setName(id);
+        column.setType("database_column");
+        return column;
+    }
+
+    private static List<String> ids(String... ids) {
+        List<String> list = new ArrayList<>();
+        Collections.addAll(list, ids);
+        return list;
+    }
+
+    /**
+     * Simulates a repository in which every column is within the same table, and records the IDs searched.
+     */
+    private static class SimulatedClient extends IGCRestClient {
+
+        private final List<List<String>> searchedIds = new ArrayList<>();
+
+        SimulatedClient() {
+            super("https://localhost:9446", null);
+        }
+
+        @Override
+        public boolean hasModificationDetails(String typeName) {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Reference> ItemList<T> search(IGCSearch igcSearch) {
+            JsonNode values = igcSearch.getQuery().path("where").path("conditions").path(0).path("value");
+            List<String> ids = new ArrayList<>();
+            List<T> items = new ArrayList<>();
+            for (JsonNode value : values) {
+                ids.add(value.asText());
+                Reference found = column(value.asText());
+                found.setContext(Collections.singletonList(column("table")));
+                items.add((T) found);
+            }
+            searchedIds.add(ids);
+            ItemList<T> results = new ItemList<>();
+            results.setItems(items);
+            return results;
+        }
+
+        @Override
+        public <T extends Reference> T getModificationDetails(T object) {
+            fail("Details should already have been populated for: " + object.getId());
+            return object;
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ContextInterner;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ContextInternerTest {
+
+    @Test
+    public void testContextShared() {
+
+        ContextInterner interner = new ContextInterner();
+        Reference first = column("COL1", "table1");
+        Reference second = column("COL2", "table1");
+        Reference other = column("COL3", "table2");
+        interner.intern(first);
+        interner.intern(second);
+        interner.intern(other);
+
+        assertSame(first.getContext(), second.getContext());
+        assertNotSame(first.getContext(), other.getContext());
+        for (int i = 0; i < 3; i++) {
+            assertSame(first.getContext().get(i), other.getContext().get(i));
+        }
+        // host, database, schema and the two tables
+        assertEquals(interner.size(), 5);
+        assertThrows(UnsupportedOperationException.class, () -> first.getContext().add(new Reference()));
+
+    }
+
+    @Test
+    public void testIdentitiesShareParents() {
+
+        ContextInterner interner = new ContextInterner();
+        Reference first = column("COL1", "table1");
+        Reference second = column("COL2", "table1");
+        Reference other = column("COL3", "table2");
+        Identity firstIdentity = interner.getIdentity(first);
+        Identity secondIdentity = interner.getIdentity(second);
+        Identity otherIdentity = interner.getIdentity(other);
+
+        assertEquals(firstIdentity.toString(), new Identity(first.getContext(), first.getType(), first.getName(), first.getId()).toString());
+        assertEquals(firstIdentity.toString(), "(host_(engine))=HOST::(database)=DB::(database_schema)=SCHEMA::(database_table)=TABLE1::(database_column)=COL1");
+        assertSame(firstIdentity.getParentIdentity(), secondIdentity.getParentIdentity());
+        assertNotSame(firstIdentity.getParentIdentity(), otherIdentity.getParentIdentity());
+        assertSame(firstIdentity.getParentIdentity().getParentIdentity(), otherIdentity.getParentIdentity().getParentIdentity());
+        assertEquals(otherIdentity.getParentIdentity().getParentIdentity().toString(), "(host_(engine))=HOST::(database)=DB::(database_schema)=SCHEMA");
+        assertNull(firstIdentity.getParentIdentity().getParentIdentity().getParentIdentity().getParentIdentity().getParentIdentity());
+
+    }
+
+    @Test
+    public void testRenamedAncestorNotStale() {
+
+        ContextInterner interner = new ContextInterner();
+        Reference before = column("COL1", "table1");
+        Identity beforeIdentity = interner.getIdentity(before);
+        assertEquals(beforeIdentity.toString(), "(host_(engine))=HOST::(database)=DB::(database_schema)=SCHEMA::(database_table)=TABLE1::(database_column)=COL1");
+
+        // The same database (same RID) renamed in IGC must be reflected in every identity built afterwards
+        Reference after = column("COL1", "table1");
+        after.getContext().get(1).setName("RENAMED_DB");
+        interner.intern(after);
+        assertEquals(after.getContext().get(1).getName(), "RENAMED_DB");
+        Identity afterIdentity = interner.getIdentity(after);
+        assertEquals(afterIdentity.toString(), "(host_(engine))=HOST::(database)=RENAMED_DB::(database_schema)=SCHEMA::(database_table)=TABLE1::(database_column)=COL1");
+        // ... while the unchanged host above it is still shared
+        assertSame(after.getContext().get(0), before.getContext().get(0));
+
+    }
+
+    @Test
+    public void testBounded() {
+
+        ContextInterner interner = new ContextInterner(10);
+        for (int i = 0; i < 100; i++) {
+            Reference column = column("COL", "table" + i);
+            interner.intern(column);
+            interner.getIdentity(column);
+        }
+        assertTrue(interner.size() <= 10);
+
+        // Anything evicted is simply shared afresh
+        Reference first = column("COL1", "table0");
+        Reference second = column("COL2", "table0");
+        interner.intern(first);
+        interner.intern(second);
+        assertSame(first.getContext(), second.getContext());
+        assertEquals(interner.getIdentity(first).toString(), "(host_(engine))=HOST::(database)=DB::(database_schema)=SCHEMA::(database_table)=TABLE0::(database_column)=COL1");
+
+    }
+
+    /**
+     * Create a column whose context is a new (but equal) copy for every column.
+     */
+    private static Reference column(String name, String tableId) {
+        List<Reference> context = new ArrayList<>();
+        context.add(new Reference("HOST", "host_(engine)", "host"));
+        context.add(new Reference("DB", "database", "db"));
+        context.add(new Reference("SCHEMA", "database_schema", "schema"));
+        context.add(new Reference(tableId.toUpperCase(), "database_table", tableId));
+        Reference column = new Reference(name, "database_column", name.toLowerCase());
+        column.setContext(context);
+        return column;
+    }
+
+}
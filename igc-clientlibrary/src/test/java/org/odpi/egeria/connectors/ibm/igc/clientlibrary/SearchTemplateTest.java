@@ -0,0 +1,72 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.*;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that prepared search templates produce exactly the same queries as the equivalent searches.
+ */
+public class SearchTemplateTest {
+
+    private static final String[] VALUES = new String[]{
+            "b1c497ce.54bd3a08.001mts4qn.7n9a341.3ji2jd.tfsic4hhg7s5i9kb1c6mt",
+            "with \"quotes\" and \\backslashes\\",
+            "with\ncontrol\tcharacters\u0001",
+            "with unicode: \u00e9\u4e2d"
+    };
+
+    @Test
+    public void testSingleParameter() {
+        for (String value : VALUES) {
+            IGCSearchTemplate template = new IGCSearchTemplate(byId(IGCSearchTemplate.parameter(0)));
+            assertEquals(template.getParameterCount(), 1);
+            assertEquals(template.bind(value), byId(value).getQuery().toString());
+        }
+    }
+
+    @Test
+    public void testMultipleParameters() {
+        IGCSearchTemplate template = new IGCSearchTemplate(byIdAndName(IGCSearchTemplate.parameter(1), IGCSearchTemplate.parameter(0)));
+        assertEquals(template.getParameterCount(), 2);
+        String expected = byIdAndName(VALUES[1], VALUES[0]).getQuery().toString();
+        assertEquals(template.bind(VALUES[0], VALUES[1]), expected);
+    }
+
+    @Test
+    public void testNoParameters() {
+        IGCSearch igcSearch = new IGCSearch("term");
+        IGCSearchTemplate template = new IGCSearchTemplate(igcSearch);
+        assertEquals(template.getParameterCount(), 0);
+        assertEquals(template.bind(), igcSearch.getQuery().toString());
+    }
+
+    @Test
+    public void testWrongNumberOfValues() {
+        IGCSearchTemplate template = new IGCSearchTemplate(byId(IGCSearchTemplate.parameter(0)));
+        assertThrows(IllegalArgumentException.class, () -> template.bind("a", "b"));
+    }
+
+    private IGCSearch byId(String rid) {
+        IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", rid);
+        IGCSearch igcSearch = new IGCSearch("database_column", Arrays.asList("name", "data_type"), new IGCSearchConditionSet(idOnly));
+        igcSearch.setPageSize(2);
+        igcSearch.addSortingCriteria(new IGCSearchSorting("name", false));
+        return igcSearch;
+    }
+
+    private IGCSearch byIdAndName(String rid, String name) {
+        IGCSearchConditionSet conditions = new IGCSearchConditionSet(new IGCSearchCondition("_id", "=", rid));
+        conditions.addCondition(new IGCSearchCondition("name", "=", name));
+        conditions.setMatchAnyCondition(false);
+        IGCSearch igcSearch = new IGCSearch("main_object", conditions);
+        igcSearch.addType("term");
+        return igcSearch;
+    }
+
+}
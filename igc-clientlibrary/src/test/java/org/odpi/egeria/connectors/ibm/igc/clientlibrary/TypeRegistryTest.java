@@ -0,0 +1,48 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.IGCTypeRegistry;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.base.Term;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.IGCTypeModule;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ItemList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.testng.Assert.*;
+
+public class TypeRegistryTest {
+
+    private static final String PAGE = "{\"paging\":{\"numTotal\":1,\"pageSize\":10,\"end\":0,\"begin\":0},"
+            + "\"items\":[{\"_type\":\"term\",\"_id\":\"6662c0f2.e1b1ec6c.000mp5en4.6eoaohj.l1e6lf.o5ktl3a7d1ng4k3dbk1a3\",\"_name\":\"Address Line 1\","
+            + "\"abbreviation\":\"ADDR1\",\"short_description\":\"\",\"modified_on\":1548922562000,"
+            + "\"parent_category\":{\"_type\":\"category\",\"_id\":\"6662c0f2.ee6a64fe.000mp5e7l.f7lb7jv.9gpg7b.3dghj13vrhcqt2pv9v1r3\",\"_name\":\"Location\"}}]}";
+
+    @Test
+    public void testRegistryMatchesPOJOs() {
+        assertFalse(IGCTypeRegistry.getTypes().isEmpty());
+        for (String typeId : IGCTypeRegistry.getTypes()) {
+            Class<? extends Reference> pojo = IGCTypeRegistry.getClassForType(typeId);
+            assertEquals(pojo.getAnnotation(JsonTypeName.class).value(), typeId);
+            assertEquals(IGCTypeRegistry.getCreatorForClass(pojo).get().getClass(), pojo);
+        }
+        assertNull(IGCTypeRegistry.getClassForType("not_a_type"));
+    }
+
+    @Test
+    public void testModuleMatchesReflection() throws IOException {
+        ObjectMapper reflective = new ObjectMapper();
+        ObjectMapper generated = new ObjectMapper().registerModule(new IGCTypeModule());
+        ItemList<Reference> expected = reflective.readValue(PAGE, new TypeReference<ItemList<Reference>>(){});
+        ItemList<Reference> actual = generated.readValue(PAGE, new TypeReference<ItemList<Reference>>(){});
+        assertTrue(actual.getItems().get(0) instanceof Term);
+        assertEquals(((Term) actual.getItems().get(0)).getAbbreviation(), "ADDR1");
+        assertEquals(reflective.writeValueAsString(actual), reflective.writeValueAsString(expected));
+    }
+
+}
@@ -79,6 +79,7 @@ public class MockConstants {
     public static final String IA_TABLE_NAME = "INFOSVR.COMPDIR.DB2INST1.CONTACTEMAIL";
     public static final String IA_COLUMN_NAME = IA_TABLE_NAME + ".EMAIL";
     public static final String IA_TABLE_NAME_WITH_DQ_PROBLEMS = "INFOSVR.EMPLSANL.DB2INST1.EMPSALARYANALYSIS";
+    public static final String IA_TABLE_NAME_WITH_TRUNCATED_RESULTS = "INFOSVR.COMPDIR.DB2INST1.TRUNCATED";
     public static final String IA_CA_SCHEDULE_ID = "d70c6594.80cb2b5c.001muqrfs.a21f89o.a90986.6i2ig951fma0dtk23k0h7";
     public static final String IA_DQ_SCHEDULE_ID = "d70c6594.80cb2b5c.001muqr88.hpidg9f.il4mkc.rid1t6lqls0k16jlj3isu";
 
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.mockserver.model.HttpClassCallback.callback;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.JsonBody.json;
 import static org.mockserver.model.Parameter.param;
@@ -90,6 +91,7 @@ public class MockServerExpectations implements ExpectationInitializer {
         setPublishedResultsQuery(mockServerClient, IA_PROJECT_NAME);
 
         setColumnAnalysisResultsQuery(mockServerClient, IA_PROJECT_NAME, IA_TABLE_NAME);
+        setColumnAnalysisResultsQuery(mockServerClient, IA_PROJECT_NAME, IA_TABLE_NAME_WITH_TRUNCATED_RESULTS);
         setDataQualityResultsQuery(mockServerClient, IA_PROJECT_NAME, IA_TABLE_NAME);
         setDataQualityResultsQuery(mockServerClient, IA_PROJECT_NAME, IA_TABLE_NAME_WITH_DQ_PROBLEMS);
 
@@ -211,6 +213,13 @@ public class MockServerExpectations implements ExpectationInitializer {
 
         setJobChangeQuery(mockServerClient);
 
+        setDetailsByMultipleParentRidQuery(mockServerClient, "database_column", "database_table_or_view");
+        setDetailsByMultipleParentRidQuery(mockServerClient, "data_file_field", "data_file_record");
+        setDetailsByMultipleParentRidQuery(mockServerClient, "stage", "job_or_container");
+        setDetailsByMultipleParentRidQuery(mockServerClient, "link", "job_or_container");
+        setDetailsByMultipleParentRidQuery(mockServerClient, "stage_column", "link.job_or_container");
+        setDetailsByMultipleParentRidQuery(mockServerClient, "ds_stage_column", "link.job_or_container");
+
     }
 
     private void setStartupQuery(MockServerClient mockServerClient) {
@@ -473,6 +482,17 @@ public class MockServerExpectations implements ExpectationInitializer {
         }
     }
 
+    private void setDetailsByMultipleParentRidQuery(MockServerClient mockServerClient, String type, String property) {
+        mockServerClient
+                .withSecure(true)
+                .when(searchRequest(
+                        json(
+                                "{\"types\":[\"" + type + "\"],\"where\":{\"conditions\":[{\"property\":\"" + property + "\",\"operator\":\"in\"}]}}",
+                                MatchType.ONLY_MATCHING_FIELDS
+                        )))
+                .respond(callback(MultipleParentRidCallback.class.getName()));
+    }
+
     private void setReferenceByRidQuery(MockServerClient mockServerClient, Resource resource) {
         URL url = null;
         try {
@@ -0,0 +1,64 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.information.server.mocks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.mockserver.mock.action.ExpectationResponseCallback;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * Responds to an IGC search for the children of several parents at once (a condition using the 'in' operator) by
+ * combining the per-parent results held under 'by_parent_rid', as if they had been retrieved in a single search.
+ */
+public class MultipleParentRidCallback implements ExpectationResponseCallback {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpResponse handle(HttpRequest httpRequest) throws Exception {
+
+        JsonNode query = MAPPER.readTree(httpRequest.getBodyAsString());
+        String type = query.path("types").path(0).asText();
+        JsonNode condition = query.path("where").path("conditions").path(0);
+
+        ArrayNode items = MAPPER.createArrayNode();
+        for (JsonNode parentRid : condition.path("value")) {
+            ClassPathResource resource = new ClassPathResource("by_parent_rid/" + type + "/" + parentRid.asText() + ".json");
+            if (resource.exists()) {
+                try (InputStream stream = resource.getInputStream()) {
+                    JsonNode results = MAPPER.readTree(stream);
+                    for (JsonNode item : results.path("items")) {
+                        items.add(item);
+                    }
+                } catch (IOException e) {
+                    return response().withStatusCode(500);
+                }
+            }
+        }
+
+        ObjectNode paging = MAPPER.createObjectNode();
+        paging.put("numTotal", items.size());
+        paging.put("pageSize", Math.max(query.path("pageSize").asInt(items.size()), items.size()));
+        paging.put("end", items.size() - 1);
+        paging.put("begin", 0);
+        ObjectNode results = MAPPER.createObjectNode();
+        results.set("paging", paging);
+        results.set("items", items);
+        return response().withBody(MAPPER.writeValueAsString(results));
+
+    }
+
+}